@@ -0,0 +1,195 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.benchmarks;
+
+import com.alee.extended.tree.*;
+import com.alee.laf.tree.TreeNodeParameters;
+import com.alee.utils.CoreSwingUtils;
+import org.openjdk.jmh.annotations.*;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link AsyncTreeModel} children loading through {@link WebAsyncTree#reloadRootNode()}.
+ * Each operation lasts until loaded children are added into the model on the Event Dispatch Thread.
+ *
+ * @author Mikle Garin
+ */
+@State ( Scope.Thread )
+@BenchmarkMode ( Mode.AverageTime )
+@OutputTimeUnit ( TimeUnit.MICROSECONDS )
+@Warmup ( iterations = 5, time = 1 )
+@Measurement ( iterations = 5, time = 1 )
+@Fork ( value = 1, jvmArgsAppend = "-Djava.awt.headless=true" )
+public class AsyncTreeModelBenchmark
+{
+    /**
+     * Amount of loaded children.
+     */
+    @Param ( { "100", "1000", "10000" } )
+    public int children;
+
+    /**
+     * Whether or not children are loaded asynchronously.
+     */
+    @Param ( { "false", "true" } )
+    public boolean async;
+
+    /**
+     * Benchmarked {@link WebAsyncTree}.
+     */
+    private WebAsyncTree<BenchmarkNode> tree;
+
+    /**
+     * {@link CountDownLatch} released when current root children load completes.
+     */
+    private volatile CountDownLatch loaded;
+
+    /**
+     * Installs skin and prepares {@link WebAsyncTree}.
+     *
+     * @throws InterruptedException if interrupted while waiting for initial load
+     */
+    @Setup ( Level.Trial )
+    public void setup () throws InterruptedException
+    {
+        BenchmarkUtils.installSkin ( "web" );
+        loaded = new CountDownLatch ( 1 );
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                tree = new WebAsyncTree<BenchmarkNode> ( new BenchmarkDataProvider ( children ) );
+                tree.setAsyncLoading ( async );
+                tree.addAsyncTreeListener ( new AsyncTreeAdapter<BenchmarkNode> ()
+                {
+                    @Override
+                    public void loadCompleted ( final BenchmarkNode parent, final List<BenchmarkNode> children )
+                    {
+                        if ( parent == tree.getRootNode () )
+                        {
+                            loaded.countDown ();
+                        }
+                    }
+                } );
+            }
+        } );
+        reload ();
+    }
+
+    /**
+     * Reloads root node children and waits until they are loaded.
+     *
+     * @return reloaded tree
+     * @throws InterruptedException if interrupted while waiting for load
+     */
+    @Benchmark
+    public WebAsyncTree<BenchmarkNode> reload () throws InterruptedException
+    {
+        final CountDownLatch latch = new CountDownLatch ( 1 );
+        loaded = latch;
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                tree.reloadRootNode ();
+            }
+        } );
+        latch.await ();
+        return tree;
+    }
+
+    /**
+     * Simple {@link AsyncUniqueNode} implementation.
+     */
+    public static final class BenchmarkNode extends AsyncUniqueNode<BenchmarkNode, String>
+    {
+        /**
+         * Constructs new {@link BenchmarkNode}.
+         *
+         * @param id    node identifier
+         * @param title node title
+         */
+        public BenchmarkNode ( final String id, final String title )
+        {
+            super ( id, title );
+        }
+
+        @Override
+        public Icon getNodeIcon ( final TreeNodeParameters<BenchmarkNode, WebAsyncTree<BenchmarkNode>> parameters )
+        {
+            return null;
+        }
+    }
+
+    /**
+     * {@link AsyncTreeDataProvider} providing specified amount of leaf children for the root node.
+     */
+    public static final class BenchmarkDataProvider extends AbstractAsyncTreeDataProvider<BenchmarkNode>
+    {
+        /**
+         * Root node.
+         */
+        private final BenchmarkNode root;
+
+        /**
+         * Amount of root children.
+         */
+        private final int children;
+
+        /**
+         * Constructs new {@link BenchmarkDataProvider}.
+         *
+         * @param children amount of root children
+         */
+        public BenchmarkDataProvider ( final int children )
+        {
+            this.root = new BenchmarkNode ( "root", "Root" );
+            this.children = children;
+        }
+
+        @Override
+        public BenchmarkNode getRoot ()
+        {
+            return root;
+        }
+
+        @Override
+        public void loadChildren ( final BenchmarkNode parent, final NodesLoadCallback<BenchmarkNode> listener )
+        {
+            final List<BenchmarkNode> nodes = new ArrayList<BenchmarkNode> ( children );
+            for ( int i = 0; i < children; i++ )
+            {
+                nodes.add ( new BenchmarkNode ( "node" + i, "Node " + i ) );
+            }
+            listener.completed ( nodes );
+        }
+
+        @Override
+        public boolean isLeaf ( final BenchmarkNode node )
+        {
+            return node != root;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.benchmarks;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.laf.WebLookAndFeel;
+import com.alee.managers.style.Skin;
+import com.alee.managers.style.StyleManager;
+import com.alee.skin.dark.DarkSkin;
+import com.alee.skin.flat.FlatSkin;
+import com.alee.skin.material.MaterialSkin;
+import com.alee.skin.modena.ModenaSkin;
+import com.alee.skin.web.WebSkin;
+import com.alee.utils.CoreSwingUtils;
+import com.alee.utils.UtilityException;
+
+import java.awt.*;
+
+/**
+ * Utilities shared by WebLaF benchmarks.
+ *
+ * @author Mikle Garin
+ */
+public final class BenchmarkUtils
+{
+    /**
+     * Private constructor to avoid instantiation.
+     */
+    private BenchmarkUtils ()
+    {
+        throw new UtilityException ( "Utility classes are not meant to be instantiated" );
+    }
+
+    /**
+     * Returns bundled {@link Skin} class for the specified short name.
+     *
+     * @param skin short skin name, one of {@code web}, {@code flat}, {@code dark}, {@code material} or {@code modena}
+     * @return bundled {@link Skin} class for the specified short name
+     */
+    @NotNull
+    public static Class<? extends Skin> getSkinClass ( @NotNull final String skin )
+    {
+        final Class<? extends Skin> skinClass;
+        if ( skin.equals ( "web" ) )
+        {
+            skinClass = WebSkin.class;
+        }
+        else if ( skin.equals ( "flat" ) )
+        {
+            skinClass = FlatSkin.class;
+        }
+        else if ( skin.equals ( "dark" ) )
+        {
+            skinClass = DarkSkin.class;
+        }
+        else if ( skin.equals ( "material" ) )
+        {
+            skinClass = MaterialSkin.class;
+        }
+        else if ( skin.equals ( "modena" ) )
+        {
+            skinClass = ModenaSkin.class;
+        }
+        else
+        {
+            throw new IllegalArgumentException ( "Unknown skin: " + skin );
+        }
+        return skinClass;
+    }
+
+    /**
+     * Installs {@link WebLookAndFeel} with the specified bundled {@link Skin} or switches to that {@link Skin} if it is already installed.
+     *
+     * @param skin short skin name, one of {@code web}, {@code flat}, {@code dark}, {@code material} or {@code modena}
+     */
+    public static void installSkin ( @NotNull final String skin )
+    {
+        final Class<? extends Skin> skinClass = getSkinClass ( skin );
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                if ( !WebLookAndFeel.isInstalled () )
+                {
+                    WebLookAndFeel.install ( skinClass );
+                }
+                else if ( StyleManager.getSkin ().getClass () != skinClass )
+                {
+                    StyleManager.setSkin ( skinClass );
+                }
+            }
+        } );
+    }
+
+    /**
+     * Lays out specified {@link Component} and all of its children.
+     * Benchmarked components are never displayed, so they have to be laid out manually.
+     *
+     * @param component {@link Component} to lay out
+     * @param size      {@link Component} size
+     */
+    public static void layout ( @NotNull final Component component, @NotNull final Dimension size )
+    {
+        component.setSize ( size );
+        layout ( component );
+    }
+
+    /**
+     * Lays out specified {@link Component} and all of its children using their current sizes.
+     *
+     * @param component {@link Component} to lay out
+     */
+    private static void layout ( @NotNull final Component component )
+    {
+        if ( component instanceof Container )
+        {
+            final Container container = ( Container ) component;
+            container.doLayout ();
+            for ( final Component child : container.getComponents () )
+            {
+                layout ( child );
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.benchmarks;
+
+import com.alee.api.clone.Clone;
+import com.alee.api.merge.Merge;
+import com.alee.laf.button.WebButton;
+import com.alee.managers.style.StyleManager;
+import com.alee.managers.style.data.ComponentStyle;
+import com.alee.painter.decoration.Decorations;
+import com.alee.painter.decoration.IDecoration;
+import com.alee.utils.CoreSwingUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link Clone#deep()} and {@link Merge#deep()} operations on skin decorations.
+ * Decorations of the default button style from each bundled skin are used as a sample.
+ *
+ * @author Mikle Garin
+ */
+@State ( Scope.Thread )
+@BenchmarkMode ( Mode.AverageTime )
+@OutputTimeUnit ( TimeUnit.MICROSECONDS )
+@Warmup ( iterations = 5, time = 1 )
+@Measurement ( iterations = 5, time = 1 )
+@Fork ( value = 1, jvmArgsAppend = "-Djava.awt.headless=true" )
+public class CloneMergeBenchmark
+{
+    /**
+     * Short name of the bundled skin.
+     */
+    @Param ( { "web", "flat", "dark", "material", "modena" } )
+    public String skin;
+
+    /**
+     * Button style {@link Decorations}.
+     */
+    private Decorations decorations;
+
+    /**
+     * Decorations of the same type as the last one, merged in the same way as painters merge them.
+     */
+    private List<IDecoration> merged;
+
+    /**
+     * Deep {@link Clone} instance.
+     */
+    private Clone clone;
+
+    /**
+     * Deep {@link Merge} instance.
+     */
+    private Merge merge;
+
+    /**
+     * Installs skin and retrieves button style {@link Decorations}.
+     */
+    @Setup ( Level.Trial )
+    public void setup ()
+    {
+        BenchmarkUtils.installSkin ( skin );
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                final WebButton button = new WebButton ( "Button" );
+                final ComponentStyle style = StyleManager.getSkin ( button ).getStyle ( button );
+                decorations = ( Decorations ) style.getPainterStyle ().getProperties ().get ( "decorations" );
+            }
+        } );
+        if ( decorations == null || decorations.size () == 0 )
+        {
+            throw new IllegalStateException ( "Button style has no decorations in skin: " + skin );
+        }
+        final List<IDecoration> all = new ArrayList<IDecoration> ( decorations.size () );
+        for ( final Object decoration : decorations )
+        {
+            all.add ( ( IDecoration ) decoration );
+        }
+        final Class<? extends IDecoration> type = all.get ( all.size () - 1 ).getClass ();
+        merged = new ArrayList<IDecoration> ( all.size () );
+        for ( final IDecoration decoration : all )
+        {
+            if ( decoration.getClass () == type )
+            {
+                merged.add ( decoration );
+            }
+        }
+        clone = Clone.deep ();
+        merge = Merge.deep ();
+    }
+
+    /**
+     * Deep clone of all button style decorations.
+     *
+     * @return cloned {@link Decorations}
+     */
+    @Benchmark
+    public Decorations cloneDeep ()
+    {
+        return clone.clone ( decorations );
+    }
+
+    /**
+     * Deep merge of all button style decorations of the same type.
+     *
+     * @return merged decoration
+     */
+    @Benchmark
+    public IDecoration mergeDeep ()
+    {
+        return merge.merge ( merged );
+    }
+}
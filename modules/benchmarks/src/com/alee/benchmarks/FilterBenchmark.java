@@ -0,0 +1,105 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.benchmarks;
+
+import com.alee.graphics.filters.GaussianFilter;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link GaussianFilter} on images from icon to 4K size in serial and parallel modes.
+ *
+ * @author Mikle Garin
+ * @see com.alee.graphics.filters.FilterExecutor
+ */
+@State ( Scope.Thread )
+@BenchmarkMode ( Mode.AverageTime )
+@OutputTimeUnit ( TimeUnit.MICROSECONDS )
+@Warmup ( iterations = 5, time = 1 )
+@Measurement ( iterations = 5, time = 1 )
+@Fork ( value = 1, jvmArgsAppend = "-Djava.awt.headless=true" )
+public class FilterBenchmark
+{
+    /**
+     * Filtered image size, {@code 3840x2160} for 4K and square image otherwise.
+     */
+    @Param ( { "64", "256", "1024", "4K" } )
+    public String size;
+
+    /**
+     * Whether or not image is filtered in parallel.
+     */
+    @Param ( { "false", "true" } )
+    public boolean parallel;
+
+    /**
+     * Blur radius.
+     */
+    @Param ( { "10" } )
+    public float radius;
+
+    /**
+     * {@link GaussianFilter} instance.
+     */
+    private GaussianFilter filter;
+
+    /**
+     * Source image.
+     */
+    private BufferedImage source;
+
+    /**
+     * Destination image.
+     */
+    private BufferedImage destination;
+
+    /**
+     * Prepares images and filter.
+     */
+    @Setup ( Level.Trial )
+    public void setup ()
+    {
+        final int width = size.equals ( "4K" ) ? 3840 : Integer.parseInt ( size );
+        final int height = size.equals ( "4K" ) ? 2160 : width;
+        final Random random = new Random ( 42 );
+        final int[] pixels = new int[ width * height ];
+        for ( int i = 0; i < pixels.length; i++ )
+        {
+            pixels[ i ] = random.nextInt ();
+        }
+        source = new BufferedImage ( width, height, BufferedImage.TYPE_INT_ARGB );
+        source.setRGB ( 0, 0, width, height, pixels, 0, width );
+        destination = new BufferedImage ( width, height, BufferedImage.TYPE_INT_ARGB );
+        filter = new GaussianFilter ( radius );
+        filter.setParallel ( parallel );
+    }
+
+    /**
+     * Filters source image.
+     *
+     * @return filtered image
+     */
+    @Benchmark
+    public BufferedImage gaussian ()
+    {
+        return filter.filter ( source, destination );
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.benchmarks;
+
+import com.alee.utils.ninepatch.NinePatchIcon;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link NinePatchIcon} painting at different sizes with and without rendered images cache.
+ *
+ * @author Mikle Garin
+ */
+@State ( Scope.Thread )
+@BenchmarkMode ( Mode.AverageTime )
+@OutputTimeUnit ( TimeUnit.MICROSECONDS )
+@Warmup ( iterations = 5, time = 1 )
+@Measurement ( iterations = 5, time = 1 )
+@Fork ( value = 1, jvmArgsAppend = "-Djava.awt.headless=true" )
+public class NinePatchIconBenchmark
+{
+    /**
+     * Painted icon size.
+     */
+    @Param ( { "32", "256", "1024" } )
+    public int size;
+
+    /**
+     * Maximum memory size in bytes of images rendered for specific sizes, {@code 0} to disable caching.
+     */
+    @Param ( { "0", "8388608" } )
+    public long renderCacheCapacity;
+
+    /**
+     * Painted {@link NinePatchIcon}.
+     */
+    private NinePatchIcon icon;
+
+    /**
+     * Image icon is painted into.
+     */
+    private BufferedImage image;
+
+    /**
+     * Prepares {@link NinePatchIcon} with fixed corners and stretchable sides.
+     */
+    @Setup ( Level.Trial )
+    public void setup ()
+    {
+        final BufferedImage raw = new BufferedImage ( 40, 40, BufferedImage.TYPE_INT_ARGB );
+        final Graphics2D g2d = raw.createGraphics ();
+        g2d.setRenderingHint ( RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON );
+        g2d.setPaint ( new GradientPaint ( 0, 0, Color.WHITE, 0, 40, Color.LIGHT_GRAY ) );
+        g2d.fillRoundRect ( 0, 0, 40, 40, 16, 16 );
+        g2d.setPaint ( Color.GRAY );
+        g2d.drawRoundRect ( 0, 0, 39, 39, 16, 16 );
+        g2d.dispose ();
+
+        icon = NinePatchIcon.create ( raw );
+        icon.addHorizontalStretch ( 0, 9, true );
+        icon.addHorizontalStretch ( 10, 29, false );
+        icon.addHorizontalStretch ( 30, 39, true );
+        icon.addVerticalStretch ( 0, 9, true );
+        icon.addVerticalStretch ( 10, 29, false );
+        icon.addVerticalStretch ( 30, 39, true );
+        icon.setRenderCacheCapacity ( renderCacheCapacity );
+
+        image = new BufferedImage ( size, size, BufferedImage.TYPE_INT_ARGB );
+    }
+
+    /**
+     * Paints {@link NinePatchIcon} into image.
+     *
+     * @return image icon was painted into
+     */
+    @Benchmark
+    public BufferedImage paintIcon ()
+    {
+        final Graphics2D g2d = image.createGraphics ();
+        icon.paintIcon ( g2d, 0, 0, size, size );
+        g2d.dispose ();
+        return image;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.benchmarks;
+
+import com.alee.utils.TextUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link TextUtils#getSettingsKey(Object...)} used to build shape cache keys.
+ *
+ * @author Mikle Garin
+ */
+@State ( Scope.Thread )
+@BenchmarkMode ( Mode.AverageTime )
+@OutputTimeUnit ( TimeUnit.NANOSECONDS )
+@Warmup ( iterations = 5, time = 1 )
+@Measurement ( iterations = 5, time = 1 )
+@Fork ( 1 )
+public class SettingsKeyBenchmark
+{
+    /**
+     * Settings similar to the ones provided by shapes.
+     */
+    private Object[] settings;
+
+    /**
+     * Settings with nested arrays.
+     */
+    private Object[] nestedSettings;
+
+    /**
+     * Prepares settings.
+     */
+    @Setup ( Level.Trial )
+    public void setup ()
+    {
+        settings = new Object[]{ new Rectangle ( 0, 0, 120, 26 ), 4, 6, true, false, true, true, new Insets ( 2, 3, 2, 3 ), Color.GRAY };
+        nestedSettings = new Object[]{ new Rectangle ( 0, 0, 120, 26 ), new int[]{ 4, 4, 4, 4 }, new Object[]{ true, false, true, true } };
+    }
+
+    /**
+     * Flat settings key.
+     *
+     * @return settings key
+     */
+    @Benchmark
+    public String settingsKey ()
+    {
+        return TextUtils.getSettingsKey ( settings );
+    }
+
+    /**
+     * Nested settings key.
+     *
+     * @return settings key
+     */
+    @Benchmark
+    public String nestedSettingsKey ()
+    {
+        return TextUtils.getSettingsKey ( nestedSettings );
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.benchmarks;
+
+import com.alee.laf.button.WebButton;
+import com.alee.laf.checkbox.WebCheckBox;
+import com.alee.laf.combobox.WebComboBox;
+import com.alee.laf.list.WebList;
+import com.alee.laf.progressbar.WebProgressBar;
+import com.alee.laf.table.WebTable;
+import com.alee.laf.text.WebTextField;
+import com.alee.laf.tree.WebTree;
+import com.alee.utils.CoreSwingUtils;
+import org.openjdk.jmh.annotations.*;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks headless painting of common components into {@link BufferedImage} for each bundled skin.
+ * Components are painted on the Event Dispatch Thread, just like Swing would paint them into an offscreen buffer.
+ * Measured time includes the {@link CoreSwingUtils#invokeAndWait(Runnable)} hand-off, which is the same for all skins and components.
+ *
+ * @author Mikle Garin
+ */
+@State ( Scope.Thread )
+@BenchmarkMode ( Mode.AverageTime )
+@OutputTimeUnit ( TimeUnit.MICROSECONDS )
+@Warmup ( iterations = 5, time = 1 )
+@Measurement ( iterations = 5, time = 1 )
+@Fork ( value = 1, jvmArgsAppend = "-Djava.awt.headless=true" )
+public class SkinPaintingBenchmark
+{
+    /**
+     * Short name of the bundled skin.
+     */
+    @Param ( { "web", "flat", "dark", "material", "modena" } )
+    public String skin;
+
+    /**
+     * Painted component type.
+     */
+    @Param ( { "button", "checkbox", "textfield", "combobox", "progressbar", "list", "tree", "table" } )
+    public String component;
+
+    /**
+     * Painted component.
+     */
+    private JComponent painted;
+
+    /**
+     * Image component is painted into.
+     */
+    private BufferedImage image;
+
+    /**
+     * Installs skin and prepares painted component.
+     */
+    @Setup ( Level.Trial )
+    public void setup ()
+    {
+        BenchmarkUtils.installSkin ( skin );
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                painted = createComponent ( component );
+                final Dimension ps = painted.getPreferredSize ();
+                final Dimension size = new Dimension ( Math.max ( ps.width, 200 ), Math.max ( ps.height, 24 ) );
+                BenchmarkUtils.layout ( painted, size );
+                image = new BufferedImage ( painted.getWidth (), painted.getHeight (), BufferedImage.TYPE_INT_ARGB );
+            }
+        } );
+    }
+
+    /**
+     * Paints component into image.
+     *
+     * @return image component was painted into
+     */
+    @Benchmark
+    public BufferedImage paint ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                final Graphics2D g2d = image.createGraphics ();
+                painted.paint ( g2d );
+                g2d.dispose ();
+            }
+        } );
+        return image;
+    }
+
+    /**
+     * Returns new component of the specified type.
+     *
+     * @param type component type
+     * @return new component of the specified type
+     */
+    private static JComponent createComponent ( final String type )
+    {
+        final JComponent component;
+        if ( type.equals ( "button" ) )
+        {
+            component = new WebButton ( "Button" );
+        }
+        else if ( type.equals ( "checkbox" ) )
+        {
+            component = new WebCheckBox ( "Check box", true );
+        }
+        else if ( type.equals ( "textfield" ) )
+        {
+            component = new WebTextField ( "Text field content", 20 );
+        }
+        else if ( type.equals ( "combobox" ) )
+        {
+            component = new WebComboBox ( new String[]{ "First", "Second", "Third" } );
+        }
+        else if ( type.equals ( "progressbar" ) )
+        {
+            final WebProgressBar progressBar = new WebProgressBar ( 0, 100 );
+            progressBar.setValue ( 42 );
+            progressBar.setStringPainted ( true );
+            component = progressBar;
+        }
+        else if ( type.equals ( "list" ) )
+        {
+            final String[] data = new String[ 30 ];
+            for ( int i = 0; i < data.length; i++ )
+            {
+                data[ i ] = "List element " + i;
+            }
+            final WebList list = new WebList ( data );
+            list.setSelectedIndex ( 3 );
+            component = list;
+        }
+        else if ( type.equals ( "tree" ) )
+        {
+            final WebTree tree = new WebTree ();
+            for ( int i = 0; i < tree.getRowCount (); i++ )
+            {
+                tree.expandRow ( i );
+            }
+            tree.setSelectionRow ( 2 );
+            component = tree;
+        }
+        else if ( type.equals ( "table" ) )
+        {
+            final Object[][] data = new Object[ 30 ][ 4 ];
+            for ( int row = 0; row < data.length; row++ )
+            {
+                for ( int column = 0; column < data[ row ].length; column++ )
+                {
+                    data[ row ][ column ] = "Cell " + row + ":" + column;
+                }
+            }
+            final WebTable table = new WebTable ( data, new String[]{ "A", "B", "C", "D" } );
+            table.setRowSelectionInterval ( 3, 3 );
+            component = table;
+        }
+        else
+        {
+            throw new IllegalArgumentException ( "Unknown component type: " + type );
+        }
+        return component;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.benchmarks;
+
+import com.alee.managers.style.StyleManager;
+import com.alee.managers.style.data.SkinInfo;
+import com.alee.utils.XmlUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link XmlUtils#fromXML(URL)} parsing of bundled skins, including all of their included files.
+ *
+ * @author Mikle Garin
+ */
+@State ( Scope.Thread )
+@BenchmarkMode ( Mode.AverageTime )
+@OutputTimeUnit ( TimeUnit.MILLISECONDS )
+@Warmup ( iterations = 5, time = 1 )
+@Measurement ( iterations = 5, time = 1 )
+@Fork ( value = 1, jvmArgsAppend = "-Djava.awt.headless=true" )
+public class SkinParsingBenchmark
+{
+    /**
+     * Short name of the bundled skin.
+     */
+    @Param ( { "web", "flat", "dark", "material", "modena" } )
+    public String skin;
+
+    /**
+     * Skin XML location.
+     */
+    private URL location;
+
+    /**
+     * Initializes {@link StyleManager} to register skin XML aliases.
+     */
+    @Setup ( Level.Trial )
+    public void setup ()
+    {
+        StyleManager.initialize ();
+        location = BenchmarkUtils.getSkinClass ( skin ).getResource ( "resources/skin.xml" );
+    }
+
+    /**
+     * Parses skin XML.
+     *
+     * @return parsed {@link SkinInfo}
+     */
+    @Benchmark
+    public SkinInfo fromXML ()
+    {
+        return XmlUtils.fromXML ( location );
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.benchmarks;
+
+import com.alee.extended.layout.TableLayout;
+import com.alee.laf.label.WebLabel;
+import com.alee.laf.panel.WebPanel;
+import com.alee.laf.text.WebTextField;
+import com.alee.utils.CoreSwingUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link TableLayout} revalidation of a large form after a single label text change, similar to typing into a form.
+ * Each form row has a title label, a text field and a status label, only one status label is changed per operation.
+ * Form is laid out on the Event Dispatch Thread the same way Swing validation would do it after the change, but without a peer.
+ * Whole form is calculated again on each change, {@link #sizeCaching} only affects how often component sizes are requested within it.
+ *
+ * @author Mikle Garin
+ */
+@State ( Scope.Thread )
+@BenchmarkMode ( Mode.AverageTime )
+@OutputTimeUnit ( TimeUnit.MICROSECONDS )
+@Warmup ( iterations = 5, time = 1 )
+@Measurement ( iterations = 5, time = 1 )
+@Fork ( value = 1, jvmArgsAppend = "-Djava.awt.headless=true" )
+public class TableLayoutBenchmark
+{
+    /**
+     * Amount of form rows.
+     */
+    @Param ( { "30", "300" } )
+    public int rows;
+
+    /**
+     * Whether or not {@link TableLayout} caches component sizes within a single layout calculation.
+     */
+    @Param ( { "true", "false" } )
+    public boolean sizeCaching;
+
+    /**
+     * Form using {@link TableLayout}.
+     */
+    private WebPanel form;
+
+    /**
+     * Status labels, one per form row.
+     */
+    private WebLabel[] statuses;
+
+    /**
+     * Index of the next status label to change.
+     */
+    private int next;
+
+    /**
+     * Installs skin and prepares form.
+     */
+    @Setup ( Level.Trial )
+    public void setup ()
+    {
+        BenchmarkUtils.installSkin ( "web" );
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                final double[] rowSizes = new double[ rows ];
+                Arrays.fill ( rowSizes, TableLayout.PREFERRED );
+                final double[] columnSizes = { TableLayout.PREFERRED, TableLayout.FILL, TableLayout.PREFERRED };
+                final TableLayout layout = new TableLayout ( columnSizes, rowSizes, 4, 4 );
+                layout.setSizeCaching ( sizeCaching );
+
+                form = new WebPanel ( layout );
+                statuses = new WebLabel[ rows ];
+                for ( int row = 0; row < rows; row++ )
+                {
+                    form.add ( new WebLabel ( "Field " + row ), "0," + row );
+                    form.add ( new WebTextField ( "Value " + row, 20 ), "1," + row );
+                    statuses[ row ] = new WebLabel ( "Status" );
+                    form.add ( statuses[ row ], "2," + row );
+                }
+                BenchmarkUtils.layout ( form, form.getPreferredSize () );
+            }
+        } );
+    }
+
+    /**
+     * Changes single status label text and lays out the form.
+     * Form preferred size is requested first, just like its parent layout would do it.
+     *
+     * @return laid out form
+     */
+    @Benchmark
+    public Component revalidate ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                final WebLabel status = statuses[ next ];
+                status.setText ( status.getText ().length () < 10 ? status.getText () + "+" : "Status" );
+                status.invalidate ();
+                form.getPreferredSize ();
+                form.doLayout ();
+                next = ( next + 1 ) % statuses.length;
+            }
+        } );
+        return form;
+    }
+}
@@ -22,6 +22,9 @@ import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
 import java.awt.image.BufferedImageOp;
 import java.awt.image.ColorModel;
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * A convenience class which implements those methods of BufferedImageOp which are rarely changed.
@@ -30,6 +33,51 @@ import java.awt.image.ColorModel;
  */
 public abstract class AbstractBufferedImageOp implements BufferedImageOp
 {
+    /**
+     * Maximum amount of pixel buffers kept for reuse by each thread.
+     */
+    private static final int MAX_POOLED_BUFFERS = 4;
+
+    /**
+     * Pixel buffers available for reuse by each thread.
+     * Buffers are referenced softly, so they can be freed whenever memory is needed.
+     */
+    private static final ThreadLocal<List<SoftReference<int[]>>> pixelBuffers = new ThreadLocal<List<SoftReference<int[]>>> ()
+    {
+        @Override
+        protected List<SoftReference<int[]>> initialValue ()
+        {
+            return new ArrayList<SoftReference<int[]>> ( MAX_POOLED_BUFFERS );
+        }
+    };
+
+    /**
+     * Whether or not this filter should process images in parallel.
+     * If it is {@code null} - {@link FilterExecutor#isParallel()} setting is used.
+     */
+    protected Boolean parallel;
+
+    /**
+     * Returns whether or not this filter processes images in parallel.
+     *
+     * @return {@code true} if this filter processes images in parallel, {@code false} otherwise
+     */
+    public boolean isParallel ()
+    {
+        return parallel != null ? parallel : FilterExecutor.isParallel ();
+    }
+
+    /**
+     * Sets whether or not this filter should process images in parallel.
+     * Filters that do not support parallel processing simply ignore this setting.
+     *
+     * @param parallel whether or not this filter should process images in parallel, {@code null} to use default setting
+     */
+    public void setParallel ( final Boolean parallel )
+    {
+        this.parallel = parallel;
+    }
+
     @Override
     public BufferedImage createCompatibleDestImage ( final BufferedImage src, ColorModel dstCM )
     {
@@ -94,4 +142,79 @@ public abstract class AbstractBufferedImageOp implements BufferedImageOp
             image.setRGB ( x, y, width, height, pixels, 0, width );
         }
     }
+
+    /**
+     * Returns pixel buffer with at least the specified length.
+     * Buffer might contain data from its previous usage, so it must be fully overwritten before use.
+     * Buffer should be returned through {@link #releasePixels(int[])} once it is not used anymore to be reused later on.
+     *
+     * @param length minimum buffer length
+     * @return pixel buffer with at least the specified length
+     */
+    protected static int[] acquirePixels ( final int length )
+    {
+        final List<SoftReference<int[]>> buffers = pixelBuffers.get ();
+        int[] pixels = null;
+        int index = -1;
+        for ( int i = buffers.size () - 1; i >= 0; i-- )
+        {
+            final int[] buffer = buffers.get ( i ).get ();
+            if ( buffer == null )
+            {
+                buffers.remove ( i );
+                if ( index > i )
+                {
+                    index--;
+                }
+            }
+            else if ( buffer.length >= length && ( pixels == null || buffer.length < pixels.length ) )
+            {
+                pixels = buffer;
+                index = i;
+            }
+        }
+        if ( pixels != null )
+        {
+            buffers.remove ( index );
+        }
+        else
+        {
+            pixels = new int[ length ];
+        }
+        return pixels;
+    }
+
+    /**
+     * Returns pixel buffer acquired through {@link #acquirePixels(int)} so that it can be reused later on.
+     * If there are too many pooled buffers already - the smallest one is dropped.
+     *
+     * @param pixels pixel buffer
+     */
+    protected static void releasePixels ( final int[] pixels )
+    {
+        final List<SoftReference<int[]>> buffers = pixelBuffers.get ();
+        if ( buffers.size () < MAX_POOLED_BUFFERS )
+        {
+            buffers.add ( new SoftReference<int[]> ( pixels ) );
+        }
+        else
+        {
+            int smallest = -1;
+            int smallestLength = pixels.length;
+            for ( int i = 0; i < buffers.size (); i++ )
+            {
+                final int[] buffer = buffers.get ( i ).get ();
+                final int length = buffer != null ? buffer.length : -1;
+                if ( length < smallestLength )
+                {
+                    smallest = i;
+                    smallestLength = length;
+                }
+            }
+            if ( smallest != -1 )
+            {
+                buffers.set ( smallest, new SoftReference<int[]> ( pixels ) );
+            }
+        }
+    }
 }
\ No newline at end of file
@@ -94,23 +94,48 @@ public class BoxBlurFilter extends AbstractBufferedImageOp
             dst = createCompatibleDestImage ( src, null );
         }
 
-        final int[] inPixels = new int[ width * height ];
-        final int[] outPixels = new int[ width * height ];
-        getRGB ( src, 0, 0, width, height, inPixels );
+        final int[] inPixels = acquirePixels ( width * height );
+        final int[] outPixels = acquirePixels ( width * height );
+        try
+        {
+            getRGB ( src, 0, 0, width, height, inPixels );
 
-        for ( int i = 0; i < iterations; i++ )
+            final boolean parallel = isParallel ();
+            for ( int i = 0; i < iterations; i++ )
+            {
+                blur ( inPixels, outPixels, width, height, hRadius, parallel );
+                blur ( outPixels, inPixels, height, width, vRadius, parallel );
+            }
+
+            setRGB ( dst, 0, 0, width, height, inPixels );
+        }
+        finally
         {
-            blur ( inPixels, outPixels, width, height, hRadius );
-            blur ( outPixels, inPixels, height, width, vRadius );
+            releasePixels ( outPixels );
+            releasePixels ( inPixels );
         }
-
-        setRGB ( dst, 0, 0, width, height, inPixels );
         return dst;
     }
 
     public static void blur ( final int[] in, final int[] out, final int width, final int height, final int radius )
     {
-        final int widthMinus1 = width - 1;
+        blur ( in, out, width, height, radius, false );
+    }
+
+    /**
+     * Blurs rows of the image and writes them transposed into output pixels.
+     * Rows can be processed in parallel since each output row only depends on the corresponding input row.
+     *
+     * @param in       input pixels
+     * @param out      output pixels
+     * @param width    image width
+     * @param height   image height
+     * @param radius   blur radius
+     * @param parallel whether or not rows can be processed in parallel
+     */
+    public static void blur ( final int[] in, final int[] out, final int width, final int height, final int radius,
+                              final boolean parallel )
+    {
         final int tableSize = 2 * radius + 1;
         final int[] divide = new int[ 256 * tableSize ];
 
@@ -119,9 +144,35 @@ public class BoxBlurFilter extends AbstractBufferedImageOp
             divide[ i ] = i / tableSize;
         }
 
-        int inIndex = 0;
+        FilterExecutor.execute ( parallel, height, width, new FilterExecutor.RowTask ()
+        {
+            @Override
+            public void run ( final int fromRow, final int toRow )
+            {
+                blur ( in, out, width, height, radius, divide, fromRow, toRow );
+            }
+        } );
+    }
+
+    /**
+     * Blurs specified rows of the image and writes them transposed into output pixels.
+     *
+     * @param in     input pixels
+     * @param out    output pixels
+     * @param width  image width
+     * @param height image height
+     * @param radius blur radius
+     * @param divide division table
+     * @param fromY  first row to process, inclusive
+     * @param toY    last row to process, exclusive
+     */
+    private static void blur ( final int[] in, final int[] out, final int width, final int height, final int radius, final int[] divide,
+                               final int fromY, final int toY )
+    {
+        final int widthMinus1 = width - 1;
+        int inIndex = fromY * width;
 
-        for ( int y = 0; y < height; y++ )
+        for ( int y = fromY; y < toY; y++ )
         {
             int outIndex = y;
             int ta = 0, tr = 0, tg = 0, tb = 0;
@@ -0,0 +1,246 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.graphics.filters;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.utils.UtilityException;
+import com.alee.utils.concurrent.DaemonThreadFactory;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Executor used by filters to process image rows in parallel.
+ * Rows are split into bands which are processed by a shared daemon thread pool, calling thread also processes bands itself.
+ * Each row is always processed with exactly the same code as in serial mode, so results are identical in both modes.
+ *
+ * Parallel mode is disabled by default and can be enabled either globally through {@link #setParallel(boolean)} or for specific filter
+ * instances through {@link AbstractBufferedImageOp#setParallel(Boolean)}.
+ *
+ * @author Mikle Garin
+ * @see AbstractBufferedImageOp#isParallel()
+ */
+public final class FilterExecutor
+{
+    /**
+     * Whether or not filters process images in parallel by default.
+     */
+    private static volatile boolean parallel = false;
+
+    /**
+     * Minimum amount of processed pixels to split work between threads.
+     * Smaller images are always processed on the calling thread since parallel processing overhead outweighs its benefits for them.
+     */
+    private static volatile int parallelThreshold = 128 * 128;
+
+    /**
+     * Maximum amount of threads processing single image, including calling thread.
+     */
+    private static final int threads = Runtime.getRuntime ().availableProcessors ();
+
+    /**
+     * Thread pool used for parallel processing.
+     * It is only created when it is needed for the first time.
+     */
+    private static ExecutorService executor;
+
+    /**
+     * Private constructor to avoid instantiation.
+     */
+    private FilterExecutor ()
+    {
+        throw new UtilityException ( "Utility classes are not meant to be instantiated" );
+    }
+
+    /**
+     * Returns whether or not filters process images in parallel by default.
+     *
+     * @return {@code true} if filters process images in parallel by default, {@code false} otherwise
+     */
+    public static boolean isParallel ()
+    {
+        return parallel;
+    }
+
+    /**
+     * Sets whether or not filters should process images in parallel by default.
+     *
+     * @param parallel whether or not filters should process images in parallel by default
+     */
+    public static void setParallel ( final boolean parallel )
+    {
+        FilterExecutor.parallel = parallel;
+    }
+
+    /**
+     * Returns minimum amount of processed pixels to split work between threads.
+     *
+     * @return minimum amount of processed pixels to split work between threads
+     */
+    public static int getParallelThreshold ()
+    {
+        return parallelThreshold;
+    }
+
+    /**
+     * Sets minimum amount of processed pixels to split work between threads.
+     *
+     * @param threshold minimum amount of processed pixels to split work between threads
+     */
+    public static void setParallelThreshold ( final int threshold )
+    {
+        FilterExecutor.parallelThreshold = threshold;
+    }
+
+    /**
+     * Processes specified amount of rows using the specified {@link RowTask}.
+     * Rows are processed in parallel only if {@code parallel} is {@code true} and there are enough pixels to process.
+     *
+     * @param parallel  whether or not rows can be processed in parallel
+     * @param rows      amount of rows
+     * @param rowLength amount of pixels in each row
+     * @param task      {@link RowTask}
+     */
+    public static void execute ( final boolean parallel, final int rows, final int rowLength, @NotNull final RowTask task )
+    {
+        final int bands = Math.min ( threads, rows );
+        if ( parallel && bands > 1 && ( long ) rows * rowLength >= parallelThreshold )
+        {
+            executeBands ( rows, bands, task );
+        }
+        else if ( rows > 0 )
+        {
+            task.run ( 0, rows );
+        }
+    }
+
+    /**
+     * Processes rows split into the specified amount of bands in parallel.
+     *
+     * @param rows  amount of rows
+     * @param bands amount of bands
+     * @param task  {@link RowTask}
+     */
+    private static void executeBands ( final int rows, final int bands, @NotNull final RowTask task )
+    {
+        final AtomicInteger next = new AtomicInteger ( 0 );
+        final CountDownLatch done = new CountDownLatch ( bands );
+        final AtomicReference<Throwable> error = new AtomicReference<Throwable> ();
+        final Runnable worker = new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                int band;
+                while ( ( band = next.getAndIncrement () ) < bands )
+                {
+                    try
+                    {
+                        if ( error.get () == null )
+                        {
+                            task.run ( rows * band / bands, rows * ( band + 1 ) / bands );
+                        }
+                    }
+                    catch ( final Throwable e )
+                    {
+                        error.compareAndSet ( null, e );
+                    }
+                    finally
+                    {
+                        done.countDown ();
+                    }
+                }
+            }
+        };
+
+        // Helper threads pick up bands as soon as they are free
+        // Calling thread processes bands as well, so it never waits for bands that were not picked up yet
+        final ExecutorService executor = getExecutor ();
+        for ( int i = 1; i < bands; i++ )
+        {
+            executor.execute ( worker );
+        }
+        worker.run ();
+
+        // Waiting for bands processed by helper threads
+        boolean interrupted = false;
+        while ( done.getCount () > 0 )
+        {
+            try
+            {
+                done.await ();
+            }
+            catch ( final InterruptedException e )
+            {
+                interrupted = true;
+            }
+        }
+        if ( interrupted )
+        {
+            Thread.currentThread ().interrupt ();
+        }
+
+        // Rethrowing processing exception
+        final Throwable throwable = error.get ();
+        if ( throwable instanceof RuntimeException )
+        {
+            throw ( RuntimeException ) throwable;
+        }
+        else if ( throwable instanceof Error )
+        {
+            throw ( Error ) throwable;
+        }
+        else if ( throwable != null )
+        {
+            throw new RuntimeException ( throwable );
+        }
+    }
+
+    /**
+     * Returns thread pool used for parallel processing.
+     *
+     * @return thread pool used for parallel processing
+     */
+    @NotNull
+    private static synchronized ExecutorService getExecutor ()
+    {
+        if ( executor == null )
+        {
+            executor = Executors.newFixedThreadPool ( Math.max ( 1, threads - 1 ), new DaemonThreadFactory ( "FilterExecutor" ) );
+        }
+        return executor;
+    }
+
+    /**
+     * Task processing a band of image rows.
+     * It must only modify data related to the rows it was given.
+     */
+    public static interface RowTask
+    {
+        /**
+         * Processes rows from {@code fromRow} inclusive to {@code toRow} exclusive.
+         *
+         * @param fromRow first row to process, inclusive
+         * @param toRow   last row to process, exclusive
+         */
+        public void run ( int fromRow, int toRow );
+    }
+}
@@ -80,25 +80,79 @@ public class GaussianFilter extends ConvolveFilter
             dst = createCompatibleDestImage ( src, null );
         }
 
-        final int[] inPixels = new int[ width * height ];
-        final int[] outPixels = new int[ width * height ];
-        src.getRGB ( 0, 0, width, height, inPixels, 0, width );
+        final int[] inPixels = acquirePixels ( width * height );
+        final int[] outPixels = acquirePixels ( width * height );
+        try
+        {
+            src.getRGB ( 0, 0, width, height, inPixels, 0, width );
 
-        convolveAndTranspose ( kernel, inPixels, outPixels, width, height, alpha, CLAMP_EDGES );
-        convolveAndTranspose ( kernel, outPixels, inPixels, height, width, alpha, CLAMP_EDGES );
+            final boolean parallel = isParallel ();
+            convolveAndTranspose ( kernel, inPixels, outPixels, width, height, alpha, CLAMP_EDGES, parallel );
+            convolveAndTranspose ( kernel, outPixels, inPixels, height, width, alpha, CLAMP_EDGES, parallel );
 
-        dst.setRGB ( 0, 0, width, height, inPixels, 0, width );
+            dst.setRGB ( 0, 0, width, height, inPixels, 0, width );
+        }
+        finally
+        {
+            releasePixels ( outPixels );
+            releasePixels ( inPixels );
+        }
         return dst;
     }
 
     public static void convolveAndTranspose ( final Kernel kernel, final int[] inPixels, final int[] outPixels, final int width,
                                               final int height, final boolean alpha, final int edgeAction )
+    {
+        convolveAndTranspose ( kernel, inPixels, outPixels, width, height, alpha, edgeAction, false );
+    }
+
+    /**
+     * Convolves rows of the image with the specified kernel and writes them transposed into output pixels.
+     * Rows can be processed in parallel since each output row only depends on the corresponding input row.
+     *
+     * @param kernel     convolution kernel
+     * @param inPixels   input pixels
+     * @param outPixels  output pixels
+     * @param width      image width
+     * @param height     image height
+     * @param alpha      whether or not alpha channel should be convolved
+     * @param edgeAction edge action
+     * @param parallel   whether or not rows can be processed in parallel
+     */
+    public static void convolveAndTranspose ( final Kernel kernel, final int[] inPixels, final int[] outPixels, final int width,
+                                              final int height, final boolean alpha, final int edgeAction, final boolean parallel )
     {
         final float[] matrix = kernel.getKernelData ( null );
-        final int cols = kernel.getWidth ();
-        final int cols2 = cols / 2;
+        final int cols2 = kernel.getWidth () / 2;
+        FilterExecutor.execute ( parallel, height, width, new FilterExecutor.RowTask ()
+        {
+            @Override
+            public void run ( final int fromRow, final int toRow )
+            {
+                convolveAndTranspose ( matrix, cols2, inPixels, outPixels, width, height, alpha, edgeAction, fromRow, toRow );
+            }
+        } );
+    }
 
-        for ( int y = 0; y < height; y++ )
+    /**
+     * Convolves specified rows of the image and writes them transposed into output pixels.
+     *
+     * @param matrix     kernel matrix
+     * @param cols2      half of the kernel width
+     * @param inPixels   input pixels
+     * @param outPixels  output pixels
+     * @param width      image width
+     * @param height     image height
+     * @param alpha      whether or not alpha channel should be convolved
+     * @param edgeAction edge action
+     * @param fromY      first row to process, inclusive
+     * @param toY        last row to process, exclusive
+     */
+    private static void convolveAndTranspose ( final float[] matrix, final int cols2, final int[] inPixels, final int[] outPixels,
+                                               final int width, final int height, final boolean alpha, final int edgeAction,
+                                               final int fromY, final int toY )
+    {
+        for ( int y = fromY; y < toY; y++ )
         {
             int index = y;
             final int iOffset = y * width;
@@ -83,14 +83,38 @@ public class MedianFilter extends WholeImageFilter
     @Override
     protected int[] filterPixels ( final int width, final int height, final int[] inPixels, final Rectangle transformedSpace )
     {
-        int index = 0;
+        final int[] outPixels = new int[ width * height ];
+        FilterExecutor.execute ( isParallel (), height, width, new FilterExecutor.RowTask ()
+        {
+            @Override
+            public void run ( final int fromRow, final int toRow )
+            {
+                filterPixels ( width, height, inPixels, outPixels, fromRow, toRow );
+            }
+        } );
+        return outPixels;
+    }
+
+    /**
+     * Filters specified rows of the image.
+     *
+     * @param width     image width
+     * @param height    image height
+     * @param inPixels  input pixels
+     * @param outPixels output pixels
+     * @param fromY     first row to process, inclusive
+     * @param toY       last row to process, exclusive
+     */
+    private void filterPixels ( final int width, final int height, final int[] inPixels, final int[] outPixels, final int fromY,
+                                final int toY )
+    {
+        int index = fromY * width;
         final int[] argb = new int[ 9 ];
         final int[] r = new int[ 9 ];
         final int[] g = new int[ 9 ];
         final int[] b = new int[ 9 ];
-        final int[] outPixels = new int[ width * height ];
 
-        for ( int y = 0; y < height; y++ )
+        for ( int y = fromY; y < toY; y++ )
         {
             for ( int x = 0; x < width; x++ )
             {
@@ -125,7 +149,6 @@ public class MedianFilter extends WholeImageFilter
                 outPixels[ index++ ] = argb[ rgbMedian ( r, g, b ) ];
             }
         }
-        return outPixels;
     }
 
     @Override
@@ -22,6 +22,7 @@ import java.awt.image.WritableRaster;
 /**
  * An abstract superclass for point filters.
  * The interface is the same as the old RGBImageFilter.
+ * In parallel mode {@link #filterRGB(int, int, int)} is called from multiple threads, so it must not modify filter state.
  *
  * @author Jerry Huxtable
  */
@@ -45,29 +46,45 @@ public abstract class PointFilter extends AbstractBufferedImageOp
 
         setDimensions ( width, height );
 
-        final int[] inPixels = new int[ width ];
-        for ( int y = 0; y < height; y++ )
+        final BufferedImage dstImage = dst;
+        FilterExecutor.execute ( isParallel (), height, width, new FilterExecutor.RowTask ()
         {
-            // We try to avoid calling getRGB on images as it causes them to become un-managed, causing horrible performance problems.
-            if ( type == BufferedImage.TYPE_INT_ARGB )
+            @Override
+            public void run ( final int fromRow, final int toRow )
             {
-                srcRaster.getDataElements ( 0, y, width, 1, inPixels );
-                for ( int x = 0; x < width; x++ )
+                final int[] inPixels = acquirePixels ( width );
+                try
                 {
-                    inPixels[ x ] = filterRGB ( x, y, inPixels[ x ] );
+                    for ( int y = fromRow; y < toRow; y++ )
+                    {
+                        // We try to avoid calling getRGB on images as it causes them to become un-managed
+                        // That causes horrible performance problems
+                        if ( type == BufferedImage.TYPE_INT_ARGB )
+                        {
+                            srcRaster.getDataElements ( 0, y, width, 1, inPixels );
+                            for ( int x = 0; x < width; x++ )
+                            {
+                                inPixels[ x ] = filterRGB ( x, y, inPixels[ x ] );
+                            }
+                            dstRaster.setDataElements ( 0, y, width, 1, inPixels );
+                        }
+                        else
+                        {
+                            src.getRGB ( 0, y, width, 1, inPixels, 0, width );
+                            for ( int x = 0; x < width; x++ )
+                            {
+                                inPixels[ x ] = filterRGB ( x, y, inPixels[ x ] );
+                            }
+                            dstImage.setRGB ( 0, y, width, 1, inPixels, 0, width );
+                        }
+                    }
                 }
-                dstRaster.setDataElements ( 0, y, width, 1, inPixels );
-            }
-            else
-            {
-                src.getRGB ( 0, y, width, 1, inPixels, 0, width );
-                for ( int x = 0; x < width; x++ )
+                finally
                 {
-                    inPixels[ x ] = filterRGB ( x, y, inPixels[ x ] );
+                    releasePixels ( inPixels );
                 }
-                dst.setRGB ( 0, y, width, 1, inPixels, 0, width );
             }
-        }
+        } );
 
         return dst;
     }
@@ -170,7 +170,9 @@ public class ShadowFilter extends AbstractBufferedImageOp
         final float[][] extractAlpha = { { 0, 0, 0, shadowR }, { 0, 0, 0, shadowG }, { 0, 0, 0, shadowB }, { 0, 0, 0, opacity } };
         BufferedImage shadow = new BufferedImage ( width, height, BufferedImage.TYPE_INT_ARGB );
         new BandCombineOp ( extractAlpha, null ).filter ( src.getRaster (), shadow.getRaster () );
-        shadow = new GaussianFilter ( radius ).filter ( shadow, null );
+        final GaussianFilter gaussianFilter = new GaussianFilter ( radius );
+        gaussianFilter.setParallel ( parallel );
+        shadow = gaussianFilter.filter ( shadow, null );
 
         final float xOffset = distance * ( float ) Math.cos ( angle );
         final float yOffset = -distance * ( float ) Math.sin ( angle );
@@ -19,6 +19,8 @@ package com.alee.utils;
 
 import com.alee.api.annotations.NotNull;
 import com.alee.graphics.filters.ShadowFilter;
+import com.alee.utils.cache.ImageCache;
+import com.alee.utils.cache.LruImageCache;
 import com.alee.utils.collection.ImmutableList;
 import com.alee.utils.xml.Resource;
 import com.alee.utils.xml.ResourceLocation;
@@ -80,18 +82,67 @@ public final class ImageUtils
         return ( image.getRGB ( x, y ) >> 24 & 0xFF ) > 0;
     }
 
+    /**
+     * Returns approximate memory size of the specified image or icon in bytes.
+     * For {@link BufferedImage}s it is calculated based on the actual raster data size.
+     * For any other images and icons it is estimated as four bytes per pixel.
+     * Zero is returned for unknown objects.
+     *
+     * @param image image or icon to estimate memory size for
+     * @return approximate memory size of the specified image or icon in bytes
+     */
+    public static long getMemorySize ( final Object image )
+    {
+        final long size;
+        if ( image instanceof BufferedImage )
+        {
+            final DataBuffer buffer = ( ( BufferedImage ) image ).getRaster ().getDataBuffer ();
+            size = ( long ) buffer.getSize () * buffer.getNumBanks () * DataBuffer.getDataTypeSize ( buffer.getDataType () ) / 8;
+        }
+        else if ( image instanceof Image )
+        {
+            final Image img = ( Image ) image;
+            size = 4L * Math.max ( 0, img.getWidth ( null ) ) * Math.max ( 0, img.getHeight ( null ) );
+        }
+        else if ( image instanceof ImageIcon && ( ( ImageIcon ) image ).getImage () != null )
+        {
+            size = getMemorySize ( ( ( ImageIcon ) image ).getImage () );
+        }
+        else if ( image instanceof Icon )
+        {
+            final Icon icon = ( Icon ) image;
+            size = 4L * Math.max ( 0, icon.getIconWidth () ) * Math.max ( 0, icon.getIconHeight () );
+        }
+        else
+        {
+            size = 0;
+        }
+        return size;
+    }
+
     /**
      * Creates a compatible image using given data
      */
 
     public static BufferedImage createCompatibleImage ( final int width, final int height )
     {
-        return SystemUtils.getGraphicsConfiguration ().createCompatibleImage ( width, height );
+        return createCompatibleImage ( width, height, Transparency.OPAQUE );
     }
 
     public static BufferedImage createCompatibleImage ( final int width, final int height, final int transparency )
     {
-        return SystemUtils.getGraphicsConfiguration ().createCompatibleImage ( width, height, transparency );
+        final BufferedImage image;
+        if ( GraphicsEnvironment.isHeadless () )
+        {
+            // There are no screen devices in headless environment
+            final int type = transparency == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+            image = new BufferedImage ( width, height, type );
+        }
+        else
+        {
+            image = SystemUtils.getGraphicsConfiguration ().createCompatibleImage ( width, height, transparency );
+        }
+        return image;
     }
 
     public static BufferedImage createCompatibleImage ( final BufferedImage image )
@@ -294,7 +345,33 @@ public final class ImageUtils
      * Merges few images into single one
      */
 
-    private static final Map<String, ImageIcon> mergedIconsCache = new HashMap<String, ImageIcon> ();
+    /**
+     * Cache of merged icons.
+     * Icons are only cached when key is provided.
+     */
+    @NotNull
+    private static volatile ImageCache<String, ImageIcon> mergedIconsCache = new LruImageCache<String, ImageIcon> ( 8 * 1024 * 1024 );
+
+    /**
+     * Returns {@link ImageCache} used for merged icons.
+     *
+     * @return {@link ImageCache} used for merged icons
+     */
+    @NotNull
+    public static ImageCache<String, ImageIcon> getMergedIconsCache ()
+    {
+        return mergedIconsCache;
+    }
+
+    /**
+     * Sets {@link ImageCache} used for merged icons.
+     *
+     * @param cache {@link ImageCache} used for merged icons
+     */
+    public static void setMergedIconsCache ( @NotNull final ImageCache<String, ImageIcon> cache )
+    {
+        mergedIconsCache = cache;
+    }
 
     public static void clearMergedIconsCache ()
     {
@@ -309,9 +386,10 @@ public final class ImageUtils
     public static ImageIcon mergeIcons ( final String key, final List<? extends Icon> icons )
     {
         // Icon is cached already
-        if ( key != null && mergedIconsCache.containsKey ( key ) )
+        final ImageIcon cached = key != null ? mergedIconsCache.get ( key ) : null;
+        if ( cached != null )
         {
-            return mergedIconsCache.get ( key );
+            return cached;
         }
 
         // No icons given
@@ -324,7 +402,7 @@ public final class ImageUtils
         if ( icons.size () == 1 )
         {
             final ImageIcon icon = getImageIcon ( icons.get ( 0 ) );
-            if ( key != null )
+            if ( key != null && icon != null )
             {
                 mergedIconsCache.put ( key, icon );
             }
@@ -354,9 +432,10 @@ public final class ImageUtils
     public static ImageIcon mergeIcons ( final String key, final Icon... icons )
     {
         // Icon is cached already
-        if ( key != null && mergedIconsCache.containsKey ( key ) )
+        final ImageIcon cached = key != null ? mergedIconsCache.get ( key ) : null;
+        if ( cached != null )
         {
-            return mergedIconsCache.get ( key );
+            return cached;
         }
 
         // No icons given
@@ -369,7 +448,7 @@ public final class ImageUtils
         if ( icons.length == 1 )
         {
             final ImageIcon icon = getImageIcon ( icons[ 0 ] );
-            if ( key != null )
+            if ( key != null && icon != null )
             {
                 mergedIconsCache.put ( key, icon );
             }
@@ -391,7 +470,34 @@ public final class ImageUtils
         return icon;
     }
 
-    private static final Map<String, BufferedImage> mergedImagesCache = new HashMap<String, BufferedImage> ();
+    /**
+     * Cache of merged images.
+     * Images are only cached when key is provided.
+     */
+    @NotNull
+    private static volatile ImageCache<String, BufferedImage> mergedImagesCache =
+            new LruImageCache<String, BufferedImage> ( 8 * 1024 * 1024 );
+
+    /**
+     * Returns {@link ImageCache} used for merged images.
+     *
+     * @return {@link ImageCache} used for merged images
+     */
+    @NotNull
+    public static ImageCache<String, BufferedImage> getMergedImagesCache ()
+    {
+        return mergedImagesCache;
+    }
+
+    /**
+     * Sets {@link ImageCache} used for merged images.
+     *
+     * @param cache {@link ImageCache} used for merged images
+     */
+    public static void setMergedImagesCache ( @NotNull final ImageCache<String, BufferedImage> cache )
+    {
+        mergedImagesCache = cache;
+    }
 
     public static void clearMergedImagesCache ()
     {
@@ -406,9 +512,10 @@ public final class ImageUtils
     public static BufferedImage mergeImages ( final String key, final Image... images )
     {
         // Image is cached already
-        if ( key != null && mergedImagesCache.containsKey ( key ) )
+        final BufferedImage cached = key != null ? mergedImagesCache.get ( key ) : null;
+        if ( cached != null )
         {
-            return mergedImagesCache.get ( key );
+            return cached;
         }
 
         // No images given
@@ -888,16 +995,48 @@ public final class ImageUtils
      * Image read methods
      */
 
-    private static final Map<String, ImageIcon> iconsCache = new HashMap<String, ImageIcon> ();
+    /**
+     * Cache of icons loaded from files and resources.
+     */
+    @NotNull
+    private static volatile ImageCache<String, ImageIcon> iconsCache = new LruImageCache<String, ImageIcon> ( 32 * 1024 * 1024 );
+
+    /**
+     * Returns {@link ImageCache} used for icons loaded from files and resources.
+     *
+     * @return {@link ImageCache} used for icons loaded from files and resources
+     */
+    @NotNull
+    public static ImageCache<String, ImageIcon> getIconsCache ()
+    {
+        return iconsCache;
+    }
+
+    /**
+     * Sets {@link ImageCache} used for icons loaded from files and resources.
+     *
+     * @param cache {@link ImageCache} used for icons loaded from files and resources
+     */
+    public static void setIconsCache ( @NotNull final ImageCache<String, ImageIcon> cache )
+    {
+        iconsCache = cache;
+    }
 
     public static boolean isImageCached ( final String src )
     {
-        return iconsCache.containsKey ( src ) && iconsCache.get ( src ) != null;
+        return iconsCache.get ( src ) != null;
     }
 
     public static void setImageCache ( final String src, final ImageIcon imageIcon )
     {
-        iconsCache.put ( src, imageIcon );
+        if ( imageIcon != null )
+        {
+            iconsCache.put ( src, imageIcon );
+        }
+        else
+        {
+            iconsCache.remove ( src );
+        }
     }
 
     public static void clearImagesCache ()
@@ -907,13 +1046,10 @@ public final class ImageUtils
 
     public static void clearImageCache ( final String src )
     {
-        if ( iconsCache.size () > 0 && iconsCache.containsKey ( src ) )
+        final ImageIcon removed = iconsCache.remove ( src );
+        if ( removed != null && removed.getImage () != null )
         {
-            if ( iconsCache.get ( src ) != null && iconsCache.get ( src ).getImage () != null )
-            {
-                iconsCache.get ( src ).getImage ().flush ();
-            }
-            iconsCache.remove ( src );
+            removed.getImage ().flush ();
         }
     }
 
@@ -936,25 +1072,15 @@ public final class ImageUtils
     {
         if ( src != null && !src.trim ().equals ( "" ) )
         {
-            final ImageIcon imageIcon;
-            if ( useCache && iconsCache.containsKey ( src ) )
+            final ImageIcon cached = useCache ? iconsCache.get ( src ) : null;
+            if ( cached != null )
             {
-                imageIcon = iconsCache.get ( src );
-                if ( imageIcon != null )
-                {
-                    return imageIcon;
-                }
-                else
-                {
-                    // todo This might cause performance issues
-                    iconsCache.remove ( src );
-                    return getImageIcon ( src, useCache );
-                }
+                return cached;
             }
             else
             {
-                imageIcon = createImageIcon ( src );
-                if ( useCache )
+                final ImageIcon imageIcon = createImageIcon ( src );
+                if ( useCache && isLoaded ( imageIcon ) )
                 {
                     iconsCache.put ( src, imageIcon );
                 }
@@ -967,6 +1093,18 @@ public final class ImageUtils
         }
     }
 
+    /**
+     * Returns whether or not specified {@link ImageIcon} image was successfully loaded.
+     * Icons that failed to load are not cached to allow loading them again later.
+     *
+     * @param imageIcon {@link ImageIcon} to check
+     * @return {@code true} if specified {@link ImageIcon} image was successfully loaded, {@code false} otherwise
+     */
+    private static boolean isLoaded ( final ImageIcon imageIcon )
+    {
+        return imageIcon != null && imageIcon.getImage () != null && imageIcon.getImageLoadStatus () != MediaTracker.ERRORED;
+    }
+
     private static ImageIcon createImageIcon ( final String src )
     {
         if ( !new File ( src ).exists () )
@@ -996,25 +1134,15 @@ public final class ImageUtils
         if ( resource != null )
         {
             final String key = resource.toString ();
-            final ImageIcon imageIcon;
-            if ( useCache && iconsCache.containsKey ( key ) )
+            final ImageIcon cached = useCache ? iconsCache.get ( key ) : null;
+            if ( cached != null )
             {
-                imageIcon = iconsCache.get ( key );
-                if ( imageIcon != null )
-                {
-                    return imageIcon;
-                }
-                else
-                {
-                    // todo This might cause performance issues
-                    iconsCache.remove ( key );
-                    return getImageIcon ( key, useCache );
-                }
+                return cached;
             }
             else
             {
-                imageIcon = new ImageIcon ( resource );
-                if ( useCache )
+                final ImageIcon imageIcon = new ImageIcon ( resource );
+                if ( useCache && isLoaded ( imageIcon ) )
                 {
                     iconsCache.put ( key, imageIcon );
                 }
@@ -0,0 +1,166 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.cache;
+
+import com.alee.api.annotations.NotNull;
+
+import java.io.Serializable;
+
+/**
+ * Immutable snapshot of cache statistics.
+ *
+ * @author Mikle Garin
+ * @see ImageCache#getStatistics()
+ */
+public final class CacheStatistics implements Serializable
+{
+    /**
+     * Serialization version.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Amount of successful cache lookups.
+     */
+    private final long hits;
+
+    /**
+     * Amount of failed cache lookups.
+     */
+    private final long misses;
+
+    /**
+     * Amount of values evicted from cache to stay within its capacity.
+     */
+    private final long evictions;
+
+    /**
+     * Amount of currently cached values.
+     */
+    private final int size;
+
+    /**
+     * Approximate weight of currently cached values, in bytes for image caches.
+     */
+    private final long weight;
+
+    /**
+     * Maximum weight of cached values, in bytes for image caches.
+     */
+    private final long capacity;
+
+    /**
+     * Constructs new {@link CacheStatistics}.
+     *
+     * @param hits      amount of successful cache lookups
+     * @param misses    amount of failed cache lookups
+     * @param evictions amount of values evicted from cache to stay within its capacity
+     * @param size      amount of currently cached values
+     * @param weight    approximate weight of currently cached values
+     * @param capacity  maximum weight of cached values
+     */
+    public CacheStatistics ( final long hits, final long misses, final long evictions, final int size, final long weight,
+                             final long capacity )
+    {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.size = size;
+        this.weight = weight;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns amount of successful cache lookups.
+     *
+     * @return amount of successful cache lookups
+     */
+    public long getHits ()
+    {
+        return hits;
+    }
+
+    /**
+     * Returns amount of failed cache lookups.
+     *
+     * @return amount of failed cache lookups
+     */
+    public long getMisses ()
+    {
+        return misses;
+    }
+
+    /**
+     * Returns amount of values evicted from cache to stay within its capacity.
+     *
+     * @return amount of values evicted from cache to stay within its capacity
+     */
+    public long getEvictions ()
+    {
+        return evictions;
+    }
+
+    /**
+     * Returns amount of currently cached values.
+     *
+     * @return amount of currently cached values
+     */
+    public int getSize ()
+    {
+        return size;
+    }
+
+    /**
+     * Returns approximate weight of currently cached values.
+     *
+     * @return approximate weight of currently cached values
+     */
+    public long getWeight ()
+    {
+        return weight;
+    }
+
+    /**
+     * Returns maximum weight of cached values.
+     *
+     * @return maximum weight of cached values
+     */
+    public long getCapacity ()
+    {
+        return capacity;
+    }
+
+    /**
+     * Returns ratio of successful cache lookups to all cache lookups, {@code 0} if there were no lookups yet.
+     *
+     * @return ratio of successful cache lookups to all cache lookups, {@code 0} if there were no lookups yet
+     */
+    public double getHitRate ()
+    {
+        final long requests = hits + misses;
+        return requests > 0 ? ( double ) hits / requests : 0d;
+    }
+
+    @NotNull
+    @Override
+    public String toString ()
+    {
+        return String.format ( "CacheStatistics [ hits=%d; misses=%d; hitRate=%.2f; evictions=%d; size=%d; weight=%d; capacity=%d ]",
+                hits, misses, getHitRate (), evictions, size, weight, capacity );
+    }
+}
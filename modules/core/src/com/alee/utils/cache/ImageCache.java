@@ -0,0 +1,75 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.cache;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
+
+/**
+ * Cache of images or icons.
+ * Implementations must be thread-safe as images are commonly loaded and requested outside of the Event Dispatch Thread.
+ * Implementations are free to evict any cached values at any time, so cached values must always be available for re-creation.
+ *
+ * @param <K> key type
+ * @param <V> cached image or icon type
+ * @author Mikle Garin
+ * @see LruImageCache
+ * @see com.alee.utils.ImageUtils
+ */
+public interface ImageCache<K, V>
+{
+    /**
+     * Returns cached value for the specified key or {@code null} if there is none.
+     *
+     * @param key value key
+     * @return cached value for the specified key or {@code null} if there is none
+     */
+    @Nullable
+    public V get ( @NotNull K key );
+
+    /**
+     * Caches specified value under the specified key.
+     * Cached value might be evicted right away if it doesn't fit into the cache.
+     *
+     * @param key   value key
+     * @param value value to cache
+     */
+    public void put ( @NotNull K key, @NotNull V value );
+
+    /**
+     * Removes value cached under the specified key and returns it.
+     *
+     * @param key value key
+     * @return removed value or {@code null} if there was none
+     */
+    @Nullable
+    public V remove ( @NotNull K key );
+
+    /**
+     * Removes all cached values.
+     */
+    public void clear ();
+
+    /**
+     * Returns {@link CacheStatistics} snapshot for this cache.
+     *
+     * @return {@link CacheStatistics} snapshot for this cache
+     */
+    @NotNull
+    public CacheStatistics getStatistics ();
+}
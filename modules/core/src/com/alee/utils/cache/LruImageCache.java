@@ -0,0 +1,212 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.cache;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
+import com.alee.utils.ImageUtils;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@link ImageCache} implementation limited by the approximate memory size of cached images.
+ * Least recently used images are evicted first whenever cache exceeds its capacity.
+ * Image memory size is estimated based on image raster size, see {@link ImageUtils#getMemorySize(Object)}.
+ *
+ * @param <K> key type
+ * @param <V> cached image or icon type
+ * @author Mikle Garin
+ * @see ImageCache
+ */
+public class LruImageCache<K, V> implements ImageCache<K, V>
+{
+    /**
+     * Cached values in access order, from least to most recently used.
+     */
+    @NotNull
+    protected final LinkedHashMap<K, CachedValue<V>> cache;
+
+    /**
+     * Maximum approximate memory size of cached images in bytes.
+     */
+    protected final long capacity;
+
+    /**
+     * Approximate memory size of currently cached images in bytes.
+     */
+    protected long weight;
+
+    /**
+     * Statistics counters.
+     */
+    protected long hits;
+    protected long misses;
+    protected long evictions;
+
+    /**
+     * Constructs new {@link LruImageCache}.
+     *
+     * @param capacity maximum approximate memory size of cached images in bytes
+     */
+    public LruImageCache ( final long capacity )
+    {
+        if ( capacity < 0 )
+        {
+            throw new IllegalArgumentException ( "Cache capacity cannot be negative: " + capacity );
+        }
+        this.cache = new LinkedHashMap<K, CachedValue<V>> ( 16, 0.75f, true );
+        this.capacity = capacity;
+        this.weight = 0;
+    }
+
+    /**
+     * Returns maximum approximate memory size of cached images in bytes.
+     *
+     * @return maximum approximate memory size of cached images in bytes
+     */
+    public long getCapacity ()
+    {
+        return capacity;
+    }
+
+    @Nullable
+    @Override
+    public synchronized V get ( @NotNull final K key )
+    {
+        final CachedValue<V> cached = cache.get ( key );
+        final V value;
+        if ( cached != null )
+        {
+            hits++;
+            value = cached.value;
+        }
+        else
+        {
+            misses++;
+            value = null;
+        }
+        return value;
+    }
+
+    @Override
+    public synchronized void put ( @NotNull final K key, @NotNull final V value )
+    {
+        // Removing previously cached value
+        final CachedValue<V> previous = cache.remove ( key );
+        if ( previous != null )
+        {
+            weight -= previous.weight;
+        }
+
+        // Caching value only if it fits into the cache
+        final long valueWeight = getWeight ( value );
+        if ( valueWeight <= capacity )
+        {
+            cache.put ( key, new CachedValue<V> ( value, valueWeight ) );
+            weight += valueWeight;
+
+            // Evicting least recently used values
+            final Iterator<Map.Entry<K, CachedValue<V>>> iterator = cache.entrySet ().iterator ();
+            while ( weight > capacity && iterator.hasNext () )
+            {
+                final Map.Entry<K, CachedValue<V>> eldest = iterator.next ();
+                iterator.remove ();
+                weight -= eldest.getValue ().weight;
+                evictions++;
+            }
+        }
+    }
+
+    @Nullable
+    @Override
+    public synchronized V remove ( @NotNull final K key )
+    {
+        final CachedValue<V> removed = cache.remove ( key );
+        final V value;
+        if ( removed != null )
+        {
+            weight -= removed.weight;
+            value = removed.value;
+        }
+        else
+        {
+            value = null;
+        }
+        return value;
+    }
+
+    @Override
+    public synchronized void clear ()
+    {
+        cache.clear ();
+        weight = 0;
+    }
+
+    @NotNull
+    @Override
+    public synchronized CacheStatistics getStatistics ()
+    {
+        return new CacheStatistics ( hits, misses, evictions, cache.size (), weight, capacity );
+    }
+
+    /**
+     * Returns approximate memory size of the specified value in bytes.
+     * Override this method to provide custom weight for values that are not images or icons.
+     *
+     * @param value value to estimate memory size for
+     * @return approximate memory size of the specified value in bytes
+     */
+    protected long getWeight ( @NotNull final V value )
+    {
+        return ImageUtils.getMemorySize ( value );
+    }
+
+    /**
+     * Cached value and its weight.
+     * Weight is saved to avoid estimating it again on removal since value might change over time.
+     *
+     * @param <V> cached value type
+     */
+    protected static final class CachedValue<V>
+    {
+        /**
+         * Cached value.
+         */
+        @NotNull
+        protected final V value;
+
+        /**
+         * Cached value weight.
+         */
+        protected final long weight;
+
+        /**
+         * Constructs new {@link CachedValue}.
+         *
+         * @param value  cached value
+         * @param weight cached value weight
+         */
+        protected CachedValue ( @NotNull final V value, final long weight )
+        {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+}
@@ -64,9 +64,18 @@ public class BasicStrokeConverterSupport implements StrokeConverterSupport<Basic
         final String cap = marshalCap ( stroke );
         final String join = marshalJoin ( stroke );
         final String miterlimit = Float.toString ( stroke.getMiterLimit () );
-        final String dash = marshalDash ( stroke );
-        final String phase = Float.toString ( stroke.getDashPhase () );
-        return id + s + width + s + cap + s + join + s + miterlimit + s + dash + s + phase;
+        final String base = id + s + width + s + cap + s + join + s + miterlimit;
+        if ( stroke.getDashArray () != null )
+        {
+            final String dash = marshalDash ( stroke );
+            final String phase = Float.toString ( stroke.getDashPhase () );
+            return base + s + dash + s + phase;
+        }
+        else
+        {
+            // Dash and phase are omitted for solid strokes
+            return base;
+        }
     }
 
     /**
@@ -0,0 +1,157 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.graphics.filters;
+
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Set of JUnit tests ensuring that filters produce identical results in serial and parallel modes.
+ *
+ * @author Mikle Garin
+ * @see FilterExecutor
+ */
+@FixMethodOrder ( MethodSorters.JVM )
+public final class FilterExecutorTest
+{
+    /**
+     * {@link GaussianFilter} test.
+     */
+    @Test
+    public void gaussianFilter ()
+    {
+        assertIdentical ( new GaussianFilter ( 7 ), new GaussianFilter ( 7 ) );
+    }
+
+    /**
+     * {@link BoxBlurFilter} test.
+     */
+    @Test
+    public void boxBlurFilter ()
+    {
+        assertIdentical ( new BoxBlurFilter ( 4, 6, 3 ), new BoxBlurFilter ( 4, 6, 3 ) );
+    }
+
+    /**
+     * {@link MedianFilter} test.
+     */
+    @Test
+    public void medianFilter ()
+    {
+        assertIdentical ( new MedianFilter (), new MedianFilter () );
+    }
+
+    /**
+     * {@link ShadowFilter} test.
+     */
+    @Test
+    public void shadowFilter ()
+    {
+        assertIdentical ( new ShadowFilter ( 10, 0, 0, 0.5f ), new ShadowFilter ( 10, 0, 0, 0.5f ) );
+    }
+
+    /**
+     * {@link PointFilter} test.
+     */
+    @Test
+    public void pointFilter ()
+    {
+        assertIdentical ( new GrayscaleFilter (), new GrayscaleFilter () );
+    }
+
+    /**
+     * Pixel buffers reuse test.
+     */
+    @Test
+    public void pixelBuffersReuse ()
+    {
+        final int[] buffer = AbstractBufferedImageOp.acquirePixels ( 1000000 );
+        AbstractBufferedImageOp.releasePixels ( buffer );
+        assertSame ( buffer, AbstractBufferedImageOp.acquirePixels ( 999999 ) );
+        assertNotSame ( buffer, AbstractBufferedImageOp.acquirePixels ( 999999 ) );
+        AbstractBufferedImageOp.releasePixels ( buffer );
+        assertNotSame ( buffer, AbstractBufferedImageOp.acquirePixels ( 1000001 ) );
+    }
+
+    /**
+     * Asserts that specified filters produce identical results in serial and parallel modes.
+     *
+     * @param serial   filter used in serial mode
+     * @param parallel filter used in parallel mode
+     */
+    private void assertIdentical ( final AbstractBufferedImageOp serial, final AbstractBufferedImageOp parallel )
+    {
+        serial.setParallel ( false );
+        parallel.setParallel ( true );
+        final int threshold = FilterExecutor.getParallelThreshold ();
+        FilterExecutor.setParallelThreshold ( 0 );
+        try
+        {
+            for ( final int size : new int[]{ 1, 7, 64, 301 } )
+            {
+                final BufferedImage image = image ( size, size * 2 / 3 + 1 );
+                final BufferedImage expected = serial.filter ( image, null );
+                final BufferedImage actual = parallel.filter ( image, null );
+                assertArrayEquals ( pixels ( expected ), pixels ( actual ) );
+            }
+        }
+        finally
+        {
+            FilterExecutor.setParallelThreshold ( threshold );
+        }
+    }
+
+    /**
+     * Returns new image filled with random pixels.
+     *
+     * @param width  image width
+     * @param height image height
+     * @return new image filled with random pixels
+     */
+    private BufferedImage image ( final int width, final int height )
+    {
+        final Random random = new Random ( width * 31 + height );
+        final BufferedImage image = new BufferedImage ( width, height, BufferedImage.TYPE_INT_ARGB );
+        final int[] pixels = new int[ width * height ];
+        for ( int i = 0; i < pixels.length; i++ )
+        {
+            pixels[ i ] = random.nextInt ();
+        }
+        image.setRGB ( 0, 0, width, height, pixels, 0, width );
+        return image;
+    }
+
+    /**
+     * Returns image pixels.
+     *
+     * @param image image
+     * @return image pixels
+     */
+    private int[] pixels ( final BufferedImage image )
+    {
+        final int[] pixels = new int[ image.getWidth () * image.getHeight () ];
+        image.getRGB ( 0, 0, image.getWidth (), image.getHeight (), pixels, 0, image.getWidth () );
+        return pixels;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils;
+
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import javax.imageio.ImageIO;
+import javax.swing.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Set of JUnit tests for {@link ImageUtils} icons caching.
+ *
+ * @author Mikle Garin
+ */
+@FixMethodOrder ( MethodSorters.JVM )
+public final class ImageUtilsTest
+{
+    /**
+     * Tests that successfully loaded icons are cached.
+     *
+     * @throws IOException if test image cannot be written
+     */
+    @Test
+    public void loadedIconCached () throws IOException
+    {
+        final File file = File.createTempFile ( "icon", ".png" );
+        try
+        {
+            ImageIO.write ( new BufferedImage ( 4, 4, BufferedImage.TYPE_INT_ARGB ), "png", file );
+
+            final ImageIcon icon = ImageUtils.getImageIcon ( file );
+            assertEquals ( 4, icon.getIconWidth () );
+            assertTrue ( ImageUtils.isImageCached ( file.getAbsolutePath () ) );
+            assertSame ( icon, ImageUtils.getImageIcon ( file ) );
+        }
+        finally
+        {
+            ImageUtils.clearImageCache ( file.getAbsolutePath () );
+            FileUtils.deleteFile ( file );
+        }
+    }
+
+    /**
+     * Tests that icons which failed to load are not cached.
+     *
+     * @throws IOException if test file cannot be created
+     */
+    @Test
+    public void failedIconNotCached () throws IOException
+    {
+        final File missing = new File ( System.getProperty ( "java.io.tmpdir" ), "missing-icon-" + System.nanoTime () + ".png" );
+        assertNotNull ( ImageUtils.getImageIcon ( missing ) );
+        assertFalse ( ImageUtils.isImageCached ( missing.getAbsolutePath () ) );
+
+        final File broken = File.createTempFile ( "broken", ".png" );
+        try
+        {
+            assertNotNull ( ImageUtils.getImageIcon ( broken ) );
+            assertFalse ( ImageUtils.isImageCached ( broken.getAbsolutePath () ) );
+        }
+        finally
+        {
+            FileUtils.deleteFile ( broken );
+        }
+    }
+}
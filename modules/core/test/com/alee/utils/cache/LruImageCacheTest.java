@@ -0,0 +1,104 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.cache;
+
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.awt.image.BufferedImage;
+
+import static org.junit.Assert.*;
+
+/**
+ * Set of JUnit tests for {@link LruImageCache}.
+ *
+ * @author Mikle Garin
+ */
+@FixMethodOrder ( MethodSorters.JVM )
+public final class LruImageCacheTest
+{
+    /**
+     * Memory size of a single 10x10 ARGB test image.
+     */
+    private static final long IMAGE_SIZE = 10 * 10 * 4;
+
+    /**
+     * Least recently used image eviction test.
+     */
+    @Test
+    public void leastRecentlyUsedEviction ()
+    {
+        final LruImageCache<String, BufferedImage> cache = new LruImageCache<String, BufferedImage> ( IMAGE_SIZE * 2 );
+        final BufferedImage first = image ();
+        final BufferedImage second = image ();
+        cache.put ( "first", first );
+        cache.put ( "second", second );
+        assertSame ( first, cache.get ( "first" ) );
+
+        cache.put ( "third", image () );
+        assertSame ( first, cache.get ( "first" ) );
+        assertNull ( cache.get ( "second" ) );
+        assertNotNull ( cache.get ( "third" ) );
+
+        final CacheStatistics statistics = cache.getStatistics ();
+        assertEquals ( 2, statistics.getSize () );
+        assertEquals ( IMAGE_SIZE * 2, statistics.getWeight () );
+        assertEquals ( 1, statistics.getEvictions () );
+        assertEquals ( 3, statistics.getHits () );
+        assertEquals ( 1, statistics.getMisses () );
+    }
+
+    /**
+     * Oversized image test.
+     */
+    @Test
+    public void oversizedImage ()
+    {
+        final LruImageCache<String, BufferedImage> cache = new LruImageCache<String, BufferedImage> ( IMAGE_SIZE - 1 );
+        cache.put ( "image", image () );
+        assertNull ( cache.get ( "image" ) );
+        assertEquals ( 0, cache.getStatistics ().getWeight () );
+    }
+
+    /**
+     * Image replacement and removal test.
+     */
+    @Test
+    public void replaceAndRemove ()
+    {
+        final LruImageCache<String, BufferedImage> cache = new LruImageCache<String, BufferedImage> ( IMAGE_SIZE * 4 );
+        final BufferedImage replacement = image ();
+        cache.put ( "image", image () );
+        cache.put ( "image", replacement );
+        assertEquals ( IMAGE_SIZE, cache.getStatistics ().getWeight () );
+        assertSame ( replacement, cache.remove ( "image" ) );
+        assertEquals ( 0, cache.getStatistics ().getWeight () );
+        assertEquals ( 0, cache.getStatistics ().getSize () );
+    }
+
+    /**
+     * Returns new 10x10 ARGB test image.
+     *
+     * @return new 10x10 ARGB test image
+     */
+    private BufferedImage image ()
+    {
+        return new BufferedImage ( 10, 10, BufferedImage.TYPE_INT_ARGB );
+    }
+}
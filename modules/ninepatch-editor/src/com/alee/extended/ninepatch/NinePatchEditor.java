@@ -865,6 +865,7 @@ public class NinePatchEditor extends WebPanel
                             }
                             npi.setStart ( start );
                             npi.setEnd ( end );
+                            ninePatchIcon.invalidate ();
                             repaintRequired = true;
                         }
                         else if ( hStretchAreaDragged && mouseEventType.equals ( MouseEventType.mouseReleased ) )
@@ -908,6 +909,7 @@ public class NinePatchEditor extends WebPanel
                                     start = changedInterval.getEnd ();
                                 }
                                 npi.setStart ( start );
+                                ninePatchIcon.invalidate ();
                                 repaintRequired = true;
                             }
                             else if ( hStretchStartDragged && mouseEventType.equals ( MouseEventType.mouseReleased ) )
@@ -947,6 +949,7 @@ public class NinePatchEditor extends WebPanel
                                     end = image.getWidth () - 1;
                                 }
                                 npi.setEnd ( end );
+                                ninePatchIcon.invalidate ();
                                 repaintRequired = true;
                             }
                             else if ( hStretchEndDragged && mouseEventType.equals ( MouseEventType.mouseReleased ) )
@@ -1004,6 +1007,7 @@ public class NinePatchEditor extends WebPanel
                             }
                             npi.setStart ( start );
                             npi.setEnd ( end );
+                            ninePatchIcon.invalidate ();
                             repaintRequired = true;
                         }
                         else if ( vStretchAreaDragged && mouseEventType.equals ( MouseEventType.mouseReleased ) )
@@ -1047,6 +1051,7 @@ public class NinePatchEditor extends WebPanel
                                     start = changedInterval.getEnd ();
                                 }
                                 npi.setStart ( start );
+                                ninePatchIcon.invalidate ();
                                 repaintRequired = true;
                             }
                             else if ( vStretchStartDragged && mouseEventType.equals ( MouseEventType.mouseReleased ) )
@@ -1086,6 +1091,7 @@ public class NinePatchEditor extends WebPanel
                                     end = image.getHeight () - 1;
                                 }
                                 npi.setEnd ( end );
+                                ninePatchIcon.invalidate ();
                                 repaintRequired = true;
                             }
                             else if ( vStretchEndDragged && mouseEventType.equals ( MouseEventType.mouseReleased ) )
@@ -1197,6 +1203,7 @@ public class NinePatchEditor extends WebPanel
                         final int end = ( x - imageStartX ) / zoom;
                         changedInterval.setStart ( Math.max ( 0, Math.min ( start, end ) ) );
                         changedInterval.setEnd ( Math.min ( image.getWidth () - 1, Math.max ( start, end ) ) );
+                        ninePatchIcon.invalidate ();
                         repaintRequired = true;
                     }
                     else if ( addingHorizontalStretch && mouseEventType.equals ( MouseEventType.mouseReleased ) )
@@ -1227,6 +1234,7 @@ public class NinePatchEditor extends WebPanel
                         final int end = ( y - imageStartY ) / zoom;
                         changedInterval.setStart ( Math.max ( 0, Math.min ( start, end ) ) );
                         changedInterval.setEnd ( Math.min ( image.getHeight () - 1, Math.max ( start, end ) ) );
+                        ninePatchIcon.invalidate ();
                         repaintRequired = true;
                     }
                     else if ( addingVerticalStretch && mouseEventType.equals ( MouseEventType.mouseReleased ) )
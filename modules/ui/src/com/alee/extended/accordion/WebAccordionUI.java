@@ -276,7 +276,7 @@ public class WebAccordionUI<C extends WebAccordion> extends WAccordionUI<C>
     {
         if ( painter != null )
         {
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
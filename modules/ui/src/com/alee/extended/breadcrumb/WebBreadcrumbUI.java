@@ -175,7 +175,7 @@ public class WebBreadcrumbUI<C extends WebBreadcrumb> extends WBreadcrumbUI<C> i
     {
         if ( painter != null )
         {
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
@@ -178,7 +178,7 @@ public class WebSplitButtonUI<C extends WebSplitButton> extends WSplitButtonUI<C
     {
         if ( painter != null )
         {
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
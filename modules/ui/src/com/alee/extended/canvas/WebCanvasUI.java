@@ -171,7 +171,7 @@ public class WebCanvasUI<C extends WebCanvas> extends WCanvasUI<C> implements Sh
     {
         if ( painter != null )
         {
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
@@ -187,7 +187,7 @@ public class WebTristateCheckBoxUI<C extends WebTristateCheckBox> extends WTrist
     {
         if ( painter != null )
         {
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
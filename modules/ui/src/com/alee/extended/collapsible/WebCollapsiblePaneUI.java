@@ -349,7 +349,7 @@ public class WebCollapsiblePaneUI<C extends WebCollapsiblePane> extends WCollaps
     {
         if ( painter != null )
         {
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
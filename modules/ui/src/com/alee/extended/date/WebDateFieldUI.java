@@ -544,7 +544,7 @@ public class WebDateFieldUI<C extends WebDateField> extends WDateFieldUI<C> impl
     {
         if ( painter != null )
         {
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
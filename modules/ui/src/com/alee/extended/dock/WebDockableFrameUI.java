@@ -641,7 +641,7 @@ public class WebDockableFrameUI<C extends WebDockableFrame> extends WDockableFra
     {
         if ( painter != null )
         {
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
@@ -762,7 +762,7 @@ public class WebDockablePaneUI<C extends WebDockablePane> extends WDockablePaneU
     {
         if ( painter != null )
         {
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
@@ -169,7 +169,7 @@ public class WebImageUI<C extends WebImage> extends WImageUI<C> implements Shape
     {
         if ( painter != null )
         {
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
@@ -56,7 +56,7 @@ public abstract class AbstractSimpleStyledTextContent<C extends JComponent, D ex
     /**
      * Styled text used for rendering.
      */
-    protected transient StyleRanges styleRanges;
+    protected transient IStyleRanges styleRanges;
 
     /**
      * Mnemonic index within plain text.
@@ -103,7 +103,8 @@ public abstract class AbstractSimpleStyledTextContent<C extends JComponent, D ex
     protected void initializeContentCache ( final C c, final D d )
     {
         // Updating styled text
-        styleRanges = new StyleRanges ( getComponentText ( c, d ) );
+        // Parsed styled text is shared between all components with the same text
+        styleRanges = StyleRangesCache.getStyleRanges ( getComponentText ( c, d ) );
 
         // Updating painted mnemonic index
         // We cannot use button mnemonic index since it doesn't exclude style syntax from calculations
@@ -190,6 +191,20 @@ public abstract class AbstractSimpleStyledTextContent<C extends JComponent, D ex
         buildTextRanges ( c, d );
     }
 
+    @Override
+    protected void buildTextRanges ( final C c, final D d )
+    {
+        // Reusing text ranges built for shared parsed styled text if there are no additional styles
+        if ( styleRanges instanceof ITextRanges && getGlobalStyle ( styleRanges.getPlainText (), c, d ) == null )
+        {
+            textRanges = ( ( ITextRanges ) styleRanges ).getTextRanges ();
+        }
+        else
+        {
+            super.buildTextRanges ( c, d );
+        }
+    }
+
     @Override
     protected List<StyleRange> getStyleRanges ( final C c, final D d )
     {
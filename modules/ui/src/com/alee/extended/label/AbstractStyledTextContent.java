@@ -28,6 +28,7 @@ import com.thoughtworks.xstream.annotations.XStreamAsAttribute;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.font.FontRenderContext;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -96,6 +97,21 @@ public abstract class AbstractStyledTextContent<C extends JComponent, D extends
     @OmitOnMerge
     protected transient List<TextRange> textRanges;
 
+    /**
+     * Recently computed text layouts.
+     * Those are reused between paint and preferred size calculations until text ranges, font or layout settings change.
+     * Most recently used layout is always first.
+     */
+    @OmitOnClone
+    @OmitOnMerge
+    protected transient StyledTextLayout[] layouts;
+
+    /**
+     * Maximum amount of cached text layouts.
+     * Usually there is one layout used for painting and two layouts used for preferred size calculation.
+     */
+    protected static final int LAYOUTS_CACHE_SIZE = 3;
+
     @Override
     public void activate ( final C c, final D d )
     {
@@ -109,8 +125,9 @@ public abstract class AbstractStyledTextContent<C extends JComponent, D extends
     @Override
     public void deactivate ( final C c, final D d )
     {
-        // Clearing text ranges
+        // Clearing text ranges and layouts
         textRanges = null;
+        layouts = null;
 
         // Performing default actions
         super.deactivate ( c, d );
@@ -252,7 +269,8 @@ public abstract class AbstractStyledTextContent<C extends JComponent, D extends
             int y = bounds.y;
 
             // Layout the text
-            final List<StyledTextRow> rows = layout ( c, d, bounds );
+            final StyledTextLayout layout = getLayout ( c, d, bounds );
+            final List<StyledTextRow> rows = layout.getRows ();
 
             if ( !rows.isEmpty () )
             {
@@ -286,7 +304,7 @@ public abstract class AbstractStyledTextContent<C extends JComponent, D extends
                     }
                 }
 
-                final Pair<Integer, Integer> fs = getFontSize ( c, d );
+                final Pair<Integer, Integer> fs = layout.getFontSize ();
                 y += fs.getKey ();
 
                 // Painting the text
@@ -300,6 +318,54 @@ public abstract class AbstractStyledTextContent<C extends JComponent, D extends
         }
     }
 
+    /**
+     * Returns styled text layout for the specified bounds.
+     * Layout is computed only if it wasn't computed for the same text ranges, font, bounds size and layout settings recently.
+     * Rows position within the bounds doesn't affect the layout, so only bounds size is taken into account.
+     *
+     * @param c      painted component
+     * @param d      painted decoration state
+     * @param bounds painting bounds
+     * @return styled text layout for the specified bounds
+     */
+    protected StyledTextLayout getLayout ( final C c, final D d, final Rectangle bounds )
+    {
+        final Font font = c.getFont ();
+        final FontRenderContext frc = c.getFontMetrics ( font ).getFontRenderContext ();
+        final TextWrap wrapType = getWrapType ( c, d );
+        final int maximumRows = getMaximumRows ( c, d );
+        final int rowGap = getRowGap ( c, d );
+        final boolean preserveLineBreaks = isPreserveLineBreaks ( c, d );
+        final int mnemonicIndex = getMnemonicIndex ( c, d );
+        final Float scriptFontRatio = getScriptFontRatio ( c, d );
+
+        // Looking for recently computed layout
+        if ( layouts == null )
+        {
+            layouts = new StyledTextLayout[ LAYOUTS_CACHE_SIZE ];
+        }
+        for ( int i = 0; i < layouts.length && layouts[ i ] != null; i++ )
+        {
+            final StyledTextLayout layout = layouts[ i ];
+            if ( layout.isComputedFor ( textRanges, font, frc, bounds.width, bounds.height, wrapType, maximumRows, rowGap,
+                    preserveLineBreaks, mnemonicIndex, scriptFontRatio ) )
+            {
+                // Moving layout to the top
+                System.arraycopy ( layouts, 0, layouts, 1, i );
+                layouts[ 0 ] = layout;
+                return layout;
+            }
+        }
+
+        // Computing new layout and replacing least recently used one
+        final StyledTextLayout layout = new StyledTextLayout ( textRanges, font, frc, bounds.width, bounds.height, wrapType,
+                maximumRows, rowGap, preserveLineBreaks, mnemonicIndex, scriptFontRatio,
+                layout ( c, d, new Rectangle ( 0, 0, bounds.width, bounds.height ) ), getFontSize ( c, d ) );
+        System.arraycopy ( layouts, 0, layouts, 1, layouts.length - 1 );
+        layouts[ 0 ] = layout;
+        return layout;
+    }
+
     /**
      * Performs styled text layout.
      *
@@ -788,7 +854,7 @@ public abstract class AbstractStyledTextContent<C extends JComponent, D extends
         final Dimension ps = new Dimension ( 0, 0 );
         if ( textRanges != null )
         {
-            final List<StyledTextRow> rows = layout ( c, d, new Rectangle ( 0, 0, available.width, available.height ) );
+            final List<StyledTextRow> rows = getLayout ( c, d, new Rectangle ( 0, 0, available.width, available.height ) ).getRows ();
             if ( !rows.isEmpty () )
             {
                 final int rg = Math.max ( 0, getRowGap ( c, d ) );
@@ -0,0 +1,291 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.extended.label;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
+import com.alee.utils.UtilityException;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Global cache of parsed styled text.
+ * It is shared between all styled labels, buttons and tooltips, so the same styled text is only parsed once while it stays in cache.
+ * This is especially important for renderers which usually receive new text for every painted cell.
+ *
+ * Cached {@link IStyleRanges} are immutable and also provide {@link TextRange}s built for them through {@link ITextRanges}.
+ * Cache is bounded and drops least recently used entries once its capacity is exceeded.
+ *
+ * @author Mikle Garin
+ * @see StyleRanges
+ * @see WebStyledLabel#getStyleRanges(String)
+ * @see AbstractSimpleStyledTextContent
+ */
+public final class StyleRangesCache
+{
+    /**
+     * Maximum amount of cached styled texts.
+     */
+    private static volatile int capacity = 1000;
+
+    /**
+     * Cached parsed styled texts.
+     * Entry: [ styled text -> parsed style ranges ]
+     */
+    @NotNull
+    private static final Map<String, ParsedStyleRanges> cache = new LinkedHashMap<String, ParsedStyleRanges> ( 256, 0.75f, true )
+    {
+        @Override
+        protected boolean removeEldestEntry ( final Map.Entry<String, ParsedStyleRanges> eldest )
+        {
+            return size () > capacity;
+        }
+    };
+
+    /**
+     * Amount of cache hits.
+     */
+    @NotNull
+    private static final AtomicLong hits = new AtomicLong ();
+
+    /**
+     * Amount of cache misses.
+     */
+    @NotNull
+    private static final AtomicLong misses = new AtomicLong ();
+
+    /**
+     * Private constructor to avoid instantiation.
+     */
+    private StyleRangesCache ()
+    {
+        throw new UtilityException ( "Utility classes are not meant to be instantiated" );
+    }
+
+    /**
+     * Returns maximum amount of cached styled texts.
+     *
+     * @return maximum amount of cached styled texts
+     */
+    public static int getCapacity ()
+    {
+        return capacity;
+    }
+
+    /**
+     * Sets maximum amount of cached styled texts.
+     * Setting it to {@code 0} effectively disables cache.
+     *
+     * @param capacity maximum amount of cached styled texts
+     */
+    public static void setCapacity ( final int capacity )
+    {
+        StyleRangesCache.capacity = Math.max ( 0, capacity );
+        synchronized ( cache )
+        {
+            final int excess = cache.size () - StyleRangesCache.capacity;
+            if ( excess > 0 )
+            {
+                final Iterator<String> iterator = cache.keySet ().iterator ();
+                for ( int i = 0; i < excess; i++ )
+                {
+                    iterator.next ();
+                    iterator.remove ();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns parsed {@link IStyleRanges} for the specified styled text.
+     * Returned {@link IStyleRanges} and its style ranges list are immutable and must not be modified.
+     *
+     * @param styledText text containing style syntax
+     * @return parsed {@link IStyleRanges} for the specified styled text
+     */
+    @NotNull
+    public static IStyleRanges getStyleRanges ( @Nullable final String styledText )
+    {
+        ParsedStyleRanges styleRanges;
+        if ( styledText != null )
+        {
+            synchronized ( cache )
+            {
+                styleRanges = cache.get ( styledText );
+            }
+            if ( styleRanges == null )
+            {
+                // Parsing text outside of the lock, in rare cases it might be parsed twice which is harmless
+                misses.incrementAndGet ();
+                styleRanges = new ParsedStyleRanges ( new StyleRanges ( styledText ) );
+                if ( capacity > 0 )
+                {
+                    synchronized ( cache )
+                    {
+                        cache.put ( styledText, styleRanges );
+                    }
+                }
+            }
+            else
+            {
+                hits.incrementAndGet ();
+            }
+        }
+        else
+        {
+            styleRanges = new ParsedStyleRanges ( new StyleRanges ( null ) );
+        }
+        return styleRanges;
+    }
+
+    /**
+     * Returns amount of cached styled texts.
+     *
+     * @return amount of cached styled texts
+     */
+    public static int getSize ()
+    {
+        synchronized ( cache )
+        {
+            return cache.size ();
+        }
+    }
+
+    /**
+     * Returns amount of cache hits.
+     *
+     * @return amount of cache hits
+     */
+    public static long getHits ()
+    {
+        return hits.get ();
+    }
+
+    /**
+     * Returns amount of cache misses.
+     *
+     * @return amount of cache misses
+     */
+    public static long getMisses ()
+    {
+        return misses.get ();
+    }
+
+    /**
+     * Returns cache hit rate between {@code 0} and {@code 1}.
+     *
+     * @return cache hit rate between {@code 0} and {@code 1}
+     */
+    public static double getHitRate ()
+    {
+        final long h = hits.get ();
+        final long total = h + misses.get ();
+        return total > 0 ? ( double ) h / total : 0;
+    }
+
+    /**
+     * Resets cache hits and misses statistics.
+     */
+    public static void resetStatistics ()
+    {
+        hits.set ( 0 );
+        misses.set ( 0 );
+    }
+
+    /**
+     * Clears all cached styled texts.
+     */
+    public static void clear ()
+    {
+        synchronized ( cache )
+        {
+            cache.clear ();
+        }
+    }
+
+    /**
+     * Immutable parsed style ranges.
+     * It also lazily provides text ranges built for its plain text and style ranges.
+     */
+    private static final class ParsedStyleRanges implements IStyleRanges, ITextRanges
+    {
+        /**
+         * Plain text.
+         */
+        @Nullable
+        private final String plainText;
+
+        /**
+         * Unmodifiable list of style ranges sorted by their positions.
+         */
+        @NotNull
+        private final List<StyleRange> styleRanges;
+
+        /**
+         * Unmodifiable list of text ranges, built on first request.
+         */
+        @Nullable
+        private volatile List<TextRange> textRanges;
+
+        /**
+         * Constructs new parsed style ranges.
+         *
+         * @param styleRanges {@link StyleRanges} to parse
+         */
+        public ParsedStyleRanges ( @NotNull final StyleRanges styleRanges )
+        {
+            final List<StyleRange> ranges = styleRanges.getStyleRanges ();
+            Collections.sort ( ranges, TextRanges.styleRangeComparator );
+            this.plainText = styleRanges.getPlainText ();
+            this.styleRanges = Collections.unmodifiableList ( ranges );
+        }
+
+        @Nullable
+        @Override
+        public String getPlainText ()
+        {
+            return plainText;
+        }
+
+        @NotNull
+        @Override
+        public List<StyleRange> getStyleRanges ()
+        {
+            return styleRanges;
+        }
+
+        @NotNull
+        @Override
+        public List<TextRange> getTextRanges ()
+        {
+            List<TextRange> ranges = textRanges;
+            if ( ranges == null )
+            {
+                // Text ranges are immutable, so building them twice in rare cases is harmless
+                ranges = Collections.unmodifiableList ( new TextRanges ( plainText, styleRanges ).getTextRanges () );
+                textRanges = ranges;
+            }
+            return ranges;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.extended.label;
+
+import com.alee.api.jdk.Objects;
+import com.alee.utils.general.Pair;
+
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.util.List;
+
+/**
+ * Styled text layout data.
+ * It keeps styled text rows computed for specific text ranges, font and layout settings to reuse them until any of those changes.
+ *
+ * @author Mikle Garin
+ * @see AbstractStyledTextContent#getLayout(javax.swing.JComponent, com.alee.painter.decoration.IDecoration, Rectangle)
+ */
+public final class StyledTextLayout
+{
+    /**
+     * Text ranges layout was computed for.
+     */
+    private final List<TextRange> textRanges;
+
+    /**
+     * Font layout was computed for.
+     */
+    private final Font font;
+
+    /**
+     * Font render context layout was computed for.
+     */
+    private final FontRenderContext fontRenderContext;
+
+    /**
+     * Available width layout was computed for.
+     */
+    private final int width;
+
+    /**
+     * Available height layout was computed for.
+     */
+    private final int height;
+
+    /**
+     * Text wrapping type layout was computed for.
+     */
+    private final TextWrap wrapType;
+
+    /**
+     * Maximum rows count layout was computed for.
+     */
+    private final int maximumRows;
+
+    /**
+     * Text rows gap layout was computed for.
+     */
+    private final int rowGap;
+
+    /**
+     * Whether or not hard line breaks were preserved.
+     */
+    private final boolean preserveLineBreaks;
+
+    /**
+     * Mnemonic index layout was computed for.
+     */
+    private final int mnemonicIndex;
+
+    /**
+     * Script font ratio layout was computed for.
+     */
+    private final Float scriptFontRatio;
+
+    /**
+     * Styled text rows.
+     */
+    private final List<StyledTextRow> rows;
+
+    /**
+     * Font max ascent and height.
+     */
+    private final Pair<Integer, Integer> fontSize;
+
+    /**
+     * Constructs new styled text layout.
+     *
+     * @param textRanges         text ranges
+     * @param font               font
+     * @param fontRenderContext  font render context
+     * @param width              available width
+     * @param height             available height
+     * @param wrapType           text wrapping type
+     * @param maximumRows        maximum rows count
+     * @param rowGap             text rows gap
+     * @param preserveLineBreaks whether or not hard line breaks are preserved
+     * @param mnemonicIndex      mnemonic index
+     * @param scriptFontRatio    script font ratio
+     * @param rows               styled text rows
+     * @param fontSize           font max ascent and height
+     */
+    public StyledTextLayout ( final List<TextRange> textRanges, final Font font, final FontRenderContext fontRenderContext,
+                              final int width, final int height, final TextWrap wrapType, final int maximumRows, final int rowGap,
+                              final boolean preserveLineBreaks, final int mnemonicIndex, final Float scriptFontRatio,
+                              final List<StyledTextRow> rows, final Pair<Integer, Integer> fontSize )
+    {
+        this.textRanges = textRanges;
+        this.font = font;
+        this.fontRenderContext = fontRenderContext;
+        this.width = width;
+        this.height = height;
+        this.wrapType = wrapType;
+        this.maximumRows = maximumRows;
+        this.rowGap = rowGap;
+        this.preserveLineBreaks = preserveLineBreaks;
+        this.mnemonicIndex = mnemonicIndex;
+        this.scriptFontRatio = scriptFontRatio;
+        this.rows = rows;
+        this.fontSize = fontSize;
+    }
+
+    /**
+     * Returns whether or not this layout was computed for the specified settings.
+     * Text ranges are compared by identity since they are rebuilt whenever text or its styles change.
+     *
+     * @param textRanges         text ranges
+     * @param font               font
+     * @param fontRenderContext  font render context
+     * @param width              available width
+     * @param height             available height
+     * @param wrapType           text wrapping type
+     * @param maximumRows        maximum rows count
+     * @param rowGap             text rows gap
+     * @param preserveLineBreaks whether or not hard line breaks are preserved
+     * @param mnemonicIndex      mnemonic index
+     * @param scriptFontRatio    script font ratio
+     * @return {@code true} if this layout was computed for the specified settings, {@code false} otherwise
+     */
+    public boolean isComputedFor ( final List<TextRange> textRanges, final Font font, final FontRenderContext fontRenderContext,
+                                   final int width, final int height, final TextWrap wrapType, final int maximumRows,
+                                   final int rowGap, final boolean preserveLineBreaks, final int mnemonicIndex,
+                                   final Float scriptFontRatio )
+    {
+        return this.textRanges == textRanges && this.width == width && this.height == height && this.wrapType == wrapType &&
+                this.maximumRows == maximumRows && this.rowGap == rowGap && this.preserveLineBreaks == preserveLineBreaks &&
+                this.mnemonicIndex == mnemonicIndex && Objects.equals ( this.scriptFontRatio, scriptFontRatio ) &&
+                Objects.equals ( this.font, font ) && Objects.equals ( this.fontRenderContext, fontRenderContext );
+    }
+
+    /**
+     * Returns styled text rows.
+     * Returned rows must never be modified since they are shared between all usages of this layout.
+     *
+     * @return styled text rows
+     */
+    public List<StyledTextRow> getRows ()
+    {
+        return rows;
+    }
+
+    /**
+     * Returns font max ascent and height.
+     *
+     * @return font max ascent and height
+     */
+    public Pair<Integer, Integer> getFontSize ()
+    {
+        return fontSize;
+    }
+}
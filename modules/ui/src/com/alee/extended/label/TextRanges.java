@@ -86,7 +86,8 @@ public class TextRanges implements ITextRanges
             textRanges = new ArrayList<TextRange> ( ( int ) ( styleRanges.size () * 1.4 + 1 ) );
 
             // Sorting style ranges by their positions
-            Collections.sort ( styleRanges, styleRangeComparator );
+            // Provided list is never modified since it might be shared, for example by StyleRangesCache
+            final List<StyleRange> styleRanges = sort ( this.styleRanges );
 
             // Checking whether text is empty or not
             if ( plainText != null )
@@ -167,4 +168,25 @@ public class TextRanges implements ITextRanges
         }
         return textRanges;
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns style ranges sorted by their positions.
+     * Specified list is returned as is if it is already sorted, otherwise its sorted copy is returned.
+     *
+     * @param styleRanges style ranges to sort
+     * @return style ranges sorted by their positions
+     */
+    protected List<StyleRange> sort ( final List<StyleRange> styleRanges )
+    {
+        for ( int i = 1; i < styleRanges.size (); i++ )
+        {
+            if ( styleRangeComparator.compare ( styleRanges.get ( i - 1 ), styleRanges.get ( i ) ) > 0 )
+            {
+                final List<StyleRange> sorted = new ArrayList<StyleRange> ( styleRanges );
+                Collections.sort ( sorted, styleRangeComparator );
+                return sorted;
+            }
+        }
+        return styleRanges;
+    }
+}
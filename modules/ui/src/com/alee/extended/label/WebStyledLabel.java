@@ -316,7 +316,7 @@ public class WebStyledLabel extends JLabel implements Styleable, Paintable, Shap
      */
     protected IStyleRanges getStyleRanges ( final String text )
     {
-        return new StyleRanges ( text );
+        return StyleRangesCache.getStyleRanges ( text );
     }
 
     /**
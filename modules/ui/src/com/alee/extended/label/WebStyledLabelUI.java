@@ -173,7 +173,7 @@ public class WebStyledLabelUI<C extends WebStyledLabel> extends WStyledLabelUI<C
     {
         if ( painter != null )
         {
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
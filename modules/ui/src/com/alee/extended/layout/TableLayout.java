@@ -53,9 +53,11 @@ package com.alee.extended.layout;
 
 import java.awt.*;
 import java.lang.reflect.Method;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
 
 /**
  * TableLayout is a layout manager that is more powerful than GridBagLayout yet much easier to
@@ -156,6 +158,10 @@ import java.util.ListIterator;
  * happens when a component is aligned using anything but full justification.  In the case of full
  * justification, the component's maximum size is by definition unbounded.
  * <p>
+ * Component preferred and minimum sizes are cached per calculation only, see {@link #setSizeCaching(boolean)}.
+ * Each layout, preferred size and minimum size calculation asks every component for its sizes at most once.
+ * Components are not tracked individually, so every calculation asks all of them again.
+ * <p>
  * <b>Example</b>
  * <p>
  * <pre>
@@ -298,7 +304,7 @@ public class TableLayout implements java.awt.LayoutManager2, java.io.Serializabl
     /**
      * List of components and their sizes
      */
-    protected LinkedList list;
+    protected LinkedList<Entry> list;
 
     /**
      * Indicates whether or not the size of the cells are known for the last known size of the
@@ -327,6 +333,15 @@ public class TableLayout implements java.awt.LayoutManager2, java.io.Serializabl
      */
     protected int vGap;
 
+    /**
+     * Whether or not preferred and minimum sizes of components are cached within a single layout calculation.
+     * Cached sizes are discarded at the start of each {@link #layoutContainer(Container)}, {@link #preferredLayoutSize(Container)}
+     * and {@link #minimumLayoutSize(Container)} call, so sizes changed without invalidating this layout are never missed.
+     * That way components are only asked for their sizes once per calculation instead of once per each row and column pass.
+     * This is per-calculation size caching only, it doesn't track invalidation of separate components between calculations.
+     */
+    protected boolean sizeCaching = true;
+
     /**
      * Constructs an instance of TableLayout. This TableLayout will have no columns or rows.
      * This constructor is most useful for bean-oriented programming and dynamically adding columns and rows.
@@ -463,7 +478,7 @@ public class TableLayout implements java.awt.LayoutManager2, java.io.Serializabl
         }
 
         // Create an empty list of components
-        list = new LinkedList ();
+        list = new LinkedList<Entry> ();
 
         // Indicate that the cell sizes are not known
         dirty = true;
@@ -478,10 +493,10 @@ public class TableLayout implements java.awt.LayoutManager2, java.io.Serializabl
      */
     public TableLayoutConstraints getConstraints ( final Component component )
     {
-        final ListIterator iterator = list.listIterator ( 0 );
+        final ListIterator<Entry> iterator = list.listIterator ( 0 );
         while ( iterator.hasNext () )
         {
-            final Entry entry = ( Entry ) iterator.next ();
+            final Entry entry = iterator.next ();
 
             if ( entry.component == component )
             {
@@ -511,11 +526,11 @@ public class TableLayout implements java.awt.LayoutManager2, java.io.Serializabl
         }
 
         // Find and update constraints for the given component
-        final ListIterator iterator = list.listIterator ( 0 );
+        final ListIterator<Entry> iterator = list.listIterator ( 0 );
 
         while ( iterator.hasNext () )
         {
-            final Entry entry = ( Entry ) iterator.next ();
+            final Entry entry = iterator.next ();
 
             if ( entry.component == component )
             {
@@ -818,6 +833,43 @@ public class TableLayout implements java.awt.LayoutManager2, java.io.Serializabl
         setVGap ( vGap );
     }
 
+    /**
+     * Returns whether or not preferred and minimum sizes of components are cached within a single layout calculation.
+     *
+     * @return {@code true} if preferred and minimum sizes of components are cached within a single layout calculation,
+     * {@code false} otherwise
+     */
+    public boolean isSizeCaching ()
+    {
+        return sizeCaching;
+    }
+
+    /**
+     * Sets whether or not preferred and minimum sizes of components should be cached within a single layout calculation.
+     * Caching should only be disabled for components that return different sizes on subsequent calls without any changes.
+     *
+     * @param sizeCaching whether or not preferred and minimum sizes of components should be cached within a single layout calculation
+     */
+    public void setSizeCaching ( final boolean sizeCaching )
+    {
+        this.sizeCaching = sizeCaching;
+        clearSizes ();
+        dirty = true;
+    }
+
+    /**
+     * Clears cached sizes of all components.
+     * It is called at the start of each layout calculation, so cached sizes are never reused across calculations.
+     */
+    protected void clearSizes ()
+    {
+        final ListIterator<Entry> iterator = list.listIterator ( 0 );
+        while ( iterator.hasNext () )
+        {
+            iterator.next ().clearSizes ();
+        }
+    }
+
     /**
      * Inserts a column in this layout.  All components to the right of the insertion point are
      * moved right one column.  The container will need to be laid out after this method returns.
@@ -880,12 +932,12 @@ public class TableLayout implements java.awt.LayoutManager2, java.io.Serializabl
         crSpec[ z ] = cr;
 
         // Move all components that are below the new cr
-        final ListIterator iterator = list.listIterator ( 0 );
+        final ListIterator<Entry> iterator = list.listIterator ( 0 );
 
         while ( iterator.hasNext () )
         {
             // Get next entry
-            final Entry entry = ( Entry ) iterator.next ();
+            final Entry entry = iterator.next ();
 
             // Is the first cr below the new cr
             if ( entry.cr1[ z ] >= i )
@@ -958,12 +1010,12 @@ public class TableLayout implements java.awt.LayoutManager2, java.io.Serializabl
         crSpec[ z ] = cr;
 
         // Move all components that are to below the row deleted
-        final ListIterator iterator = list.listIterator ( 0 );
+        final ListIterator<Entry> iterator = list.listIterator ( 0 );
 
         while ( iterator.hasNext () )
         {
             // Get next entry
-            final Entry entry = ( Entry ) iterator.next ();
+            final Entry entry = iterator.next ();
 
             // Is the first row below the new row
             if ( entry.cr1[ z ] > i )
@@ -1032,23 +1084,23 @@ public class TableLayout implements java.awt.LayoutManager2, java.io.Serializabl
      * corresponding components
      * @see #getOverlappingEntry
      */
-    public List getInvalidEntry ()
+    public List<Entry> getInvalidEntry ()
     {
-        final LinkedList listInvalid = new LinkedList ();
+        final LinkedList<Entry> listInvalid = new LinkedList<Entry> ();
 
         try
         {
-            final ListIterator iterator = list.listIterator ( 0 );
+            final ListIterator<Entry> iterator = list.listIterator ( 0 );
 
             while ( iterator.hasNext () )
             {
-                final Entry entry = ( Entry ) iterator.next ();
+                final Entry entry = iterator.next ();
 
                 if ( entry.cr1[ R ] < 0 || entry.cr1[ C ] < 0 ||
                         entry.cr2[ R ] >= crSpec[ R ].length ||
                         entry.cr2[ C ] >= crSpec[ C ].length )
                 {
-                    listInvalid.add ( entry.copy () );
+                    listInvalid.add ( ( Entry ) entry.copy () );
                 }
             }
         }
@@ -1067,9 +1119,9 @@ public class TableLayout implements java.awt.LayoutManager2, java.io.Serializabl
      * @return a list of zero or more TableLayout.Entry instances
      * @see #getInvalidEntry
      */
-    public List getOverlappingEntry ()
+    public List<Entry> getOverlappingEntry ()
     {
-        final LinkedList listOverlapping = new LinkedList ();
+        final LinkedList<Entry> listOverlapping = new LinkedList<Entry> ();
 
         try
         {
@@ -1083,7 +1135,7 @@ public class TableLayout implements java.awt.LayoutManager2, java.io.Serializabl
             }
 
             // Put entries in an array
-            final Entry[] entry = ( Entry[] ) list.toArray ( new Entry[ numEntry ] );
+            final Entry[] entry = list.toArray ( new Entry[ numEntry ] );
 
             // Check all components
             for ( int knowUnique = 1; knowUnique < numEntry; knowUnique++ )
@@ -1099,7 +1151,7 @@ public class TableLayout implements java.awt.LayoutManager2, java.io.Serializabl
                                     entry[ checking ].cr2[ R ] >= entry[ knowUnique ].cr1[ R ] &&
                                     entry[ checking ].cr2[ R ] <= entry[ knowUnique ].cr2[ R ] )
                     {
-                        listOverlapping.add ( entry[ checking ].copy () );
+                        listOverlapping.add ( ( Entry ) entry[ checking ].copy () );
                     }
                 }
             }
@@ -1312,110 +1364,124 @@ public class TableLayout implements java.awt.LayoutManager2, java.io.Serializabl
         // Get variables referring to columns or rows (crs)
         final int numCr = crSpec[ z ].length;
 
-        // Address every cr
+        // Reset sizes of preferred/minimum (based on typeOfSize) crs
         for ( int counter = 0; counter < numCr; counter++ )
-        // Is the current cr a preferred/minimum (based on typeOfSize) size
         {
             if ( crSpec[ z ][ counter ] == typeOfSize )
             {
-                // Assume a maximum width of zero
-                int maxSize = 0;
+                crSize[ z ][ counter ] = 0;
+            }
+        }
 
-                // Find maximum preferred/min width of all components completely
-                // or partially contained within this cr
-                final ListIterator iterator = list.listIterator ( 0 );
+        // Find maximum preferred/min width of all components completely
+        // or partially contained within each cr
+        // Space required by the component doesn't depend on the cr, so each component is only checked once
+        final ListIterator<Entry> iterator = list.listIterator ( 0 );
+
+        nextComponent:
+        while ( iterator.hasNext () )
+        {
+            final Entry entry = iterator.next ();
 
-                nextComponent:
-                while ( iterator.hasNext () )
+            // Skip invalid entries
+            if ( entry.cr1[ z ] < 0 || entry.cr2[ z ] >= numCr )
+            {
+                continue;
+            }
+
+            // Skip any component that doesn't occupy preferred/minimum crs
+            boolean contained = false;
+            for ( int entryCr = entry.cr1[ z ]; entryCr <= entry.cr2[ z ]; entryCr++ )
+            {
+                if ( crSpec[ z ][ entryCr ] == typeOfSize )
                 {
-                    final Entry entry = ( Entry ) iterator.next ();
+                    contained = true;
+                    break;
+                }
+            }
+            if ( !contained )
+            {
+                continue;
+            }
+
+            // Setup size and number of adjustable crs
+            final Dimension p = typeOfSize == PREFERRED ? entry.getPreferredSize ( sizeCaching ) : entry.getMinimumSize ( sizeCaching );
 
-                    // Skip invalid entries
-                    if ( entry.cr1[ z ] < 0 || entry.cr2[ z ] >= numCr )
+            int size = p == null ? 0 : z == C ? p.width : p.height;
+            int numAdjustable = 0;
+
+            // Calculate for preferred size
+            if ( typeOfSize == PREFERRED )
+            // Consider all crs this component occupies
+            {
+                for ( int entryCr = entry.cr1[ z ]; entryCr <= entry.cr2[ z ]; entryCr++ )
+                {
+                    // Subtract absolute, relative, and minumum cr
+                    // sizes, which have already been calculated
+                    if ( crSpec[ z ][ entryCr ] >= 0.0 || crSpec[ z ][ entryCr ] == MINIMUM )
                     {
-                        continue;
+                        size -= crSize[ z ][ entryCr ];
                     }
-
-                    // Find the maximum desired size of this cr based on all crs
-                    // the current component occupies
-                    if ( entry.cr1[ z ] <= counter && entry.cr2[ z ] >= counter )
+                    // Count preferred/min width columns
+                    else if ( crSpec[ z ][ entryCr ] == PREFERRED )
+                    {
+                        numAdjustable++;
+                    }
+                    // Skip any component that occupies a fill cr
+                    // because the fill should fulfill the size
+                    // requirements
+                    else if ( crSpec[ z ][ entryCr ] == FILL )
+                    {
+                        continue nextComponent;
+                    }
+                }
+            }
+            // Calculate for minimum size
+            else
+            // Consider all crs this component occupies
+            {
+                for ( int entryCr = entry.cr1[ z ]; entryCr <= entry.cr2[ z ]; entryCr++ )
+                {
+                    // Subtract absolute and relative cr sizes, which
+                    // have already been calculated
+                    if ( crSpec[ z ][ entryCr ] >= 0.0 )
+                    {
+                        size -= crSize[ z ][ entryCr ];
+                    }
+                    // Count preferred/min width columns
+                    else if ( crSpec[ z ][ entryCr ] == PREFERRED || crSpec[ z ][ entryCr ] == MINIMUM )
+                    {
+                        numAdjustable++;
+                    }
+                    // Skip any component that occupies a fill cr
+                    // because the fill should fulfill the size
+                    // requirements
+                    else if ( crSpec[ z ][ entryCr ] == FILL )
                     {
-                        // Setup size and number of adjustable crs
-                        final Dimension p =
-                                typeOfSize == PREFERRED ? entry.component.getPreferredSize () : entry.component.getMinimumSize ();
-
-                        int size = p == null ? 0 : z == C ? p.width : p.height;
-                        int numAdjustable = 0;
-
-                        // Calculate for preferred size
-                        if ( typeOfSize == PREFERRED )
-                        // Consider all crs this component occupies
-                        {
-                            for ( int entryCr = entry.cr1[ z ]; entryCr <= entry.cr2[ z ]; entryCr++ )
-                            {
-                                // Subtract absolute, relative, and minumum cr
-                                // sizes, which have already been calculated
-                                if ( crSpec[ z ][ entryCr ] >= 0.0 || crSpec[ z ][ entryCr ] == MINIMUM )
-                                {
-                                    size -= crSize[ z ][ entryCr ];
-                                }
-                                // Count preferred/min width columns
-                                else if ( crSpec[ z ][ entryCr ] == PREFERRED )
-                                {
-                                    numAdjustable++;
-                                }
-                                // Skip any component that occupies a fill cr
-                                // because the fill should fulfill the size
-                                // requirements
-                                else if ( crSpec[ z ][ entryCr ] == FILL )
-                                {
-                                    continue nextComponent;
-                                }
-                            }
-                        }
-                        // Calculate for minimum size
-                        else
-                        // Consider all crs this component occupies
-                        {
-                            for ( int entryCr = entry.cr1[ z ]; entryCr <= entry.cr2[ z ]; entryCr++ )
-                            {
-                                // Subtract absolute and relative cr sizes, which
-                                // have already been calculated
-                                if ( crSpec[ z ][ entryCr ] >= 0.0 )
-                                {
-                                    size -= crSize[ z ][ entryCr ];
-                                }
-                                // Count preferred/min width columns
-                                else if ( crSpec[ z ][ entryCr ] == PREFERRED || crSpec[ z ][ entryCr ] == MINIMUM )
-                                {
-                                    numAdjustable++;
-                                }
-                                // Skip any component that occupies a fill cr
-                                // because the fill should fulfill the size
-                                // requirements
-                                else if ( crSpec[ z ][ entryCr ] == FILL )
-                                {
-                                    continue nextComponent;
-                                }
-                            }
-                        }
-
-                        // Divide the size evenly among the adjustable crs
-                        size = ( int ) Math.ceil ( size / ( double ) numAdjustable );
-
-                        // Take the maximumn size
-                        if ( maxSize < size )
-                        {
-                            maxSize = size;
-                        }
+                        continue nextComponent;
                     }
                 }
+            }
 
-                // Assign preferred size
-                crSize[ z ][ counter ] = maxSize;
+            // Divide the size evenly among the adjustable crs
+            size = ( int ) Math.ceil ( size / ( double ) numAdjustable );
 
-                // Reduce available size
-                availableSize -= maxSize;
+            // Take the maximumn size for each preferred/minimum cr
+            for ( int entryCr = entry.cr1[ z ]; entryCr <= entry.cr2[ z ]; entryCr++ )
+            {
+                if ( crSpec[ z ][ entryCr ] == typeOfSize && crSize[ z ][ entryCr ] < size )
+                {
+                    crSize[ z ][ entryCr ] = size;
+                }
+            }
+        }
+
+        // Reduce available size
+        for ( int counter = 0; counter < numCr; counter++ )
+        {
+            if ( crSpec[ z ][ counter ] == typeOfSize )
+            {
+                availableSize -= crSize[ z ][ counter ];
             }
         }
 
@@ -1433,6 +1499,9 @@ public class TableLayout implements java.awt.LayoutManager2, java.io.Serializabl
     @Override
     public void layoutContainer ( final Container container )
     {
+        // Component sizes are only cached within this layout calculation
+        clearSizes ();
+
         // Calculate sizes if container has changed size or components were added
         final Dimension d = container.getSize ();
 
@@ -1449,28 +1518,22 @@ public class TableLayout implements java.awt.LayoutManager2, java.io.Serializabl
         // Get components
         final Component[] components = container.getComponents ();
 
+        // Map components to their entries, first entry is used for each component
+        final Map<Component, Entry> entries = new IdentityHashMap<Component, Entry> ( list.size () );
+        final ListIterator<Entry> iterator = list.listIterator ( list.size () );
+        while ( iterator.hasPrevious () )
+        {
+            final Entry entry = iterator.previous ();
+            entries.put ( entry.component, entry );
+        }
+
         // Layout components
         for ( final Component component : components )
         {
             try
             {
                 // Get the entry for the next component
-                final ListIterator iterator = list.listIterator ( 0 );
-                Entry entry = null;
-
-                while ( iterator.hasNext () )
-                {
-                    entry = ( Entry ) iterator.next ();
-
-                    if ( entry.component == component )
-                    {
-                        break;
-                    }
-                    else
-                    {
-                        entry = null;
-                    }
-                }
+                final Entry entry = entries.get ( component );
 
                 // Skip any components that have not been place in a specific cell,
                 // setting the skip component's bounds to zero
@@ -1492,7 +1555,7 @@ public class TableLayout implements java.awt.LayoutManager2, java.io.Serializabl
 
                 if ( entry.alignment[ C ] != FULL || entry.alignment[ R ] != FULL )
                 {
-                    final Dimension preferredSize = component.getPreferredSize ();
+                    final Dimension preferredSize = entry.getPreferredSize ( sizeCaching );
 
                     preferredWidth = preferredSize.width;
                     preferredHeight = preferredSize.height;
@@ -1722,15 +1785,18 @@ public class TableLayout implements java.awt.LayoutManager2, java.io.Serializabl
      */
     protected Dimension calculateLayoutSize ( final Container container, final double typeOfSize )
     {
+        // Component sizes are only cached within this layout calculation
+        clearSizes ();
+
         //  Get preferred/minimum sizes
-        final Entry[] entryList = ( Entry[] ) list.toArray ( new Entry[ list.size () ] );
+        final Entry[] entryList = list.toArray ( new Entry[ list.size () ] );
         final int numEntry = entryList.length;
         final Dimension[] prefMinSize = new Dimension[ numEntry ];
 
         for ( int i = 0; i < numEntry; i++ )
         {
-            prefMinSize[ i ] =
-                    typeOfSize == PREFERRED ? entryList[ i ].component.getPreferredSize () : entryList[ i ].component.getMinimumSize ();
+            prefMinSize[ i ] = typeOfSize == PREFERRED ? entryList[ i ].getPreferredSize ( sizeCaching ) :
+                    entryList[ i ].getMinimumSize ( sizeCaching );
         }
 
         // Calculate sizes
@@ -1988,11 +2054,11 @@ public class TableLayout implements java.awt.LayoutManager2, java.io.Serializabl
     public void removeLayoutComponent ( final Component component )
     {
         // Remove the component
-        final ListIterator iterator = list.listIterator ( 0 );
+        final ListIterator<Entry> iterator = list.listIterator ( 0 );
 
         while ( iterator.hasNext () )
         {
-            final Entry entry = ( Entry ) iterator.next ();
+            final Entry entry = iterator.next ();
 
             if ( entry.component == component )
             {
@@ -2081,6 +2147,16 @@ public class TableLayout implements java.awt.LayoutManager2, java.io.Serializabl
          */
         public int alignment[];
 
+        /**
+         * Cached preferred size of the component
+         */
+        protected transient Dimension preferredSize;
+
+        /**
+         * Cached minimum size of the component
+         */
+        protected transient Dimension minimumSize;
+
         /**
          * Constructs an Entry that binds a component to a set of constraints.
          *
@@ -2099,6 +2175,59 @@ public class TableLayout implements java.awt.LayoutManager2, java.io.Serializabl
             this.component = component;
         }
 
+        /**
+         * Returns preferred size of the component.
+         * Cached size is returned if caching is allowed and size was already requested since the last {@link #clearSizes()} call.
+         *
+         * @param caching whether or not cached size can be used
+         * @return preferred size of the component
+         */
+        public Dimension getPreferredSize ( final boolean caching )
+        {
+            final Dimension size;
+            if ( caching && preferredSize != null )
+            {
+                size = preferredSize;
+            }
+            else
+            {
+                size = component.getPreferredSize ();
+                preferredSize = caching && size != null ? new Dimension ( size ) : null;
+            }
+            return size;
+        }
+
+        /**
+         * Returns minimum size of the component.
+         * Cached size is returned if caching is allowed and size was already requested since the last {@link #clearSizes()} call.
+         *
+         * @param caching whether or not cached size can be used
+         * @return minimum size of the component
+         */
+        public Dimension getMinimumSize ( final boolean caching )
+        {
+            final Dimension size;
+            if ( caching && minimumSize != null )
+            {
+                size = minimumSize;
+            }
+            else
+            {
+                size = component.getMinimumSize ();
+                minimumSize = caching && size != null ? new Dimension ( size ) : null;
+            }
+            return size;
+        }
+
+        /**
+         * Clears cached component sizes.
+         */
+        public void clearSizes ()
+        {
+            preferredSize = null;
+            minimumSize = null;
+        }
+
         /**
          * Returns copy of this Entry.
          *
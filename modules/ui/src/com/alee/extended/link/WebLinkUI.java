@@ -173,7 +173,7 @@ public class WebLinkUI<C extends WebLink> extends WLinkUI<C> implements ShapeSup
     {
         if ( painter != null )
         {
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
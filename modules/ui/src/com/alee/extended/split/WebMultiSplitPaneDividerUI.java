@@ -440,7 +440,7 @@ public class WebMultiSplitPaneDividerUI<C extends WebMultiSplitPaneDivider> exte
     {
         if ( painter != null )
         {
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
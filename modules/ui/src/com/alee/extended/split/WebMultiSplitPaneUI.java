@@ -217,7 +217,7 @@ public class WebMultiSplitPaneUI<C extends WebMultiSplitPane> extends WMultiSpli
     {
         if ( painter != null )
         {
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
@@ -171,7 +171,7 @@ public class WebStatusBarUI<C extends WebStatusBar> extends WStatusBarUI<C> impl
     {
         if ( painter != null )
         {
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
@@ -48,6 +48,8 @@ public interface AsyncTreeDataProvider<N extends AsyncUniqueNode> extends Serial
      * Starts loading child {@link AsyncUniqueNode}s for the specified parent {@link AsyncUniqueNode}.
      * When children loading is finished or failed you must inform the {@link NodesLoadCallback} about result.
      * This operation uses a separate {@link Thread} and it is allowed to take as much time as it needs to complete.
+     * {@link NodesLoadCallback} provided by {@link AsyncTreeModel} is a {@link NodesLoadAdapter} that also acts as a cancellation token,
+     * see {@link NodesLoadAdapter#isCancelled()}.
      *
      * @param parent   {@link AsyncUniqueNode} to load children for
      * @param listener {@link NodesLoadCallback} for informing tree about operation result
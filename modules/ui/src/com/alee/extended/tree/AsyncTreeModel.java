@@ -18,6 +18,7 @@
 package com.alee.extended.tree;
 
 import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
 import com.alee.api.jdk.Objects;
 import com.alee.laf.WebLookAndFeel;
 import com.alee.laf.tree.TreeState;
@@ -25,13 +26,21 @@ import com.alee.laf.tree.WebTreeModel;
 import com.alee.laf.tree.WebTreeNode;
 import com.alee.utils.CollectionUtils;
 import com.alee.utils.CoreSwingUtils;
+import com.alee.utils.SwingUtils;
 import com.alee.utils.compare.Filter;
 
+import javax.swing.Timer;
 import javax.swing.event.EventListenerList;
+import javax.swing.event.TreeExpansionEvent;
+import javax.swing.event.TreeExpansionListener;
 import javax.swing.tree.MutableTreeNode;
 import javax.swing.tree.TreeNode;
 import javax.swing.tree.TreePath;
+import java.awt.Rectangle;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
 import java.util.*;
+import java.util.concurrent.CancellationException;
 
 /**
  * {@link WebTreeModel} extension that is based on data from {@link AsyncTreeDataProvider}.
@@ -42,7 +51,8 @@ import java.util.*;
  * @see WebAsyncTree
  * @see AsyncTreeDataProvider
  */
-public class AsyncTreeModel<N extends AsyncUniqueNode> extends WebTreeModel<N> implements FilterableNodes<N>, SortableNodes<N>
+public class AsyncTreeModel<N extends AsyncUniqueNode> extends WebTreeModel<N> implements DeferredFilterableNodes<N>, SortableNodes<N>,
+        IndexableNodes<N>
 {
     /**
      * todo 1. Add {@link AsyncTreeDataUpdater} support
@@ -59,6 +69,16 @@ public class AsyncTreeModel<N extends AsyncUniqueNode> extends WebTreeModel<N> i
      */
     protected final EventListenerList listeners;
 
+    /**
+     * {@link TreeFilteringEngine} performing recursive filtering and sorting.
+     */
+    protected final TreeFilteringEngine<N> filteringEngine;
+
+    /**
+     * Whether or not model is currently informing listeners about filtering and sorting results.
+     */
+    protected transient boolean filtering;
+
     /**
      * Nodes cached states (parent identifier -&gt; children cached state).
      * If child nodes for some parent node are cached then this map contains "true" value under that parent node identifier as a key.
@@ -78,6 +98,21 @@ public class AsyncTreeModel<N extends AsyncUniqueNode> extends WebTreeModel<N> i
      */
     protected transient Map<String, N> nodeById;
 
+    /**
+     * Children load requests that are not finished yet (parent identifier -&gt; load request).
+     */
+    protected transient Map<String, LoadRequest> loadRequests;
+
+    /**
+     * {@link TreeExpansionListener} cancelling queued children loads within collapsed nodes.
+     */
+    protected transient TreeExpansionListener expansionListener;
+
+    /**
+     * Maximum amount of children provided through {@link NodesLoadAdapter#partial(List)} added into the model per frame.
+     */
+    protected int partialBatchSize = 1000;
+
     /**
      * Asynchronous tree that uses this model.
      */
@@ -109,6 +144,7 @@ public class AsyncTreeModel<N extends AsyncUniqueNode> extends WebTreeModel<N> i
         super ( null );
         this.dataProvider = dataProvider;
         this.listeners = new EventListenerList ();
+        this.filteringEngine = new TreeFilteringEngine<N> ( this, new FilteringSource () );
     }
 
     /**
@@ -121,6 +157,27 @@ public class AsyncTreeModel<N extends AsyncUniqueNode> extends WebTreeModel<N> i
         return dataProvider;
     }
 
+    /**
+     * Returns maximum amount of children provided through {@link NodesLoadAdapter#partial(List)} added into the model per frame.
+     *
+     * @return maximum amount of children provided through {@link NodesLoadAdapter#partial(List)} added into the model per frame
+     */
+    public int getPartialBatchSize ()
+    {
+        return partialBatchSize;
+    }
+
+    /**
+     * Sets maximum amount of children provided through {@link NodesLoadAdapter#partial(List)} added into the model per frame.
+     * Smaller values keep Event Dispatch Thread more responsive while larger ones allow children to be added faster.
+     *
+     * @param size maximum amount of children provided through {@link NodesLoadAdapter#partial(List)} added into the model per frame
+     */
+    public void setPartialBatchSize ( final int size )
+    {
+        this.partialBatchSize = Math.max ( 1, size );
+    }
+
     /**
      * Installs this {@link AsyncTreeModel} into the specified {@link WebAsyncTree}.
      *
@@ -132,9 +189,40 @@ public class AsyncTreeModel<N extends AsyncUniqueNode> extends WebTreeModel<N> i
         this.nodeCached = new HashMap<String, Boolean> ( 50 );
         this.rawNodeChildrenCache = new HashMap<String, List<N>> ( 10 );
         this.nodeById = new HashMap<String, N> ( 50 );
+        this.loadRequests = new HashMap<String, LoadRequest> ( 10 );
         this.tree = tree;
         this.rootNode = null;
         addAsyncTreeModelListener ( tree );
+
+        // Queued loads are not needed anymore once node is collapsed
+        // Loads that are already running are kept since their results are still valid
+        expansionListener = new TreeExpansionListener ()
+        {
+            @Override
+            public void treeExpanded ( final TreeExpansionEvent event )
+            {
+                // Loads are performed on demand
+            }
+
+            @Override
+            public void treeCollapsed ( final TreeExpansionEvent event )
+            {
+                // Cancelling loads once tree finishes collapse to avoid interfering with its layout update
+                final TreePath path = event.getPath ();
+                CoreSwingUtils.invokeLater ( new Runnable ()
+                {
+                    @Override
+                    public void run ()
+                    {
+                        if ( isInstalled () && !tree.isExpanded ( path ) )
+                        {
+                            cancelChildrenLoads ( ( N ) path.getLastPathComponent (), false );
+                        }
+                    }
+                } );
+            }
+        };
+        tree.addTreeExpansionListener ( expansionListener );
     }
 
     /**
@@ -146,6 +234,13 @@ public class AsyncTreeModel<N extends AsyncUniqueNode> extends WebTreeModel<N> i
     {
         WebLookAndFeel.checkEventDispatchThread ();
         removeAsyncTreeModelListener ( tree );
+        tree.removeTreeExpansionListener ( expansionListener );
+        expansionListener = null;
+        filteringEngine.cancel ();
+        for ( final LoadRequest request : new ArrayList<LoadRequest> ( loadRequests.values () ) )
+        {
+            cancelLoad ( request, false );
+        }
         for ( final Map.Entry<String, N> entry : nodeById.entrySet () )
         {
             final N node = entry.getValue ();
@@ -154,6 +249,7 @@ public class AsyncTreeModel<N extends AsyncUniqueNode> extends WebTreeModel<N> i
         this.rootNode = null;
         this.tree = null;
         this.nodeById = null;
+        this.loadRequests = null;
         this.rawNodeChildrenCache = null;
         this.nodeCached = null;
     }
@@ -234,9 +330,10 @@ public class AsyncTreeModel<N extends AsyncUniqueNode> extends WebTreeModel<N> i
         // Counting child nodes
         final int count;
         final N node = ( N ) parent;
-        if ( areChildrenLoaded ( node ) )
+        if ( areChildrenLoaded ( node ) || node.isLoading () )
         {
             // Simply using nodes count
+            // Node that is still loading might already have some children provided through partial results
             count = super.getChildCount ( parent );
         }
         else if ( isLeaf ( node ) )
@@ -263,7 +360,7 @@ public class AsyncTreeModel<N extends AsyncUniqueNode> extends WebTreeModel<N> i
 
         final N child;
         final N node = ( N ) parent;
-        if ( areChildrenLoaded ( node ) )
+        if ( areChildrenLoaded ( node ) || node.isLoading () )
         {
             child = ( N ) super.getChild ( parent, index );
         }
@@ -287,11 +384,24 @@ public class AsyncTreeModel<N extends AsyncUniqueNode> extends WebTreeModel<N> i
         // Cancels tree editing
         tree.cancelEditing ();
 
-        // Cleaning up nodes cache
-        clearNodeChildrenCache ( ( N ) node, false );
+        // Cancelling obsolete children loads
+        cancelChildrenLoads ( ( N ) node, true );
+
+        final N parent = ( N ) node;
+        if ( parent.isLoaded () )
+        {
+            // Loading new children while keeping existing ones
+            // They will be replaced with new children once those are loaded, see #replaceChildren(AsyncUniqueNode, List)
+            loadChildren ( parent );
+        }
+        else
+        {
+            // Cleaning up nodes cache
+            clearNodeChildrenCache ( parent, false );
 
-        // Forcing children reload
-        super.reload ( node );
+            // Forcing children reload
+            super.reload ( node );
+        }
     }
 
     /**
@@ -337,61 +447,51 @@ public class AsyncTreeModel<N extends AsyncUniqueNode> extends WebTreeModel<N> i
             // Firing load started event
             fireChildrenLoadStarted ( parent );
 
-            // todo This should actually be called on node reload?
             // Removing all old children if such exist
+            // Children of the node that is being reloaded are kept until new ones are loaded
             final int childCount = parent.getChildCount ();
-            if ( childCount > 0 )
+            if ( childCount > 0 && !areChildrenLoaded ( parent ) )
             {
                 final int[] indices = new int[ childCount ];
                 final Object[] children = new Object[ childCount ];
-                for ( int i = childCount - 1; i >= 0; i-- )
+                for ( int i = 0; i < childCount; i++ )
                 {
                     indices[ i ] = i;
                     children[ i ] = parent.getChildAt ( i );
-                    parent.remove ( i );
                 }
+                parent.removeAllChildren ();
                 nodesWereRemoved ( parent, indices, children );
             }
 
             // Loading node children
-            if ( tree.isAsyncLoading () )
+            final boolean async = tree.isAsyncLoading ();
+            final LoadRequest request = new LoadRequest ( parent, async );
+            loadRequests.put ( parent.getId (), request );
+            if ( async )
             {
-                // Executing children load in a separate thread to avoid locking EDT
-                // This queue will also take care of amount of threads to execute async trees requests
-                AsyncTreeQueue.getInstance ( tree ).execute ( new Runnable ()
+                // Queueing children load once current tree update is finished
+                // At that point we can safely check whether or not parent node is visible to prioritize its load
+                CoreSwingUtils.invokeLater ( new Runnable ()
                 {
                     @Override
                     public void run ()
                     {
-                        // Loading children
-                        getDataProvider ().loadChildren ( parent, new NodesLoadCallback<N> ()
+                        if ( !request.isCancelled () && isInstalled () )
                         {
-                            @Override
-                            public void completed ( final List<N> children )
-                            {
-                                CoreSwingUtils.invokeLater ( new Runnable ()
-                                {
-                                    @Override
-                                    public void run ()
-                                    {
-                                        loadChildrenCompleted ( parent, children );
-                                    }
-                                } );
-                            }
-
-                            @Override
-                            public void failed ( final Throwable cause )
+                            // Executing children load in a separate thread to avoid locking EDT
+                            // This queue will also take care of amount of threads to execute async trees requests
+                            request.task = AsyncTreeQueue.getInstance ( tree ).execute ( new Runnable ()
                             {
-                                CoreSwingUtils.invokeLater ( new Runnable ()
+                                @Override
+                                public void run ()
                                 {
-                                    @Override
-                                    public void run ()
+                                    if ( !request.isCancelled () )
                                     {
-                                        loadChildrenFailed ( parent, cause );
+                                        getDataProvider ().loadChildren ( parent, request );
                                     }
-                                } );
-                            }
-                        } );
+                                }
+                            }, getLoadPriority ( parent ) );
+                        }
                     }
                 } );
                 loadedCount = 0;
@@ -401,20 +501,7 @@ public class AsyncTreeModel<N extends AsyncUniqueNode> extends WebTreeModel<N> i
                 // Loading children
                 // todo There is no guarantee that provider won't load children asynchronously
                 // todo Practically speaking - it's better to get rid of sync loading option in this tree and remove this part
-                getDataProvider ().loadChildren ( parent, new NodesLoadCallback<N> ()
-                {
-                    @Override
-                    public void completed ( final List<N> children )
-                    {
-                        loadChildrenCompleted ( parent, children );
-                    }
-
-                    @Override
-                    public void failed ( final Throwable cause )
-                    {
-                        loadChildrenFailed ( parent, cause );
-                    }
-                } );
+                getDataProvider ().loadChildren ( parent, request );
                 loadedCount = parent.getChildCount ();
             }
         }
@@ -426,6 +513,74 @@ public class AsyncTreeModel<N extends AsyncUniqueNode> extends WebTreeModel<N> i
         return loadedCount;
     }
 
+    /**
+     * Returns {@link AsyncTreeQueue} priority for the specified parent node children load.
+     * Loads for nodes within the visible part of the tree are executed first.
+     *
+     * @param parent node to load children for
+     * @return {@link AsyncTreeQueue} priority for the specified parent node children load
+     */
+    protected int getLoadPriority ( final N parent )
+    {
+        final boolean visible;
+        if ( parent == rootNode )
+        {
+            visible = true;
+        }
+        else
+        {
+            final TreePath path = tree.getPathForNode ( parent );
+            final Rectangle bounds = path != null ? tree.getPathBounds ( path ) : null;
+            visible = bounds != null && bounds.intersects ( tree.getVisibleRect () );
+        }
+        return visible ? AsyncTreeQueue.HIGH_PRIORITY : AsyncTreeQueue.NORMAL_PRIORITY;
+    }
+
+    /**
+     * Cancels children loads for the specified node and all of its descendants.
+     * Cancelled nodes return to {@link AsyncNodeState#waiting} state, so their children will be loaded again when requested.
+     *
+     * @param node    node to cancel children loads for
+     * @param running whether or not loads that are already running should be cancelled as well
+     */
+    protected void cancelChildrenLoads ( final N node, final boolean running )
+    {
+        if ( !loadRequests.isEmpty () )
+        {
+            for ( final LoadRequest request : new ArrayList<LoadRequest> ( loadRequests.values () ) )
+            {
+                if ( node.isNodeDescendant ( request.parent ) && ( running || request.cancelQueued () ) )
+                {
+                    cancelLoad ( request, true );
+                }
+            }
+        }
+    }
+
+    /**
+     * Cancels specified children load request.
+     *
+     * @param request    {@link LoadRequest} to cancel
+     * @param fireEvents whether or not node change and load failure events should be fired
+     */
+    protected void cancelLoad ( final LoadRequest request, final boolean fireEvents )
+    {
+        final N parent = request.parent;
+        loadRequests.remove ( parent.getId () );
+        request.cancel ();
+        parent.setState ( AsyncNodeState.waiting );
+        if ( fireEvents )
+        {
+            // Removing children that were already provided
+            dropPartialChildren ( parent );
+
+            // Structure update is required to reset tree layout cache for the node
+            // Otherwise it won't request node children again on the next expansion
+            nodeStructureChanged ( parent );
+            fireChildrenLoadFailed ( parent, new CancellationException ( "Children load was cancelled" ) );
+        }
+    }
+
     /**
      * Finishes children loading for the specified parent.
      *
@@ -440,38 +595,492 @@ public class AsyncTreeModel<N extends AsyncUniqueNode> extends WebTreeModel<N> i
             // Event Dispatch Thread check
             WebLookAndFeel.checkEventDispatchThread ();
 
+            final List<N> realChildren;
+            if ( parent.getChildCount () > 0 || rawNodeChildrenCache.containsKey ( parent.getId () ) )
+            {
+                // Replacing existing children
+                realChildren = replaceChildren ( parent, children );
+            }
+            else
+            {
+                // Caching raw children
+                rawNodeChildrenCache.put ( parent.getId (), children );
+                cacheNodesById ( children );
+
+                // Adding image observers
+                // We need to do this separately here since some nodes might not be inserted right away
+                // Instead they will appear on the next global update and will "escape" observer addition in that case
+                for ( final N child : children )
+                {
+                    child.attachLoadIconObserver ( tree );
+                }
+
+                // Filtering and sorting raw children
+                realChildren = filterAndSort ( parent, children );
+
+                // Checking if any nodes loaded
+                if ( realChildren.size () > 0 )
+                {
+                    // Inserting loaded nodes
+                    insertNodesIntoImpl ( realChildren, parent, 0 );
+                }
+            }
+
+            // Updating cache
+            nodeCached.put ( parent.getId (), true );
+
+            // Updating parent node load state
+            parent.setState ( AsyncNodeState.loaded );
+            nodeChanged ( parent );
+
+            // Firing load completed event
+            fireChildrenLoadCompleted ( parent, realChildren );
+        }
+    }
+
+    /**
+     * Replaces existing children of the specified parent with new ones and returns filtered and sorted children.
+     *
+     * Children are matched by their identifiers, existing child is kept whenever new children contain child with the same identifier.
+     * Kept children retain their identity, expansion and selection, their data is updated from the new children through
+     * {@link #updateChild(AsyncUniqueNode, AsyncUniqueNode)}. Children of the kept children might have changed as well, so they are
+     * reloaded just like they would be for the new children, see {@link #reloadKeptChild(AsyncUniqueNode, AsyncUniqueNode)}.
+     *
+     * Only removed, inserted and changed children are reported to the tree, so the cost of the update is proportional to the
+     * amount of changes rather than to the amount of children. Whole parent structure is only updated if order of the kept
+     * children has changed, tree state is restored in that case.
+     *
+     * @param parent   parent node
+     * @param children new children
+     * @return filtered and sorted children
+     */
+    protected List<N> replaceChildren ( final N parent, final List<N> children )
+    {
+        // Existing raw children by their identifiers
+        final List<N> oldChildren = rawNodeChildrenCache.get ( parent.getId () );
+        final Map<String, N> oldById = new HashMap<String, N> ( oldChildren != null ? oldChildren.size () : parent.getChildCount () );
+        if ( oldChildren != null )
+        {
+            for ( final N child : oldChildren )
+            {
+                oldById.put ( child.getId (), child );
+            }
+        }
+        else
+        {
+            for ( int i = 0; i < parent.getChildCount (); i++ )
+            {
+                final N child = ( N ) parent.getChildAt ( i );
+                oldById.put ( child.getId (), child );
+            }
+        }
+
+        // Matching new children with existing ones
+        final List<N> rawChildren = new ArrayList<N> ( children.size () );
+        final List<N> added = new ArrayList<N> ( Math.max ( 0, children.size () - oldById.size () ) );
+        final List<N> matched = new ArrayList<N> ( Math.min ( children.size (), oldById.size () ) );
+        final Set<N> changed = new HashSet<N> ();
+        for ( final N child : children )
+        {
+            final N existing = oldById.remove ( child.getId () );
+            if ( existing != null )
+            {
+                if ( existing != child && updateChild ( existing, child ) )
+                {
+                    changed.add ( existing );
+                }
+                rawChildren.add ( existing );
+                matched.add ( existing );
+            }
+            else
+            {
+                rawChildren.add ( child );
+                added.add ( child );
+            }
+        }
+        final Collection<N> removed = oldById.values ();
+
+        // Updating caches
+        for ( final N child : removed )
+        {
+            clearNodeChildrenCache ( child, true );
+            child.detachLoadIconObserver ( tree );
+        }
+        rawNodeChildrenCache.put ( parent.getId (), rawChildren );
+        clearNodeChildrenCache ( added, false );
+        cacheNodesById ( added );
+        for ( final N child : added )
+        {
+            child.attachLoadIconObserver ( tree );
+        }
+
+        // Filtering and sorting new children
+        final List<N> realChildren = filterAndSort ( parent, rawChildren );
+
+        // Splitting currently displayed children into kept and removed ones
+        final Set<N> realSet = new HashSet<N> ( realChildren );
+        final int count = parent.getChildCount ();
+        final Set<N> current = new HashSet<N> ( count );
+        final List<N> kept = new ArrayList<N> ( count );
+        final List<Integer> removedIndices = new ArrayList<Integer> ();
+        final List<N> removedChildren = new ArrayList<N> ();
+        for ( int i = 0; i < count; i++ )
+        {
+            final N child = ( N ) parent.getChildAt ( i );
+            current.add ( child );
+            if ( realSet.contains ( child ) )
+            {
+                kept.add ( child );
+            }
+            else
+            {
+                removedIndices.add ( i );
+                removedChildren.add ( child );
+            }
+        }
+
+        // Checking whether kept children order has changed
+        boolean sameOrder = true;
+        for ( int i = 0, k = 0; i < realChildren.size () && sameOrder; i++ )
+        {
+            final N child = realChildren.get ( i );
+            if ( current.contains ( child ) )
+            {
+                sameOrder = kept.get ( k++ ) == child;
+            }
+        }
+
+        if ( sameOrder )
+        {
+            // Removing children that are not displayed anymore
+            if ( removedChildren.size () > 0 )
+            {
+                parent.removeAllChildren ();
+                for ( final N child : kept )
+                {
+                    parent.add ( child );
+                }
+                final int[] indices = new int[ removedIndices.size () ];
+                for ( int i = 0; i < indices.length; i++ )
+                {
+                    indices[ i ] = removedIndices.get ( i );
+                }
+                nodesWereRemoved ( parent, indices, removedChildren.toArray () );
+            }
+
+            // Inserting new children and updating changed ones
+            if ( kept.size () < realChildren.size () || changed.size () > 0 )
+            {
+                final int[] inserted = new int[ realChildren.size () - kept.size () ];
+                final int[] updated = new int[ changed.size () ];
+                int insertedCount = 0;
+                int updatedCount = 0;
+                parent.removeAllChildren ();
+                for ( int i = 0; i < realChildren.size (); i++ )
+                {
+                    final N child = realChildren.get ( i );
+                    parent.add ( child );
+                    if ( !current.contains ( child ) )
+                    {
+                        inserted[ insertedCount++ ] = i;
+                    }
+                    else if ( changed.contains ( child ) )
+                    {
+                        updated[ updatedCount++ ] = i;
+                    }
+                }
+                if ( insertedCount > 0 )
+                {
+                    nodesWereInserted ( parent, inserted );
+                }
+                if ( updatedCount > 0 )
+                {
+                    nodesChanged ( parent, updatedCount < updated.length ? Arrays.copyOf ( updated, updatedCount ) : updated );
+                }
+            }
+        }
+        else
+        {
+            // Saving tree state to restore it right after children update
+            final TreeState treeState = tree.getTreeState ( parent );
+
+            // Replacing all children
+            parent.removeAllChildren ();
+            for ( final N child : realChildren )
+            {
+                parent.add ( child );
+            }
+
+            // Forcing tree structure update for the node
+            nodeStructureChanged ( parent );
+
+            // Restoring tree state including all selections and expansions
+            tree.setTreeState ( treeState, parent );
+        }
+
+        // Reloading children of the kept children
+        for ( final N child : matched )
+        {
+            reloadKeptChild ( parent, child );
+        }
+
+        return realChildren;
+    }
+
+    /**
+     * Reloads children of the child kept by {@link #replaceChildren(AsyncUniqueNode, List)}.
+     * Expanded child is reloaded right away to preserve its expansion, its own kept children are reloaded the same way.
+     * Any other child with loaded children is simply reset, so that its children are loaded again next time they are requested.
+     *
+     * @param parent parent node
+     * @param child  kept child
+     */
+    protected void reloadKeptChild ( final N parent, final N child )
+    {
+        if ( areChildrenLoaded ( child ) )
+        {
+            final boolean displayed = child.getParent () == parent;
+            if ( displayed && tree.isExpanded ( child ) )
+            {
+                reload ( child );
+            }
+            else
+            {
+                clearNodeChildrenCache ( child, false );
+                child.setState ( AsyncNodeState.waiting );
+                if ( child.getChildCount () > 0 )
+                {
+                    for ( int i = 0; i < child.getChildCount (); i++ )
+                    {
+                        ( ( N ) child.getChildAt ( i ) ).detachLoadIconObserver ( tree );
+                    }
+                    child.removeAllChildren ();
+                    if ( displayed )
+                    {
+                        nodeStructureChanged ( child );
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Updates existing child with the data of the new child that has the same identifier.
+     * This is used by {@link #replaceChildren(AsyncUniqueNode, List)} to keep existing child in the tree instead of the new one.
+     * By default only user object is transferred, override this method if nodes contain any other data.
+     * Children of the existing child are not affected by this method, they are reloaded separately.
+     *
+     * @param child  existing child
+     * @param update new child with the same identifier
+     * @return {@code true} if existing child has changed, {@code false} otherwise
+     */
+    protected boolean updateChild ( final N child, final N update )
+    {
+        final boolean changed = !Objects.equals ( child.getUserObject (), update.getUserObject () );
+        if ( changed )
+        {
+            child.setUserObject ( update.getUserObject () );
+        }
+        return changed;
+    }
+
+    /**
+     * Adds part of the children provided through {@link NodesLoadAdapter#partial(List)} for the specified parent.
+     * Parent node stays in {@link AsyncNodeState#loading} state until loading is finished.
+     * Children are filtered and inserted between already added ones according to current sorting, so all of them are added in a
+     * single {@link #nodesWereInserted(TreeNode, int[])} call that only contains indices of the new children.
+     *
+     * @param parent   parent node
+     * @param children loaded child nodes
+     */
+    protected void loadChildrenPart ( final N parent, final List<N> children )
+    {
+        // Operation might have finished after model was removed from the tree
+        if ( isInstalled () )
+        {
+            // Event Dispatch Thread check
+            WebLookAndFeel.checkEventDispatchThread ();
+
             // Caching raw children
-            rawNodeChildrenCache.put ( parent.getId (), children );
+            List<N> cachedChildren = rawNodeChildrenCache.get ( parent.getId () );
+            if ( cachedChildren == null )
+            {
+                cachedChildren = new ArrayList<N> ( children.size () );
+                rawNodeChildrenCache.put ( parent.getId (), cachedChildren );
+            }
+            cachedChildren.addAll ( children );
             cacheNodesById ( children );
 
             // Adding image observers
-            // We need to do this separately here since some nodes might not be inserted right away
-            // Instead they will appear on the next global update and will "escape" observer addition in that case
             for ( final N child : children )
             {
                 child.attachLoadIconObserver ( tree );
             }
 
-            // Filtering and sorting raw children
+            // Filtering and sorting new children
             final List<N> realChildren = filterAndSort ( parent, children );
 
+            // Merging them into existing ones
+            if ( realChildren.size () > 0 )
+            {
+                mergeChildren ( parent, realChildren );
+            }
+        }
+    }
+
+    /**
+     * Finishes children loading for the specified parent which children were provided through {@link NodesLoadAdapter#partial(List)}.
+     *
+     * @param parent parent node
+     */
+    protected void loadChildrenPartsCompleted ( final N parent )
+    {
+        // Operation might have finished after model was removed from the tree
+        if ( isInstalled () )
+        {
+            // Event Dispatch Thread check
+            WebLookAndFeel.checkEventDispatchThread ();
+
+            // Ensure raw children are cached
+            if ( !rawNodeChildrenCache.containsKey ( parent.getId () ) )
+            {
+                rawNodeChildrenCache.put ( parent.getId (), new ArrayList<N> ( 0 ) );
+            }
+
             // Updating cache
             nodeCached.put ( parent.getId (), true );
 
-            // Checking if any nodes loaded
-            if ( realChildren != null && realChildren.size () > 0 )
+            // Updating parent node load state
+            parent.setState ( AsyncNodeState.loaded );
+            nodeChanged ( parent );
+
+            // Firing load completed event
+            final List<N> realChildren = new ArrayList<N> ( parent.getChildCount () );
+            for ( int i = 0; i < parent.getChildCount (); i++ )
+            {
+                realChildren.add ( ( N ) parent.getChildAt ( i ) );
+            }
+            fireChildrenLoadCompleted ( parent, realChildren );
+        }
+    }
+
+    /**
+     * Removes children provided through {@link NodesLoadAdapter#partial(List)} for the specified parent.
+     *
+     * @param parent parent node
+     */
+    protected void dropPartialChildren ( final N parent )
+    {
+        clearNodeChildrenCache ( parent, false );
+        if ( parent.getChildCount () > 0 )
+        {
+            parent.removeAllChildren ();
+            nodeStructureChanged ( parent );
+        }
+    }
+
+    /**
+     * Inserts specified filtered and sorted children between existing parent children.
+     * Existing children are expected to be sorted with the same {@link Comparator}, their order is preserved.
+     * Existing children are not removed, so each part of the children only costs a binary search and an indexed insert per child.
+     *
+     * @param parent   parent node
+     * @param children filtered and sorted children to merge
+     */
+    protected void mergeChildren ( final N parent, final List<N> children )
+    {
+        final Comparator<N> comparator = getChildrenComparator ( parent, children );
+        final int count = parent.getChildCount ();
+        final int[] indices = new int[ children.size () ];
+        if ( comparator == null || count == 0 )
+        {
+            // Simply appending new children
+            for ( int i = 0; i < children.size (); i++ )
+            {
+                parent.add ( children.get ( i ) );
+                indices[ i ] = count + i;
+            }
+        }
+        else
+        {
+            // Inserting new children between existing ones
+            // Existing children go first if they are equal to new ones, just like they would with stable sorting
+            // New children are sorted, so each one is only searched for after the previously inserted one
+            int from = 0;
+            for ( int n = 0; n < children.size (); n++ )
             {
-                // Inserting loaded nodes
-                insertNodesIntoImpl ( realChildren, parent, 0 );
+                final N child = children.get ( n );
+                int low = from;
+                int high = parent.getChildCount ();
+                while ( low < high )
+                {
+                    final int middle = ( low + high ) >>> 1;
+                    if ( comparator.compare ( ( N ) parent.getChildAt ( middle ), child ) <= 0 )
+                    {
+                        low = middle + 1;
+                    }
+                    else
+                    {
+                        high = middle;
+                    }
+                }
+                parent.insert ( child, low );
+                indices[ n ] = low;
+                from = low + 1;
             }
+        }
+        nodesWereInserted ( parent, indices );
+    }
 
-            // Updating parent node load state
-            parent.setState ( AsyncNodeState.loaded );
-            nodeChanged ( parent );
-
-            // Firing load completed event
-            fireChildrenLoadCompleted ( parent, realChildren );
+    /**
+     * Returns {@link Comparator} combining all {@link Comparator}s used for the specified parent node children.
+     * It orders children exactly the same way as consecutive sorting used in {@link #filterAndSort(AsyncUniqueNode, List)} does.
+     *
+     * @param parent   parent node
+     * @param children children to be sorted
+     * @return {@link Comparator} combining all {@link Comparator}s used for the specified parent node children
+     */
+    protected Comparator<N> getChildrenComparator ( final N parent, final List<N> children )
+    {
+        final List<Comparator<N>> comparators = new ArrayList<Comparator<N>> ( 3 );
+        final Comparator<N> modelComparator = getComparator ();
+        if ( modelComparator != null )
+        {
+            comparators.add ( modelComparator );
+        }
+        final Comparator<N> treeComparator = tree.getComparator ();
+        if ( treeComparator != null )
+        {
+            comparators.add ( treeComparator );
+        }
+        final Comparator<N> dataProviderComparator = getDataProvider ().getChildrenComparator ( parent, children );
+        if ( dataProviderComparator != null )
+        {
+            comparators.add ( dataProviderComparator );
+        }
+        final Comparator<N> comparator;
+        if ( comparators.size () > 1 )
+        {
+            // Last applied sorting has the highest precedence
+            comparator = new Comparator<N> ()
+            {
+                @Override
+                public int compare ( final N node1, final N node2 )
+                {
+                    int result = 0;
+                    for ( int i = 0; i < comparators.size () && result == 0; i++ )
+                    {
+                        result = comparators.get ( i ).compare ( node1, node2 );
+                    }
+                    return result;
+                }
+            };
+        }
+        else
+        {
+            comparator = comparators.size () == 1 ? comparators.get ( 0 ) : null;
         }
+        return comparator;
     }
 
     /**
@@ -542,27 +1151,12 @@ public class AsyncTreeModel<N extends AsyncUniqueNode> extends WebTreeModel<N> i
         // Although unlike other methods we don't care if node children are loaded or not since we are replacing them
         if ( !parent.isLoading () )
         {
-            // Caching raw children
-            rawNodeChildrenCache.put ( parent.getId (), children );
-            cacheNodesById ( children );
-
-            // Filtering and sorting raw children
-            final List<N> realChildren = filterAndSort ( parent, children );
+            // Replacing existing children
+            final List<N> realChildren = replaceChildren ( parent, children );
 
             // Updating cache
             nodeCached.put ( parent.getId (), true );
 
-            // Checking if any nodes loaded
-            if ( realChildren != null && realChildren.size () > 0 )
-            {
-                // Clearing raw nodes cache
-                // That might be required in case nodes were moved inside of the tree
-                clearNodeChildrenCache ( children, false );
-
-                // Inserting nodes
-                insertNodesIntoImpl ( realChildren, parent, 0 );
-            }
-
             // Updating parent node load state
             parent.setState ( AsyncNodeState.loaded );
             nodeChanged ( parent );
@@ -1011,6 +1605,62 @@ public class AsyncTreeModel<N extends AsyncUniqueNode> extends WebTreeModel<N> i
         filterAndSort ( null, recursively );
     }
 
+    @Override
+    public void filter ( @NotNull final Runnable callback )
+    {
+        // Operation might have finished after model was removed from the tree
+        if ( isInstalled () )
+        {
+            filteringEngine.filterAndSort ( getRoot (), callback );
+        }
+    }
+
+    /**
+     * Returns {@link TreeFilteringMode} used for recursive filtering and sorting.
+     *
+     * @return {@link TreeFilteringMode} used for recursive filtering and sorting
+     */
+    public TreeFilteringMode getFilteringMode ()
+    {
+        return filteringEngine.getMode ();
+    }
+
+    /**
+     * Sets {@link TreeFilteringMode} used for recursive filtering and sorting.
+     * Any mode other than {@link TreeFilteringMode#serial} requires filters and comparators to be thread-safe.
+     *
+     * @param mode {@link TreeFilteringMode} used for recursive filtering and sorting
+     */
+    public void setFilteringMode ( final TreeFilteringMode mode )
+    {
+        filteringEngine.setMode ( mode );
+    }
+
+    @Override
+    public boolean isFiltering ()
+    {
+        return filtering;
+    }
+
+    /**
+     * Informs listeners about filtering and sorting results for the specified {@link AsyncUniqueNode}.
+     * Raw structure is not affected by these changes, so {@link #isFiltering()} returns {@code true} while listeners are informed.
+     *
+     * @param node {@link AsyncUniqueNode} which children were filtered and sorted
+     */
+    protected void filteredStructureChanged ( final N node )
+    {
+        filtering = true;
+        try
+        {
+            nodeStructureChanged ( node );
+        }
+        finally
+        {
+            filtering = false;
+        }
+    }
+
     /**
      * Updates sorting and filtering for the specified node children.
      *
@@ -1028,8 +1678,17 @@ public class AsyncTreeModel<N extends AsyncUniqueNode> extends WebTreeModel<N> i
             // Determining actual parent
             final N actualParent = parent != null ? parent : getRoot ();
 
-            // Redirecting call to internal implementation
-            filterAndSort ( actualParent, recursively, true );
+            if ( recursively && actualParent.isLoaded () && rawNodeChildrenCache.containsKey ( actualParent.getId () ) )
+            {
+                // Recursive updates are performed by filtering engine
+                // Children that are still loading will be filtered and sorted once they are loaded
+                filteringEngine.filterAndSort ( actualParent, null );
+            }
+            else
+            {
+                // Redirecting call to internal implementation
+                filterAndSort ( actualParent, recursively, true );
+            }
         }
     }
 
@@ -1122,7 +1781,7 @@ public class AsyncTreeModel<N extends AsyncUniqueNode> extends WebTreeModel<N> i
         if ( performUpdates )
         {
             // Forcing tree structure update for the node
-            nodeStructureChanged ( parent );
+            filteredStructureChanged ( parent );
 
             // Restoring tree state including all selections and expansions
             tree.setTreeState ( treeState, parent );
@@ -1179,6 +1838,27 @@ public class AsyncTreeModel<N extends AsyncUniqueNode> extends WebTreeModel<N> i
         return nodeById.get ( nodeId );
     }
 
+    @Nullable
+    @Override
+    public List<N> findRawChildren ( @NotNull final N parent )
+    {
+        // Ensure model is installed
+        checkInstalled ();
+
+        // Children are only available once they are loaded
+        return parent.isLoaded () ? rawNodeChildrenCache.get ( parent.getId () ) : null;
+    }
+
+    @NotNull
+    @Override
+    public Filter<N>[] getRawChildrenFilters ( @NotNull final N parent, @NotNull final List<N> children )
+    {
+        final Filter<N> dataProviderFilter = getDataProvider ().getChildrenFilter ( parent, children );
+        final Filter<N> treeFilter = tree.getFilter ();
+        final Filter<N> modelFilter = getFilter ();
+        return new Filter[]{ dataProviderFilter, treeFilter, modelFilter };
+    }
+
     /**
      * Returns whether children for the specified node are already loaded or not.
      *
@@ -1353,4 +2033,430 @@ public class AsyncTreeModel<N extends AsyncUniqueNode> extends WebTreeModel<N> i
             listener.loadFailed ( parent, cause );
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Children load request.
+     * It is passed into {@link AsyncTreeDataProvider} as {@link NodesLoadCallback} and also acts as a cancellation token, see
+     * {@link NodesLoadAdapter#isCancelled()}.
+     *
+     * Children provided through {@link #partial(List)} are accumulated and added into the model in batches at most once per frame,
+     * so that large amounts of children do not flood Event Dispatch Thread, first batch is added as soon as possible.
+     */
+    protected class LoadRequest extends NodesLoadAdapter<N> implements ActionListener
+    {
+        /**
+         * Node which children are loaded.
+         */
+        protected final N parent;
+
+        /**
+         * Whether or not children are loaded asynchronously.
+         */
+        protected final boolean async;
+
+        /**
+         * Whether or not loaded children replace existing ones.
+         * Children provided through {@link #partial(List)} are not added into the model right away in that case, instead they are
+         * all used to replace existing children once loading is finished.
+         */
+        protected final boolean replace;
+
+        /**
+         * {@link AsyncTreeQueue.Task} performing the load.
+         * It is {@code null} until load is queued and for synchronous loads.
+         */
+        protected AsyncTreeQueue.Task task;
+
+        /**
+         * Whether or not this request was cancelled.
+         */
+        protected volatile boolean cancelled;
+
+        /**
+         * Children provided through {@link #partial(List)} that are not yet added into the model.
+         * Synchronized on this request.
+         */
+        protected final List<N> pending;
+
+        /**
+         * Whether or not any children were provided through {@link #partial(List)}.
+         * Synchronized on this request.
+         */
+        protected boolean partial;
+
+        /**
+         * Whether or not children loading is finished.
+         * Synchronized on this request.
+         */
+        protected boolean finished;
+
+        /**
+         * Whether or not pending children update is already scheduled.
+         * Synchronized on this request.
+         */
+        protected boolean scheduled;
+
+        /**
+         * Whether or not any pending children were already added into the model.
+         * Synchronized on this request.
+         */
+        protected boolean updated;
+
+        /**
+         * {@link Timer} delaying subsequent pending children updates, {@code null} for synchronous loads.
+         */
+        protected final Timer timer;
+
+        /**
+         * Constructs new {@link LoadRequest}.
+         *
+         * @param parent node which children are loaded
+         * @param async  whether or not children are loaded asynchronously
+         */
+        public LoadRequest ( final N parent, final boolean async )
+        {
+            this.parent = parent;
+            this.async = async;
+            this.replace = parent.getChildCount () > 0;
+            this.cancelled = false;
+            this.pending = new ArrayList<N> ( 0 );
+            this.partial = false;
+            this.finished = false;
+            this.scheduled = false;
+            this.updated = false;
+            if ( async )
+            {
+                this.timer = new Timer ( ( int ) SwingUtils.frameRateDelay ( 60 ), this );
+                this.timer.setRepeats ( false );
+                this.timer.setCoalesce ( false );
+            }
+            else
+            {
+                this.timer = null;
+            }
+        }
+
+        @Override
+        public void partial ( final List<N> children )
+        {
+            synchronized ( this )
+            {
+                pending.addAll ( children );
+                partial = true;
+            }
+            if ( !replace )
+            {
+                schedule ();
+            }
+        }
+
+        @Override
+        public void completed ()
+        {
+            completed ( new ArrayList<N> ( 0 ) );
+        }
+
+        @Override
+        public void completed ( final List<N> children )
+        {
+            final boolean partialResults;
+            final List<N> loaded;
+            synchronized ( this )
+            {
+                partialResults = partial && !replace;
+                if ( partialResults )
+                {
+                    pending.addAll ( children );
+                    finished = true;
+                    loaded = children;
+                }
+                else if ( partial )
+                {
+                    // Replacing existing children with all provided ones at once
+                    loaded = new ArrayList<N> ( pending.size () + children.size () );
+                    loaded.addAll ( pending );
+                    loaded.addAll ( children );
+                    pending.clear ();
+                }
+                else
+                {
+                    loaded = children;
+                }
+            }
+            if ( partialResults )
+            {
+                // Finishing partial results update
+                schedule ();
+            }
+            else if ( async )
+            {
+                CoreSwingUtils.invokeLater ( new Runnable ()
+                {
+                    @Override
+                    public void run ()
+                    {
+                        if ( finish () )
+                        {
+                            loadChildrenCompleted ( parent, loaded );
+                        }
+                    }
+                } );
+            }
+            else if ( finish () )
+            {
+                loadChildrenCompleted ( parent, loaded );
+            }
+        }
+
+        @Override
+        public void failed ( final Throwable cause )
+        {
+            synchronized ( this )
+            {
+                pending.clear ();
+                finished = true;
+            }
+            if ( async )
+            {
+                CoreSwingUtils.invokeLater ( new Runnable ()
+                {
+                    @Override
+                    public void run ()
+                    {
+                        fail ( cause );
+                    }
+                } );
+            }
+            else
+            {
+                fail ( cause );
+            }
+        }
+
+        /**
+         * Fails this request if it is still actual.
+         *
+         * @param cause failure cause
+         */
+        protected void fail ( final Throwable cause )
+        {
+            if ( finish () )
+            {
+                dropPartialChildren ( parent );
+                loadChildrenFailed ( parent, cause );
+            }
+        }
+
+        @Override
+        public boolean isCancelled ()
+        {
+            return cancelled;
+        }
+
+        /**
+         * Cancels this request.
+         */
+        protected void cancel ()
+        {
+            cancelled = true;
+            if ( task != null )
+            {
+                task.cancel ();
+            }
+            if ( timer != null )
+            {
+                timer.stop ();
+            }
+        }
+
+        /**
+         * Returns whether or not this request is still waiting in the queue and can be cancelled without losing any results.
+         *
+         * @return {@code true} if this request is still waiting in the queue, {@code false} otherwise
+         */
+        protected boolean cancelQueued ()
+        {
+            return async && ( task == null || task.cancel () );
+        }
+
+        /**
+         * Schedules pending children update.
+         * First update is performed as soon as possible, subsequent ones are delayed until next frame.
+         * Synchronous loads are updated right away since they have to be finished before loading method returns.
+         */
+        protected void schedule ()
+        {
+            if ( async )
+            {
+                final boolean schedule;
+                final boolean delayed;
+                synchronized ( this )
+                {
+                    schedule = !scheduled;
+                    delayed = updated;
+                    scheduled = true;
+                }
+                if ( schedule )
+                {
+                    if ( delayed )
+                    {
+                        timer.restart ();
+                    }
+                    else
+                    {
+                        CoreSwingUtils.invokeLater ( new Runnable ()
+                        {
+                            @Override
+                            public void run ()
+                            {
+                                update ( false );
+                            }
+                        } );
+                    }
+                }
+            }
+            else
+            {
+                update ( true );
+            }
+        }
+
+        @Override
+        public void actionPerformed ( final ActionEvent e )
+        {
+            update ( false );
+        }
+
+        /**
+         * Adds pending children into the model.
+         *
+         * @param all whether or not all pending children should be added at once
+         */
+        protected void update ( final boolean all )
+        {
+            if ( isActual () )
+            {
+                final List<N> batch;
+                final boolean more;
+                final boolean done;
+                synchronized ( this )
+                {
+                    scheduled = false;
+                    updated = true;
+                    final int size = all ? pending.size () : Math.min ( pending.size (), partialBatchSize );
+                    final List<N> part = pending.subList ( 0, size );
+                    batch = new ArrayList<N> ( part );
+                    part.clear ();
+                    more = pending.size () > 0;
+                    done = finished && !more;
+                }
+                if ( batch.size () > 0 )
+                {
+                    loadChildrenPart ( parent, batch );
+                }
+                if ( more )
+                {
+                    schedule ();
+                }
+                else if ( done && finish () )
+                {
+                    loadChildrenPartsCompleted ( parent );
+                }
+            }
+        }
+
+        /**
+         * Returns whether or not this request is still actual.
+         *
+         * @return {@code true} if this request is still actual, {@code false} otherwise
+         */
+        protected boolean isActual ()
+        {
+            return !cancelled && loadRequests != null && loadRequests.get ( parent.getId () ) == this;
+        }
+
+        /**
+         * Completes this request if it is still actual.
+         * Results of the request shouldn't be used if it isn't actual anymore.
+         *
+         * @return {@code true} if this request is still actual, {@code false} otherwise
+         */
+        protected boolean finish ()
+        {
+            final boolean actual = isActual ();
+            if ( actual )
+            {
+                loadRequests.remove ( parent.getId () );
+            }
+            return actual;
+        }
+    }
+
+    /**
+     * {@link TreeFilteringEngine.Source} based on this model.
+     */
+    protected class FilteringSource implements TreeFilteringEngine.Source<N>
+    {
+        @NotNull
+        @Override
+        public N getRoot ()
+        {
+            return AsyncTreeModel.this.getRoot ();
+        }
+
+        @Nullable
+        @Override
+        public List<N> getRawChildren ( @NotNull final N parent )
+        {
+            return parent.isLoaded () ? rawNodeChildrenCache.get ( parent.getId () ) : null;
+        }
+
+        @NotNull
+        @Override
+        public List<Filter<N>> getFilters ()
+        {
+            return Arrays.asList ( tree.getFilter (), getFilter () );
+        }
+
+        @NotNull
+        @Override
+        public Filter<N>[] getChildrenFilters ( @NotNull final N parent, @NotNull final List<N> children )
+        {
+            return getRawChildrenFilters ( parent, children );
+        }
+
+        @NotNull
+        @Override
+        public Comparator<N>[] getChildrenComparators ( @NotNull final N parent, @NotNull final List<N> children )
+        {
+            final Comparator<N> dataProviderComparator = getDataProvider ().getChildrenComparator ( parent, children );
+            final Comparator<N> treeComparator = tree.getComparator ();
+            final Comparator<N> modelComparator = getComparator ();
+            return new Comparator[]{ dataProviderComparator, treeComparator, modelComparator };
+        }
+
+        @Override
+        public void publish ( @NotNull final N root, @NotNull final Map<N, List<N>> children )
+        {
+            // Saving tree state to restore it right after children update
+            final TreeState treeState = tree.getTreeState ( root );
+
+            // Replacing node children
+            for ( final Map.Entry<N, List<N>> entry : children.entrySet () )
+            {
+                final N parent = entry.getKey ();
+                parent.removeAllChildren ();
+                for ( final N child : entry.getValue () )
+                {
+                    parent.add ( child );
+                }
+            }
+
+            // Forcing tree structure update for the node
+            filteredStructureChanged ( root );
+
+            // Restoring tree state including all selections and expansions
+            tree.setTreeState ( treeState, root );
+        }
+    }
+}
@@ -17,26 +17,59 @@
 
 package com.alee.extended.tree;
 
+import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
 import com.alee.api.jdk.Function;
 import com.alee.api.jdk.Supplier;
 import com.alee.utils.concurrent.DaemonThreadFactory;
 import com.alee.utils.swing.WeakComponentData;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Asynchronous tree children loading queue.
  *
+ * All queues share a single bounded thread pool, so the amount of loader threads doesn't depend on the amount of trees.
+ * Queued tasks are executed according to their priority, tasks with the same priority are executed in the order they were added.
+ * Each {@link WebAsyncTree} still has its own queue instance which tracks tasks added by that tree, so they can be cancelled at once.
+ *
+ * On JDK versions that support virtual threads loader threads can be made virtual through {@link #setVirtualThreads(boolean)}.
+ * Amount of simultaneously running tasks is still limited by {@link #getThreadsNumber()} in that case.
+ *
  * @author Mikle Garin
  */
 public final class AsyncTreeQueue
 {
+    /**
+     * Priority of tasks that affect currently visible part of the tree.
+     */
+    public static final int HIGH_PRIORITY = 0;
+
+    /**
+     * Default tasks priority.
+     */
+    public static final int NORMAL_PRIORITY = 1;
+
     /**
      * Maximum number of threads to run all asynchronous tree requests in.
-     * You can set this to zero to disable hardcoded thread limit.
+     * You can set this to zero or less to use amount of available processors instead.
+     */
+    private static int threadsNumber = 4;
+
+    /**
+     * Whether or not virtual threads should be used when they are supported.
      */
-    private static final int threadsNumber = 4;
+    private static boolean virtualThreads = false;
 
     /**
      * Queue {@link Thread} number.
@@ -50,13 +83,44 @@ public final class AsyncTreeQueue
             new WeakComponentData<WebAsyncTree, AsyncTreeQueue> ( "AsyncTreeQueue", 3 );
 
     /**
-     * ExecutorService to limit simultaneously running threads.
+     * {@link ThreadPoolExecutor} shared by all queues.
+     * It is only created when it is needed for the first time.
+     */
+    private static ThreadPoolExecutor executor;
+
+    /**
+     * Sequence used to keep order of tasks with the same priority.
      */
-    private ExecutorService executorService;
+    private static final AtomicLong sequence = new AtomicLong ( 0 );
+
+    /**
+     * Amount of executed tasks.
+     */
+    private static final AtomicLong executedCount = new AtomicLong ( 0 );
+
+    /**
+     * Amount of tasks cancelled before execution.
+     */
+    private static final AtomicLong cancelledCount = new AtomicLong ( 0 );
+
+    /**
+     * Total time executed tasks spent in the queue, in nanoseconds.
+     */
+    private static final AtomicLong waitTime = new AtomicLong ( 0 );
+
+    /**
+     * Total execution time of executed tasks, in nanoseconds.
+     */
+    private static final AtomicLong executionTime = new AtomicLong ( 0 );
+
+    /**
+     * Tasks added through this queue that are not finished yet.
+     */
+    @NotNull
+    private final Set<Task> tasks;
 
     /**
      * Returns an instance of queue for the specified asynchronous tree.
-     * This method might return the same queue for all trees depending on "separateLimitForEachTree" variable value.
      *
      * @param asyncTree asynchronous tree to process
      * @return an instance of queue for the specified asynchronous tree
@@ -79,31 +143,275 @@ public final class AsyncTreeQueue
     private AsyncTreeQueue ()
     {
         super ();
-        restartService ( threadsNumber );
+        this.tasks = new HashSet<Task> ();
     }
 
     /**
-     * Sets maximum number of threads for this queue.
+     * Sets maximum number of threads for all queues.
+     * Threads are shared between all queues, so this affects all asynchronous trees.
      *
-     * @param threadsNumber maximum number of threads for this queue
+     * @param threadsNumber maximum number of threads for all queues
+     * @deprecated threads are shared between all asynchronous trees, use {@link #setThreadsNumber(int)} instead
      */
+    @Deprecated
     public void setMaximumThreadsAmount ( final int threadsNumber )
     {
-        restartService ( threadsNumber );
+        setThreadsNumber ( threadsNumber );
+    }
+
+    /**
+     * Updates maximum number of threads for all queues.
+     * Threads are shared between all queues, so this affects all asynchronous trees.
+     *
+     * @param threadsNumber maximum number of threads for all queues
+     * @deprecated threads are shared between all asynchronous trees, use {@link #setThreadsNumber(int)} instead
+     */
+    @Deprecated
+    public void restartService ( final int threadsNumber )
+    {
+        setThreadsNumber ( threadsNumber );
+    }
+
+    /**
+     * Cancels all tasks added through this queue which are not yet running.
+     * Shared thread pool keeps running since it is used by other queues.
+     */
+    public void shutdownService ()
+    {
+        cancelAll ();
+    }
+
+    /**
+     * Executes runnable using this queue with {@link #NORMAL_PRIORITY}.
+     *
+     * @param runnable runnable to execute
+     */
+    public void execute ( @NotNull final Runnable runnable )
+    {
+        execute ( runnable, NORMAL_PRIORITY );
+    }
+
+    /**
+     * Executes runnable using this queue with the specified priority.
+     * Tasks with lower priority value are executed first.
+     *
+     * @param runnable runnable to execute
+     * @param priority task priority
+     * @return {@link Task} that can be used to cancel execution
+     */
+    @NotNull
+    public Task execute ( @NotNull final Runnable runnable, final int priority )
+    {
+        final Task task = new Task ( this, runnable, priority );
+        synchronized ( tasks )
+        {
+            tasks.add ( task );
+        }
+        getExecutor ().execute ( task );
+        return task;
     }
 
     /**
-     * Restarts this queue service.
+     * Returns amount of tasks added through this queue that are not finished yet.
      *
-     * @param threadsNumber maximum number of threads for this queue
+     * @return amount of tasks added through this queue that are not finished yet
      */
-    public synchronized void restartService ( final int threadsNumber )
+    public int getTasksCount ()
     {
-        // Shutting down previous service
-        shutdownService ();
+        synchronized ( tasks )
+        {
+            return tasks.size ();
+        }
+    }
 
-        // Thread factory for the service
-        final DaemonThreadFactory thread = new DaemonThreadFactory ( new Supplier<String> ()
+    /**
+     * Cancels all tasks added through this queue which are not yet running.
+     */
+    public void cancelAll ()
+    {
+        final List<Task> pending;
+        synchronized ( tasks )
+        {
+            pending = new ArrayList<Task> ( tasks );
+        }
+        for ( final Task task : pending )
+        {
+            task.cancel ();
+        }
+    }
+
+    /**
+     * Returns maximum number of threads shared by all queues.
+     *
+     * @return maximum number of threads shared by all queues, zero or less if amount of available processors is used
+     */
+    public static synchronized int getThreadsNumber ()
+    {
+        return threadsNumber;
+    }
+
+    /**
+     * Sets maximum number of threads shared by all queues.
+     *
+     * @param threadsNumber maximum number of threads shared by all queues, zero or less to use amount of available processors
+     */
+    public static synchronized void setThreadsNumber ( final int threadsNumber )
+    {
+        AsyncTreeQueue.threadsNumber = threadsNumber;
+        if ( executor != null )
+        {
+            final int threads = getPoolSize ();
+            if ( threads > executor.getCorePoolSize () )
+            {
+                executor.setMaximumPoolSize ( threads );
+                executor.setCorePoolSize ( threads );
+            }
+            else
+            {
+                executor.setCorePoolSize ( threads );
+                executor.setMaximumPoolSize ( threads );
+            }
+        }
+    }
+
+    /**
+     * Returns whether or not virtual threads are used when they are supported.
+     *
+     * @return {@code true} if virtual threads are used when they are supported, {@code false} otherwise
+     */
+    public static synchronized boolean isVirtualThreads ()
+    {
+        return virtualThreads;
+    }
+
+    /**
+     * Sets whether or not virtual threads should be used when they are supported.
+     * This setting only affects threads created after the change.
+     *
+     * @param virtualThreads whether or not virtual threads should be used when they are supported
+     */
+    public static synchronized void setVirtualThreads ( final boolean virtualThreads )
+    {
+        AsyncTreeQueue.virtualThreads = virtualThreads;
+        if ( executor != null )
+        {
+            executor.setThreadFactory ( createThreadFactory () );
+        }
+    }
+
+    /**
+     * Returns amount of tasks waiting in the queue.
+     *
+     * @return amount of tasks waiting in the queue
+     */
+    public static synchronized int getQueueSize ()
+    {
+        return executor != null ? executor.getQueue ().size () : 0;
+    }
+
+    /**
+     * Returns approximate amount of tasks that are currently running.
+     *
+     * @return approximate amount of tasks that are currently running
+     */
+    public static synchronized int getActiveCount ()
+    {
+        return executor != null ? executor.getActiveCount () : 0;
+    }
+
+    /**
+     * Returns amount of executed tasks.
+     *
+     * @return amount of executed tasks
+     */
+    public static long getExecutedCount ()
+    {
+        return executedCount.get ();
+    }
+
+    /**
+     * Returns amount of tasks cancelled before execution.
+     *
+     * @return amount of tasks cancelled before execution
+     */
+    public static long getCancelledCount ()
+    {
+        return cancelledCount.get ();
+    }
+
+    /**
+     * Returns average time executed tasks spent in the queue, in milliseconds.
+     *
+     * @return average time executed tasks spent in the queue, in milliseconds
+     */
+    public static double getAverageWaitTime ()
+    {
+        final long count = executedCount.get ();
+        return count > 0 ? waitTime.get () / 1000000d / count : 0d;
+    }
+
+    /**
+     * Returns average execution time of executed tasks, in milliseconds.
+     *
+     * @return average execution time of executed tasks, in milliseconds
+     */
+    public static double getAverageExecutionTime ()
+    {
+        final long count = executedCount.get ();
+        return count > 0 ? executionTime.get () / 1000000d / count : 0d;
+    }
+
+    /**
+     * Resets tasks statistics.
+     */
+    public static void resetStatistics ()
+    {
+        executedCount.set ( 0 );
+        cancelledCount.set ( 0 );
+        waitTime.set ( 0 );
+        executionTime.set ( 0 );
+    }
+
+    /**
+     * Returns {@link ThreadPoolExecutor} shared by all queues.
+     *
+     * @return {@link ThreadPoolExecutor} shared by all queues
+     */
+    @NotNull
+    private static synchronized ThreadPoolExecutor getExecutor ()
+    {
+        if ( executor == null )
+        {
+            final int threads = getPoolSize ();
+            executor = new ThreadPoolExecutor ( threads, threads, 60L, TimeUnit.SECONDS,
+                    new PriorityBlockingQueue<Runnable> (), createThreadFactory () );
+            executor.allowCoreThreadTimeOut ( true );
+        }
+        return executor;
+    }
+
+    /**
+     * Returns shared thread pool size.
+     * Since tasks are kept in unbounded priority queue thread pool never grows beyond its core size, so it is always bounded
+     * by amount of available processors when threads number is not specified.
+     *
+     * @return shared thread pool size
+     */
+    private static int getPoolSize ()
+    {
+        return threadsNumber > 0 ? threadsNumber : Math.max ( 1, Runtime.getRuntime ().availableProcessors () );
+    }
+
+    /**
+     * Returns new {@link ThreadFactory} for the shared thread pool.
+     *
+     * @return new {@link ThreadFactory} for the shared thread pool
+     */
+    @NotNull
+    private static ThreadFactory createThreadFactory ()
+    {
+        final ThreadFactory virtual = virtualThreads ? createVirtualThreadFactory () : null;
+        return virtual != null ? virtual : new DaemonThreadFactory ( new Supplier<String> ()
         {
             @Override
             public String get ()
@@ -114,38 +422,183 @@ public final class AsyncTreeQueue
                 }
             }
         } );
+    }
 
-        // Creating new service
-        if ( threadsNumber > 0 )
+    /**
+     * Returns virtual threads {@link ThreadFactory} or {@code null} if virtual threads are not supported by current JDK.
+     * Reflection is used since virtual threads API is not available at the source level this library is compiled with.
+     *
+     * @return virtual threads {@link ThreadFactory} or {@code null} if virtual threads are not supported by current JDK
+     */
+    @Nullable
+    private static ThreadFactory createVirtualThreadFactory ()
+    {
+        ThreadFactory factory;
+        try
         {
-            // Fixed thread pool
-            executorService = Executors.newFixedThreadPool ( threadsNumber, thread );
+            final Object builder = Thread.class.getMethod ( "ofVirtual" ).invoke ( null );
+            final Class<?> builderClass = Class.forName ( "java.lang.Thread$Builder" );
+            final Method name = builderClass.getMethod ( "name", String.class, long.class );
+            final Object namedBuilder = name.invoke ( builder, "AsyncTreeQueue-", 0L );
+            factory = ( ThreadFactory ) builderClass.getMethod ( "factory" ).invoke ( namedBuilder );
         }
-        else
+        catch ( final Exception e )
         {
-            // Unlimited thread pool
-            executorService = Executors.newCachedThreadPool ( thread );
+            factory = null;
         }
+        return factory;
     }
 
     /**
-     * Shutdowns this queue.
+     * Task executed by the shared thread pool.
+     * Tasks are ordered by their priority first and by the order they were added in second.
      */
-    public synchronized void shutdownService ()
+    public static final class Task implements Runnable, Comparable<Task>
     {
-        if ( executorService != null )
+        /**
+         * {@link AsyncTreeQueue} this task was added through.
+         */
+        @NotNull
+        private final AsyncTreeQueue queue;
+
+        /**
+         * Executed {@link Runnable}.
+         */
+        @NotNull
+        private final Runnable runnable;
+
+        /**
+         * Task priority.
+         */
+        private final int priority;
+
+        /**
+         * Task sequence number.
+         */
+        private final long number;
+
+        /**
+         * Time this task was added at, in nanoseconds.
+         */
+        private final long added;
+
+        /**
+         * Whether or not this task was started or cancelled.
+         */
+        @NotNull
+        private final AtomicBoolean finalized;
+
+        /**
+         * Whether or not this task was cancelled.
+         */
+        private volatile boolean cancelled;
+
+        /**
+         * Constructs new {@link Task}.
+         *
+         * @param queue    {@link AsyncTreeQueue} this task was added through
+         * @param runnable executed {@link Runnable}
+         * @param priority task priority
+         */
+        private Task ( @NotNull final AsyncTreeQueue queue, @NotNull final Runnable runnable, final int priority )
         {
-            executorService.shutdown ();
+            this.queue = queue;
+            this.runnable = runnable;
+            this.priority = priority;
+            this.number = sequence.getAndIncrement ();
+            this.added = System.nanoTime ();
+            this.finalized = new AtomicBoolean ( false );
+            this.cancelled = false;
         }
-    }
 
-    /**
-     * Executes runnable using this queue.
-     *
-     * @param runnable runnable to execute
-     */
-    public synchronized void execute ( final Runnable runnable )
-    {
-        executorService.execute ( runnable );
+        /**
+         * Returns task priority.
+         *
+         * @return task priority
+         */
+        public int getPriority ()
+        {
+            return priority;
+        }
+
+        /**
+         * Returns whether or not this task was cancelled before execution.
+         *
+         * @return {@code true} if this task was cancelled before execution, {@code false} otherwise
+         */
+        public boolean isCancelled ()
+        {
+            return cancelled;
+        }
+
+        /**
+         * Cancels this task unless it is already running or finished.
+         *
+         * @return {@code true} if task was cancelled, {@code false} if it is already running or finished
+         */
+        public boolean cancel ()
+        {
+            final boolean cancel = finalized.compareAndSet ( false, true );
+            if ( cancel )
+            {
+                this.cancelled = true;
+                synchronized ( AsyncTreeQueue.class )
+                {
+                    if ( executor != null )
+                    {
+                        executor.remove ( this );
+                    }
+                }
+                finish ();
+                cancelledCount.incrementAndGet ();
+            }
+            return cancel;
+        }
+
+        @Override
+        public void run ()
+        {
+            if ( finalized.compareAndSet ( false, true ) )
+            {
+                final long start = System.nanoTime ();
+                try
+                {
+                    runnable.run ();
+                }
+                finally
+                {
+                    finish ();
+                    executedCount.incrementAndGet ();
+                    waitTime.addAndGet ( start - added );
+                    executionTime.addAndGet ( System.nanoTime () - start );
+                }
+            }
+        }
+
+        /**
+         * Removes this task from the tasks tracked by its {@link AsyncTreeQueue}.
+         */
+        private void finish ()
+        {
+            synchronized ( queue.tasks )
+            {
+                queue.tasks.remove ( this );
+            }
+        }
+
+        @Override
+        public int compareTo ( @NotNull final Task other )
+        {
+            final int result;
+            if ( priority != other.priority )
+            {
+                result = priority < other.priority ? -1 : 1;
+            }
+            else
+            {
+                result = number < other.number ? -1 : number > other.number ? 1 : 0;
+            }
+            return result;
+        }
     }
-}
\ No newline at end of file
+}
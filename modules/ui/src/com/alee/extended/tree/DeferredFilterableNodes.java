@@ -0,0 +1,42 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.alee.extended.tree;
+
+import com.alee.api.annotations.NotNull;
+
+import javax.swing.tree.TreeNode;
+
+/**
+ * {@link FilterableNodes} which filtering results might be applied after filtering method returns.
+ * This is the case for models using {@link TreeFilteringMode#async} mode.
+ *
+ * @param <N> {@link TreeNode} type
+ * @author Mikle Garin
+ * @see TreeFilteringEngine
+ */
+public interface DeferredFilterableNodes<N extends TreeNode> extends FilterableNodes<N>
+{
+    /**
+     * Updates {@link TreeNode}s filtering for all existing nodes.
+     * Specified {@link Runnable} is executed on Event Dispatch Thread once filtering results are applied.
+     *
+     * @param callback {@link Runnable} to execute once filtering results are applied
+     */
+    public void filter ( @NotNull Runnable callback );
+}
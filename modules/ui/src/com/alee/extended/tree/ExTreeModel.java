@@ -18,6 +18,7 @@
 package com.alee.extended.tree;
 
 import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
 import com.alee.laf.WebLookAndFeel;
 import com.alee.laf.tree.*;
 import com.alee.utils.CollectionUtils;
@@ -37,7 +38,8 @@ import java.util.*;
  * @see WebExTree
  * @see ExTreeDataProvider
  */
-public class ExTreeModel<N extends UniqueNode> extends WebTreeModel<N> implements FilterableNodes<N>, SortableNodes<N>
+public class ExTreeModel<N extends UniqueNode> extends WebTreeModel<N> implements DeferredFilterableNodes<N>, SortableNodes<N>,
+        IndexableNodes<N>
 {
     /**
      * {@link ExTreeDataProvider} used by this model
@@ -84,6 +86,16 @@ public class ExTreeModel<N extends UniqueNode> extends WebTreeModel<N> implement
      */
     protected transient Comparator<N> comparator;
 
+    /**
+     * {@link TreeFilteringEngine} performing recursive filtering and sorting.
+     */
+    protected final TreeFilteringEngine<N> filteringEngine;
+
+    /**
+     * Whether or not model is currently informing listeners about filtering and sorting results.
+     */
+    protected transient boolean filtering;
+
     /**
      * Constructs default ex tree model using custom data provider.
      *
@@ -93,6 +105,7 @@ public class ExTreeModel<N extends UniqueNode> extends WebTreeModel<N> implement
     {
         super ( null );
         this.dataProvider = dataProvider;
+        this.filteringEngine = new TreeFilteringEngine<N> ( this, new FilteringSource () );
     }
 
     /**
@@ -129,6 +142,7 @@ public class ExTreeModel<N extends UniqueNode> extends WebTreeModel<N> implement
     public void uninstall ( final WebTree<N> tree )
     {
         WebLookAndFeel.checkEventDispatchThread ();
+        filteringEngine.cancel ();
         this.rootNode = null;
         this.tree = null;
         this.parentById = null;
@@ -610,6 +624,62 @@ public class ExTreeModel<N extends UniqueNode> extends WebTreeModel<N> implement
         filterAndSort ( node, recursively );
     }
 
+    @Override
+    public void filter ( @NotNull final Runnable callback )
+    {
+        // Operation might have finished after model was removed from the tree
+        if ( isInstalled () )
+        {
+            filteringEngine.filterAndSort ( getRoot (), callback );
+        }
+    }
+
+    /**
+     * Returns {@link TreeFilteringMode} used for recursive filtering and sorting.
+     *
+     * @return {@link TreeFilteringMode} used for recursive filtering and sorting
+     */
+    public TreeFilteringMode getFilteringMode ()
+    {
+        return filteringEngine.getMode ();
+    }
+
+    /**
+     * Sets {@link TreeFilteringMode} used for recursive filtering and sorting.
+     * Any mode other than {@link TreeFilteringMode#serial} requires filters and comparators to be thread-safe.
+     *
+     * @param mode {@link TreeFilteringMode} used for recursive filtering and sorting
+     */
+    public void setFilteringMode ( final TreeFilteringMode mode )
+    {
+        filteringEngine.setMode ( mode );
+    }
+
+    @Override
+    public boolean isFiltering ()
+    {
+        return filtering;
+    }
+
+    /**
+     * Informs listeners about filtering and sorting results for the specified {@link UniqueNode}.
+     * Raw structure is not affected by these changes, so {@link #isFiltering()} returns {@code true} while listeners are informed.
+     *
+     * @param node {@link UniqueNode} which children were filtered and sorted
+     */
+    protected void filteredStructureChanged ( final N node )
+    {
+        filtering = true;
+        try
+        {
+            nodeStructureChanged ( node );
+        }
+        finally
+        {
+            filtering = false;
+        }
+    }
+
     /**
      * Updates sorting and filtering for the root node children.
      *
@@ -637,24 +707,26 @@ public class ExTreeModel<N extends UniqueNode> extends WebTreeModel<N> implement
             // Determining actual parent
             final N actualParent = parent != null ? parent : getRoot ();
 
-            // Saving tree state to restore it right after children update
-            final TreeState treeState = tree.getTreeState ( actualParent );
-
             // Updating root node children
             if ( recursively )
             {
-                filterAndSortRecursively ( actualParent );
+                // Recursive updates are performed by filtering engine
+                filteringEngine.filterAndSort ( actualParent, null );
             }
             else
             {
+                // Saving tree state to restore it right after children update
+                final TreeState treeState = tree.getTreeState ( actualParent );
+
+                // Updating node children
                 filterAndSort ( actualParent );
-            }
 
-            // Informing tree about possible major structure changes
-            nodeStructureChanged ( actualParent );
+                // Informing tree about possible major structure changes
+                filteredStructureChanged ( actualParent );
 
-            // Restoring tree state including all selections and expansions
-            tree.setTreeState ( treeState, actualParent );
+                // Restoring tree state including all selections and expansions
+                tree.setTreeState ( treeState, actualParent );
+            }
         }
     }
 
@@ -746,6 +818,27 @@ public class ExTreeModel<N extends UniqueNode> extends WebTreeModel<N> implement
         return nodeById.get ( nodeId );
     }
 
+    @Nullable
+    @Override
+    public List<N> findRawChildren ( @NotNull final N parent )
+    {
+        // Ensure model is installed
+        checkInstalled ();
+
+        // Get actual children from cache
+        return rawNodeChildrenCache.get ( parent.getId () );
+    }
+
+    @NotNull
+    @Override
+    public Filter<N>[] getRawChildrenFilters ( @NotNull final N parent, @NotNull final List<N> children )
+    {
+        final Filter<N> dataProviderFilter = getDataProvider ().getChildrenFilter ( parent, children );
+        final Filter<N> treeFilter = tree instanceof FilterableNodes ? ( ( FilterableNodes<N> ) tree ).getFilter () : null;
+        final Filter<N> modelFilter = getFilter ();
+        return new Filter[]{ dataProviderFilter, treeFilter, modelFilter };
+    }
+
     /**
      * Returns raw parent for the specified {@link UniqueNode}.
      *
@@ -1017,4 +1110,73 @@ public class ExTreeModel<N extends UniqueNode> extends WebTreeModel<N> implement
             cacheParentId ( node, parentId );
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * {@link TreeFilteringEngine.Source} based on this model.
+     */
+    protected class FilteringSource implements TreeFilteringEngine.Source<N>
+    {
+        @NotNull
+        @Override
+        public N getRoot ()
+        {
+            return ExTreeModel.this.getRoot ();
+        }
+
+        @Nullable
+        @Override
+        public List<N> getRawChildren ( @NotNull final N parent )
+        {
+            return rawNodeChildrenCache.get ( parent.getId () );
+        }
+
+        @NotNull
+        @Override
+        public List<Filter<N>> getFilters ()
+        {
+            final Filter<N> treeFilter = tree instanceof FilterableNodes ? ( ( FilterableNodes<N> ) tree ).getFilter () : null;
+            return Arrays.asList ( treeFilter, getFilter () );
+        }
+
+        @NotNull
+        @Override
+        public Filter<N>[] getChildrenFilters ( @NotNull final N parent, @NotNull final List<N> children )
+        {
+            return getRawChildrenFilters ( parent, children );
+        }
+
+        @NotNull
+        @Override
+        public Comparator<N>[] getChildrenComparators ( @NotNull final N parent, @NotNull final List<N> children )
+        {
+            final Comparator<N> dataProviderComparator = getDataProvider ().getChildrenComparator ( parent, children );
+            final Comparator<N> treeComparator = tree instanceof SortableNodes ? ( ( SortableNodes<N> ) tree ).getComparator () : null;
+            final Comparator<N> modelComparator = getComparator ();
+            return new Comparator[]{ dataProviderComparator, treeComparator, modelComparator };
+        }
+
+        @Override
+        public void publish ( @NotNull final N root, @NotNull final Map<N, List<N>> children )
+        {
+            // Saving tree state to restore it right after children update
+            final TreeState treeState = tree.getTreeState ( root );
+
+            // Replacing node children
+            for ( final Map.Entry<N, List<N>> entry : children.entrySet () )
+            {
+                final N parent = entry.getKey ();
+                parent.removeAllChildren ();
+                for ( final N child : entry.getValue () )
+                {
+                    parent.add ( child );
+                }
+            }
+
+            // Informing tree about possible major structure changes
+            filteredStructureChanged ( root );
+
+            // Restoring tree state including all selections and expansions
+            tree.setTreeState ( treeState, root );
+        }
+    }
+}
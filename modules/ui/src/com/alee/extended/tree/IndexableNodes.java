@@ -0,0 +1,95 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.alee.extended.tree;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
+import com.alee.laf.tree.UniqueNode;
+import com.alee.utils.compare.Filter;
+
+import javax.swing.event.TreeModelListener;
+import java.util.List;
+
+/**
+ * Interface for tree models providing raw structure of {@link UniqueNode}s for {@link TreeSearchIndex}.
+ * Raw structure contains all loaded {@link UniqueNode}s, including the ones that are currently filtered out.
+ *
+ * @param <N> {@link UniqueNode} type
+ * @author Mikle Garin
+ * @see TreeSearchIndex
+ */
+public interface IndexableNodes<N extends UniqueNode>
+{
+    /**
+     * Returns root {@link UniqueNode}.
+     *
+     * @return root {@link UniqueNode}
+     */
+    public N getRoot ();
+
+    /**
+     * Returns {@link UniqueNode} with the specified identifier if it is in the model, {@code null} if it is not.
+     *
+     * @param nodeId {@link UniqueNode} identifier
+     * @return {@link UniqueNode} with the specified identifier if it is in the model, {@code null} if it is not
+     */
+    @Nullable
+    public N findNode ( @NotNull String nodeId );
+
+    /**
+     * Returns raw children of the specified {@link UniqueNode}, {@code null} if they are not loaded yet.
+     *
+     * @param parent {@link UniqueNode} to return raw children for
+     * @return raw children of the specified {@link UniqueNode}, {@code null} if they are not loaded yet
+     */
+    @Nullable
+    public List<N> findRawChildren ( @NotNull N parent );
+
+    /**
+     * Returns all {@link Filter}s applied to raw children of the specified {@link UniqueNode}, some of them might be {@code null}.
+     *
+     * @param parent   {@link UniqueNode} to return {@link Filter}s for
+     * @param children raw children of the specified {@link UniqueNode}
+     * @return all {@link Filter}s applied to raw children of the specified {@link UniqueNode}
+     */
+    @NotNull
+    public Filter<N>[] getRawChildrenFilters ( @NotNull N parent, @NotNull List<N> children );
+
+    /**
+     * Returns whether or not model is currently informing listeners about filtering and sorting results.
+     * Events fired while this is {@code true} only affect visible structure of {@link UniqueNode}s, raw structure stays the same.
+     *
+     * @return {@code true} if model is currently informing listeners about filtering and sorting results, {@code false} otherwise
+     */
+    public boolean isFiltering ();
+
+    /**
+     * Adds {@link TreeModelListener}.
+     *
+     * @param listener {@link TreeModelListener} to add
+     */
+    public void addTreeModelListener ( TreeModelListener listener );
+
+    /**
+     * Removes {@link TreeModelListener}.
+     *
+     * @param listener {@link TreeModelListener} to remove
+     */
+    public void removeTreeModelListener ( TreeModelListener listener );
+}
@@ -0,0 +1,90 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.alee.extended.tree;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adapter for {@link NodesLoadCallback}.
+ * It provides additional optional features of the callback without breaking existing {@link NodesLoadCallback} implementations.
+ * Callbacks provided into {@link AsyncTreeDataProvider} by {@link AsyncTreeModel} always extend this adapter, so data providers
+ * can check whether or not callback is an instance of {@link NodesLoadAdapter} to use these features.
+ *
+ * By default children provided through {@link #partial(List)} are simply collected and passed into {@link #completed(List)} once
+ * {@link #completed()} is called, implementations able to display children progressively should override both methods.
+ *
+ * @param <N> node type
+ * @author Mikle Garin
+ */
+public abstract class NodesLoadAdapter<N extends AsyncUniqueNode> implements NodesLoadCallback<N>
+{
+    /**
+     * Children provided through {@link #partial(List)} by default.
+     * Synchronized on this callback.
+     */
+    private List<N> parts;
+
+    /**
+     * Informs model that a part of children was loaded.
+     * This can be used to display children of large nodes while the rest of them are still being loaded.
+     * Children provided this way are added after all previously provided ones, any amount of parts can be provided.
+     * Loading must still be finished with either {@link #completed()} or {@link #failed(Throwable)} call.
+     *
+     * @param children list of loaded children
+     */
+    public void partial ( final List<N> children )
+    {
+        synchronized ( this )
+        {
+            if ( parts == null )
+            {
+                parts = new ArrayList<N> ( children.size () );
+            }
+            parts.addAll ( children );
+        }
+    }
+
+    /**
+     * Informs model that all children were loaded successfully.
+     * This should be used to finish loading when all children were already provided through {@link #partial(List)}.
+     */
+    public void completed ()
+    {
+        final List<N> children;
+        synchronized ( this )
+        {
+            children = parts != null ? parts : new ArrayList<N> ( 0 );
+            parts = null;
+        }
+        completed ( children );
+    }
+
+    /**
+     * Returns whether or not this load request was cancelled.
+     * Request is cancelled when its results are no longer needed, for instance when parent node is reloaded or tree is disposed.
+     * Data providers performing long loads may check this periodically and stop loading, results provided afterwards are ignored.
+     *
+     * @return {@code true} if this load request was cancelled, {@code false} otherwise
+     */
+    public boolean isCancelled ()
+    {
+        return false;
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.alee.extended.tree;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
+
+import javax.swing.tree.TreeNode;
+
+/**
+ * {@link NodesFilter} that can tell whether its current settings only narrow results it provided with some older settings.
+ * {@link TreeFilteringEngine} uses this to filter only nodes accepted by the previous pass instead of all nodes.
+ *
+ * @param <N> {@link TreeNode} type
+ * @author Mikle Garin
+ * @see TreeFilteringEngine
+ */
+public interface RefinableNodesFilter<N extends TreeNode> extends NodesFilter<N>
+{
+    /**
+     * Returns immutable snapshot of current filter settings.
+     *
+     * @return immutable snapshot of current filter settings
+     */
+    @NotNull
+    public Object getState ();
+
+    /**
+     * Returns whether or not current filter settings only accept nodes that were accepted with the specified settings.
+     *
+     * @param state snapshot of older filter settings provided by {@link #getState()}, might be {@code null}
+     * @return {@code true} if current filter settings only accept nodes that were accepted with the specified settings,
+     * {@code false} otherwise
+     */
+    public boolean isRefinementOf ( @Nullable Object state );
+}
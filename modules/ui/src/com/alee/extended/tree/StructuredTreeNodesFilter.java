@@ -17,22 +17,26 @@
 
 package com.alee.extended.tree;
 
+import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
 import com.alee.api.jdk.Function;
 import com.alee.laf.tree.UniqueNode;
 
-import java.util.HashMap;
-import java.util.Locale;
-import java.util.Map;
-import java.util.StringTokenizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Special smart tree filter that doesn't filter out parent nodes which has children that are accepted by filter.
  * This can be used in any kind of filter fields to provide a proper visual feedback in tree.
+ * Filter is thread-safe as long as its text provider is, so it can be used with any {@link TreeFilteringMode}.
+ *
+ * Optional {@link TreeSearchIndex} can be provided to avoid checking text of every node on each filtering pass.
+ * Index only supports default text matching, so it should not be used if {@link #accept(String, String, boolean)} is overridden.
  *
  * @param <N> {@link UniqueNode} type
  * @author Mikle Garin
  */
-public class StructuredTreeNodesFilter<N extends UniqueNode> implements NodesFilter<N>
+public class StructuredTreeNodesFilter<N extends UniqueNode> implements RefinableNodesFilter<N>
 {
     /**
      * Nodes text provider.
@@ -41,8 +45,9 @@ public class StructuredTreeNodesFilter<N extends UniqueNode> implements NodesFil
 
     /**
      * Accept states by node IDs cache.
+     * It is replaced with a new one whenever cache is cleared, so that stale results can't get into the new cache.
      */
-    protected Map<String, Boolean> acceptStatesCache = new HashMap<String, Boolean> ();
+    protected volatile Map<String, Boolean> acceptStatesCache = new ConcurrentHashMap<String, Boolean> ();
 
     /**
      * Whether should match case or not.
@@ -62,7 +67,21 @@ public class StructuredTreeNodesFilter<N extends UniqueNode> implements NodesFil
     /**
      * Search request text.
      */
-    protected String searchText = "";
+    protected volatile String searchText = "";
+
+    /**
+     * Optional {@link TreeSearchIndex} used instead of checking nodes text.
+     * It is only used while its text provider is the same as the one used by this filter.
+     */
+    @Nullable
+    protected volatile TreeSearchIndex<N> searchIndex;
+
+    /**
+     * {@link TreeSearchIndex.Matches} found for the current search request.
+     * They are dropped whenever cache is cleared.
+     */
+    @Nullable
+    protected volatile TreeSearchIndex.Matches indexMatches;
 
     /**
      * Returns nodes text provider.
@@ -172,24 +191,160 @@ public class StructuredTreeNodesFilter<N extends UniqueNode> implements NodesFil
         this.searchText = searchText;
     }
 
+    /**
+     * Returns {@link TreeSearchIndex} used instead of checking nodes text.
+     *
+     * @return {@link TreeSearchIndex} used instead of checking nodes text
+     */
+    @Nullable
+    public TreeSearchIndex<N> getSearchIndex ()
+    {
+        return searchIndex;
+    }
+
+    /**
+     * Sets {@link TreeSearchIndex} used instead of checking nodes text.
+     * Index must be built for the model this filter is used with and with the same text provider.
+     *
+     * @param searchIndex {@link TreeSearchIndex} used instead of checking nodes text
+     */
+    public void setSearchIndex ( @Nullable final TreeSearchIndex<N> searchIndex )
+    {
+        this.searchIndex = searchIndex;
+        this.indexMatches = null;
+    }
+
+    @NotNull
+    @Override
+    public Object getState ()
+    {
+        // State is requested on Event Dispatch Thread before each filtering pass, so index is searched with actual model filters
+        final TreeSearchIndex<N> index = searchIndex;
+        if ( index != null && index.getTextProvider () == textProvider && !searchText.equals ( "" ) )
+        {
+            indexMatches = search ( index, matchCase ? searchText : searchText.toLowerCase ( Locale.ROOT ) );
+        }
+        return new State ( textProvider, matchCase, useSpaceAsSeparator, searchFromStart, searchText );
+    }
+
+    @Override
+    public boolean isRefinementOf ( @Nullable final Object state )
+    {
+        boolean refinement = false;
+        if ( state instanceof State )
+        {
+            final State old = ( State ) state;
+            if ( old.textProvider == textProvider && old.matchCase == matchCase && old.useSpaceAsSeparator == useSpaceAsSeparator &&
+                    old.searchFromStart == searchFromStart )
+            {
+                if ( old.searchText.equals ( "" ) )
+                {
+                    // Empty request accepts all nodes
+                    refinement = true;
+                }
+                else if ( !searchText.equals ( "" ) )
+                {
+                    // Each request must be narrower than the old one at the same position
+                    final List<String> oldRequests = getSearchRequests ( old.searchText );
+                    final List<String> requests = getSearchRequests ( searchText );
+                    refinement = requests.size () == oldRequests.size ();
+                    for ( int i = 0; i < requests.size () && refinement; i++ )
+                    {
+                        refinement = accept ( requests.get ( i ), oldRequests.get ( i ), searchFromStart );
+                    }
+                }
+            }
+        }
+        return refinement;
+    }
+
+    /**
+     * Returns single search requests contained in the specified search text.
+     *
+     * @param searchText search request text
+     * @return single search requests contained in the specified search text
+     */
+    @NotNull
+    protected List<String> getSearchRequests ( @NotNull final String searchText )
+    {
+        final String searchRequest = matchCase ? searchText : searchText.toLowerCase ( Locale.ROOT );
+        final List<String> requests;
+        if ( useSpaceAsSeparator )
+        {
+            requests = new ArrayList<String> ( 2 );
+            final StringTokenizer tokenizer = new StringTokenizer ( searchRequest, " ", false );
+            while ( tokenizer.hasMoreTokens () )
+            {
+                requests.add ( tokenizer.nextToken () );
+            }
+        }
+        else
+        {
+            requests = Collections.singletonList ( searchRequest );
+        }
+        return requests;
+    }
+
     @Override
     public void clearCache ()
     {
-        acceptStatesCache.clear ();
+        acceptStatesCache = new ConcurrentHashMap<String, Boolean> ();
+        indexMatches = null;
     }
 
     @Override
     public void clearCache ( final N node )
     {
         acceptStatesCache.remove ( node.getId () );
+        final TreeSearchIndex<N> index = searchIndex;
+        if ( index != null )
+        {
+            index.update ( node );
+        }
     }
 
     @Override
     public boolean accept ( final N node )
     {
         // Structured nodes filtering
+        final Map<String, Boolean> cache = acceptStatesCache;
         final String searchRequest = matchCase ? searchText : searchText.toLowerCase ( Locale.ROOT );
-        return searchRequest.equals ( "" ) || acceptIncludingChildren ( node, searchRequest );
+        final TreeSearchIndex<N> index = searchIndex;
+        return searchRequest.equals ( "" ) || ( index != null && index.getTextProvider () == textProvider ?
+                acceptIndexed ( node, searchRequest, index ) : acceptIncludingChildren ( node, searchRequest, cache ) );
+    }
+
+    /**
+     * Returns whether the specified node or any of its visible raw descendants match the filter according to {@link TreeSearchIndex}.
+     *
+     * @param node          node to match
+     * @param searchRequest search request text
+     * @param index         {@link TreeSearchIndex}
+     * @return true if the specified node or any of its visible raw descendants match the filter, false otherwise
+     */
+    protected boolean acceptIndexed ( final N node, final String searchRequest, final TreeSearchIndex<N> index )
+    {
+        TreeSearchIndex.Matches matches = indexMatches;
+        if ( matches == null || matches.getIndex () != index || !matches.isActual () )
+        {
+            matches = search ( index, searchRequest );
+            indexMatches = matches;
+        }
+        return matches.accept ( node );
+    }
+
+    /**
+     * Returns {@link TreeSearchIndex.Matches} for the specified search request.
+     * Nodes hidden by any other model filters are not accepted by returned {@link TreeSearchIndex.Matches}.
+     *
+     * @param index         {@link TreeSearchIndex}
+     * @param searchRequest search request text
+     * @return {@link TreeSearchIndex.Matches} for the specified search request
+     */
+    @NotNull
+    protected TreeSearchIndex.Matches search ( final TreeSearchIndex<N> index, final String searchRequest )
+    {
+        return index.search ( getSearchRequests ( searchRequest ), matchCase, searchFromStart, this );
     }
 
     /**
@@ -197,17 +352,18 @@ public class StructuredTreeNodesFilter<N extends UniqueNode> implements NodesFil
      *
      * @param node          node to match
      * @param searchRequest search request text
+     * @param cache         accept states cache
      * @return true if the specified node or any of its children match the filter, false otherwise
      */
-    protected boolean acceptIncludingChildren ( final N node, final String searchRequest )
+    protected boolean acceptIncludingChildren ( final N node, final String searchRequest, final Map<String, Boolean> cache )
     {
-        if ( acceptNode ( node, searchRequest ) )
+        if ( acceptNode ( node, searchRequest, cache ) )
         {
             return true;
         }
         for ( int i = 0; i < node.getChildCount (); i++ )
         {
-            if ( acceptIncludingChildren ( ( N ) node.getChildAt ( i ), searchRequest ) )
+            if ( acceptIncludingChildren ( ( N ) node.getChildAt ( i ), searchRequest, cache ) )
             {
                 return true;
             }
@@ -221,15 +377,16 @@ public class StructuredTreeNodesFilter<N extends UniqueNode> implements NodesFil
      *
      * @param node          node to match
      * @param searchRequest search request text
+     * @param cache         accept states cache
      * @return true if the specified node matches the filter, false otherwise
      */
-    protected boolean acceptNode ( final N node, final String searchRequest )
+    protected boolean acceptNode ( final N node, final String searchRequest, final Map<String, Boolean> cache )
     {
-        Boolean accept = acceptStatesCache.get ( node.getId () );
+        Boolean accept = cache.get ( node.getId () );
         if ( accept == null )
         {
             accept = acceptNodeImpl ( node, searchRequest );
-            acceptStatesCache.put ( node.getId (), accept );
+            cache.put ( node.getId (), accept );
         }
         return accept;
     }
@@ -275,4 +432,56 @@ public class StructuredTreeNodesFilter<N extends UniqueNode> implements NodesFil
     {
         return searchFromStart ? nodeText.startsWith ( searchRequest ) : nodeText.contains ( searchRequest );
     }
-}
\ No newline at end of file
+
+    /**
+     * Immutable snapshot of {@link StructuredTreeNodesFilter} settings.
+     */
+    protected static final class State
+    {
+        /**
+         * Nodes text provider.
+         */
+        @Nullable
+        private final Function textProvider;
+
+        /**
+         * Whether should match case or not.
+         */
+        private final boolean matchCase;
+
+        /**
+         * Whether should use space character as requests separator or not.
+         */
+        private final boolean useSpaceAsSeparator;
+
+        /**
+         * Whether should search from node text beginning or not.
+         */
+        private final boolean searchFromStart;
+
+        /**
+         * Search request text.
+         */
+        @NotNull
+        private final String searchText;
+
+        /**
+         * Constructs new {@link State}.
+         *
+         * @param textProvider        nodes text provider
+         * @param matchCase           whether should match case or not
+         * @param useSpaceAsSeparator whether should use space character as requests separator or not
+         * @param searchFromStart     whether should search from node text beginning or not
+         * @param searchText          search request text
+         */
+        private State ( @Nullable final Function textProvider, final boolean matchCase, final boolean useSpaceAsSeparator,
+                        final boolean searchFromStart, @NotNull final String searchText )
+        {
+            this.textProvider = textProvider;
+            this.matchCase = matchCase;
+            this.useSpaceAsSeparator = useSpaceAsSeparator;
+            this.searchFromStart = searchFromStart;
+            this.searchText = searchText;
+        }
+    }
+}
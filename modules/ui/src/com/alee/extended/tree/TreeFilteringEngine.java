@@ -0,0 +1,896 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.alee.extended.tree;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
+import com.alee.laf.WebLookAndFeel;
+import com.alee.laf.tree.UniqueNode;
+import com.alee.utils.CollectionUtils;
+import com.alee.utils.CoreSwingUtils;
+import com.alee.utils.compare.Filter;
+import com.alee.utils.concurrent.DaemonThreadFactory;
+
+import javax.swing.event.TreeModelEvent;
+import javax.swing.event.TreeModelListener;
+import javax.swing.tree.TreeModel;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Engine performing recursive filtering and sorting passes for tree models that keep raw children separately from displayed ones.
+ *
+ * Each pass goes through the displayed part of the tree starting from the specified node and computes new displayed children for
+ * every node with children. Tree itself is not modified until pass is finished, all results are then applied at once through
+ * {@link Source#publish(UniqueNode, Map)} which is expected to inform tree about changes with a single structural update.
+ *
+ * Children of the nodes along with their filters and comparators are captured on Event Dispatch Thread right before they are filtered,
+ * so pass never reads model or tree data outside of Event Dispatch Thread, only captured filters and comparators are used there.
+ * Same as with plain recursive filtering, only children of the accepted nodes are captured and filtered.
+ * Depending on {@link TreeFilteringMode} pass is then performed either on Event Dispatch Thread or by the shared thread pool.
+ * Pool threads process different subtrees at the same time, children of wide nodes are also filtered in separate chunks.
+ * In {@link TreeFilteringMode#async} mode new pass cancels the one that is still running, so only the latest results are applied.
+ *
+ * Whenever all filters used in the pass are {@link RefinableNodesFilter}s that only narrow results of the previous pass, only nodes
+ * displayed after the previous pass are filtered instead of all raw nodes. This is the case for text filters when search request is
+ * extended with more characters. Any changes in the model reset this optimization until next full pass is performed.
+ *
+ * @param <N> {@link UniqueNode} type
+ * @author Mikle Garin
+ * @see TreeFilteringMode
+ * @see ExTreeModel
+ * @see AsyncTreeModel
+ */
+public class TreeFilteringEngine<N extends UniqueNode>
+{
+    /**
+     * Minimum amount of children in a single filtering chunk.
+     * Nodes with fewer children are filtered at once, wider nodes are split into up to four chunks per thread.
+     * Chunks are rather small since filters like {@link StructuredTreeNodesFilter} might check whole subtree of each child.
+     */
+    protected static final int CHUNK_SIZE = 64;
+
+    /**
+     * Work item marking the end of {@link Pass}.
+     */
+    protected static final Runnable FINISHED = new Runnable ()
+    {
+        @Override
+        public void run ()
+        {
+            // Nothing to do, it is only a marker
+        }
+    };
+
+    /**
+     * Maximum amount of threads performing single pass.
+     */
+    protected static final int threads = Runtime.getRuntime ().availableProcessors ();
+
+    /**
+     * Thread pool shared by all engines.
+     * It is only created when it is needed for the first time.
+     */
+    protected static ExecutorService executor;
+
+    /**
+     * {@link Source} of the nodes.
+     */
+    @NotNull
+    protected final Source<N> source;
+
+    /**
+     * {@link TreeFilteringMode} used for passes.
+     */
+    @NotNull
+    protected TreeFilteringMode mode;
+
+    /**
+     * Amount of model changes, used to detect outdated passes and results.
+     */
+    protected volatile int version;
+
+    /**
+     * Whether or not pass results are being applied right now.
+     */
+    protected boolean publishing;
+
+    /**
+     * {@link Pass} that is currently running in {@link TreeFilteringMode#async} mode.
+     */
+    @Nullable
+    protected Pass running;
+
+    /**
+     * Last applied {@link Pass}, it is only kept while model stays unchanged.
+     */
+    @Nullable
+    protected Pass published;
+
+    /**
+     * Constructs new {@link TreeFilteringEngine}.
+     *
+     * @param model  {@link TreeModel} which changes should reset incremental filtering
+     * @param source {@link Source} of the nodes
+     */
+    public TreeFilteringEngine ( @NotNull final TreeModel model, @NotNull final Source<N> source )
+    {
+        this.source = source;
+        this.mode = TreeFilteringMode.serial;
+        this.version = 0;
+        model.addTreeModelListener ( new TreeModelListener ()
+        {
+            @Override
+            public void treeNodesChanged ( final TreeModelEvent e )
+            {
+                modelChanged ();
+            }
+
+            @Override
+            public void treeNodesInserted ( final TreeModelEvent e )
+            {
+                modelChanged ();
+            }
+
+            @Override
+            public void treeNodesRemoved ( final TreeModelEvent e )
+            {
+                modelChanged ();
+            }
+
+            @Override
+            public void treeStructureChanged ( final TreeModelEvent e )
+            {
+                modelChanged ();
+            }
+        } );
+    }
+
+    /**
+     * Returns {@link TreeFilteringMode} used for passes.
+     *
+     * @return {@link TreeFilteringMode} used for passes
+     */
+    @NotNull
+    public TreeFilteringMode getMode ()
+    {
+        return mode;
+    }
+
+    /**
+     * Sets {@link TreeFilteringMode} used for passes.
+     *
+     * @param mode {@link TreeFilteringMode} used for passes
+     */
+    public void setMode ( @NotNull final TreeFilteringMode mode )
+    {
+        this.mode = mode;
+    }
+
+    /**
+     * Returns whether or not there is a pass running in {@link TreeFilteringMode#async} mode.
+     *
+     * @return {@code true} if there is a pass running in {@link TreeFilteringMode#async} mode, {@code false} otherwise
+     */
+    public boolean isRunning ()
+    {
+        return running != null;
+    }
+
+    /**
+     * Performs recursive filtering and sorting pass for the specified node.
+     * Unless {@link TreeFilteringMode#async} mode is used, results are applied before this method returns.
+     *
+     * @param node     node to filter and sort children for recursively
+     * @param callback {@link Runnable} to execute once results are applied, might be {@code null}
+     */
+    public void filterAndSort ( @NotNull final N node, @Nullable final Runnable callback )
+    {
+        // Event Dispatch Thread check
+        WebLookAndFeel.checkEventDispatchThread ();
+
+        // Collecting callbacks of the pass we are going to replace
+        N root = node;
+        final List<Runnable> callbacks = new ArrayList<Runnable> ( 1 );
+        if ( running != null )
+        {
+            // Pass must cover both the cancelled node and the requested one
+            root = running.root.isNodeDescendant ( node ) ? running.root :
+                    node.isNodeDescendant ( running.root ) ? node : source.getRoot ();
+            callbacks.addAll ( running.callbacks );
+            running.cancel ();
+            running = null;
+        }
+        if ( callback != null && !callbacks.contains ( callback ) )
+        {
+            callbacks.add ( callback );
+        }
+
+        // Starting new pass
+        start ( root, callbacks );
+    }
+
+    /**
+     * Cancels pass running in {@link TreeFilteringMode#async} mode if there is one.
+     * Its results will not be applied and its callbacks will not be executed.
+     */
+    public void cancel ()
+    {
+        // Event Dispatch Thread check
+        WebLookAndFeel.checkEventDispatchThread ();
+
+        if ( running != null )
+        {
+            running.cancel ();
+            running = null;
+        }
+    }
+
+    /**
+     * Informs engine that model has changed.
+     */
+    protected void modelChanged ()
+    {
+        if ( !publishing )
+        {
+            version++;
+            published = null;
+        }
+    }
+
+    /**
+     * Starts new pass for the specified node.
+     *
+     * @param root      node to filter and sort children for recursively
+     * @param callbacks {@link Runnable}s to execute once results are applied
+     */
+    protected void start ( @NotNull final N root, @NotNull final List<Runnable> callbacks )
+    {
+        final List<Filter<N>> filters = source.getFilters ();
+        final List<Object> states = new ArrayList<Object> ( filters.size () );
+        for ( final Filter<N> filter : filters )
+        {
+            states.add ( filter instanceof RefinableNodesFilter ? ( ( RefinableNodesFilter ) filter ).getState () : null );
+        }
+        final Pass pass = new Pass ( root, isRefinement ( root, filters ), filters, states, callbacks );
+        if ( mode == TreeFilteringMode.async )
+        {
+            running = pass;
+            pass.start ();
+        }
+        else
+        {
+            pass.start ();
+            pass.await ();
+            publish ( pass );
+        }
+    }
+
+    /**
+     * Returns whether or not pass for the specified node with the specified filters only needs to filter currently displayed nodes.
+     *
+     * @param root    node to filter and sort children for recursively
+     * @param filters {@link Filter}s used for the pass
+     * @return {@code true} if pass for the specified node with the specified filters only needs to filter currently displayed nodes,
+     * {@code false} otherwise
+     */
+    protected boolean isRefinement ( @NotNull final N root, @NotNull final List<Filter<N>> filters )
+    {
+        boolean refinement = published != null && filters.size () == published.filters.size () &&
+                ( published.root == root || published.root.isNodeDescendant ( root ) );
+        boolean refinable = false;
+        for ( int i = 0; i < filters.size () && refinement; i++ )
+        {
+            final Filter<N> filter = filters.get ( i );
+            if ( filter != null )
+            {
+                refinement = filter == published.filters.get ( i ) && filter instanceof RefinableNodesFilter &&
+                        ( ( RefinableNodesFilter ) filter ).isRefinementOf ( published.states.get ( i ) );
+                refinable = true;
+            }
+            else
+            {
+                refinement = published.filters.get ( i ) == null;
+            }
+        }
+        return refinement && refinable;
+    }
+
+    /**
+     * Applies results of the specified finished {@link Pass}.
+     * This method is always executed on Event Dispatch Thread.
+     *
+     * @param pass finished {@link Pass}
+     */
+    protected void publish ( @NotNull final Pass pass )
+    {
+        if ( !pass.cancelled )
+        {
+            if ( running == pass )
+            {
+                running = null;
+            }
+            if ( pass.version != version )
+            {
+                // Model has changed during the pass, so its results might be outdated
+                start ( pass.root, pass.callbacks );
+            }
+            else
+            {
+                // Rethrowing pass exception
+                final Throwable throwable = pass.error.get ();
+                if ( throwable instanceof RuntimeException )
+                {
+                    throw ( RuntimeException ) throwable;
+                }
+                else if ( throwable instanceof Error )
+                {
+                    throw ( Error ) throwable;
+                }
+                else if ( throwable != null )
+                {
+                    throw new RuntimeException ( throwable );
+                }
+
+                // Applying results
+                publishing = true;
+                try
+                {
+                    source.publish ( pass.root, pass.results );
+                }
+                finally
+                {
+                    publishing = false;
+                }
+                published = pass;
+
+                // Informing about applied results
+                for ( final Runnable callback : pass.callbacks )
+                {
+                    callback.run ();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns thread pool shared by all engines.
+     *
+     * @return thread pool shared by all engines
+     */
+    @NotNull
+    protected static synchronized ExecutorService getExecutor ()
+    {
+        if ( executor == null )
+        {
+            executor = Executors.newFixedThreadPool ( threads, new DaemonThreadFactory ( "TreeFilteringEngine" ) );
+        }
+        return executor;
+    }
+
+    /**
+     * Single filtering and sorting pass.
+     * Data of the nodes is captured on Event Dispatch Thread level by level, only for nodes accepted by the pass.
+     * Each node is processed by a separate work item, work items are executed either on the calling thread or by the shared thread pool.
+     */
+    protected class Pass
+    {
+        /**
+         * Node to filter and sort children for recursively.
+         */
+        @NotNull
+        protected final N root;
+
+        /**
+         * Whether or not only currently displayed nodes should be filtered.
+         */
+        protected final boolean refinement;
+
+        /**
+         * {@link Filter}s used for the pass.
+         */
+        @NotNull
+        protected final List<Filter<N>> filters;
+
+        /**
+         * States of the {@link RefinableNodesFilter}s used for the pass.
+         */
+        @NotNull
+        protected final List<Object> states;
+
+        /**
+         * {@link Runnable}s to execute once results are applied.
+         */
+        @NotNull
+        protected final List<Runnable> callbacks;
+
+        /**
+         * {@link TreeFilteringMode} used for this pass.
+         */
+        @NotNull
+        protected final TreeFilteringMode mode;
+
+        /**
+         * Model version this pass was started for.
+         */
+        protected final int version;
+
+        /**
+         * Filtered and sorted children for each processed node.
+         */
+        @NotNull
+        protected final Map<N, List<N>> results;
+
+        /**
+         * Work items waiting to be executed on the calling thread.
+         * In {@link TreeFilteringMode#serial} mode it contains all work items, otherwise only the ones capturing {@link NodeData}.
+         * It is not used in {@link TreeFilteringMode#async} mode.
+         */
+        @NotNull
+        protected final BlockingQueue<Runnable> queue;
+
+        /**
+         * Amount of work items that are not finished yet.
+         */
+        @NotNull
+        protected final AtomicInteger unfinished;
+
+        /**
+         * First exception thrown while processing work items.
+         */
+        @NotNull
+        protected final AtomicReference<Throwable> error;
+
+        /**
+         * Whether or not this pass was cancelled.
+         */
+        protected volatile boolean cancelled;
+
+        /**
+         * Constructs new {@link Pass}.
+         *
+         * @param root       node to filter and sort children for recursively
+         * @param refinement whether or not only currently displayed nodes should be filtered
+         * @param filters    {@link Filter}s used for the pass
+         * @param states     states of the {@link RefinableNodesFilter}s used for the pass
+         * @param callbacks  {@link Runnable}s to execute once results are applied
+         */
+        public Pass ( @NotNull final N root, final boolean refinement, @NotNull final List<Filter<N>> filters,
+                      @NotNull final List<Object> states, @NotNull final List<Runnable> callbacks )
+        {
+            this.root = root;
+            this.refinement = refinement;
+            this.filters = filters;
+            this.states = states;
+            this.callbacks = callbacks;
+            this.mode = TreeFilteringEngine.this.mode;
+            this.version = TreeFilteringEngine.this.version;
+            this.results = new ConcurrentHashMap<N, List<N>> ();
+            this.queue = new LinkedBlockingQueue<Runnable> ();
+            this.unfinished = new AtomicInteger ( 0 );
+            this.error = new AtomicReference<Throwable> ();
+            this.cancelled = false;
+        }
+
+        /**
+         * Captures {@link NodeData} for the specified nodes and submits work items filtering and sorting their children.
+         * This method is always called on Event Dispatch Thread.
+         *
+         * @param nodes nodes to capture {@link NodeData} for
+         */
+        protected void capture ( @NotNull final List<N> nodes )
+        {
+            for ( final N node : nodes )
+            {
+                final List<N> children = getChildren ( node );
+                if ( children != null && children.size () > 0 )
+                {
+                    final Filter<N>[] childrenFilters = source.getChildrenFilters ( node, children );
+                    final Comparator<N>[] childrenComparators = source.getChildrenComparators ( node, children );
+                    final NodeData<N> nodeData = new NodeData<N> ( children, childrenFilters, childrenComparators );
+                    submit ( new Runnable ()
+                    {
+                        @Override
+                        public void run ()
+                        {
+                            processNode ( node, nodeData );
+                        }
+                    } );
+                }
+            }
+        }
+
+        /**
+         * Returns copy of the specified node children that should be filtered.
+         * This method is always called on Event Dispatch Thread.
+         *
+         * @param node node to return children for
+         * @return copy of the specified node children that should be filtered, {@code null} if they are not available
+         */
+        @Nullable
+        protected List<N> getChildren ( @NotNull final N node )
+        {
+            final List<N> children;
+            if ( refinement )
+            {
+                final int count = node.getChildCount ();
+                children = new ArrayList<N> ( count );
+                for ( int i = 0; i < count; i++ )
+                {
+                    children.add ( ( N ) node.getChildAt ( i ) );
+                }
+            }
+            else
+            {
+                final List<N> rawChildren = source.getRawChildren ( node );
+                children = rawChildren != null ? new ArrayList<N> ( rawChildren ) : null;
+            }
+            return children;
+        }
+
+        /**
+         * Starts this pass.
+         * This method must be called on Event Dispatch Thread.
+         */
+        public void start ()
+        {
+            // Pass cannot finish until root work item is submitted
+            unfinished.incrementAndGet ();
+            capture ( Collections.singletonList ( root ) );
+            if ( unfinished.decrementAndGet () == 0 )
+            {
+                finish ();
+            }
+        }
+
+        /**
+         * Waits until this pass is finished while executing work items that should be executed on the calling thread.
+         * This method must be called on Event Dispatch Thread unless {@link TreeFilteringMode#async} mode is used.
+         */
+        public void await ()
+        {
+            boolean interrupted = false;
+            Runnable item = null;
+            while ( item != FINISHED )
+            {
+                try
+                {
+                    item = queue.take ();
+                    if ( item != FINISHED )
+                    {
+                        execute ( item );
+                    }
+                }
+                catch ( final InterruptedException e )
+                {
+                    interrupted = true;
+                }
+            }
+            if ( interrupted )
+            {
+                Thread.currentThread ().interrupt ();
+            }
+        }
+
+        /**
+         * Cancels this pass.
+         */
+        public void cancel ()
+        {
+            cancelled = true;
+        }
+
+        /**
+         * Submits work item capturing {@link NodeData} for the specified nodes on Event Dispatch Thread.
+         *
+         * @param nodes nodes to capture {@link NodeData} for
+         */
+        protected void submitCapture ( @NotNull final List<N> nodes )
+        {
+            final Runnable item = new Runnable ()
+            {
+                @Override
+                public void run ()
+                {
+                    capture ( nodes );
+                }
+            };
+            unfinished.incrementAndGet ();
+            if ( mode == TreeFilteringMode.async )
+            {
+                CoreSwingUtils.invokeLater ( new Runnable ()
+                {
+                    @Override
+                    public void run ()
+                    {
+                        execute ( item );
+                    }
+                } );
+            }
+            else
+            {
+                queue.add ( item );
+            }
+        }
+
+        /**
+         * Submits work item.
+         *
+         * @param item work item
+         */
+        protected void submit ( @NotNull final Runnable item )
+        {
+            unfinished.incrementAndGet ();
+            if ( mode == TreeFilteringMode.serial )
+            {
+                queue.add ( item );
+            }
+            else
+            {
+                getExecutor ().execute ( new Runnable ()
+                {
+                    @Override
+                    public void run ()
+                    {
+                        execute ( item );
+                    }
+                } );
+            }
+        }
+
+        /**
+         * Executes work item unless pass was cancelled or failed.
+         *
+         * @param item work item
+         */
+        protected void execute ( @NotNull final Runnable item )
+        {
+            try
+            {
+                if ( !cancelled && error.get () == null )
+                {
+                    item.run ();
+                }
+            }
+            catch ( final Throwable e )
+            {
+                error.compareAndSet ( null, e );
+            }
+            finally
+            {
+                if ( unfinished.decrementAndGet () == 0 )
+                {
+                    finish ();
+                }
+            }
+        }
+
+        /**
+         * Finishes this pass once all work items are finished.
+         * Results of the pass running in {@link TreeFilteringMode#async} mode are applied later on Event Dispatch Thread.
+         */
+        protected void finish ()
+        {
+            if ( mode != TreeFilteringMode.async )
+            {
+                queue.add ( FINISHED );
+            }
+            else if ( !cancelled )
+            {
+                CoreSwingUtils.invokeLater ( new Runnable ()
+                {
+                    @Override
+                    public void run ()
+                    {
+                        publish ( Pass.this );
+                    }
+                } );
+            }
+        }
+
+        /**
+         * Filters and sorts children of the specified node.
+         *
+         * @param node     node to filter and sort children for
+         * @param nodeData {@link NodeData} captured for the node
+         */
+        protected void processNode ( @NotNull final N node, @NotNull final NodeData<N> nodeData )
+        {
+            final List<N> children = nodeData.children;
+            final int chunks = Math.min ( threads * 4, children.size () / CHUNK_SIZE );
+            if ( threads > 1 && chunks > 1 && mode != TreeFilteringMode.serial )
+            {
+                // Filtering wide node children in chunks
+                final List<N>[] filtered = new List[ chunks ];
+                final AtomicInteger remaining = new AtomicInteger ( chunks );
+                for ( int i = 0; i < chunks; i++ )
+                {
+                    final int chunk = i;
+                    submit ( new Runnable ()
+                    {
+                        @Override
+                        public void run ()
+                        {
+                            final int from = children.size () * chunk / chunks;
+                            final int to = children.size () * ( chunk + 1 ) / chunks;
+                            filtered[ chunk ] = filter ( children.subList ( from, to ), nodeData.filters );
+                            if ( remaining.decrementAndGet () == 0 )
+                            {
+                                // Last finished chunk completes the node
+                                int size = 0;
+                                for ( final List<N> part : filtered )
+                                {
+                                    size += part.size ();
+                                }
+                                final List<N> result = new ArrayList<N> ( size );
+                                for ( final List<N> part : filtered )
+                                {
+                                    result.addAll ( part );
+                                }
+                                completeNode ( node, nodeData, result );
+                            }
+                        }
+                    } );
+                }
+            }
+            else
+            {
+                // Filtering node children right away
+                completeNode ( node, nodeData, filter ( children, nodeData.filters ) );
+            }
+        }
+
+        /**
+         * Returns new {@link List} with nodes accepted by all specified {@link Filter}s.
+         *
+         * @param nodes   nodes to filter
+         * @param filters {@link Filter}s
+         * @return new {@link List} with nodes accepted by all specified {@link Filter}s
+         */
+        @NotNull
+        protected List<N> filter ( @NotNull final List<N> nodes, @NotNull final Filter<N>[] filters )
+        {
+            return filters.length > 0 ? CollectionUtils.filter ( nodes, filters ) : new ArrayList<N> ( nodes );
+        }
+
+        /**
+         * Sorts filtered children of the specified node and submits work item capturing {@link NodeData} for them.
+         *
+         * @param node     node to sort children for
+         * @param nodeData {@link NodeData} captured for the node
+         * @param children filtered children
+         */
+        protected void completeNode ( @NotNull final N node, @NotNull final NodeData<N> nodeData, @NotNull final List<N> children )
+        {
+            CollectionUtils.sort ( children, nodeData.comparators );
+            results.put ( node, children );
+            if ( children.size () > 0 )
+            {
+                submitCapture ( children );
+            }
+        }
+    }
+
+    /**
+     * Node data captured on Event Dispatch Thread for a {@link Pass}.
+     *
+     * @param <N> {@link UniqueNode} type
+     */
+    protected static final class NodeData<N extends UniqueNode>
+    {
+        /**
+         * Copy of the node children that should be filtered.
+         */
+        @NotNull
+        protected final List<N> children;
+
+        /**
+         * {@link Filter}s for the node children.
+         */
+        @NotNull
+        protected final Filter<N>[] filters;
+
+        /**
+         * {@link Comparator}s for the node children.
+         */
+        @NotNull
+        protected final Comparator<N>[] comparators;
+
+        /**
+         * Constructs new {@link NodeData}.
+         *
+         * @param children    copy of the node children that should be filtered
+         * @param filters     {@link Filter}s for the node children
+         * @param comparators {@link Comparator}s for the node children
+         */
+        protected NodeData ( @NotNull final List<N> children, @NotNull final Filter<N>[] filters,
+                             @NotNull final Comparator<N>[] comparators )
+        {
+            this.children = children;
+            this.filters = filters;
+            this.comparators = comparators;
+        }
+    }
+
+    /**
+     * Source of the nodes filtered and sorted by {@link TreeFilteringEngine}.
+     * All methods are called on Event Dispatch Thread, only provided {@link Filter}s and {@link Comparator}s are used on pool threads
+     * unless {@link TreeFilteringMode#serial} mode is used.
+     *
+     * @param <N> {@link UniqueNode} type
+     */
+    public static interface Source<N extends UniqueNode>
+    {
+        /**
+         * Returns root node.
+         *
+         * @return root node
+         */
+        @NotNull
+        public N getRoot ();
+
+        /**
+         * Returns raw children of the specified node, {@code null} if they are not available.
+         *
+         * @param parent node to return raw children for
+         * @return raw children of the specified node, {@code null} if they are not available
+         */
+        @Nullable
+        public List<N> getRawChildren ( @NotNull N parent );
+
+        /**
+         * Returns {@link Filter}s that can be refined between passes.
+         * Order of the {@link Filter}s must be the same for all calls, {@code null} should be used for missing {@link Filter}s.
+         *
+         * @return {@link Filter}s that can be refined between passes
+         */
+        @NotNull
+        public List<Filter<N>> getFilters ();
+
+        /**
+         * Returns all {@link Filter}s for children of the specified node.
+         *
+         * @param parent   parent node
+         * @param children children to be filtered
+         * @return all {@link Filter}s for children of the specified node
+         */
+        @NotNull
+        public Filter<N>[] getChildrenFilters ( @NotNull N parent, @NotNull List<N> children );
+
+        /**
+         * Returns all {@link Comparator}s for children of the specified node in the order they should be applied.
+         *
+         * @param parent   parent node
+         * @param children children to be sorted
+         * @return all {@link Comparator}s for children of the specified node in the order they should be applied
+         */
+        @NotNull
+        public Comparator<N>[] getChildrenComparators ( @NotNull N parent, @NotNull List<N> children );
+
+        /**
+         * Applies pass results.
+         *
+         * @param root     node pass was performed for
+         * @param children new filtered and sorted children for each processed node
+         */
+        public void publish ( @NotNull N root, @NotNull Map<N, List<N>> children );
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.alee.extended.tree;
+
+/**
+ * Modes in which {@link TreeFilteringEngine} performs filtering and sorting passes.
+ *
+ * @author Mikle Garin
+ * @see TreeFilteringEngine
+ */
+public enum TreeFilteringMode
+{
+    /**
+     * Pass is performed on the calling thread, which is always Event Dispatch Thread.
+     * Filters and comparators are never used outside of Event Dispatch Thread in this mode.
+     */
+    serial,
+
+    /**
+     * Pass is performed by the shared thread pool, calling thread waits until it finishes.
+     * Meanwhile calling thread captures children of the accepted nodes for the pool threads.
+     * Filters and comparators must be thread-safe in this mode.
+     */
+    parallel,
+
+    /**
+     * Pass is performed by the shared thread pool, calling thread doesn't wait for it to finish.
+     * Children of the accepted nodes are captured and results are applied later on Event Dispatch Thread unless pass gets cancelled by
+     * a newer one.
+     * Filters and comparators must be thread-safe in this mode.
+     */
+    async
+}
@@ -0,0 +1,842 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.alee.extended.tree;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
+import com.alee.api.jdk.Function;
+import com.alee.laf.tree.UniqueNode;
+import com.alee.utils.compare.Filter;
+
+import javax.swing.event.TreeModelEvent;
+import javax.swing.event.TreeModelListener;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Search index of {@link UniqueNode} texts for a single {@link IndexableNodes} model.
+ *
+ * Index keeps normalized text of every raw node along with postings of all three-character sequences found in it, so that search
+ * requests are resolved into a small set of candidate nodes instead of checking text of every node in the tree.
+ * Found nodes that are not hidden by any other model {@link Filter}s are then extended with all their ancestors, which gives the same
+ * set of nodes {@link StructuredTreeNodesFilter} would accept, except that all raw children are checked instead of the displayed ones.
+ *
+ * Index is built once for the whole model and then updated incrementally from model events.
+ * Events fired while model {@link IndexableNodes#isFiltering()} are ignored since they only affect displayed structure.
+ * Removed nodes are dropped either on removal events or lazily whenever they are found by search but are not in the model anymore.
+ *
+ * Index is updated on Event Dispatch Thread along with the model.
+ * Searches should be performed on Event Dispatch Thread as well since they use model {@link Filter}s, but found {@link Matches} can be
+ * used from any thread.
+ *
+ * @param <N> {@link UniqueNode} type
+ * @author Mikle Garin
+ * @see StructuredTreeNodesFilter#setSearchIndex(TreeSearchIndex)
+ * @see WebTreeFilterField#setUseSearchIndex(boolean)
+ */
+public class TreeSearchIndex<N extends UniqueNode> implements TreeModelListener
+{
+    /**
+     * Length of the indexed character sequences.
+     * Shorter search requests are checked against all indexed texts.
+     */
+    protected static final int GRAM = 3;
+
+    /**
+     * {@link IndexableNodes} model.
+     */
+    @NotNull
+    protected final IndexableNodes<N> model;
+
+    /**
+     * Nodes text provider.
+     */
+    @NotNull
+    protected final Function<N, String> textProvider;
+
+    /**
+     * Node ordinals by node identifiers.
+     */
+    @NotNull
+    protected final Map<String, Integer> ordinals;
+
+    /**
+     * Indexed nodes by ordinals, {@code null} for removed nodes.
+     */
+    protected Object[] nodes;
+
+    /**
+     * Node texts by ordinals.
+     */
+    protected String[] texts;
+
+    /**
+     * Lower case node texts by ordinals.
+     */
+    protected String[] lowerTexts;
+
+    /**
+     * Raw parent ordinals by ordinals, {@code -1} for root node.
+     */
+    protected int[] parents;
+
+    /**
+     * Amount of used ordinals.
+     */
+    protected int size;
+
+    /**
+     * Amount of indexed nodes.
+     */
+    protected int live;
+
+    /**
+     * Ordinals of nodes containing each character sequence.
+     * Postings of removed nodes and replaced texts are kept until index is compacted, search always checks actual node text.
+     */
+    @NotNull
+    protected Map<Long, Postings> postings;
+
+    /**
+     * Total amount of postings.
+     */
+    protected int postingsCount;
+
+    /**
+     * Amount of outdated postings.
+     */
+    protected int stalePostingsCount;
+
+    /**
+     * Amount of index changes, used to detect outdated {@link Matches}.
+     */
+    protected volatile int modCount;
+
+    /**
+     * Constructs new {@link TreeSearchIndex} and indexes all raw nodes of the specified model.
+     *
+     * @param model        {@link IndexableNodes} model
+     * @param textProvider nodes text provider
+     */
+    public TreeSearchIndex ( @NotNull final IndexableNodes<N> model, @NotNull final Function<N, String> textProvider )
+    {
+        this.model = model;
+        this.textProvider = textProvider;
+        this.ordinals = new ConcurrentHashMap<String, Integer> ();
+        this.postings = new HashMap<Long, Postings> ();
+        indexAll ();
+        model.addTreeModelListener ( this );
+    }
+
+    /**
+     * Returns {@link IndexableNodes} model.
+     *
+     * @return {@link IndexableNodes} model
+     */
+    @NotNull
+    public IndexableNodes<N> getModel ()
+    {
+        return model;
+    }
+
+    /**
+     * Returns nodes text provider.
+     *
+     * @return nodes text provider
+     */
+    @NotNull
+    public Function<N, String> getTextProvider ()
+    {
+        return textProvider;
+    }
+
+    /**
+     * Returns amount of indexed nodes.
+     *
+     * @return amount of indexed nodes
+     */
+    public synchronized int size ()
+    {
+        return live;
+    }
+
+    /**
+     * Stops listening to model changes.
+     * Index should not be used after it is disposed.
+     */
+    public void dispose ()
+    {
+        model.removeTreeModelListener ( this );
+    }
+
+    /**
+     * Updates text of the specified {@link UniqueNode} and indexes its raw children that are not indexed yet.
+     * Might be useful if node text has changed without any model events.
+     *
+     * @param node {@link UniqueNode} to update
+     */
+    public synchronized void update ( @NotNull final N node )
+    {
+        final int ordinal = indexOf ( node );
+        if ( ordinal != -1 )
+        {
+            updateText ( ordinal );
+            indexChildren ( node, ordinal, false );
+        }
+    }
+
+    /**
+     * Returns {@link Matches} for the specified search requests.
+     * Node matches if its text matches any of the requests and it is accepted by all model {@link Filter}s except the specified one.
+     * Ancestors of matching nodes are also accepted by returned {@link Matches} unless some of them are hidden by those {@link Filter}s.
+     *
+     * @param requests        single search requests, they must already be in lower case unless {@code matchCase} is {@code true}
+     * @param matchCase       whether should match case or not
+     * @param searchFromStart whether should search from node text beginning or not
+     * @param filter          {@link Filter} that will use returned {@link Matches}, it is not applied to the nodes
+     * @return {@link Matches} for the specified search requests
+     */
+    @NotNull
+    public synchronized Matches search ( @NotNull final List<String> requests, final boolean matchCase, final boolean searchFromStart,
+                                         @Nullable final Filter<N> filter )
+    {
+        compactIfNeeded ();
+
+        // Looking for nodes matching requests
+        final BitSet matched = new BitSet ( size );
+        for ( final String request : requests )
+        {
+            if ( !matchCase && request.length () >= GRAM )
+            {
+                // Checking only nodes that contain the rarest character sequence of the request
+                final Postings candidates = getCandidates ( request );
+                if ( candidates != null )
+                {
+                    for ( int i = 0; i < candidates.size; i++ )
+                    {
+                        check ( candidates.ordinals[ i ], request, false, searchFromStart, matched );
+                    }
+                }
+            }
+            else
+            {
+                // Checking all nodes
+                for ( int ordinal = 0; ordinal < size; ordinal++ )
+                {
+                    check ( ordinal, request, matchCase, searchFromStart, matched );
+                }
+            }
+        }
+
+        // Accepting visible matched nodes along with their ancestors
+        final BitSet accepted = new BitSet ( size );
+        final BitSet checked = new BitSet ( size );
+        final BitSet visible = new BitSet ( size );
+        for ( int ordinal = matched.nextSetBit ( 0 ); ordinal >= 0; ordinal = matched.nextSetBit ( ordinal + 1 ) )
+        {
+            if ( isVisible ( ordinal, filter, accepted, checked, visible ) )
+            {
+                for ( int node = ordinal; node != -1 && !accepted.get ( node ); node = parents[ node ] )
+                {
+                    accepted.set ( node );
+                }
+            }
+        }
+        return new Matches ( this, accepted, modCount );
+    }
+
+    /**
+     * Returns whether or not node with the specified ordinal and all of its ancestors are accepted by model {@link Filter}s.
+     *
+     * @param ordinal  node ordinal
+     * @param filter   {@link Filter} that should not be applied
+     * @param accepted ordinals of already accepted nodes, they are known to be visible
+     * @param checked  ordinals of nodes which children were already checked
+     * @param visible  ordinals of checked children accepted by model {@link Filter}s
+     * @return {@code true} if node with the specified ordinal and all of its ancestors are accepted by model {@link Filter}s,
+     * {@code false} otherwise
+     */
+    protected boolean isVisible ( final int ordinal, @Nullable final Filter<N> filter, @NotNull final BitSet accepted,
+                                  @NotNull final BitSet checked, @NotNull final BitSet visible )
+    {
+        boolean isVisible = true;
+        for ( int node = ordinal; isVisible && node != -1 && !accepted.get ( node ); node = parents[ node ] )
+        {
+            final int parent = parents[ node ];
+            if ( parent != -1 )
+            {
+                if ( !checked.get ( parent ) )
+                {
+                    checkChildren ( parent, filter, visible );
+                    checked.set ( parent );
+                }
+                isVisible = visible.get ( node );
+            }
+        }
+        return isVisible;
+    }
+
+    /**
+     * Marks raw children of the node with the specified ordinal that are accepted by model {@link Filter}s as visible.
+     *
+     * @param ordinal parent node ordinal
+     * @param filter  {@link Filter} that should not be applied
+     * @param visible ordinals of children accepted by model {@link Filter}s
+     */
+    protected void checkChildren ( final int ordinal, @Nullable final Filter<N> filter, @NotNull final BitSet visible )
+    {
+        final N parent = ( N ) nodes[ ordinal ];
+        final List<N> children = parent != null ? model.findRawChildren ( parent ) : null;
+        if ( children != null && children.size () > 0 )
+        {
+            final Filter<N>[] filters = model.getRawChildrenFilters ( parent, children );
+            for ( final N child : children )
+            {
+                boolean accept = true;
+                for ( int i = 0; i < filters.length && accept; i++ )
+                {
+                    accept = filters[ i ] == null || filters[ i ] == filter || filters[ i ].accept ( child );
+                }
+                final int childOrdinal = accept ? indexOf ( child ) : -1;
+                if ( childOrdinal != -1 )
+                {
+                    visible.set ( childOrdinal );
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns postings of the rarest character sequence in the specified request, {@code null} if some sequence is not indexed.
+     *
+     * @param request single search request
+     * @return postings of the rarest character sequence in the specified request, {@code null} if some sequence is not indexed
+     */
+    @Nullable
+    protected Postings getCandidates ( @NotNull final String request )
+    {
+        Postings candidates = null;
+        for ( int i = 0; i <= request.length () - GRAM; i++ )
+        {
+            final Postings gramPostings = postings.get ( gram ( request, i ) );
+            if ( gramPostings == null )
+            {
+                return null;
+            }
+            if ( candidates == null || gramPostings.size < candidates.size )
+            {
+                candidates = gramPostings;
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Marks node with the specified ordinal as matched if its text matches the request and it is still in the model.
+     *
+     * @param ordinal         node ordinal
+     * @param request         single search request
+     * @param matchCase       whether should match case or not
+     * @param searchFromStart whether should search from node text beginning or not
+     * @param matched         matched nodes ordinals
+     */
+    protected void check ( final int ordinal, @NotNull final String request, final boolean matchCase, final boolean searchFromStart,
+                           @NotNull final BitSet matched )
+    {
+        if ( nodes[ ordinal ] != null && !matched.get ( ordinal ) )
+        {
+            final String text = matchCase ? texts[ ordinal ] : lowerTexts[ ordinal ];
+            if ( searchFromStart ? text.startsWith ( request ) : text.contains ( request ) )
+            {
+                final N node = ( N ) nodes[ ordinal ];
+                if ( model.findNode ( node.getId () ) == node )
+                {
+                    matched.set ( ordinal );
+                }
+                else
+                {
+                    // Node was removed without any events, for example while it was filtered out
+                    remove ( ordinal );
+                }
+            }
+        }
+    }
+
+    @Override
+    public synchronized void treeNodesChanged ( @NotNull final TreeModelEvent e )
+    {
+        final Object[] children = e.getChildren ();
+        if ( children != null )
+        {
+            for ( final Object child : children )
+            {
+                update ( ( N ) child );
+            }
+        }
+        else if ( e.getTreePath () != null )
+        {
+            // Root node has changed
+            update ( ( N ) e.getTreePath ().getLastPathComponent () );
+        }
+        compactIfNeeded ();
+    }
+
+    @Override
+    public synchronized void treeNodesInserted ( @NotNull final TreeModelEvent e )
+    {
+        if ( !model.isFiltering () )
+        {
+            final N parent = ( N ) e.getTreePath ().getLastPathComponent ();
+            final int ordinal = indexOf ( parent );
+            if ( ordinal != -1 )
+            {
+                // Inserted nodes might have been moved along with their children, so they are indexed again
+                for ( final Object child : e.getChildren () )
+                {
+                    indexNode ( ( N ) child, ordinal, true );
+                }
+
+                // Nodes filtered out right away are only available among raw children
+                indexChildren ( parent, ordinal, false );
+            }
+            else
+            {
+                indexAll ();
+            }
+            compactIfNeeded ();
+        }
+    }
+
+    @Override
+    public synchronized void treeNodesRemoved ( @NotNull final TreeModelEvent e )
+    {
+        if ( !model.isFiltering () )
+        {
+            // Removed nodes children are dropped lazily once they are found by search
+            for ( final Object child : e.getChildren () )
+            {
+                final N node = ( N ) child;
+                final int ordinal = indexOf ( node );
+                if ( ordinal != -1 && model.findNode ( node.getId () ) != node )
+                {
+                    remove ( ordinal );
+                }
+            }
+            compactIfNeeded ();
+        }
+    }
+
+    @Override
+    public synchronized void treeStructureChanged ( @NotNull final TreeModelEvent e )
+    {
+        if ( !model.isFiltering () )
+        {
+            final N node = e.getTreePath () != null ? ( N ) e.getTreePath ().getLastPathComponent () : null;
+            final int ordinal = node != null ? indexOf ( node ) : -1;
+            if ( ordinal != -1 )
+            {
+                updateText ( ordinal );
+                indexChildren ( node, ordinal, true );
+            }
+            else
+            {
+                indexAll ();
+            }
+            compactIfNeeded ();
+        }
+    }
+
+    /**
+     * Drops all indexed data and indexes all raw nodes of the model.
+     */
+    protected void indexAll ()
+    {
+        ordinals.clear ();
+        nodes = new Object[ 16 ];
+        texts = new String[ 16 ];
+        lowerTexts = new String[ 16 ];
+        parents = new int[ 16 ];
+        size = 0;
+        live = 0;
+        postings = new HashMap<Long, Postings> ();
+        postingsCount = 0;
+        stalePostingsCount = 0;
+        final N root = model.getRoot ();
+        if ( root != null )
+        {
+            indexNode ( root, -1, true );
+        }
+        modCount++;
+    }
+
+    /**
+     * Indexes raw children of the specified {@link UniqueNode}.
+     *
+     * @param parent  {@link UniqueNode} to index raw children for
+     * @param ordinal {@link UniqueNode} ordinal
+     * @param reindex whether should update already indexed children and their children or only index new ones
+     */
+    protected void indexChildren ( @NotNull final N parent, final int ordinal, final boolean reindex )
+    {
+        final List<N> children = model.findRawChildren ( parent );
+        if ( children != null )
+        {
+            for ( final N child : children )
+            {
+                indexNode ( child, ordinal, reindex );
+            }
+        }
+    }
+
+    /**
+     * Indexes specified {@link UniqueNode} if it is not indexed yet.
+     *
+     * @param node    {@link UniqueNode} to index
+     * @param parent  raw parent ordinal
+     * @param reindex whether should update {@link UniqueNode} and its children if it is already indexed
+     */
+    protected void indexNode ( @NotNull final N node, final int parent, final boolean reindex )
+    {
+        final Integer existing = ordinals.get ( node.getId () );
+        if ( existing == null || nodes[ existing ] != node )
+        {
+            // Replacing node with the same identifier
+            if ( existing != null )
+            {
+                remove ( existing );
+            }
+            indexChildren ( node, add ( node, parent ), true );
+        }
+        else
+        {
+            // Updating indexed node
+            parents[ existing ] = parent;
+            if ( reindex )
+            {
+                updateText ( existing );
+                indexChildren ( node, existing, true );
+            }
+        }
+    }
+
+    /**
+     * Returns ordinal of the specified {@link UniqueNode}, {@code -1} if it is not indexed.
+     *
+     * @param node {@link UniqueNode}
+     * @return ordinal of the specified {@link UniqueNode}, {@code -1} if it is not indexed
+     */
+    protected int indexOf ( @NotNull final N node )
+    {
+        final Integer ordinal = ordinals.get ( node.getId () );
+        return ordinal != null && nodes[ ordinal ] == node ? ordinal : -1;
+    }
+
+    /**
+     * Adds specified {@link UniqueNode} into index and returns its ordinal.
+     *
+     * @param node   {@link UniqueNode} to add
+     * @param parent raw parent ordinal
+     * @return {@link UniqueNode} ordinal
+     */
+    protected int add ( @NotNull final N node, final int parent )
+    {
+        if ( size == nodes.length )
+        {
+            final int capacity = size * 2;
+            nodes = Arrays.copyOf ( nodes, capacity );
+            texts = Arrays.copyOf ( texts, capacity );
+            lowerTexts = Arrays.copyOf ( lowerTexts, capacity );
+            parents = Arrays.copyOf ( parents, capacity );
+        }
+        final int ordinal = size++;
+        nodes[ ordinal ] = node;
+        parents[ ordinal ] = parent;
+        setText ( ordinal, getText ( node ) );
+        ordinals.put ( node.getId (), ordinal );
+        live++;
+        modCount++;
+        return ordinal;
+    }
+
+    /**
+     * Removes {@link UniqueNode} with the specified ordinal from index.
+     *
+     * @param ordinal {@link UniqueNode} ordinal
+     */
+    protected void remove ( final int ordinal )
+    {
+        final N node = ( N ) nodes[ ordinal ];
+        final Integer actual = ordinals.get ( node.getId () );
+        if ( actual != null && actual == ordinal )
+        {
+            ordinals.remove ( node.getId () );
+        }
+        stalePostingsCount += getGramsCount ( lowerTexts[ ordinal ] );
+        nodes[ ordinal ] = null;
+        texts[ ordinal ] = null;
+        lowerTexts[ ordinal ] = null;
+        live--;
+        modCount++;
+    }
+
+    /**
+     * Updates text of the {@link UniqueNode} with the specified ordinal.
+     *
+     * @param ordinal {@link UniqueNode} ordinal
+     */
+    protected void updateText ( final int ordinal )
+    {
+        final String text = getText ( ( N ) nodes[ ordinal ] );
+        if ( !text.equals ( texts[ ordinal ] ) )
+        {
+            stalePostingsCount += getGramsCount ( lowerTexts[ ordinal ] );
+            setText ( ordinal, text );
+            modCount++;
+        }
+    }
+
+    /**
+     * Returns text of the specified {@link UniqueNode}.
+     *
+     * @param node {@link UniqueNode}
+     * @return text of the specified {@link UniqueNode}
+     */
+    @NotNull
+    protected String getText ( @NotNull final N node )
+    {
+        final String text = textProvider.apply ( node );
+        return text != null ? text : "";
+    }
+
+    /**
+     * Sets text of the {@link UniqueNode} with the specified ordinal and adds its postings.
+     *
+     * @param ordinal {@link UniqueNode} ordinal
+     * @param text    {@link UniqueNode} text
+     */
+    protected void setText ( final int ordinal, @NotNull final String text )
+    {
+        final String lowerText = text.toLowerCase ( Locale.ROOT );
+        texts[ ordinal ] = text;
+        lowerTexts[ ordinal ] = lowerText.equals ( text ) ? text : lowerText;
+        addPostings ( ordinal, lowerText );
+    }
+
+    /**
+     * Adds postings of all character sequences in the specified text.
+     *
+     * @param ordinal   {@link UniqueNode} ordinal
+     * @param lowerText lower case {@link UniqueNode} text
+     */
+    protected void addPostings ( final int ordinal, @NotNull final String lowerText )
+    {
+        for ( int i = 0; i <= lowerText.length () - GRAM; i++ )
+        {
+            final Long gram = gram ( lowerText, i );
+            Postings gramPostings = postings.get ( gram );
+            if ( gramPostings == null )
+            {
+                gramPostings = new Postings ();
+                postings.put ( gram, gramPostings );
+            }
+            if ( gramPostings.add ( ordinal ) )
+            {
+                postingsCount++;
+            }
+        }
+    }
+
+    /**
+     * Compacts index if there are too many removed nodes or outdated postings.
+     * Ordinals are reassigned and postings are rebuilt from indexed texts, so this must not be called while any ordinals are in use.
+     */
+    protected void compactIfNeeded ()
+    {
+        if ( size - live > Math.max ( live, 1024 ) || stalePostingsCount > Math.max ( postingsCount / 2, 4096 ) )
+        {
+            final int[] remap = new int[ size ];
+            int count = 0;
+            for ( int ordinal = 0; ordinal < size; ordinal++ )
+            {
+                remap[ ordinal ] = nodes[ ordinal ] != null ? count++ : -1;
+            }
+            final Object[] oldNodes = nodes;
+            final String[] oldTexts = texts;
+            final String[] oldLowerTexts = lowerTexts;
+            final int[] oldParents = parents;
+            final int oldSize = size;
+            final int capacity = Math.max ( 16, count * 3 / 2 );
+            nodes = new Object[ capacity ];
+            texts = new String[ capacity ];
+            lowerTexts = new String[ capacity ];
+            parents = new int[ capacity ];
+            postings = new HashMap<Long, Postings> ();
+            postingsCount = 0;
+            stalePostingsCount = 0;
+            for ( int ordinal = 0; ordinal < oldSize; ordinal++ )
+            {
+                final int newOrdinal = remap[ ordinal ];
+                if ( newOrdinal != -1 )
+                {
+                    final int parent = oldParents[ ordinal ];
+                    nodes[ newOrdinal ] = oldNodes[ ordinal ];
+                    texts[ newOrdinal ] = oldTexts[ ordinal ];
+                    lowerTexts[ newOrdinal ] = oldLowerTexts[ ordinal ];
+                    parents[ newOrdinal ] = parent != -1 ? remap[ parent ] : -1;
+                    ordinals.put ( ( ( N ) oldNodes[ ordinal ] ).getId (), newOrdinal );
+                    addPostings ( newOrdinal, oldLowerTexts[ ordinal ] );
+                }
+            }
+            size = count;
+            modCount++;
+        }
+    }
+
+    /**
+     * Returns amount of character sequences in the specified text.
+     *
+     * @param lowerText lower case text
+     * @return amount of character sequences in the specified text
+     */
+    protected int getGramsCount ( @NotNull final String lowerText )
+    {
+        return Math.max ( 0, lowerText.length () - GRAM + 1 );
+    }
+
+    /**
+     * Returns key of the character sequence starting at the specified index.
+     *
+     * @param text  text
+     * @param index character sequence start index
+     * @return key of the character sequence starting at the specified index
+     */
+    @NotNull
+    protected Long gram ( @NotNull final String text, final int index )
+    {
+        return ( long ) text.charAt ( index ) << 32 | ( long ) text.charAt ( index + 1 ) << 16 | text.charAt ( index + 2 );
+    }
+
+    /**
+     * Ordinals of nodes containing single character sequence.
+     */
+    protected static final class Postings
+    {
+        /**
+         * Nodes ordinals.
+         */
+        private int[] ordinals = new int[ 4 ];
+
+        /**
+         * Amount of nodes ordinals.
+         */
+        private int size;
+
+        /**
+         * Adds specified ordinal unless it is already the last one.
+         *
+         * @param ordinal node ordinal
+         * @return {@code true} if ordinal was added, {@code false} otherwise
+         */
+        private boolean add ( final int ordinal )
+        {
+            final boolean add = size == 0 || ordinals[ size - 1 ] != ordinal;
+            if ( add )
+            {
+                if ( size == ordinals.length )
+                {
+                    ordinals = Arrays.copyOf ( ordinals, size * 2 );
+                }
+                ordinals[ size++ ] = ordinal;
+            }
+            return add;
+        }
+    }
+
+    /**
+     * Immutable result of the {@link TreeSearchIndex} search.
+     * It stays actual until index is changed.
+     */
+    public static final class Matches
+    {
+        /**
+         * {@link TreeSearchIndex} that provided these matches.
+         */
+        @NotNull
+        private final TreeSearchIndex index;
+
+        /**
+         * Ordinals of accepted nodes.
+         */
+        @NotNull
+        private final BitSet accepted;
+
+        /**
+         * {@link TreeSearchIndex} changes count these matches were found for.
+         */
+        private final int modCount;
+
+        /**
+         * Constructs new {@link Matches}.
+         *
+         * @param index    {@link TreeSearchIndex} that provided these matches
+         * @param accepted ordinals of accepted nodes
+         * @param modCount {@link TreeSearchIndex} changes count these matches were found for
+         */
+        private Matches ( @NotNull final TreeSearchIndex index, @NotNull final BitSet accepted, final int modCount )
+        {
+            this.index = index;
+            this.accepted = accepted;
+            this.modCount = modCount;
+        }
+
+        /**
+         * Returns {@link TreeSearchIndex} that provided these matches.
+         *
+         * @return {@link TreeSearchIndex} that provided these matches
+         */
+        @NotNull
+        public TreeSearchIndex getIndex ()
+        {
+            return index;
+        }
+
+        /**
+         * Returns whether or not these matches are still actual.
+         *
+         * @return {@code true} if these matches are still actual, {@code false} otherwise
+         */
+        public boolean isActual ()
+        {
+            return modCount == index.modCount;
+        }
+
+        /**
+         * Returns whether or not specified {@link UniqueNode} or any of its visible raw descendants matches search requests.
+         *
+         * @param node {@link UniqueNode} to check
+         * @return {@code true} if specified {@link UniqueNode} or any of its visible raw descendants matches search requests,
+         * {@code false} otherwise
+         */
+        public boolean accept ( @NotNull final UniqueNode node )
+        {
+            final Integer ordinal = ( Integer ) index.ordinals.get ( node.getId () );
+            return ordinal != null && accepted.get ( ordinal );
+        }
+    }
+}
@@ -419,14 +419,17 @@ public class WebAsyncTree<N extends AsyncUniqueNode> extends WebTree<N>
     }
 
     /**
-     * Sets maximum threads amount for this asynchronous tree.
+     * Sets maximum threads amount for all asynchronous trees.
      * Separate threads are used for children loading, data updates and other actions which should be performed asynchronously.
+     * These threads are shared between all asynchronous trees, see {@link AsyncTreeQueue}, so this affects all of them.
      *
      * @param amount new maximum threads amount
+     * @deprecated threads are shared between all asynchronous trees, use {@link AsyncTreeQueue#setThreadsNumber(int)} instead
      */
+    @Deprecated
     public void setMaximumThreadsAmount ( final int amount )
     {
-        AsyncTreeQueue.getInstance ( this ).setMaximumThreadsAmount ( amount );
+        AsyncTreeQueue.setThreadsNumber ( amount );
     }
 
     /**
@@ -78,11 +78,26 @@ public class WebTreeFilterField<N extends UniqueNode> extends WebTextField
      */
     protected PropertyChangeListener treeModelChangeListener;
 
+    /**
+     * Callback updating {@link JTree} nodes state once filtering results are applied.
+     */
+    protected Runnable filteringCallback;
+
     /**
      * Whether should automatically handle tree state on filter changes or not.
      */
     protected boolean defaultTreeStateBehavior;
 
+    /**
+     * Whether or not {@link TreeSearchIndex} should be used for filtering if {@link TreeModel} implements {@link IndexableNodes}.
+     */
+    protected boolean useSearchIndex;
+
+    /**
+     * {@link TreeSearchIndex} used by the filter.
+     */
+    protected TreeSearchIndex<N> searchIndex;
+
     /**
      * Last saved tree state.
      */
@@ -274,6 +289,16 @@ public class WebTreeFilterField<N extends UniqueNode> extends WebTextField
      */
     protected void initListeners ()
     {
+        // Updating tree nodes state after filtering
+        filteringCallback = new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                updateState ();
+            }
+        };
+
         // Updating filtering on text change
         onChange ( new DocumentEventRunnable<WebTextField> ()
         {
@@ -421,6 +446,9 @@ public class WebTreeFilterField<N extends UniqueNode> extends WebTextField
         // Updating tree filter if possible
         if ( tree != null )
         {
+            // Updating filter search index
+            installSearchIndex ();
+
             // Updating tree model filter
             getFilterableModel ().setFilter ( filter );
 
@@ -444,6 +472,34 @@ public class WebTreeFilterField<N extends UniqueNode> extends WebTextField
 
             // Cleaning up filter cache
             filter.clearCache ();
+
+            // Removing filter search index
+            uninstallSearchIndex ();
+        }
+    }
+
+    /**
+     * Installs {@link TreeSearchIndex} into the filter if it is enabled and {@link TreeModel} implements {@link IndexableNodes}.
+     */
+    protected void installSearchIndex ()
+    {
+        if ( useSearchIndex && model instanceof IndexableNodes && filter.getTextProvider () != null )
+        {
+            searchIndex = new TreeSearchIndex<N> ( ( IndexableNodes<N> ) model, filter.getTextProvider () );
+            filter.setSearchIndex ( searchIndex );
+        }
+    }
+
+    /**
+     * Uninstalls {@link TreeSearchIndex} from the filter.
+     */
+    protected void uninstallSearchIndex ()
+    {
+        if ( searchIndex != null )
+        {
+            filter.setSearchIndex ( null );
+            searchIndex.dispose ();
+            searchIndex = null;
         }
     }
 
@@ -470,6 +526,13 @@ public class WebTreeFilterField<N extends UniqueNode> extends WebTextField
         // Updating filter's text provider
         filter.setTextProvider ( textProvider );
 
+        // Rebuilding filter search index for the new text provider
+        if ( tree != null )
+        {
+            uninstallSearchIndex ();
+            installSearchIndex ();
+        }
+
         // Updating filtering
         updateFiltering ();
     }
@@ -494,6 +557,43 @@ public class WebTreeFilterField<N extends UniqueNode> extends WebTextField
         this.defaultTreeStateBehavior = defaultTreeStateBehavior;
     }
 
+    /**
+     * Returns whether or not {@link TreeSearchIndex} is used for filtering if {@link TreeModel} implements {@link IndexableNodes}.
+     *
+     * @return {@code true} if {@link TreeSearchIndex} is used for filtering, {@code false} otherwise
+     */
+    public boolean isUseSearchIndex ()
+    {
+        return useSearchIndex;
+    }
+
+    /**
+     * Sets whether or not {@link TreeSearchIndex} should be used for filtering if {@link TreeModel} implements {@link IndexableNodes}.
+     * Index is built once for the whole tree model and kept up to date with model changes, which makes filtering of large trees
+     * much faster at the cost of memory used to store nodes text.
+     *
+     * @param useSearchIndex whether or not {@link TreeSearchIndex} should be used for filtering
+     */
+    public void setUseSearchIndex ( final boolean useSearchIndex )
+    {
+        // Event Dispatch Thread check
+        WebLookAndFeel.checkEventDispatchThread ();
+
+        if ( this.useSearchIndex != useSearchIndex )
+        {
+            // Updating filter search index
+            this.useSearchIndex = useSearchIndex;
+            if ( tree != null )
+            {
+                uninstallSearchIndex ();
+                installSearchIndex ();
+            }
+
+            // Updating filtering
+            updateFiltering ();
+        }
+    }
+
     /**
      * Updates {@link JTree} filtering on all levels.
      */
@@ -512,9 +612,28 @@ public class WebTreeFilterField<N extends UniqueNode> extends WebTextField
             filter.clearCache ();
 
             // Updating tree filtering
-            getFilterableModel ().filter ();
+            final FilterableNodes<N> model = getFilterableModel ();
+            if ( model instanceof DeferredFilterableNodes )
+            {
+                // Updating tree nodes state once filtering results are applied
+                ( ( DeferredFilterableNodes<N> ) model ).filter ( filteringCallback );
+            }
+            else
+            {
+                // Updating tree nodes state right away
+                model.filter ();
+                updateState ();
+            }
+        }
+    }
 
-            // Updating tree nodes state after filtering
+    /**
+     * Updates {@link JTree} nodes state after filtering.
+     */
+    protected void updateState ()
+    {
+        if ( tree != null )
+        {
             if ( !isEmpty () )
             {
                 expandToFilteredNodes ();
@@ -171,7 +171,7 @@ public class WebPopupUI<C extends WebPopup> extends WPopupUI<C> implements Shape
     {
         if ( painter != null )
         {
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
@@ -82,6 +82,20 @@ public class WebLookAndFeel extends BasicLookAndFeel
      */
     public static final String PROPERTY_HONOR_USER_BORDERS = "WebLookAndFeel.honorUserBorders";
 
+    /**
+     * If this system property is set to {@code true}, paint timings of component painters will be recorded from application start.
+     *
+     * @see com.alee.painter.metrics.PaintMetrics
+     */
+    public static final String PROPERTY_PAINT_METRICS = "WebLookAndFeel.paintMetrics";
+
+    /**
+     * If this system property is set to {@code true}, parsed skins will be stored in and loaded from compiled binary skin cache.
+     *
+     * @see com.alee.managers.style.CompiledSkinCache
+     */
+    public static final String PROPERTY_SKIN_CACHE = "WebLookAndFeel.skinCache";
+
     /**
      * Common Swing component properties.
      */
@@ -172,7 +172,7 @@ public class WebToggleButtonUI<C extends JToggleButton> extends WToggleButtonUI<
     {
         if ( painter != null )
         {
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
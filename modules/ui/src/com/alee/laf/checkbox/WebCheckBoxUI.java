@@ -181,7 +181,7 @@ public class WebCheckBoxUI<C extends JCheckBox> extends WCheckBoxUI<C> implement
     {
         if ( painter != null )
         {
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
@@ -296,7 +296,7 @@ public class WebColorChooserUI extends WColorChooserUI implements ShapeSupport,
     {
         if ( painter != null )
         {
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
@@ -600,7 +600,7 @@ public class WebComboBoxUI extends WComboBoxUI implements ShapeSupport, MarginSu
         if ( painter != null )
         {
             painter.prepareToPaint ( currentValuePane );
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
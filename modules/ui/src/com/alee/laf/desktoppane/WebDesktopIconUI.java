@@ -171,7 +171,7 @@ public class WebDesktopIconUI<C extends JInternalFrame.JDesktopIcon> extends WDe
     {
         if ( painter != null )
         {
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
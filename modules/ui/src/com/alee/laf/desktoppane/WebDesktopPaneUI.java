@@ -170,7 +170,7 @@ public class WebDesktopPaneUI<C extends JDesktopPane> extends WDesktopPaneUI<C>
     {
         if ( painter != null )
         {
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
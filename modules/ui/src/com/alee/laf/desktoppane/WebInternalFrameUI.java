@@ -217,7 +217,7 @@ public class WebInternalFrameUI<C extends JInternalFrame> extends WInternalFrame
     {
         if ( painter != null )
         {
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
@@ -457,7 +457,7 @@ public class WebFileChooserUI extends WFileChooserUI implements ShapeSupport, Ma
     {
         if ( painter != null )
         {
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
@@ -169,7 +169,7 @@ public class WebLabelUI<C extends JLabel> extends WLabelUI<C> implements ShapeSu
     {
         if ( painter != null )
         {
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
@@ -0,0 +1,118 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.laf.list;
+
+import com.alee.api.jdk.Objects;
+
+import javax.swing.*;
+
+/**
+ * Mutable {@link ListCellParameters} reused by {@link WebListCellRenderer} for all cells in incremental mode.
+ * It is kept package-private so that {@link ListCellParameters} provided by any other means stay immutable.
+ *
+ * @param <V> cell value type
+ * @param <C> {@link JList} type
+ * @author Mikle Garin
+ */
+final class IncrementalListCellParameters<V, C extends JList> extends ListCellParameters<V, C>
+{
+    /**
+     * {@link JList} of the current cell.
+     */
+    private C currentList;
+
+    /**
+     * Current cell value.
+     */
+    private V currentValue;
+
+    /**
+     * Current cell index.
+     */
+    private int currentIndex;
+
+    /**
+     * Whether or not current cell is selected.
+     */
+    private boolean currentSelected;
+
+    /**
+     * Whether or not current cell has focus.
+     */
+    private boolean currentFocused;
+
+    /**
+     * Constructs new {@link IncrementalListCellParameters}.
+     *
+     * @param list {@link JList}
+     */
+    public IncrementalListCellParameters ( final C list )
+    {
+        super ( list, null, -1, false, false );
+        this.currentList = list;
+        this.currentIndex = -1;
+    }
+
+    /**
+     * Updates these {@link IncrementalListCellParameters} with predefined parameters of another cell.
+     *
+     * @param list     {@link JList}
+     * @param value    cell value
+     * @param index    cell index
+     * @param selected whether or not cell is selected
+     * @param focused  whether or not cell has focus
+     */
+    public void update ( final C list, final V value, final int index, final boolean selected, final boolean focused )
+    {
+        this.currentList = Objects.requireNonNull ( list, "List must not be null" );
+        this.currentValue = value;
+        this.currentIndex = index;
+        this.currentSelected = selected;
+        this.currentFocused = focused;
+    }
+
+    @Override
+    public C list ()
+    {
+        return currentList;
+    }
+
+    @Override
+    public V value ()
+    {
+        return currentValue;
+    }
+
+    @Override
+    public int index ()
+    {
+        return currentIndex;
+    }
+
+    @Override
+    public boolean isSelected ()
+    {
+        return currentSelected;
+    }
+
+    @Override
+    public boolean isFocused ()
+    {
+        return currentFocused;
+    }
+}
@@ -15,6 +15,7 @@ import com.alee.painter.decoration.IDecoration;
 import com.alee.painter.decoration.IDecorationPainter;
 import com.alee.utils.GeometryUtils;
 import com.alee.utils.ReflectUtils;
+import com.alee.utils.swing.RowSizeModel;
 
 import javax.swing.*;
 import javax.swing.event.ListSelectionEvent;
@@ -483,9 +484,25 @@ public class ListPainter<C extends JList, U extends WListUI, D extends IDecorati
         {
             return -1;
         }
+        final RowSizeModel sizeModel = getSizeModel ();
+        if ( sizeModel != null )
+        {
+            return sizeModel.getSize ( row );
+        }
         return cellHeights == null ? cellHeight : row < cellHeights.length ? cellHeights[ row ] : -1;
     }
 
+    /**
+     * Returns {@link RowSizeModel} used by the list UI for the current layout or {@code null} if cell heights array is used instead.
+     *
+     * @return {@link RowSizeModel} used by the list UI for the current layout or {@code null} if cell heights array is used instead
+     */
+    @Nullable
+    protected RowSizeModel getSizeModel ()
+    {
+        return layoutOrientation == JList.VERTICAL && cellHeights == null && cellHeight == -1 ? ui.getSizeModel () : null;
+    }
+
     /**
      * Returns the model index for the specified display location.
      * If {@code column} x {@code row} is beyond the length of the model, this will return the model size - 1.
@@ -587,7 +604,13 @@ public class ListPainter<C extends JList, U extends WListUI, D extends IDecorati
         }
 
         final Insets insets = component.getInsets ();
-        if ( cellHeights == null )
+        final RowSizeModel sizeModel = getSizeModel ();
+        if ( sizeModel != null )
+        {
+            final int row = sizeModel.getRowAt ( y0 - insets.top );
+            return row != -1 ? row : closest && y0 < insets.top ? 0 : size - 1;
+        }
+        else if ( cellHeights == null )
         {
             int row = cellHeight == 0 ? 0 : ( y0 - insets.top ) / cellHeight;
             if ( closest )
@@ -17,6 +17,9 @@
 
 package com.alee.laf.list;
 
+import com.alee.api.annotations.Nullable;
+import com.alee.utils.swing.RowSizeModel;
+
 import javax.swing.*;
 import javax.swing.plaf.basic.BasicListUI;
 
@@ -48,6 +51,33 @@ public abstract class WListUI extends BasicListUI
      */
     public abstract void setSelectionStyle ( ListSelectionStyle style );
 
+    /**
+     * Returns {@link RowSizeModel} used to keep cell heights, {@code null} if default cell heights array is used.
+     * By default UI doesn't support {@link RowSizeModel} and always returns {@code null}.
+     *
+     * @return {@link RowSizeModel} used to keep cell heights, {@code null} if default cell heights array is used
+     */
+    @Nullable
+    public RowSizeModel getSizeModel ()
+    {
+        return null;
+    }
+
+    /**
+     * Sets {@link RowSizeModel} that should be used to keep cell heights.
+     * Cell heights in {@link RowSizeModel} are measured lazily when cells are painted for the first time, so it is mostly useful
+     * for lists with large models that would otherwise be fully measured on every model change.
+     * It is only used for {@link JList#VERTICAL} layout orientation when fixed cell height is not specified.
+     *
+     * By default UI doesn't support {@link RowSizeModel} and ignores it.
+     *
+     * @param sizeModel {@link RowSizeModel}, {@code null} to use default cell heights array
+     */
+    public void setSizeModel ( @Nullable final RowSizeModel sizeModel )
+    {
+        // RowSizeModel is not supported by default
+    }
+
     /**
      * Forces list to update all elements layout.
      */
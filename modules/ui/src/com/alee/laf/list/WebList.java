@@ -37,6 +37,7 @@ import com.alee.painter.Painter;
 import com.alee.utils.CollectionUtils;
 import com.alee.utils.swing.HoverListener;
 import com.alee.utils.swing.MouseButton;
+import com.alee.utils.swing.RowSizeModel;
 import com.alee.utils.swing.extensions.*;
 
 import javax.swing.*;
@@ -544,6 +545,29 @@ public class WebList extends JList implements Styleable, Paintable, ShapeMethods
         getUI ().setSelectionStyle ( style );
     }
 
+    /**
+     * Returns {@link RowSizeModel} used to keep cell heights, {@code null} if default cell heights array is used.
+     *
+     * @return {@link RowSizeModel} used to keep cell heights, {@code null} if default cell heights array is used
+     */
+    public RowSizeModel getSizeModel ()
+    {
+        return getUI ().getSizeModel ();
+    }
+
+    /**
+     * Sets {@link RowSizeModel} that should be used to keep cell heights.
+     * Cell heights in {@link RowSizeModel} are measured lazily when cells are painted for the first time, so it is mostly useful
+     * for lists with large models that would otherwise be fully measured on every model change.
+     *
+     * @param sizeModel {@link RowSizeModel}, {@code null} to use default cell heights array
+     * @see com.alee.utils.swing.PrefixSumRowSizeModel
+     */
+    public void setSizeModel ( final RowSizeModel sizeModel )
+    {
+        getUI ().setSizeModel ( sizeModel );
+    }
+
     /**
      * Returns whether or not cells should be selected on hover.
      *
@@ -27,6 +27,7 @@ import com.alee.managers.style.StyleId;
 import com.alee.painter.decoration.AbstractDecorationPainter;
 import com.alee.painter.decoration.DecorationState;
 import com.alee.painter.decoration.DecorationUtils;
+import com.alee.painter.decoration.RendererStates;
 import com.alee.painter.decoration.Stateful;
 
 import javax.swing.*;
@@ -56,6 +57,24 @@ public class WebListCellRenderer<V, C extends JList, P extends ListCellParameter
      */
     protected final List<String> states;
 
+    /**
+     * Renderer states applied for the previous cell.
+     * It is used to skip decoration states update in incremental mode and to reuse child {@link StyleId}s.
+     */
+    protected final RendererStates rendererStates;
+
+    /**
+     * Whether or not renderer works in incremental mode.
+     * In this mode renderer reuses single {@link ListCellParameters} instance for all cells and only updates decoration states
+     * whenever custom states, enabled state, orientation or {@link StyleId} differ from the ones used for the previous cell.
+     */
+    protected boolean incremental;
+
+    /**
+     * {@link ListCellParameters} reused for all cells in incremental mode.
+     */
+    private transient IncrementalListCellParameters<V, C> reusableParameters;
+
     /**
      * Constructs new {@link WebListCellRenderer}.
      */
@@ -64,6 +83,32 @@ public class WebListCellRenderer<V, C extends JList, P extends ListCellParameter
         super ();
         setName ( "List.cellRenderer" );
         states = new ArrayList<String> ( 3 );
+        rendererStates = new RendererStates ();
+        incremental = false;
+    }
+
+    /**
+     * Returns whether or not renderer works in incremental mode.
+     *
+     * @return {@code true} if renderer works in incremental mode, {@code false} otherwise
+     */
+    public boolean isIncremental ()
+    {
+        return incremental;
+    }
+
+    /**
+     * Sets whether or not renderer should work in incremental mode.
+     * Note that in incremental mode {@link ListCellParameters} provided into renderer methods and bridges are reused for all cells,
+     * so they must never be saved for later use.
+     *
+     * @param incremental whether or not renderer should work in incremental mode
+     */
+    public void setIncremental ( final boolean incremental )
+    {
+        this.incremental = incremental;
+        this.reusableParameters = null;
+        this.rendererStates.reset ();
     }
 
     @Nullable
@@ -103,7 +148,11 @@ public class WebListCellRenderer<V, C extends JList, P extends ListCellParameter
         }
 
         // Extra states provided by value
-        states.addAll ( DecorationUtils.getExtraStates ( parameters.value () ) );
+        final List<String> extraStates = DecorationUtils.getExtraStates ( parameters.value () );
+        if ( !extraStates.isEmpty () )
+        {
+            states.addAll ( extraStates );
+        }
     }
 
     /**
@@ -120,7 +169,7 @@ public class WebListCellRenderer<V, C extends JList, P extends ListCellParameter
             final ChildStyleId childStyleId = childStyleIdBridge.getChildStyleId ( parameters );
             if ( childStyleId != null )
             {
-                id = childStyleId.at ( parameters.list () );
+                id = rendererStates.at ( childStyleId, parameters.list () );
             }
         }
         else if ( parameters.value () instanceof StyleIdBridge )
@@ -134,8 +183,8 @@ public class WebListCellRenderer<V, C extends JList, P extends ListCellParameter
         }
         if ( id == null )
         {
-            id = getIcon () != null ? StyleId.listIconCellRenderer.at ( parameters.list () ) :
-                    StyleId.listTextCellRenderer.at ( parameters.list () );
+            id = rendererStates.at ( getIcon () != null ? StyleId.listIconCellRenderer : StyleId.listTextCellRenderer,
+                    parameters.list () );
         }
         setStyleId ( id );
     }
@@ -306,7 +355,11 @@ public class WebListCellRenderer<V, C extends JList, P extends ListCellParameter
         updateView ( parameters );
 
         // Updating decoration states for this render cycle
-        DecorationUtils.fireStatesChanged ( this );
+        // In incremental mode they are only updated if renderer states have changed since the previous cell
+        if ( !isIncremental () || rendererStates.update ( this, states ) )
+        {
+            DecorationUtils.fireStatesChanged ( this );
+        }
 
         return this;
     }
@@ -324,7 +377,21 @@ public class WebListCellRenderer<V, C extends JList, P extends ListCellParameter
     protected P getRenderingParameters ( final C list, final V value, final int index,
                                          final boolean isSelected, final boolean hasFocus )
     {
-        return ( P ) new ListCellParameters<V, C> ( list, value, index, isSelected, hasFocus );
+        final P parameters;
+        if ( isIncremental () )
+        {
+            if ( reusableParameters == null )
+            {
+                reusableParameters = new IncrementalListCellParameters<V, C> ( list );
+            }
+            reusableParameters.update ( list, value, index, isSelected, hasFocus );
+            parameters = ( P ) reusableParameters;
+        }
+        else
+        {
+            parameters = ( P ) new ListCellParameters<V, C> ( list, value, index, isSelected, hasFocus );
+        }
+        return parameters;
     }
 
     @Override
@@ -20,16 +20,22 @@ package com.alee.laf.list;
 import com.alee.api.annotations.NotNull;
 import com.alee.api.annotations.Nullable;
 import com.alee.api.jdk.Consumer;
+import com.alee.laf.WebLookAndFeel;
 import com.alee.laf.list.behavior.ListItemHoverBehavior;
 import com.alee.managers.style.*;
 import com.alee.painter.DefaultPainter;
 import com.alee.painter.Painter;
 import com.alee.painter.PainterSupport;
 import com.alee.utils.ReflectUtils;
+import com.alee.utils.swing.RowSizeModel;
 
 import javax.swing.*;
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
 import javax.swing.plaf.ComponentUI;
 import java.awt.*;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
 
 /**
  * Custom UI for {@link JList} component.
@@ -55,10 +61,17 @@ public class WebListUI extends WListUI implements ShapeSupport, MarginSupport, P
     @DefaultPainter ( ListPainter.class )
     protected IListPainter painter;
 
+    /**
+     * {@link RowSizeModel} used to keep cell heights, {@code null} if default cell heights array should be used.
+     * It is only used for {@link JList#VERTICAL} layout orientation when fixed cell height is not specified.
+     */
+    protected transient RowSizeModel sizeModel;
+
     /**
      * Listeners.
      */
     protected transient ListItemHoverBehavior hoverCellTracker;
+    protected transient SizeModelUpdater sizeModelUpdater;
 
     /**
      * Runtime variables.
@@ -139,6 +152,11 @@ public class WebListUI extends WListUI implements ShapeSupport, MarginSupport, P
         };
         hoverCellTracker.install ();
 
+        // Size model updater
+        sizeModelUpdater = new SizeModelUpdater ();
+        list.addPropertyChangeListener ( WebLookAndFeel.MODEL_PROPERTY, sizeModelUpdater );
+        list.getModel ().addListDataListener ( sizeModelUpdater );
+
         // Applying skin
         StyleManager.installSkin ( list );
     }
@@ -150,6 +168,9 @@ public class WebListUI extends WListUI implements ShapeSupport, MarginSupport, P
         StyleManager.uninstallSkin ( list );
 
         // Removing custom listeners
+        list.getModel ().removeListDataListener ( sizeModelUpdater );
+        list.removePropertyChangeListener ( WebLookAndFeel.MODEL_PROPERTY, sizeModelUpdater );
+        sizeModelUpdater = null;
         hoverCellTracker.uninstall ();
         hoverCellTracker = null;
 
@@ -248,13 +269,259 @@ public class WebListUI extends WListUI implements ShapeSupport, MarginSupport, P
         this.selectionStyle = style;
     }
 
+    @Nullable
+    @Override
+    public RowSizeModel getSizeModel ()
+    {
+        return sizeModel;
+    }
+
+    @Override
+    public void setSizeModel ( @Nullable final RowSizeModel sizeModel )
+    {
+        this.sizeModel = sizeModel;
+        sizeModelUpdater.outdated = true;
+        updateLayoutStateNeeded = modelChanged;
+        redrawList ();
+    }
+
+    /**
+     * Returns whether or not {@link #sizeModel} is used for the current list layout.
+     *
+     * @return {@code true} if {@link #sizeModel} is used for the current list layout, {@code false} otherwise
+     */
+    protected boolean isSizeModelUsed ()
+    {
+        return sizeModel != null && list.getLayoutOrientation () == JList.VERTICAL && list.getFixedCellHeight () == -1;
+    }
+
     @Override
     public void updateListLayout ()
     {
+        sizeModelUpdater.outdated = true;
         updateLayoutStateNeeded = modelChanged;
         redrawList ();
     }
 
+    @Override
+    protected void updateLayoutState ()
+    {
+        if ( isSizeModelUsed () )
+        {
+            final int size = list.getModel ().getSize ();
+            if ( sizeModelUpdater.outdated || updateLayoutStateNeeded != modelChanged || sizeModel.getRowCount () != size )
+            {
+                // Resetting all cell heights
+                // Only first few cells are measured, their average height is used as estimated height for other cells
+                final int fixedCellWidth = list.getFixedCellWidth ();
+                final int measured = Math.min ( size, Math.max ( 1, list.getVisibleRowCount () ) );
+                final int[] heights = new int[ measured ];
+                int totalHeight = 0;
+                cellWidth = fixedCellWidth != -1 ? fixedCellWidth : 0;
+                for ( int index = 0; index < measured; index++ )
+                {
+                    final Dimension cellSize = getCellRendererSize ( index );
+                    heights[ index ] = cellSize.height;
+                    totalHeight += cellSize.height;
+                    if ( fixedCellWidth == -1 )
+                    {
+                        cellWidth = Math.max ( cellWidth, cellSize.width );
+                    }
+                }
+                sizeModel.reset ( size, measured > 0 ? Math.round ( ( float ) totalHeight / measured ) : 0 );
+                for ( int index = 0; index < measured; index++ )
+                {
+                    sizeModel.setSize ( index, heights[ index ] );
+                }
+            }
+            sizeModelUpdater.outdated = false;
+            cellHeight = -1;
+            cellHeights = null;
+        }
+        else
+        {
+            super.updateLayoutState ();
+        }
+    }
+
+    /**
+     * Measures cells within the specified area that weren't measured yet.
+     * This is only used when {@link #sizeModel} is used for the current list layout.
+     *
+     * @param area list area
+     */
+    protected void measureCells ( final Rectangle area )
+    {
+        final int size = list.getModel ().getSize ();
+        if ( size > 0 )
+        {
+            final Insets insets = list.getInsets ();
+            final int fixedCellWidth = list.getFixedCellWidth ();
+            boolean changed = false;
+
+            // Measuring cells until all cells within the area are measured
+            // Measured heights might differ from estimated ones, so more or less cells might end up in the area afterwards
+            int index = getSizeModelRow ( area.y, true );
+            while ( index < size && insets.top + sizeModel.getOffset ( index ) < area.y + area.height )
+            {
+                if ( !sizeModel.isMeasured ( index ) )
+                {
+                    final Dimension cellSize = getCellRendererSize ( index );
+                    if ( sizeModel.getSize ( index ) != cellSize.height )
+                    {
+                        changed = true;
+                    }
+                    sizeModel.setSize ( index, cellSize.height );
+                    if ( fixedCellWidth == -1 && cellSize.width > cellWidth )
+                    {
+                        cellWidth = cellSize.width;
+                        changed = true;
+                    }
+                }
+                index++;
+            }
+
+            // Updating list size
+            if ( changed )
+            {
+                list.revalidate ();
+            }
+        }
+    }
+
+    /**
+     * Returns preferred size of the renderer component for the specified cell.
+     *
+     * @param index cell index
+     * @return preferred size of the renderer component for the specified cell
+     */
+    protected Dimension getCellRendererSize ( final int index )
+    {
+        final Dimension size;
+        final ListCellRenderer renderer = list.getCellRenderer ();
+        if ( renderer != null )
+        {
+            final Object value = list.getModel ().getElementAt ( index );
+            final Component c = renderer.getListCellRendererComponent ( list, value, index, false, false );
+            rendererPane.add ( c );
+            size = c.getPreferredSize ();
+        }
+        else
+        {
+            size = new Dimension ( 0, 0 );
+        }
+        return size;
+    }
+
+    /**
+     * Returns row at the specified Y coordinate according to {@link #sizeModel}.
+     *
+     * @param y       Y coordinate
+     * @param closest whether or not closest row should be returned if there is no row at the specified Y coordinate
+     * @return row at the specified Y coordinate according to {@link #sizeModel}
+     */
+    protected int getSizeModelRow ( final int y, final boolean closest )
+    {
+        final int size = list.getModel ().getSize ();
+        final int row;
+        if ( size > 0 )
+        {
+            final int top = list.getInsets ().top;
+            final int modelRow = sizeModel.getRowAt ( y - top );
+            if ( modelRow != -1 )
+            {
+                row = modelRow;
+            }
+            else
+            {
+                row = closest && y < top ? 0 : size - 1;
+            }
+        }
+        else
+        {
+            row = -1;
+        }
+        return row;
+    }
+
+    /**
+     * Returns bounds of the specified cell according to {@link #sizeModel}.
+     *
+     * @param index cell index
+     * @return bounds of the specified cell according to {@link #sizeModel}
+     */
+    protected Rectangle getSizeModelCellBounds ( final int index )
+    {
+        final Rectangle bounds;
+        if ( index >= 0 && index < list.getModel ().getSize () )
+        {
+            final Insets insets = list.getInsets ();
+            bounds = new Rectangle ( insets.left, insets.top + sizeModel.getOffset ( index ),
+                    list.getWidth () - ( insets.left + insets.right ), sizeModel.getSize ( index ) );
+        }
+        else
+        {
+            bounds = null;
+        }
+        return bounds;
+    }
+
+    @Override
+    public int locationToIndex ( final JList list, final Point location )
+    {
+        maybeUpdateLayoutState ();
+        return isSizeModelUsed () ? getSizeModelRow ( location.y, true ) : super.locationToIndex ( list, location );
+    }
+
+    @Override
+    public Rectangle getCellBounds ( final JList list, final int index1, final int index2 )
+    {
+        maybeUpdateLayoutState ();
+        final Rectangle bounds;
+        if ( isSizeModelUsed () )
+        {
+            final int minIndex = Math.min ( index1, index2 );
+            final int maxIndex = Math.max ( index1, index2 );
+            bounds = getSizeModelCellBounds ( minIndex );
+            if ( bounds != null && minIndex != maxIndex )
+            {
+                final Rectangle maxBounds = getSizeModelCellBounds ( maxIndex );
+                if ( maxBounds != null )
+                {
+                    bounds.add ( maxBounds );
+                }
+            }
+        }
+        else
+        {
+            bounds = super.getCellBounds ( list, index1, index2 );
+        }
+        return bounds;
+    }
+
+    @Override
+    protected int getRowHeight ( final int row )
+    {
+        maybeUpdateLayoutState ();
+        final int height;
+        if ( isSizeModelUsed () )
+        {
+            height = row >= 0 && row < list.getModel ().getSize () ? sizeModel.getSize ( row ) : -1;
+        }
+        else
+        {
+            height = super.getRowHeight ( row );
+        }
+        return height;
+    }
+
+    @Override
+    protected int convertYToRow ( final int y0 )
+    {
+        maybeUpdateLayoutState ();
+        return isSizeModelUsed () ? getSizeModelRow ( y0, false ) : super.convertYToRow ( y0 );
+    }
+
     @Override
     public CellRendererPane getCellRendererPane ()
     {
@@ -275,12 +542,19 @@ public class WebListUI extends WListUI implements ShapeSupport, MarginSupport, P
             // Invalidating list layout
             validateListLayout ();
 
+            // Measuring painted cells
+            if ( isSizeModelUsed () )
+            {
+                final Rectangle clip = g.getClipBounds ();
+                measureCells ( clip != null ? clip : list.getVisibleRect () );
+            }
+
             // Preparing list painter
             painter.prepareToPaint ( getLayoutOrientation (), getListHeight (), getListWidth (), getColumnCount (), getRowsPerColumn (),
                     getPreferredHeight (), cellWidth, cellHeight, cellHeights );
 
             // Painting list
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
@@ -417,6 +691,101 @@ public class WebListUI extends WListUI implements ShapeSupport, MarginSupport, P
     @Override
     public Dimension getPreferredSize ( final JComponent c )
     {
-        return PainterSupport.getPreferredSize ( c, super.getPreferredSize ( c ), painter );
+        maybeUpdateLayoutState ();
+        final Dimension ps;
+        if ( isSizeModelUsed () )
+        {
+            final Insets insets = list.getInsets ();
+            ps = list.getModel ().getSize () > 0 ?
+                    new Dimension ( cellWidth + insets.left + insets.right, insets.top + sizeModel.getTotalSize () + insets.bottom ) :
+                    new Dimension ( 0, 0 );
+        }
+        else
+        {
+            ps = super.getPreferredSize ( c );
+        }
+        return PainterSupport.getPreferredSize ( c, ps, painter );
+    }
+
+    /**
+     * Listener updating {@link #sizeModel} according to {@link ListModel} changes.
+     * Changes are applied to {@link #sizeModel} right away, so only changed cells need to be measured again afterwards.
+     */
+    protected class SizeModelUpdater implements ListDataListener, PropertyChangeListener
+    {
+        /**
+         * Whether or not {@link #sizeModel} is outdated and has to be reset on the next layout update.
+         */
+        protected boolean outdated = true;
+
+        @Override
+        public void intervalAdded ( final ListDataEvent e )
+        {
+            if ( isSizeModelUsed () )
+            {
+                final int index = Math.min ( e.getIndex0 (), e.getIndex1 () );
+                final int count = Math.abs ( e.getIndex1 () - e.getIndex0 () ) + 1;
+                if ( index >= 0 && index <= sizeModel.getRowCount () )
+                {
+                    sizeModel.insert ( index, count );
+                }
+                else
+                {
+                    outdated = true;
+                }
+            }
+        }
+
+        @Override
+        public void intervalRemoved ( final ListDataEvent e )
+        {
+            if ( isSizeModelUsed () )
+            {
+                final int index = Math.min ( e.getIndex0 (), e.getIndex1 () );
+                final int count = Math.abs ( e.getIndex1 () - e.getIndex0 () ) + 1;
+                if ( index >= 0 && index + count <= sizeModel.getRowCount () )
+                {
+                    sizeModel.remove ( index, count );
+                }
+                else
+                {
+                    outdated = true;
+                }
+            }
+        }
+
+        @Override
+        public void contentsChanged ( final ListDataEvent e )
+        {
+            if ( isSizeModelUsed () )
+            {
+                final int index0 = Math.min ( e.getIndex0 (), e.getIndex1 () );
+                final int index1 = Math.max ( e.getIndex0 (), e.getIndex1 () );
+                if ( index0 >= 0 && index1 < sizeModel.getRowCount () )
+                {
+                    sizeModel.invalidate ( index0, index1 );
+                }
+                else
+                {
+                    outdated = true;
+                }
+            }
+        }
+
+        @Override
+        public void propertyChange ( final PropertyChangeEvent e )
+        {
+            final ListModel oldModel = ( ListModel ) e.getOldValue ();
+            if ( oldModel != null )
+            {
+                oldModel.removeListDataListener ( this );
+            }
+            final ListModel newModel = ( ListModel ) e.getNewValue ();
+            if ( newModel != null )
+            {
+                newModel.addListDataListener ( this );
+            }
+            outdated = true;
+        }
     }
 }
\ No newline at end of file
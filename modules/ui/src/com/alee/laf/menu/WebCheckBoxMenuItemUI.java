@@ -170,7 +170,7 @@ public class WebCheckBoxMenuItemUI extends BasicCheckBoxMenuItemUI implements Sh
     {
         if ( painter != null )
         {
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
@@ -171,7 +171,7 @@ public class WebMenuItemUI extends BasicMenuItemUI implements ShapeSupport, Marg
     {
         if ( painter != null )
         {
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
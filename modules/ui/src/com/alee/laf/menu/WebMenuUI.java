@@ -169,7 +169,7 @@ public class WebMenuUI extends BasicMenuUI implements ShapeSupport, MarginSuppor
     {
         if ( painter != null )
         {
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
@@ -243,7 +243,7 @@ public class WebPopupMenuUI extends WPopupMenuUI implements ShapeSupport, Margin
     {
         if ( painter != null )
         {
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
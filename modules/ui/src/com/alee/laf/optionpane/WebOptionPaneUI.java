@@ -631,7 +631,7 @@ public class WebOptionPaneUI extends BasicOptionPaneUI implements ShapeSupport,
     {
         if ( painter != null )
         {
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
@@ -171,7 +171,7 @@ public class WebPanelUI<C extends JPanel> extends WPanelUI<C> implements ShapeSu
     {
         if ( painter != null )
         {
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
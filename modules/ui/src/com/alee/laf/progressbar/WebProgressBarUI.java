@@ -210,7 +210,7 @@ public class WebProgressBarUI<C extends JProgressBar> extends WProgressBarUI<C>
     {
         if ( painter != null )
         {
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
@@ -177,7 +177,7 @@ public class WebRadioButtonUI<C extends JRadioButton> extends WRadioButtonUI<C>
     {
         if ( painter != null )
         {
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
@@ -278,7 +278,7 @@ public class WebScrollBarUI extends WScrollBarUI implements ShapeSupport, Margin
             painter.setDragged ( isDragging );
             painter.setTrackBounds ( trackRect );
             painter.setThumbBounds ( thumbRect );
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
@@ -638,7 +638,7 @@ public class WebScrollPaneUI extends BasicScrollPaneUI implements ShapeSupport,
     {
         if ( painter != null )
         {
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
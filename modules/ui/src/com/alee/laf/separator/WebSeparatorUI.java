@@ -171,7 +171,7 @@ public class WebSeparatorUI<C extends JSeparator> extends WSeparatorUI<C> implem
     {
         if ( painter != null )
         {
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
@@ -172,7 +172,7 @@ public class WebSliderUI extends BasicSliderUI implements ShapeSupport, MarginSu
         if ( painter != null )
         {
             painter.setDragging ( isDragging () );
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
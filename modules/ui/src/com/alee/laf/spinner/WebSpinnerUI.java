@@ -228,7 +228,7 @@ public class WebSpinnerUI extends BasicSpinnerUI implements ShapeSupport, Margin
     {
         if ( painter != null )
         {
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
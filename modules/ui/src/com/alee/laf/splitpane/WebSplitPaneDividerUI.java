@@ -172,7 +172,7 @@ public class WebSplitPaneDividerUI<C extends WebSplitPaneDivider> extends WSplit
     {
         if ( painter != null )
         {
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
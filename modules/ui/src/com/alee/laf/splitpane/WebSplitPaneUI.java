@@ -175,7 +175,7 @@ public class WebSplitPaneUI<C extends JSplitPane> extends WSplitPaneUI<C> implem
             super.paint ( g, c );
 
             // Painting split pane
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
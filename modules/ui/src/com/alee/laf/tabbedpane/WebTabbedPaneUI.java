@@ -160,7 +160,7 @@ public class WebTabbedPaneUI<C extends JTabbedPane> extends WTabbedPaneUI<C> imp
     {
         if ( painter != null )
         {
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
@@ -22,26 +22,55 @@ import com.alee.api.jdk.Objects;
 import com.alee.extended.behavior.AbstractComponentBehavior;
 import com.alee.extended.behavior.Behavior;
 import com.alee.laf.WebLookAndFeel;
-import com.alee.utils.CoreSwingUtils;
+import com.alee.utils.SwingUtils;
 
 import javax.swing.*;
-import javax.swing.event.TableModelEvent;
-import javax.swing.event.TableModelListener;
+import javax.swing.event.*;
 import javax.swing.table.TableCellRenderer;
+import javax.swing.table.TableColumn;
+import javax.swing.table.TableColumnModel;
 import javax.swing.table.TableModel;
 import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
 
 /**
  * {@link Behavior} that adjusts {@link JTable} row height on the fly according to data from {@link TableModel}.
  * Note that this behavior will not cover all possible cell sizes as it will only use a small chunk of {@link TableModel} data to test
  * {@link TableCellRenderer} preferred size, otherwise we are risking to hit various issues with {@link TableModel}s of large size.
  *
+ * Measured heights are cached per {@link TableModel} row, so only rows affected by {@link TableModelEvent}s are measured again.
+ * Each row is measured across all columns, so cached heights stay valid whenever {@link JTable} is scrolled or its columns are moved.
+ * All cached heights are reset whenever columns are added or removed, {@link TableColumnModel}, font or any column
+ * {@link TableCellRenderer} is changed. Use {@link #invalidateRowHeights()} for any other changes affecting renderers.
+ * Bursts of {@link TableModelEvent}s are coalesced into a single update performed at most once per frame.
+ * Table row height is the maximum of the initial row height and all cached row heights.
+ *
+ * By default only visible rows are measured, but it is also possible to enable off-screen rows measurement.
+ * Off-screen rows are measured in small time-limited chunks on the Event Dispatch Thread since {@link TableCellRenderer}s
+ * can only be used there, so even huge {@link TableModel}s do not block it for a long time.
+ *
  * @author Mikle Garin
  */
-public class TableRowHeightOptimizer extends AbstractComponentBehavior<JTable> implements PropertyChangeListener, TableModelListener
+public class TableRowHeightOptimizer extends AbstractComponentBehavior<JTable>
+        implements PropertyChangeListener, TableModelListener, TableColumnModelListener
 {
+    /**
+     * Cached height of the row that wasn't measured yet.
+     */
+    protected static final int UNKNOWN = -1;
+
+    /**
+     * Maximum time in nanoseconds spent on off-screen rows measurement within single update.
+     */
+    protected static final long OFFSCREEN_TIME_LIMIT = 8000000L;
+
     /**
      * Initial row height of the {@link JTable}.
      * It is saved whenever {@link JTable#setRowHeight(int)} is called.
@@ -54,6 +83,43 @@ public class TableRowHeightOptimizer extends AbstractComponentBehavior<JTable> i
      */
     protected boolean adjusting;
 
+    /**
+     * Whether or not off-screen rows should be measured as well.
+     */
+    protected boolean offscreenMeasurement;
+
+    /**
+     * Cached row heights, one per {@link TableModel} row.
+     * Rows that weren't measured yet have {@link #UNKNOWN} height.
+     */
+    protected transient int[] heights;
+
+    /**
+     * Amount of {@link TableModel} rows in {@link #heights} cache.
+     */
+    protected transient int size;
+
+    /**
+     * Amounts of rows with each cached height.
+     * It is used to find maximum cached height without iterating through all rows.
+     */
+    protected transient TreeMap<Integer, Integer> heightCounts;
+
+    /**
+     * Index of the first {@link TableModel} row that might not have been measured yet by off-screen rows measurement.
+     */
+    protected transient int offscreenIndex;
+
+    /**
+     * {@link TableColumn}s this {@link TableRowHeightOptimizer} listens to for {@link TableCellRenderer} changes.
+     */
+    protected transient List<TableColumn> columns;
+
+    /**
+     * {@link Timer} performing coalesced row height updates.
+     */
+    protected transient Timer updater;
+
     /**
      * Constructs new {@link TableRowHeightOptimizer}.
      *
@@ -70,11 +136,28 @@ public class TableRowHeightOptimizer extends AbstractComponentBehavior<JTable> i
     public void install ()
     {
         initialRowHeight = component.getRowHeight ();
+        heightCounts = new TreeMap<Integer, Integer> ();
+        updater = new Timer ( ( int ) SwingUtils.frameRateDelay ( 60 ), new ActionListener ()
+        {
+            @Override
+            public void actionPerformed ( final ActionEvent e )
+            {
+                optimizeRowHeight ();
+            }
+        } );
+        updater.setRepeats ( false );
+        resetHeights ();
         optimizeRowHeight ();
         if ( component.getModel () != null )
         {
             component.getModel ().addTableModelListener ( this );
         }
+        if ( component.getColumnModel () != null )
+        {
+            component.getColumnModel ().addColumnModelListener ( this );
+        }
+        columns = new ArrayList<TableColumn> ();
+        updateColumnListeners ();
         component.addPropertyChangeListener ( this );
     }
 
@@ -84,19 +167,90 @@ public class TableRowHeightOptimizer extends AbstractComponentBehavior<JTable> i
     public void uninstall ()
     {
         component.removePropertyChangeListener ( this );
+        for ( final TableColumn column : columns )
+        {
+            column.removePropertyChangeListener ( this );
+        }
+        columns = null;
+        if ( component.getColumnModel () != null )
+        {
+            component.getColumnModel ().removeColumnModelListener ( this );
+        }
         if ( component.getModel () != null )
         {
             component.getModel ().removeTableModelListener ( this );
         }
+        updater.stop ();
+        updater = null;
+        heights = null;
+        heightCounts = null;
+        size = 0;
         restoreRowHeight ();
         initialRowHeight = 0;
     }
 
+    /**
+     * Returns whether or not off-screen rows are measured as well.
+     *
+     * @return {@code true} if off-screen rows are measured as well, {@code false} otherwise
+     */
+    public boolean isOffscreenMeasurement ()
+    {
+        return offscreenMeasurement;
+    }
+
+    /**
+     * Sets whether or not off-screen rows should be measured as well.
+     *
+     * @param offscreenMeasurement whether or not off-screen rows should be measured as well
+     */
+    public void setOffscreenMeasurement ( final boolean offscreenMeasurement )
+    {
+        this.offscreenMeasurement = offscreenMeasurement;
+        if ( offscreenMeasurement && updater != null )
+        {
+            scheduleUpdate ();
+        }
+    }
+
+    /**
+     * Returns cached height of the specified {@link TableModel} row or {@code -1} if it wasn't measured yet.
+     *
+     * @param modelRow {@link TableModel} row index
+     * @return cached height of the specified {@link TableModel} row or {@code -1} if it wasn't measured yet
+     */
+    public int getCachedRowHeight ( final int modelRow )
+    {
+        return heights != null && modelRow >= 0 && modelRow < size ? heights[ modelRow ] : UNKNOWN;
+    }
+
+    /**
+     * Resets all cached row heights and schedules row height update.
+     * This should be called whenever {@link TableCellRenderer}s preferred sizes change in a way that cannot be tracked,
+     * for instance when {@link JTable#setDefaultRenderer(Class, TableCellRenderer)} is used.
+     */
+    public void invalidateRowHeights ()
+    {
+        if ( updater != null )
+        {
+            resetHeights ();
+            scheduleUpdate ();
+        }
+    }
+
     @Override
     public void propertyChange ( @NotNull final PropertyChangeEvent event )
     {
         final String propertyName = event.getPropertyName ();
-        if ( Objects.equals ( propertyName, WebLookAndFeel.MODEL_PROPERTY ) )
+        if ( event.getSource () instanceof TableColumn )
+        {
+            // Measure rows with new column renderer
+            if ( Objects.equals ( propertyName, TableColumn.CELL_RENDERER_PROPERTY ) )
+            {
+                invalidateRowHeights ();
+            }
+        }
+        else if ( Objects.equals ( propertyName, WebLookAndFeel.MODEL_PROPERTY ) )
         {
             // Move table model listener to new model
             final TableModel oldModel = ( TableModel ) event.getOldValue ();
@@ -109,6 +263,10 @@ public class TableRowHeightOptimizer extends AbstractComponentBehavior<JTable> i
             {
                 newModel.addTableModelListener ( this );
             }
+
+            // Measure new model rows
+            resetHeights ();
+            scheduleUpdate ();
         }
         else if ( Objects.equals ( propertyName, WebTable.ROW_HEIGHT_PROPERTY ) && !adjusting )
         {
@@ -116,25 +274,127 @@ public class TableRowHeightOptimizer extends AbstractComponentBehavior<JTable> i
             initialRowHeight = component.getRowHeight ();
 
             // Overwrite row height
+            resetHeights ();
             optimizeRowHeight ();
         }
+        else if ( Objects.equals ( propertyName, WebTable.COLUMN_MODEL_PROPERTY ) )
+        {
+            // Move column model listener to new model
+            final TableColumnModel oldModel = ( TableColumnModel ) event.getOldValue ();
+            if ( oldModel != null )
+            {
+                oldModel.removeColumnModelListener ( this );
+            }
+            final TableColumnModel newModel = ( TableColumnModel ) event.getNewValue ();
+            if ( newModel != null )
+            {
+                newModel.addColumnModelListener ( this );
+            }
+
+            // Measure rows with new columns
+            updateColumnListeners ();
+            invalidateRowHeights ();
+        }
+        else if ( Objects.equals ( propertyName, WebLookAndFeel.FONT_PROPERTY ) )
+        {
+            // Measure rows with new font
+            invalidateRowHeights ();
+        }
+    }
+
+    @Override
+    public void columnAdded ( @NotNull final TableColumnModelEvent event )
+    {
+        updateColumnListeners ();
+        invalidateRowHeights ();
+    }
+
+    @Override
+    public void columnRemoved ( @NotNull final TableColumnModelEvent event )
+    {
+        updateColumnListeners ();
+        invalidateRowHeights ();
+    }
+
+    @Override
+    public void columnMoved ( @NotNull final TableColumnModelEvent event )
+    {
+        // Rows are always measured across all columns, so cached heights do not depend on columns order.
+    }
+
+    @Override
+    public void columnMarginChanged ( @NotNull final ChangeEvent event )
+    {
+        // Renderer preferred size doesn't depend on column width.
+    }
+
+    @Override
+    public void columnSelectionChanged ( @NotNull final ListSelectionEvent event )
+    {
+        // Column selection doesn't affect cached heights.
+    }
+
+    /**
+     * Moves {@link TableColumn} property listeners to the columns currently available in {@link JTable}.
+     */
+    protected void updateColumnListeners ()
+    {
+        for ( final TableColumn column : columns )
+        {
+            column.removePropertyChangeListener ( this );
+        }
+        columns.clear ();
+        final TableColumnModel columnModel = component.getColumnModel ();
+        if ( columnModel != null )
+        {
+            for ( int i = 0; i < columnModel.getColumnCount (); i++ )
+            {
+                final TableColumn column = columnModel.getColumn ( i );
+                column.addPropertyChangeListener ( this );
+                columns.add ( column );
+            }
+        }
     }
 
     @Override
     public void tableChanged ( @NotNull final TableModelEvent event )
     {
         /**
-         * This call must be made later due to the way {@link javax.swing.table.TableRowSorter} is implemented.
+         * Cached heights are updated right away since they are kept in {@link TableModel} coordinates.
+         * Rows measurement is postponed due to the way {@link javax.swing.table.TableRowSorter} is implemented.
          * Otherwise this listener will receive outdated information from the methods that go to the sorter instead of the model.
          */
-        CoreSwingUtils.invokeLater ( new Runnable ()
+        final int firstRow = event.getFirstRow ();
+        final int lastRow = event.getLastRow ();
+        if ( firstRow == TableModelEvent.HEADER_ROW || lastRow == Integer.MAX_VALUE || firstRow < 0 || lastRow < firstRow )
         {
-            @Override
-            public void run ()
-            {
-                optimizeRowHeight ();
-            }
-        } );
+            resetHeights ();
+        }
+        else if ( event.getType () == TableModelEvent.INSERT )
+        {
+            insertRows ( firstRow, lastRow - firstRow + 1 );
+        }
+        else if ( event.getType () == TableModelEvent.DELETE )
+        {
+            removeRows ( firstRow, lastRow - firstRow + 1 );
+        }
+        else
+        {
+            invalidateRows ( firstRow, lastRow );
+        }
+        scheduleUpdate ();
+    }
+
+    /**
+     * Schedules coalesced row height update.
+     * All updates requested before it is performed are merged into a single one.
+     */
+    protected void scheduleUpdate ()
+    {
+        if ( !updater.isRunning () )
+        {
+            updater.start ();
+        }
     }
 
     /**
@@ -142,46 +402,38 @@ public class TableRowHeightOptimizer extends AbstractComponentBehavior<JTable> i
      */
     protected void optimizeRowHeight ()
     {
-        int maxHeight = initialRowHeight;
-        if ( component.getColumnCount () > 0 )
+        if ( component.getColumnCount () > 0 && component.getRowCount () > 0 )
         {
-            final TableModel model = component.getModel ();
-            if ( model.getRowCount () > 0 )
+            final Rectangle vr = component.getVisibleRect ();
+            if ( vr.width > 0 && vr.height > 0 )
             {
-                final Rectangle vr = component.getVisibleRect ();
-                if ( vr.width > 0 && vr.height > 0 )
+                final boolean ltr = component.getComponentOrientation ().isLeftToRight ();
+                final Point upperLeft = new Point ( ltr ? vr.x + 1 : vr.x + vr.width - 1, vr.y + 1 );
+                final Point lowerLeft = new Point ( ltr ? vr.x + 1 : vr.x + vr.width - 1, vr.y + vr.height - 1 );
+                final int rMin = Math.max ( 0, component.rowAtPoint ( upperLeft ) );
+                int rMax = component.rowAtPoint ( lowerLeft );
+                rMax = rMax != -1 ? Math.min ( component.getRowCount () - 1, rMax ) : component.getRowCount () - 1;
+
+                // Measuring visible rows
+                for ( int row = rMin; row <= rMax; row++ )
                 {
-                    final boolean ltr = component.getComponentOrientation ().isLeftToRight ();
-                    final Point upperLeft = new Point ( ltr ? vr.x + 1 : vr.x + vr.width - 1, vr.y + 1 );
-                    final Point lowerLeft = new Point ( ltr ? vr.x + 1 : vr.x + vr.width - 1, vr.y + vr.height - 1 );
-                    final Point upperRight = new Point ( ltr ? vr.x + vr.width - 1 : vr.x + 1, vr.y + 1 );
-                    final int rMin = Math.max ( 0, component.rowAtPoint ( upperLeft ) );
-                    final int rMax = Math.min ( component.getRowCount () - 1, component.rowAtPoint ( lowerLeft ) );
-                    final int cMin = Math.max ( 0, component.columnAtPoint ( upperLeft ) );
-                    final int cMax = Math.min ( component.getColumnCount () - 1, component.columnAtPoint ( upperRight ) );
-                    for ( int row = rMin; row <= rMax; row++ )
-                    {
-                        for ( int col = cMin; col < cMax; col++ )
-                        {
-                            final TableCellRenderer cellRenderer = component.getCellRenderer ( row, col );
-                            final Component renderer = component.prepareRenderer ( cellRenderer, row, col );
-                            final Dimension ps = renderer.getPreferredSize ();
-                            maxHeight = Math.max ( maxHeight, ps.height );
-                        }
-                    }
+                    measureRow ( row );
                 }
-                else
+
+                // Measuring off-screen rows
+                if ( offscreenMeasurement && measureOffscreenRows () )
                 {
-                    for ( int col = 0; col < component.getColumnCount (); col++ )
-                    {
-                        final TableCellRenderer cellRenderer = component.getCellRenderer ( 0, col );
-                        final Component renderer = component.prepareRenderer ( cellRenderer, 0, col );
-                        final Dimension ps = renderer.getPreferredSize ();
-                        maxHeight = Math.max ( maxHeight, ps.height );
-                    }
+                    scheduleUpdate ();
                 }
             }
+            else
+            {
+                measureRow ( 0 );
+            }
         }
+
+        // Updating row height
+        final int maxHeight = Math.max ( initialRowHeight, heightCounts.isEmpty () ? 0 : heightCounts.lastKey () );
         if ( maxHeight != component.getRowHeight () )
         {
             adjusting = true;
@@ -190,6 +442,166 @@ public class TableRowHeightOptimizer extends AbstractComponentBehavior<JTable> i
         }
     }
 
+    /**
+     * Measures off-screen rows that weren't measured yet within {@link #OFFSCREEN_TIME_LIMIT}.
+     *
+     * @return {@code true} if there are still some off-screen rows left to measure, {@code false} otherwise
+     */
+    protected boolean measureOffscreenRows ()
+    {
+        final long start = System.nanoTime ();
+        while ( offscreenIndex < size )
+        {
+            final int modelRow = offscreenIndex++;
+            if ( heights[ modelRow ] == UNKNOWN )
+            {
+                final int row = modelRow < component.getModel ().getRowCount () ? component.convertRowIndexToView ( modelRow ) : -1;
+                if ( row != -1 )
+                {
+                    measureRow ( row );
+                }
+                if ( System.nanoTime () - start > OFFSCREEN_TIME_LIMIT )
+                {
+                    break;
+                }
+            }
+        }
+        return offscreenIndex < size;
+    }
+
+    /**
+     * Measures specified {@link JTable} row across all columns if it wasn't measured yet.
+     *
+     * @param row {@link JTable} row index
+     */
+    protected void measureRow ( final int row )
+    {
+        final int modelRow = component.convertRowIndexToModel ( row );
+        if ( modelRow >= 0 && modelRow < size && heights[ modelRow ] == UNKNOWN )
+        {
+            int height = 0;
+            for ( int col = 0; col < component.getColumnCount (); col++ )
+            {
+                final TableCellRenderer cellRenderer = component.getCellRenderer ( row, col );
+                final Component renderer = component.prepareRenderer ( cellRenderer, row, col );
+                final Dimension ps = renderer.getPreferredSize ();
+                height = Math.max ( height, ps.height );
+            }
+            heights[ modelRow ] = height;
+            countHeight ( height, 1 );
+        }
+    }
+
+    /**
+     * Resets all cached row heights according to the current {@link TableModel} rows count.
+     */
+    protected void resetHeights ()
+    {
+        size = component.getModel () != null ? component.getModel ().getRowCount () : 0;
+        heights = new int[ Math.max ( 16, size ) ];
+        Arrays.fill ( heights, UNKNOWN );
+        heightCounts.clear ();
+        offscreenIndex = 0;
+    }
+
+    /**
+     * Inserts specified amount of unmeasured rows into the cache.
+     *
+     * @param index index of the first inserted {@link TableModel} row
+     * @param count amount of inserted rows
+     */
+    protected void insertRows ( final int index, final int count )
+    {
+        if ( index <= size )
+        {
+            if ( size + count > heights.length )
+            {
+                heights = Arrays.copyOf ( heights, Math.max ( size + count, heights.length * 3 / 2 ) );
+            }
+            System.arraycopy ( heights, index, heights, index + count, size - index );
+            Arrays.fill ( heights, index, index + count, UNKNOWN );
+            size += count;
+            offscreenIndex = Math.min ( offscreenIndex, index );
+        }
+        else
+        {
+            resetHeights ();
+        }
+    }
+
+    /**
+     * Removes specified amount of rows from the cache.
+     *
+     * @param index index of the first removed {@link TableModel} row
+     * @param count amount of removed rows
+     */
+    protected void removeRows ( final int index, final int count )
+    {
+        if ( index + count <= size )
+        {
+            for ( int row = index; row < index + count; row++ )
+            {
+                if ( heights[ row ] != UNKNOWN )
+                {
+                    countHeight ( heights[ row ], -1 );
+                }
+            }
+            System.arraycopy ( heights, index + count, heights, index, size - index - count );
+            size -= count;
+            offscreenIndex = offscreenIndex > index + count ? offscreenIndex - count : Math.min ( offscreenIndex, index );
+        }
+        else
+        {
+            resetHeights ();
+        }
+    }
+
+    /**
+     * Resets cached heights of the specified rows.
+     *
+     * @param firstRow first updated {@link TableModel} row index
+     * @param lastRow  last updated {@link TableModel} row index
+     */
+    protected void invalidateRows ( final int firstRow, final int lastRow )
+    {
+        if ( lastRow < size )
+        {
+            for ( int row = firstRow; row <= lastRow; row++ )
+            {
+                if ( heights[ row ] != UNKNOWN )
+                {
+                    countHeight ( heights[ row ], -1 );
+                    heights[ row ] = UNKNOWN;
+                }
+            }
+            offscreenIndex = Math.min ( offscreenIndex, firstRow );
+        }
+        else
+        {
+            resetHeights ();
+        }
+    }
+
+    /**
+     * Updates amount of rows with the specified cached height.
+     *
+     * @param height cached row height
+     * @param change amount of rows change
+     */
+    protected void countHeight ( final int height, final int change )
+    {
+        final Integer count = heightCounts.get ( height );
+        final int newCount = ( count != null ? count : 0 ) + change;
+        if ( newCount > 0 )
+        {
+            heightCounts.put ( height, newCount );
+        }
+        else
+        {
+            heightCounts.remove ( height );
+        }
+    }
+
     /**
      * Resores initial {@link JTable} row height.
      */
@@ -199,4 +611,4 @@ public class TableRowHeightOptimizer extends AbstractComponentBehavior<JTable> i
         component.setRowHeight ( initialRowHeight );
         adjusting = false;
     }
-}
\ No newline at end of file
+}
@@ -64,6 +64,7 @@ public class WebTable extends JTable implements Styleable, Paintable, ShapeMetho
      */
     public static final String TABLE_HEADER_PROPERTY = "tableHeader";
     public static final String ROW_HEIGHT_PROPERTY = "rowHeight";
+    public static final String COLUMN_MODEL_PROPERTY = "columnModel";
 
     /**
      * Client properties used for backward compatibility with Swing {@link JTable}.
@@ -0,0 +1,134 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.laf.table.renderers;
+
+import com.alee.api.jdk.Objects;
+import com.alee.laf.table.TableCellParameters;
+
+import javax.swing.*;
+
+/**
+ * Mutable {@link TableCellParameters} reused by {@link WebTableCellRenderer} for all cells in incremental mode.
+ * It is kept package-private so that {@link TableCellParameters} provided by any other means stay immutable.
+ *
+ * @param <V> cell value type
+ * @param <C> {@link JTable} type
+ * @author Mikle Garin
+ */
+final class IncrementalTableCellParameters<V, C extends JTable> extends TableCellParameters<V, C>
+{
+    /**
+     * {@link JTable} of the current cell.
+     */
+    private C currentTable;
+
+    /**
+     * Current cell value.
+     */
+    private V currentValue;
+
+    /**
+     * Current cell row number.
+     */
+    private int currentRow;
+
+    /**
+     * Current cell column number.
+     */
+    private int currentColumn;
+
+    /**
+     * Whether or not current cell is selected.
+     */
+    private boolean currentSelected;
+
+    /**
+     * Whether or not current cell has focus.
+     */
+    private boolean currentFocused;
+
+    /**
+     * Constructs new {@link IncrementalTableCellParameters}.
+     *
+     * @param table {@link JTable}
+     */
+    public IncrementalTableCellParameters ( final C table )
+    {
+        super ( table, null, -1, -1, false, false );
+        this.currentTable = table;
+        this.currentRow = -1;
+        this.currentColumn = -1;
+    }
+
+    /**
+     * Updates these {@link IncrementalTableCellParameters} with predefined parameters of another cell.
+     *
+     * @param table    {@link JTable}
+     * @param value    cell value
+     * @param row      cell row number
+     * @param column   cell column number
+     * @param selected whether or not cell is selected
+     * @param focused  whether or not cell has focus
+     */
+    public void update ( final C table, final V value, final int row, final int column,
+                         final boolean selected, final boolean focused )
+    {
+        this.currentTable = Objects.requireNonNull ( table, "Table must not be null" );
+        this.currentValue = value;
+        this.currentRow = row;
+        this.currentColumn = column;
+        this.currentSelected = selected;
+        this.currentFocused = focused;
+    }
+
+    @Override
+    public C table ()
+    {
+        return currentTable;
+    }
+
+    @Override
+    public V value ()
+    {
+        return currentValue;
+    }
+
+    @Override
+    public int row ()
+    {
+        return currentRow;
+    }
+
+    @Override
+    public int column ()
+    {
+        return currentColumn;
+    }
+
+    @Override
+    public boolean isSelected ()
+    {
+        return currentSelected;
+    }
+
+    @Override
+    public boolean isFocused ()
+    {
+        return currentFocused;
+    }
+}
@@ -28,6 +28,7 @@ import com.alee.managers.style.StyleId;
 import com.alee.painter.decoration.AbstractDecorationPainter;
 import com.alee.painter.decoration.DecorationState;
 import com.alee.painter.decoration.DecorationUtils;
+import com.alee.painter.decoration.RendererStates;
 import com.alee.painter.decoration.Stateful;
 
 import javax.swing.*;
@@ -57,6 +58,24 @@ public class WebTableCellRenderer<V, C extends JTable, P extends TableCellParame
      */
     protected final List<String> states;
 
+    /**
+     * Renderer states applied for the previous cell.
+     * It is used to skip decoration states update in incremental mode and to reuse child {@link StyleId}s.
+     */
+    protected final RendererStates rendererStates;
+
+    /**
+     * Whether or not renderer works in incremental mode.
+     * In this mode renderer reuses single {@link TableCellParameters} instance for all cells and only updates decoration states
+     * whenever custom states, enabled state, orientation or {@link StyleId} differ from the ones used for the previous cell.
+     */
+    protected boolean incremental;
+
+    /**
+     * {@link TableCellParameters} reused for all cells in incremental mode.
+     */
+    private transient IncrementalTableCellParameters<V, C> reusableParameters;
+
     /**
      * Constructs new {@link WebTableCellRenderer}.
      */
@@ -65,6 +84,32 @@ public class WebTableCellRenderer<V, C extends JTable, P extends TableCellParame
         super ();
         setName ( "Table.cellRenderer" );
         states = new ArrayList<String> ( 3 );
+        rendererStates = new RendererStates ();
+        incremental = false;
+    }
+
+    /**
+     * Returns whether or not renderer works in incremental mode.
+     *
+     * @return {@code true} if renderer works in incremental mode, {@code false} otherwise
+     */
+    public boolean isIncremental ()
+    {
+        return incremental;
+    }
+
+    /**
+     * Sets whether or not renderer should work in incremental mode.
+     * Note that in incremental mode {@link TableCellParameters} provided into renderer methods and bridges are reused for all cells,
+     * so they must never be saved for later use.
+     *
+     * @param incremental whether or not renderer should work in incremental mode
+     */
+    public void setIncremental ( final boolean incremental )
+    {
+        this.incremental = incremental;
+        this.reusableParameters = null;
+        this.rendererStates.reset ();
     }
 
     @Nullable
@@ -97,7 +142,11 @@ public class WebTableCellRenderer<V, C extends JTable, P extends TableCellParame
         // states.add ( DecorationState.hover );
 
         // Extra states provided by value
-        states.addAll ( DecorationUtils.getExtraStates ( parameters.value () ) );
+        final List<String> extraStates = DecorationUtils.getExtraStates ( parameters.value () );
+        if ( !extraStates.isEmpty () )
+        {
+            states.addAll ( extraStates );
+        }
     }
 
     /**
@@ -114,7 +163,7 @@ public class WebTableCellRenderer<V, C extends JTable, P extends TableCellParame
             final ChildStyleId childStyleId = childStyleIdBridge.getChildStyleId ( parameters );
             if ( childStyleId != null )
             {
-                id = childStyleId.at ( parameters.table () );
+                id = rendererStates.at ( childStyleId, parameters.table () );
             }
         }
         else if ( parameters.value () instanceof StyleIdBridge )
@@ -128,7 +177,7 @@ public class WebTableCellRenderer<V, C extends JTable, P extends TableCellParame
         }
         if ( id == null )
         {
-            id = StyleId.tableCellRenderer.at ( parameters.table () );
+            id = rendererStates.at ( StyleId.tableCellRenderer, parameters.table () );
         }
         setStyleId ( id );
     }
@@ -300,7 +349,11 @@ public class WebTableCellRenderer<V, C extends JTable, P extends TableCellParame
         updateView ( parameters );
 
         // Updating decoration states for this render cycle
-        DecorationUtils.fireStatesChanged ( this );
+        // In incremental mode they are only updated if renderer states have changed since the previous cell
+        if ( !isIncremental () || rendererStates.update ( this, states ) )
+        {
+            DecorationUtils.fireStatesChanged ( this );
+        }
 
         return this;
     }
@@ -319,7 +372,21 @@ public class WebTableCellRenderer<V, C extends JTable, P extends TableCellParame
     protected P getRenderingParameters ( final C table, final V value, final boolean isSelected,
                                          final boolean hasFocus, final int row, final int column )
     {
-        return ( P ) new TableCellParameters<V, C> ( table, value, row, column, isSelected, hasFocus );
+        final P parameters;
+        if ( isIncremental () )
+        {
+            if ( reusableParameters == null )
+            {
+                reusableParameters = new IncrementalTableCellParameters<V, C> ( table );
+            }
+            reusableParameters.update ( table, value, row, column, isSelected, hasFocus );
+            parameters = ( P ) reusableParameters;
+        }
+        else
+        {
+            parameters = ( P ) new TableCellParameters<V, C> ( table, value, row, column, isSelected, hasFocus );
+        }
+        return parameters;
     }
 
     @Override
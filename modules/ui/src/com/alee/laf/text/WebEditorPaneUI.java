@@ -197,7 +197,7 @@ public class WebEditorPaneUI extends WEditorPaneUI implements ShapeSupport, Marg
 
             // Painting text component
             final JComponent c = getComponent ();
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
@@ -296,7 +296,7 @@ public class WebFormattedTextFieldUI extends WFormattedTextFieldUI implements Sh
 
             // Painting text component
             final JComponent c = getComponent ();
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
@@ -296,7 +296,7 @@ public class WebPasswordFieldUI extends WPasswordFieldUI implements ShapeSupport
 
             // Painting text component
             final JComponent c = getComponent ();
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
@@ -240,7 +240,7 @@ public class WebToolBarUI extends BasicToolBarUI implements ShapeSupport, Margin
     {
         if ( painter != null )
         {
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
@@ -171,7 +171,7 @@ public class WebToolTipUI<C extends JToolTip> extends WToolTipUI<C> implements S
     {
         if ( painter != null )
         {
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
@@ -23,6 +23,7 @@ import com.alee.utils.GeometryUtils;
 import com.alee.utils.SwingUtils;
 
 import javax.swing.*;
+import javax.swing.Timer;
 import javax.swing.event.TreeExpansionEvent;
 import javax.swing.event.TreeExpansionListener;
 import javax.swing.event.TreeSelectionEvent;
@@ -30,6 +31,8 @@ import javax.swing.event.TreeSelectionListener;
 import javax.swing.plaf.TreeUI;
 import javax.swing.tree.*;
 import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.util.List;
@@ -106,6 +109,8 @@ public class TreePainter<C extends JTree, U extends WTreeUI, D extends IDecorati
     protected transient Point selectionStart = null;
     protected transient Point selectionEnd = null;
     protected transient TreePath draggablePath = null;
+    protected transient MouseEvent selectionEvent = null;
+    protected transient Timer selectionUpdater;
 
     /**
      * Painting variables.
@@ -224,6 +229,20 @@ public class TreePainter<C extends JTree, U extends WTreeUI, D extends IDecorati
      */
     protected void installTreeMouseListeners ()
     {
+        selectionUpdater = new Timer ( ( int ) SwingUtils.frameRateDelay ( 60 ), new ActionListener ()
+        {
+            @Override
+            public void actionPerformed ( @NotNull final ActionEvent e )
+            {
+                // Ensure component is still available
+                // This might happen if painter is uninstalled before pending update is performed
+                if ( component != null )
+                {
+                    flushSelection ();
+                }
+            }
+        } );
+        selectionUpdater.setRepeats ( false );
         mouseAdapter = new MouseAdapter ()
         {
             @Override
@@ -421,8 +440,13 @@ public class TreePainter<C extends JTree, U extends WTreeUI, D extends IDecorati
                         // Selection
                         selectionEnd = e.getPoint ();
 
-                        // Updating selection
-                        validateSelection ( e );
+                        // Scheduling selection update
+                        // Updates are coalesced so that selection is only computed once per frame
+                        selectionEvent = e;
+                        if ( !selectionUpdater.isRunning () )
+                        {
+                            selectionUpdater.start ();
+                        }
 
                         // Repainting selection on the tree
                         repaintSelector ();
@@ -451,6 +475,9 @@ public class TreePainter<C extends JTree, U extends WTreeUI, D extends IDecorati
                         // Saving selection rect to repaint
                         // Rectangle fr = GeometryUtils.getContainingRect ( selectionStart, selectionEnd );
 
+                        // Performing pending selection update
+                        flushSelection ();
+
                         // Selection
                         selectionStart = null;
                         selectionEnd = null;
@@ -462,120 +489,174 @@ public class TreePainter<C extends JTree, U extends WTreeUI, D extends IDecorati
             }
 
             /**
-             * Performs selection validation and updates.
-             * todo Modify selection instead of overwriting each time?
-             *
-             * @param e mouse event
+             * Repaints tree selector.
+             * Replaced with full repaint due to strange tree lines painting bug.
              */
-            private void validateSelection ( @NotNull final MouseEvent e )
+            private void repaintSelector ()
+            {
+                component.repaint ( component.getVisibleRect () );
+            }
+        };
+        component.addMouseListener ( mouseAdapter );
+        component.addMouseMotionListener ( mouseAdapter );
+    }
+
+    /**
+     * Uninstalls custom {@link MouseAdapter}.
+     */
+    protected void uninstallTreeMouseListeners ()
+    {
+        component.removeMouseMotionListener ( mouseAdapter );
+        component.removeMouseListener ( mouseAdapter );
+        mouseAdapter = null;
+        selectionUpdater.stop ();
+        selectionUpdater = null;
+        selectionEvent = null;
+    }
+
+    /**
+     * Performs pending rubber-band selection update if there is one.
+     */
+    protected void flushSelection ()
+    {
+        selectionUpdater.stop ();
+        if ( selectionEvent != null )
+        {
+            if ( selectionStart != null && selectionEnd != null )
             {
-                // Selection rect
-                final Rectangle selection = GeometryUtils.getContainingRect ( selectionStart, selectionEnd );
+                validateSelection ( selectionEvent );
+            }
+            selectionEvent = null;
+        }
+    }
+
+    /**
+     * Performs rubber-band selection validation and updates.
+     * Only rows within the vertical range of the selection rect are checked since tree rows never overlap vertically.
+     * todo Modify selection instead of overwriting each time?
+     *
+     * @param e mouse event
+     */
+    protected void validateSelection ( @NotNull final MouseEvent e )
+    {
+        // Selection rect
+        final Rectangle selection = GeometryUtils.getContainingRect ( selectionStart, selectionEnd );
 
-                // Compute new selection
-                final List<Integer> newSelection = new ArrayList<Integer> ();
-                if ( SwingUtils.isShift ( e ) )
+        // Rows intersecting selection
+        final List<Integer> selectedRows = new ArrayList<Integer> ();
+        final int[] range = getRowsRange ( selection );
+        if ( range != null )
+        {
+            for ( int row = range[ 0 ]; row <= range[ 1 ]; row++ )
+            {
+                final Rectangle bounds = ui.getRowBounds ( row );
+                if ( bounds != null && bounds.intersects ( selection ) )
                 {
-                    for ( int row = 0; row < component.getRowCount (); row++ )
-                    {
-                        if ( ui.getRowBounds ( row ).intersects ( selection ) && !initialSelection.contains ( row ) )
-                        {
-                            newSelection.add ( row );
-                        }
-                    }
-                    newSelection.addAll ( initialSelection );
+                    selectedRows.add ( row );
                 }
-                else if ( SwingUtils.isCtrl ( e ) )
+            }
+        }
+
+        // Compute new selection
+        final List<Integer> newSelection;
+        if ( SwingUtils.isShift ( e ) )
+        {
+            final Set<Integer> initial = new HashSet<Integer> ( initialSelection );
+            newSelection = new ArrayList<Integer> ( selectedRows.size () + initialSelection.size () );
+            for ( final Integer row : selectedRows )
+            {
+                if ( !initial.contains ( row ) )
                 {
-                    final List<Integer> excludedRows = new ArrayList<Integer> ();
-                    for ( int row = 0; row < component.getRowCount (); row++ )
-                    {
-                        if ( ui.getRowBounds ( row ).intersects ( selection ) )
-                        {
-                            if ( initialSelection.contains ( row ) )
-                            {
-                                excludedRows.add ( row );
-                            }
-                            else
-                            {
-                                newSelection.add ( row );
-                            }
-                        }
-                    }
-                    for ( final int row : initialSelection )
-                    {
-                        if ( !excludedRows.contains ( row ) )
-                        {
-                            newSelection.add ( row );
-                        }
-                    }
+                    newSelection.add ( row );
                 }
-                else
+            }
+            newSelection.addAll ( initialSelection );
+        }
+        else if ( SwingUtils.isCtrl ( e ) )
+        {
+            final Set<Integer> initial = new HashSet<Integer> ( initialSelection );
+            final Set<Integer> excludedRows = new HashSet<Integer> ();
+            newSelection = new ArrayList<Integer> ( selectedRows.size () + initialSelection.size () );
+            for ( final Integer row : selectedRows )
+            {
+                if ( initial.contains ( row ) )
                 {
-                    for ( int row = 0; row < component.getRowCount (); row++ )
-                    {
-                        if ( ui.getRowBounds ( row ).intersects ( selection ) )
-                        {
-                            newSelection.add ( row );
-                        }
-                    }
+                    excludedRows.add ( row );
                 }
-
-                // Change selection if it is not the same as before
-                if ( !CollectionUtils.equals ( getSelectedRows (), newSelection, true ) )
+                else
                 {
-                    if ( newSelection.size () > 0 )
-                    {
-                        component.setSelectionRows ( CollectionUtils.toIntArray ( newSelection ) );
-                    }
-                    else
-                    {
-                        component.clearSelection ();
-                    }
+                    newSelection.add ( row );
                 }
             }
-
-            /**
-             * Returns selected rows list.
-             *
-             * @return selected rows list
-             */
-            @NotNull
-            private List<Integer> getSelectedRows ()
+            for ( final Integer row : initialSelection )
             {
-                final List<Integer> selection = new ArrayList<Integer> ();
-                final int[] selectionRows = component.getSelectionRows ();
-                if ( selectionRows != null )
+                if ( !excludedRows.contains ( row ) )
                 {
-                    for ( final int row : selectionRows )
-                    {
-                        selection.add ( row );
-                    }
+                    newSelection.add ( row );
                 }
-                return selection;
             }
+        }
+        else
+        {
+            newSelection = selectedRows;
+        }
 
-            /**
-             * Repaints tree selector.
-             * Replaced with full repaint due to strange tree lines painting bug.
-             */
-            private void repaintSelector ()
+        // Change selection if it is not the same as before
+        if ( !CollectionUtils.equals ( getSelectedRows (), newSelection, true ) )
+        {
+            if ( newSelection.size () > 0 )
             {
-                component.repaint ( component.getVisibleRect () );
+                component.setSelectionRows ( CollectionUtils.toIntArray ( newSelection ) );
             }
-        };
-        component.addMouseListener ( mouseAdapter );
-        component.addMouseMotionListener ( mouseAdapter );
+            else
+            {
+                component.clearSelection ();
+            }
+        }
     }
 
     /**
-     * Uninstalls custom {@link MouseAdapter}.
+     * Returns selected rows list.
+     *
+     * @return selected rows list
      */
-    protected void uninstallTreeMouseListeners ()
+    @NotNull
+    protected List<Integer> getSelectedRows ()
     {
-        component.removeMouseMotionListener ( mouseAdapter );
-        component.removeMouseListener ( mouseAdapter );
-        mouseAdapter = null;
+        final List<Integer> selection = new ArrayList<Integer> ();
+        final int[] selectionRows = component.getSelectionRows ();
+        if ( selectionRows != null )
+        {
+            for ( final int row : selectionRows )
+            {
+                selection.add ( row );
+            }
+        }
+        return selection;
+    }
+
+    /**
+     * Returns range of rows located within the vertical bounds of the specified area or {@code null} if there are no rows.
+     * Rows are looked up by their location using tree layout cache, so this doesn't depend on the total amount of rows.
+     *
+     * @param area area to find rows for
+     * @return range of rows located within the vertical bounds of the specified area or {@code null} if there are no rows
+     */
+    @Nullable
+    protected int[] getRowsRange ( @NotNull final Rectangle area )
+    {
+        final int[] range;
+        if ( component.getRowCount () > 0 && area.height > 0 )
+        {
+            final int first = component.getClosestRowForLocation ( area.x, area.y );
+            final int last = component.getClosestRowForLocation ( area.x, area.y + area.height - 1 );
+            range = first != -1 && last != -1 ? new int[]{ Math.min ( first, last ), Math.max ( first, last ) } : null;
+        }
+        else
+        {
+            range = null;
+        }
+        return range;
     }
 
     /**
@@ -860,8 +941,9 @@ public class TreePainter<C extends JTree, U extends WTreeUI, D extends IDecorati
     {
         if ( selectionPainter != null && component.getSelectionCount () > 0 && ui.getSelectionStyle () != TreeSelectionStyle.none )
         {
-            // Painting selections
-            final List<Rectangle> selections = getSelectionRects ();
+            // Painting visible selections
+            final Rectangle clip = g2d.getClipBounds ();
+            final List<Rectangle> selections = getSelectionRects ( clip != null ? clip : component.getVisibleRect () );
             for ( final Rectangle rect : selections )
             {
                 // Painting single selection
@@ -871,63 +953,104 @@ public class TreePainter<C extends JTree, U extends WTreeUI, D extends IDecorati
     }
 
     /**
-     * Returns list of tree selections bounds.
+     * Returns list of visible tree selections bounds.
      * This method takes selection style into account.
      *
-     * @return list of tree selections bounds
+     * @return list of visible tree selections bounds
      */
     @NotNull
     protected List<Rectangle> getSelectionRects ()
+    {
+        return getSelectionRects ( component.getVisibleRect () );
+    }
+
+    /**
+     * Returns list of tree selections bounds intersecting specified area.
+     * This method takes selection style into account.
+     *
+     * Only rows within the specified area are checked, so this doesn't depend on the total amount of rows or selected rows.
+     * Selections spanning across area bounds are returned in full to preserve their look, since group bounds depend on all its rows.
+     * Only full line selections are clamped to one row beyond the area on each side as their horizontal bounds never change.
+     *
+     * @param area area to return selections bounds for
+     * @return list of tree selections bounds intersecting specified area
+     */
+    @NotNull
+    protected List<Rectangle> getSelectionRects ( @NotNull final Rectangle area )
     {
         final List<Rectangle> selections;
-        if ( ui.getSelectionStyle () != TreeSelectionStyle.none )
+        final int[] range = ui.getSelectionStyle () != TreeSelectionStyle.none && component.getSelectionCount () > 0 ?
+                getRowsRange ( area ) : null;
+        if ( range != null )
         {
-            final int[] indices = component.getSelectionRows ();
-            if ( indices != null && indices.length != 0 )
+            selections = new ArrayList<Rectangle> ();
+            if ( ui.getSelectionStyle () == TreeSelectionStyle.single )
+            {
+                for ( int row = range[ 0 ]; row <= range[ 1 ]; row++ )
+                {
+                    if ( component.isRowSelected ( row ) )
+                    {
+                        // Required bounds
+                        selections.add ( component.getRowBounds ( row ) );
+                    }
+                }
+            }
+            else
             {
-                // Sorting selected rows
-                Arrays.sort ( indices );
+                // Determining rows that might affect selections within the area
+                final boolean fullLine = isFullLineSelection ();
+                int row;
+                final int lastRow;
+                if ( fullLine )
+                {
+                    // Including one row on each side of the area to keep look of the groups crossing area bounds
+                    row = Math.max ( 0, range[ 0 ] - 1 );
+                    lastRow = Math.min ( component.getRowCount () - 1, range[ 1 ] + 1 );
+                }
+                else
+                {
+                    // Including selected rows above the area that are grouped with the first row
+                    row = range[ 0 ];
+                    while ( row > 0 && component.isRowSelected ( row ) && component.isRowSelected ( row - 1 ) )
+                    {
+                        row--;
+                    }
+                    lastRow = component.getRowCount () - 1;
+                }
 
                 // Calculating selection rects
-                selections = new ArrayList<Rectangle> ( indices.length );
                 final Insets insets = component.getInsets ();
                 Rectangle maxRect = null;
-                int lastRow = -1;
-                for ( final int index : indices )
+                for ( ; row <= lastRow; row++ )
                 {
-                    if ( ui.getSelectionStyle () == TreeSelectionStyle.single )
+                    if ( component.isRowSelected ( row ) )
                     {
                         // Required bounds
-                        selections.add ( component.getRowBounds ( index ) );
+                        final Rectangle b = component.getRowBounds ( row );
+
+                        // Increasing bounds to cover whole line
+                        if ( fullLine )
+                        {
+                            b.x = insets.left;
+                            b.width = component.getWidth () - insets.left - insets.right;
+                        }
+
+                        // Increase rect
+                        maxRect = maxRect == null ? b : GeometryUtils.getContainingRect ( maxRect, b );
                     }
                     else
                     {
-                        if ( lastRow != -1 && lastRow + 1 != index )
+                        // Save determined group
+                        if ( maxRect != null )
                         {
-                            // Save determined group
                             selections.add ( maxRect );
-
-                            // Reset counting
                             maxRect = null;
-                            lastRow = -1;
                         }
-                        if ( lastRow == -1 || lastRow + 1 == index )
-                        {
-                            // Required bounds
-                            final Rectangle b = component.getRowBounds ( index );
-
-                            // Increasing bounds to cover whole line
-                            if ( isFullLineSelection () )
-                            {
-                                b.x = insets.left;
-                                b.width = component.getWidth () - insets.left - insets.right;
-                            }
-
-                            // Increase rect
-                            maxRect = lastRow == -1 ? b : GeometryUtils.getContainingRect ( maxRect, b );
 
-                            // Remember last row
-                            lastRow = index;
+                        // Stop once there are no more groups within the area
+                        if ( row >= range[ 1 ] )
+                        {
+                            break;
                         }
                     }
                 }
@@ -936,15 +1059,10 @@ public class TreePainter<C extends JTree, U extends WTreeUI, D extends IDecorati
                     selections.add ( maxRect );
                 }
             }
-            else
-            {
-                // Return empty selection when nothing is selected
-                selections = Collections.emptyList ();
-            }
         }
         else
         {
-            // Return empty selection rects when custom selection painting is disabled
+            // Return empty selection rects when nothing is selected or custom selection painting is disabled
             selections = Collections.emptyList ();
         }
         return selections;
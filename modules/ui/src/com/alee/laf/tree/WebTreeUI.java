@@ -492,7 +492,7 @@ public class WebTreeUI extends WTreeUI implements ShapeSupport, MarginSupport, P
         if ( painter != null )
         {
             painter.prepareToPaint ( drawingCache, currentCellRenderer );
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
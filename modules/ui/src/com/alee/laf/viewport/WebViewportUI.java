@@ -152,7 +152,7 @@ public class WebViewportUI<C extends JViewport> extends WViewportUI<C> implement
     {
         if ( painter != null )
         {
-            painter.paint ( ( Graphics2D ) g, c, this, new Bounds ( c ) );
+            PainterSupport.paint ( ( Graphics2D ) g, c, this, painter, new Bounds ( c ) );
         }
     }
 
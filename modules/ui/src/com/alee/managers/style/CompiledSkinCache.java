@@ -0,0 +1,720 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.managers.style;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
+import com.alee.api.version.Version;
+import com.alee.laf.WebLookAndFeel;
+import com.alee.managers.settings.SettingsManager;
+import com.alee.managers.style.data.ComponentStyle;
+import com.alee.managers.style.data.SkinInfo;
+import com.alee.managers.style.data.SkinInfoConverter;
+import com.alee.utils.SystemUtils;
+import com.alee.utils.UtilityException;
+import com.alee.utils.XmlUtils;
+import com.alee.utils.xml.Resource;
+import com.alee.utils.xml.ResourceLocation;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.net.URL;
+import java.security.CodeSource;
+import java.security.ProtectionDomain;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * Compiled binary cache of skins parsed from XML.
+ * It is used by {@link XmlSkin#XmlSkin(Class, String)} to avoid parsing skin XML files on every application start.
+ *
+ * Whenever skin is parsed from XML its {@link SkinInfo} with all includes resolved is written into a binary snapshot file
+ * located in {@link #getDirectory()}. On subsequent starts snapshot is loaded instead of XML as long as it is still valid.
+ * Snapshot is considered valid only if checksum of the skin XML and all of its included XML files, skin {@link Class} and its
+ * {@link Version}, WebLaF {@link Version} and Java version are all the same as at the moment snapshot was written.
+ * Any snapshot that cannot be validated or read is ignored and skin is parsed from XML again.
+ *
+ * Snapshot header with environment key, skin XML {@link Resource}s and their checksum is written as plain data and is verified before
+ * anything else is read. {@link SkinInfo} itself is written using Java serialization. Rare skin values that are not {@link Serializable}
+ * are stored as small XML fragments within the snapshot and are converted back to values upon loading. Since snapshot files are stored
+ * outside of the application, only an explicit set of classes is allowed to be deserialized from them, see
+ * {@link CompiledSkinInputStream}.
+ *
+ * Cache is disabled by default and can be enabled either through {@link #setEnabled(boolean)} before skin is installed or
+ * through {@link WebLookAndFeel#PROPERTY_SKIN_CACHE} system property. It is also bypassed whenever custom skin resources are
+ * provided through {@link SkinInfoConverter#addCustomResource(String, String, String)}.
+ *
+ * @author Mikle Garin
+ * @see XmlSkin
+ * @see SkinInfo
+ */
+public final class CompiledSkinCache
+{
+    /**
+     * Compiled skin file format version.
+     * It must be incremented whenever file format changes.
+     */
+    private static final int FORMAT_VERSION = 2;
+
+    /**
+     * Compiled skin file extension.
+     */
+    private static final String EXTENSION = ".skin";
+
+    /**
+     * Whether or not compiled skin cache is enabled.
+     */
+    private static volatile boolean enabled = Boolean.getBoolean ( WebLookAndFeel.PROPERTY_SKIN_CACHE );
+
+    /**
+     * Directory compiled skins are stored in.
+     * If it is not set {@link #getDefaultDirectory()} is used.
+     */
+    @Nullable
+    private static volatile File directory = null;
+
+    /**
+     * Private constructor to avoid instantiation.
+     */
+    private CompiledSkinCache ()
+    {
+        throw new UtilityException ( "Utility classes are not meant to be instantiated" );
+    }
+
+    /**
+     * Returns whether or not compiled skin cache is enabled.
+     *
+     * @return {@code true} if compiled skin cache is enabled, {@code false} otherwise
+     */
+    public static boolean isEnabled ()
+    {
+        return enabled;
+    }
+
+    /**
+     * Sets whether or not compiled skin cache is enabled.
+     *
+     * @param enabled whether or not compiled skin cache is enabled
+     */
+    public static void setEnabled ( final boolean enabled )
+    {
+        CompiledSkinCache.enabled = enabled;
+    }
+
+    /**
+     * Returns directory compiled skins are stored in.
+     *
+     * @return directory compiled skins are stored in
+     */
+    @NotNull
+    public static File getDirectory ()
+    {
+        final File dir = directory;
+        return dir != null ? dir : getDefaultDirectory ();
+    }
+
+    /**
+     * Sets directory compiled skins are stored in.
+     *
+     * @param directory directory compiled skins are stored in, {@code null} to use default directory
+     */
+    public static void setDirectory ( @Nullable final File directory )
+    {
+        CompiledSkinCache.directory = directory;
+    }
+
+    /**
+     * Returns default directory compiled skins are stored in.
+     *
+     * @return default directory compiled skins are stored in
+     */
+    @NotNull
+    public static File getDefaultDirectory ()
+    {
+        return new File ( SettingsManager.getDefaultSettingsDir (), "skins" );
+    }
+
+    /**
+     * Removes all compiled skins from {@link #getDirectory()}.
+     */
+    public static void clear ()
+    {
+        final File[] files = getDirectory ().listFiles ();
+        if ( files != null )
+        {
+            for ( final File file : files )
+            {
+                if ( file.getName ().endsWith ( EXTENSION ) && !file.delete () )
+                {
+                    LoggerFactory.getLogger ( CompiledSkinCache.class ).warn ( "Unable to delete compiled skin: " + file );
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns {@link SkinInfo} loaded from compiled skin if it is available and valid, or parsed from skin XML otherwise.
+     *
+     * @param nearClass class to find skin info XML near
+     * @param location  skin info XML location relative to the specified class
+     * @return {@link SkinInfo} loaded from compiled skin if it is available and valid, or parsed from skin XML otherwise
+     */
+    @NotNull
+    public static SkinInfo load ( @NotNull final Class nearClass, @NotNull final String location )
+    {
+        final SkinInfo skinInfo;
+        if ( enabled && !SkinInfoConverter.hasCustomResources () )
+        {
+            final File file = getFile ( nearClass, location );
+            final String key = getKey ( nearClass, location );
+            final SkinInfo compiled = read ( file, key, nearClass );
+            if ( compiled == null )
+            {
+                final List<Resource> resources = new ArrayList<Resource> ();
+                resources.add ( new Resource ( nearClass, location ) );
+                SkinInfoConverter.startRecording ();
+                try
+                {
+                    skinInfo = XmlUtils.fromXML ( nearClass.getResource ( location ) );
+                }
+                finally
+                {
+                    resources.addAll ( SkinInfoConverter.stopRecording () );
+                }
+                write ( file, key, resources, skinInfo );
+            }
+            else
+            {
+                skinInfo = compiled;
+            }
+        }
+        else
+        {
+            skinInfo = XmlUtils.fromXML ( nearClass.getResource ( location ) );
+        }
+        return skinInfo;
+    }
+
+    /**
+     * Returns compiled skin file for the specified skin XML.
+     *
+     * @param nearClass class to find skin info XML near
+     * @param location  skin info XML location relative to the specified class
+     * @return compiled skin file for the specified skin XML
+     */
+    @NotNull
+    private static File getFile ( @NotNull final Class nearClass, @NotNull final String location )
+    {
+        final String name = nearClass.getName () + "-" + Integer.toHexString ( location.hashCode () ) + EXTENSION;
+        return new File ( getDirectory (), name );
+    }
+
+    /**
+     * Returns key identifying environment compiled skin was written in.
+     *
+     * @param nearClass class to find skin info XML near
+     * @param location  skin info XML location relative to the specified class
+     * @return key identifying environment compiled skin was written in
+     */
+    @NotNull
+    private static String getKey ( @NotNull final Class nearClass, @NotNull final String location )
+    {
+        return nearClass.getName () + ";" + location + ";" + new Version ( nearClass ) + ";" + new Version ( XmlSkin.class ) + ";" +
+                SystemUtils.getJavaVersionString ();
+    }
+
+    /**
+     * Returns {@link SkinInfo} read from the specified compiled skin file or {@code null} if it is missing or outdated.
+     *
+     * @param file      compiled skin file
+     * @param key       key identifying current environment
+     * @param nearClass class to find skin info XML near
+     * @return {@link SkinInfo} read from the specified compiled skin file or {@code null} if it is missing or outdated
+     */
+    @Nullable
+    private static SkinInfo read ( @NotNull final File file, @NotNull final String key, @NotNull final Class nearClass )
+    {
+        SkinInfo skinInfo = null;
+        if ( file.isFile () )
+        {
+            // todo Replace with try-with-resource when switched to JDK8+
+            ObjectInputStream ois = null;
+            try
+            {
+                ois = new CompiledSkinInputStream ( new BufferedInputStream ( new FileInputStream ( file ) ), nearClass );
+                if ( ois.readInt () == FORMAT_VERSION && ois.readUTF ().equals ( key ) )
+                {
+                    final int count = ois.readInt ();
+                    final List<Resource> resources = new ArrayList<Resource> ( count );
+                    for ( int i = 0; i < count; i++ )
+                    {
+                        resources.add ( readResource ( ois ) );
+                    }
+                    if ( ois.readLong () == checksum ( resources ) )
+                    {
+                        skinInfo = ( SkinInfo ) ois.readObject ();
+                        restoreParents ( skinInfo.getStyles (), null );
+                    }
+                }
+            }
+            catch ( final Exception e )
+            {
+                final String msg = "Unable to read compiled skin, it will be parsed from XML: %s";
+                LoggerFactory.getLogger ( CompiledSkinCache.class ).warn ( String.format ( msg, file ), e );
+                skinInfo = null;
+            }
+            finally
+            {
+                close ( ois );
+            }
+        }
+        return skinInfo;
+    }
+
+    /**
+     * Writes specified {@link SkinInfo} into compiled skin file.
+     * File is written under a temporary name first and then renamed to avoid other applications reading incomplete file.
+     *
+     * @param file      compiled skin file
+     * @param key       key identifying current environment
+     * @param resources {@link List} of skin XML {@link Resource}s
+     * @param skinInfo  {@link SkinInfo} to write
+     */
+    private static void write ( @NotNull final File file, @NotNull final String key, @NotNull final List<Resource> resources,
+                                @NotNull final SkinInfo skinInfo )
+    {
+        final File temp = new File ( file.getParentFile (), file.getName () + "." + System.nanoTime () + ".tmp" );
+        // todo Replace with try-with-resource when switched to JDK8+
+        ObjectOutputStream oos = null;
+        try
+        {
+            final long checksum = checksum ( resources );
+            if ( !file.getParentFile ().isDirectory () && !file.getParentFile ().mkdirs () )
+            {
+                throw new IOException ( "Unable to create directory: " + file.getParentFile () );
+            }
+            oos = new CompiledSkinOutputStream ( new BufferedOutputStream ( new FileOutputStream ( temp ) ) );
+            oos.writeInt ( FORMAT_VERSION );
+            oos.writeUTF ( key );
+            oos.writeInt ( resources.size () );
+            for ( final Resource resource : resources )
+            {
+                writeResource ( oos, resource );
+            }
+            oos.writeLong ( checksum );
+            oos.writeObject ( skinInfo );
+            oos.close ();
+            oos = null;
+            if ( !temp.renameTo ( file ) && !( file.delete () && temp.renameTo ( file ) ) )
+            {
+                throw new IOException ( "Unable to rename compiled skin file: " + temp );
+            }
+        }
+        catch ( final Exception e )
+        {
+            final String msg = "Unable to write compiled skin: %s";
+            LoggerFactory.getLogger ( CompiledSkinCache.class ).warn ( String.format ( msg, file ), e );
+        }
+        finally
+        {
+            close ( oos );
+            if ( temp.exists () && !temp.delete () )
+            {
+                temp.deleteOnExit ();
+            }
+        }
+    }
+
+    /**
+     * Writes specified {@link Resource} as plain data.
+     *
+     * @param out      {@link DataOutput} to write {@link Resource} into
+     * @param resource {@link Resource} to write
+     * @throws IOException if {@link Resource} cannot be written
+     */
+    private static void writeResource ( @NotNull final DataOutput out, @NotNull final Resource resource ) throws IOException
+    {
+        out.writeUTF ( resource.getLocation ().name () );
+        out.writeBoolean ( resource.getClassName () != null );
+        if ( resource.getClassName () != null )
+        {
+            out.writeUTF ( resource.getClassName () );
+        }
+        out.writeUTF ( resource.getPath () );
+    }
+
+    /**
+     * Returns {@link Resource} read from plain data.
+     *
+     * @param in {@link DataInput} to read {@link Resource} from
+     * @return {@link Resource} read from plain data
+     * @throws IOException if {@link Resource} cannot be read
+     */
+    @NotNull
+    private static Resource readResource ( @NotNull final DataInput in ) throws IOException
+    {
+        final ResourceLocation location = ResourceLocation.valueOf ( in.readUTF () );
+        final String className = in.readBoolean () ? in.readUTF () : null;
+        final String path = in.readUTF ();
+        return new Resource ( location, className, path );
+    }
+
+    /**
+     * Returns checksum of all specified skin XML {@link Resource}s.
+     *
+     * @param resources {@link List} of skin XML {@link Resource}s
+     * @return checksum of all specified skin XML {@link Resource}s
+     * @throws IOException if any of the {@link Resource}s cannot be read
+     */
+    private static long checksum ( @NotNull final List<Resource> resources ) throws IOException
+    {
+        final CRC32 crc = new CRC32 ();
+        final byte[] buffer = new byte[ 8192 ];
+        for ( final Resource resource : resources )
+        {
+            // todo Replace with try-with-resource when switched to JDK8+
+            final InputStream is = open ( resource );
+            try
+            {
+                int read;
+                while ( ( read = is.read ( buffer ) ) != -1 )
+                {
+                    crc.update ( buffer, 0, read );
+                }
+            }
+            finally
+            {
+                close ( is );
+            }
+        }
+        return crc.getValue ();
+    }
+
+    /**
+     * Returns new {@link InputStream} for the specified {@link Resource}.
+     *
+     * @param resource {@link Resource}
+     * @return new {@link InputStream} for the specified {@link Resource}
+     * @throws IOException if {@link Resource} cannot be opened
+     */
+    @NotNull
+    private static InputStream open ( @NotNull final Resource resource ) throws IOException
+    {
+        final InputStream is;
+        switch ( resource.getLocation () )
+        {
+            case url:
+                is = new URL ( resource.getPath () ).openStream ();
+                break;
+
+            case filePath:
+                is = new FileInputStream ( resource.getPath () );
+                break;
+
+            case nearClass:
+                try
+                {
+                    is = Class.forName ( resource.getClassName () ).getResourceAsStream ( resource.getPath () );
+                }
+                catch ( final ClassNotFoundException e )
+                {
+                    throw new IOException ( "Unable to find class: " + resource.getClassName (), e );
+                }
+                break;
+
+            default:
+                throw new IOException ( "Unknown resource location type: " + resource.getLocation () );
+        }
+        if ( is == null )
+        {
+            throw new FileNotFoundException ( "Unable to find resource: " + resource.getPath () );
+        }
+        return is;
+    }
+
+    /**
+     * Restores runtime parent references of the {@link ComponentStyle}s, they are not serialized.
+     *
+     * @param styles {@link List} of {@link ComponentStyle}s to restore parent references for
+     * @param parent parent {@link ComponentStyle}
+     */
+    private static void restoreParents ( @Nullable final List<ComponentStyle> styles, @Nullable final ComponentStyle parent )
+    {
+        if ( styles != null )
+        {
+            for ( final ComponentStyle style : styles )
+            {
+                style.setParent ( parent );
+                restoreParents ( style.getNestedStyles (), style );
+            }
+        }
+    }
+
+    /**
+     * Closes specified {@link Closeable} ignoring any exceptions.
+     *
+     * @param closeable {@link Closeable} to close
+     */
+    private static void close ( @Nullable final Closeable closeable )
+    {
+        try
+        {
+            if ( closeable != null )
+            {
+                closeable.close ();
+            }
+        }
+        catch ( final Exception e )
+        {
+            // Ignore this exception
+        }
+    }
+
+    /**
+     * {@link ObjectOutputStream} replacing values that are not {@link Serializable} with {@link XmlValue}s.
+     */
+    private static final class CompiledSkinOutputStream extends ObjectOutputStream
+    {
+        /**
+         * Constructs new {@link CompiledSkinOutputStream}.
+         *
+         * @param out {@link OutputStream} to write to
+         * @throws IOException if stream header cannot be written
+         */
+        public CompiledSkinOutputStream ( @NotNull final OutputStream out ) throws IOException
+        {
+            super ( out );
+            enableReplaceObject ( true );
+        }
+
+        @Override
+        protected Object replaceObject ( final Object object ) throws IOException
+        {
+            return object == null || object instanceof Serializable ? object : new XmlValue ( XmlUtils.toXML ( object ) );
+        }
+    }
+
+    /**
+     * {@link ObjectInputStream} resolving classes through skin {@link ClassLoader} first.
+     * Only the following classes are allowed to be deserialized, any other class causes {@link InvalidClassException}:
+     * - {@link SkinInfo}, {@link ComponentStyle}, {@link XmlValue} and other {@link Serializable} classes from WebLaF itself
+     * - {@link Serializable} classes provided along with the skin class, like custom painters and decorations
+     * - basic Java value and collection types and AWT value types listed in {@link #ALLOWED_CLASSES}
+     * - enumerations, primitive types and arrays of any allowed types
+     */
+    private static final class CompiledSkinInputStream extends ObjectInputStream
+    {
+        /**
+         * Names of Java classes allowed to be deserialized.
+         */
+        @NotNull
+        private static final Set<String> ALLOWED_CLASSES = new HashSet<String> ( Arrays.asList (
+                "java.lang.Boolean",
+                "java.lang.Byte",
+                "java.lang.Character",
+                "java.lang.Short",
+                "java.lang.Integer",
+                "java.lang.Long",
+                "java.lang.Float",
+                "java.lang.Double",
+                "java.lang.Number",
+                "java.lang.String",
+                "java.lang.Enum",
+                "java.util.ArrayList",
+                "java.util.LinkedList",
+                "java.util.HashMap",
+                "java.util.LinkedHashMap",
+                "java.util.TreeMap",
+                "java.util.HashSet",
+                "java.util.LinkedHashSet",
+                "java.util.concurrent.ConcurrentHashMap",
+                "java.util.concurrent.ConcurrentHashMap$Segment",
+                "java.util.concurrent.locks.AbstractOwnableSynchronizer",
+                "java.util.concurrent.locks.AbstractQueuedSynchronizer",
+                "java.util.concurrent.locks.ReentrantLock",
+                "java.util.concurrent.locks.ReentrantLock$Sync",
+                "java.util.concurrent.locks.ReentrantLock$NonfairSync",
+                "java.awt.Color",
+                "java.awt.Insets",
+                "java.awt.Dimension",
+                "java.awt.Point",
+                "java.awt.Rectangle",
+                "java.awt.geom.Point2D$Float",
+                "java.awt.geom.Point2D$Double",
+                "java.awt.geom.Rectangle2D$Float",
+                "java.awt.geom.Rectangle2D$Double",
+                "javax.swing.plaf.ColorUIResource",
+                "javax.swing.plaf.InsetsUIResource",
+                "javax.swing.plaf.DimensionUIResource",
+                "javax.swing.ImageIcon",
+                "javax.swing.ScrollPaneLayout",
+                "javax.swing.ScrollPaneLayout$UIResource"
+        ) );
+
+        /**
+         * Skin {@link ClassLoader}.
+         */
+        @Nullable
+        private final ClassLoader classLoader;
+
+        /**
+         * Locations of the code allowed to provide {@link Serializable} classes.
+         * These are WebLaF and skin class locations.
+         */
+        @NotNull
+        private final Set<String> allowedLocations;
+
+        /**
+         * Constructs new {@link CompiledSkinInputStream}.
+         *
+         * @param in        {@link InputStream} to read from
+         * @param nearClass class to find skin info XML near
+         * @throws IOException if stream header cannot be read
+         */
+        public CompiledSkinInputStream ( @NotNull final InputStream in, @NotNull final Class nearClass ) throws IOException
+        {
+            super ( in );
+            this.classLoader = nearClass.getClassLoader ();
+            this.allowedLocations = new HashSet<String> ( 3 );
+            addAllowedLocation ( SkinInfo.class );
+            addAllowedLocation ( Resource.class );
+            addAllowedLocation ( nearClass );
+        }
+
+        /**
+         * Allows {@link Serializable} classes located along with the specified class.
+         *
+         * @param type class to allow {@link Serializable} classes located along with
+         */
+        private void addAllowedLocation ( @NotNull final Class<?> type )
+        {
+            final String location = getLocation ( type );
+            if ( location != null )
+            {
+                allowedLocations.add ( location );
+            }
+        }
+
+        @Override
+        protected Class<?> resolveClass ( final ObjectStreamClass desc ) throws IOException, ClassNotFoundException
+        {
+            Class<?> type;
+            try
+            {
+                type = Class.forName ( desc.getName (), false, classLoader );
+            }
+            catch ( final ClassNotFoundException e )
+            {
+                type = super.resolveClass ( desc );
+            }
+            if ( !isAllowed ( type ) )
+            {
+                throw new InvalidClassException ( desc.getName (), "Class is not allowed in compiled skin" );
+            }
+            return type;
+        }
+
+        @Override
+        protected Class<?> resolveProxyClass ( final String[] interfaces ) throws IOException
+        {
+            throw new InvalidClassException ( "Proxy classes are not allowed in compiled skin" );
+        }
+
+        /**
+         * Returns whether or not specified class is allowed to be deserialized.
+         *
+         * @param type class to check
+         * @return {@code true} if specified class is allowed to be deserialized, {@code false} otherwise
+         */
+        private boolean isAllowed ( @NotNull final Class<?> type )
+        {
+            final boolean allowed;
+            if ( type.isArray () )
+            {
+                allowed = isAllowed ( type.getComponentType () );
+            }
+            else if ( type.isPrimitive () || type.isEnum () || ALLOWED_CLASSES.contains ( type.getName () ) )
+            {
+                allowed = true;
+            }
+            else if ( Serializable.class.isAssignableFrom ( type ) )
+            {
+                final String location = getLocation ( type );
+                allowed = location != null && allowedLocations.contains ( location );
+            }
+            else
+            {
+                allowed = false;
+            }
+            return allowed;
+        }
+
+        /**
+         * Returns location of the code specified class is provided by or {@code null} if it cannot be determined.
+         *
+         * @param type class to find code location for
+         * @return location of the code specified class is provided by or {@code null} if it cannot be determined
+         */
+        @Nullable
+        private static String getLocation ( @NotNull final Class<?> type )
+        {
+            final ProtectionDomain domain = type.getProtectionDomain ();
+            final CodeSource source = domain != null ? domain.getCodeSource () : null;
+            final URL location = source != null ? source.getLocation () : null;
+            return location != null ? location.toExternalForm () : null;
+        }
+    }
+
+    /**
+     * Skin value that is not {@link Serializable} stored as XML.
+     */
+    private static final class XmlValue implements Serializable
+    {
+        /**
+         * Serialization version.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Value XML.
+         */
+        @NotNull
+        private final String xml;
+
+        /**
+         * Constructs new {@link XmlValue}.
+         *
+         * @param xml value XML
+         */
+        public XmlValue ( @NotNull final String xml )
+        {
+            this.xml = xml;
+        }
+
+        /**
+         * Returns value deserialized from XML.
+         *
+         * @return value deserialized from XML
+         */
+        @NotNull
+        private Object readResolve ()
+        {
+            return XmlUtils.fromXML ( xml );
+        }
+    }
+}
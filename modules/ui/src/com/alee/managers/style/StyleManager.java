@@ -105,6 +105,7 @@ import com.alee.managers.style.data.SkinInfo;
 import com.alee.painter.Painter;
 import com.alee.painter.decoration.AbstractDecoration;
 import com.alee.painter.decoration.Decorations;
+import com.alee.painter.decoration.DecorationsCache;
 import com.alee.painter.decoration.NinePatchDecoration;
 import com.alee.painter.decoration.WebDecoration;
 import com.alee.painter.decoration.background.*;
@@ -114,6 +115,7 @@ import com.alee.painter.decoration.content.*;
 import com.alee.painter.decoration.layout.*;
 import com.alee.painter.decoration.shadow.AbstractShadow;
 import com.alee.painter.decoration.shadow.ExpandingShadow;
+import com.alee.painter.decoration.shadow.ShadowCache;
 import com.alee.painter.decoration.shadow.WebShadow;
 import com.alee.painter.decoration.shape.ArrowShape;
 import com.alee.painter.decoration.shape.BoundsShape;
@@ -1031,6 +1033,9 @@ public final class StyleManager
             // Updating currently applied skin
             currentSkin = skin;
 
+            // Clearing decorations built for previous skin
+            DecorationsCache.clear ();
+
             // Installing new skin
             skin.install ();
 
@@ -1049,6 +1054,12 @@ public final class StyleManager
                 }
             } );
 
+            // Pre-baking shadows of the skin styles used by existing components
+            if ( ShadowCache.isPrebakeEnabled () )
+            {
+                ShadowCache.prebake ( skin );
+            }
+
             // Informing about skin change
             fireSkinChanged ( previousSkin, skin );
 
@@ -1090,6 +1101,9 @@ public final class StyleManager
                     // Components are not updated when extension is added because extension styles should not be used at this point yet
                     // If they are used it is an issue of components/extension initialization order and it should be fixed in application
                     getSkin ().applyExtension ( extension );
+
+                    // Clearing decorations that might have been built from outdated styles
+                    DecorationsCache.clear ();
                 }
             }
         }
@@ -63,10 +63,11 @@ public class XmlSkin extends AbstractSkin
      *
      * @param nearClass class to find skin info XML near
      * @param location  skin info XML location relative to the specified class
+     * @see CompiledSkinCache
      */
     public XmlSkin ( final Class nearClass, final String location )
     {
-        this ( ( SkinInfo ) XmlUtils.fromXML ( nearClass.getResource ( location ) ) );
+        this ( CompiledSkinCache.load ( nearClass, location ) );
     }
 
     /**
@@ -31,10 +31,11 @@ import org.slf4j.LoggerFactory;
 import javax.swing.*;
 import java.io.Serializable;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Basic information about the skin and its styles.
- * Styles cache is also resolved here when style requested or an extension is added.
+ * Styles are resolved lazily here, each top-level style is only resolved when style it contains is requested for the first time.
  *
  * @author Mikle Garin
  * @see <a href="https://github.com/mgarin/weblaf/wiki/How-to-use-StyleManager">How to use StyleManager</a>
@@ -106,11 +107,45 @@ public final class SkinInfo implements Serializable
     private List<ComponentStyle> styles;
 
     /**
-     * Skin styles cache map.
-     * It is automatically filled-in by the {@link com.alee.managers.style.data.SkinInfoConverter} with compiled styles.
+     * Resolved styles cache map.
+     * Entry: [ component type + ":" + complete style ID -> resolved style ]
      * It is not serialized and only available and used in runtime for performance reasons.
      */
-    private transient Map<String, Map<String, ComponentStyle>> stylesCache;
+    private transient volatile Map<String, ComponentStyle> stylesCache;
+
+    /**
+     * Indices of top-level styles in {@link #styles} list.
+     * Entry: [ component type + ":" + style ID -> style indices ]
+     */
+    private transient Map<String, List<Integer>> stylesIndex;
+
+    /**
+     * Indices of top-level styles in {@link #styles} list.
+     * Entry: [ component type -> style indices ]
+     */
+    private transient Map<String, List<Integer>> typeStylesIndex;
+
+    /**
+     * Types of styles nested into styles of each type.
+     * Entry: [ component type -> types of styles directly nested into styles of that type ]
+     */
+    private transient Map<String, Set<String>> nestedTypes;
+
+    /**
+     * Types of styles that might end up within resolved styles of each type.
+     * Entry: [ component type -> types of styles directly or indirectly nested into styles of that type, including type itself ]
+     */
+    private transient Map<String, Set<String>> reachableTypes;
+
+    /**
+     * Indices of top-level styles that were already resolved.
+     */
+    private transient BitSet resolvedStyles;
+
+    /**
+     * IDs of styles which were already built, used to determine cyclic references.
+     */
+    private transient Map<String, List<String>> builtStyles;
 
     /**
      * Extensions already processed by this data.
@@ -433,6 +468,64 @@ public final class SkinInfo implements Serializable
         return styles;
     }
 
+    /**
+     * Returns skin styles with all of them resolved.
+     * Unlike {@link #getStyle(JComponent)} this method resolves all skin styles at once, so it should only be used when necessary.
+     *
+     * @return skin styles with all of them resolved
+     */
+    public synchronized List<ComponentStyle> getResolvedStyles ()
+    {
+        ensureCacheInitialized ();
+        for ( int i = 0; i < styles.size (); i++ )
+        {
+            resolveStyle ( i );
+        }
+        return styles;
+    }
+
+    /**
+     * Resolves top-level skin styles that might contain styles of the specified component types.
+     * Unlike {@link #getResolvedStyles()} this method doesn't resolve styles which cannot contain styles of those types.
+     *
+     * @param types component types
+     */
+    public synchronized void resolveStyles ( final Collection<String> types )
+    {
+        ensureCacheInitialized ();
+        for ( int i = 0; i < styles.size (); i++ )
+        {
+            if ( !Collections.disjoint ( getReachableTypes ( styles.get ( i ).getType () ), types ) )
+            {
+                resolveStyle ( i );
+            }
+        }
+    }
+
+    /**
+     * Returns top-level skin styles that were already resolved, for instance because they were used by some components.
+     * Unlike {@link #getResolvedStyles()} this method doesn't resolve any styles.
+     *
+     * @return top-level skin styles that were already resolved
+     */
+    public synchronized List<ComponentStyle> getAlreadyResolvedStyles ()
+    {
+        final List<ComponentStyle> resolved;
+        if ( resolvedStyles != null )
+        {
+            resolved = new ArrayList<ComponentStyle> ( resolvedStyles.cardinality () );
+            for ( int i = resolvedStyles.nextSetBit ( 0 ); i >= 0 && i < styles.size (); i = resolvedStyles.nextSetBit ( i + 1 ) )
+            {
+                resolved.add ( styles.get ( i ) );
+            }
+        }
+        else
+        {
+            resolved = new ArrayList<ComponentStyle> ( 0 );
+        }
+        return resolved;
+    }
+
     /**
      * Sets skin styles.
      *
@@ -453,40 +546,34 @@ public final class SkinInfo implements Serializable
      */
     public ComponentStyle getStyle ( final JComponent component )
     {
-        // Lazily initializing style cache
-        ensureCacheInitialized ();
-
         // Searching for appropriate style
         final ComponentDescriptor descriptor = StyleManager.getDescriptor ( component );
-        final Map<String, ComponentStyle> componentStyles = stylesCache.get ( descriptor.getId () );
-        if ( componentStyles != null )
+        final String type = descriptor.getId ();
+        final String styleId = StyleId.getCompleteId ( component );
+        final ComponentStyle style = getResolvedStyle ( type, styleId );
+        if ( style != null )
         {
-            final String styleId = StyleId.getCompleteId ( component );
-            final ComponentStyle style = componentStyles.get ( styleId );
-            if ( style != null )
+            // We have found required style
+            return style;
+        }
+        else if ( hasStyles ( type ) )
+        {
+            // Required style cannot be found, using default style
+            final String warn = "Unable to find style '%s' for component: %s";
+            LoggerFactory.getLogger ( SkinInfo.class ).warn ( String.format ( warn, styleId, component ) );
+
+            // Trying to use default component style
+            final String defaultStyleId = StyleId.getDefault ( component ).getCompleteId ();
+            final ComponentStyle defaultStyle = getResolvedStyle ( type, defaultStyleId );
+            if ( defaultStyle != null )
             {
-                // We have found required style
-                return style;
+                return defaultStyle;
             }
             else
             {
-                // Required style cannot be found, using default style
-                final String warn = "Unable to find style '%s' for component: %s";
-                LoggerFactory.getLogger ( SkinInfo.class ).warn ( String.format ( warn, styleId, component ) );
-
-                // Trying to use default component style
-                final String defaultStyleId = StyleId.getDefault ( component ).getCompleteId ();
-                final ComponentStyle defaultStyle = componentStyles.get ( defaultStyleId );
-                if ( defaultStyle != null )
-                {
-                    return defaultStyle;
-                }
-                else
-                {
-                    // Default style cannot be found, using default style
-                    final String error = "Unable to find default style for ID '%s' for component: %s";
-                    throw new StyleException ( String.format ( error, defaultStyleId, component ) );
-                }
+                // Default style cannot be found, using default style
+                final String error = "Unable to find default style for ID '%s' for component: %s";
+                throw new StyleException ( String.format ( error, defaultStyleId, component ) );
             }
         }
         else
@@ -497,28 +584,75 @@ public final class SkinInfo implements Serializable
         }
     }
 
+    /**
+     * Returns resolved style for the specified component type and complete style ID or {@code null} if it doesn't exist.
+     * Resolved styles are cached, so each of them is only resolved once unless an extension is applied.
+     *
+     * @param type       component type
+     * @param completeId complete style ID
+     * @return resolved style for the specified component type and complete style ID or {@code null} if it doesn't exist
+     */
+    private ComponentStyle getResolvedStyle ( final String type, final String completeId )
+    {
+        final String key = type + ":" + completeId;
+        final Map<String, ComponentStyle> cache = stylesCache;
+        ComponentStyle style = cache != null ? cache.get ( key ) : null;
+        if ( style == null )
+        {
+            synchronized ( this )
+            {
+                ensureCacheInitialized ();
+                style = stylesCache.get ( key );
+                if ( style == null )
+                {
+                    style = resolveStyle ( type, completeId );
+                    if ( style != null )
+                    {
+                        stylesCache.put ( key, style );
+                    }
+                }
+            }
+        }
+        return style;
+    }
+
+    /**
+     * Returns whether or not this skin has any styles for the specified component type.
+     *
+     * @param type component type
+     * @return {@code true} if this skin has any styles for the specified component type, {@code false} otherwise
+     */
+    private synchronized boolean hasStyles ( final String type )
+    {
+        ensureCacheInitialized ();
+        return nestedTypes.containsKey ( type );
+    }
+
     /**
      * Performs skin cache initialization on demand.
-     * This cache will contain all styles compiled into their final forms for actual usage in components.
-     * It optimizes runtime routines a lot by just taking a bit more time at skin initialization.
+     * This only indexes top-level styles, each of them is resolved into its final form when it is used for the first time.
+     * That way skin initialization time and memory usage only depend on the styles actually used by application.
      */
     private void ensureCacheInitialized ()
     {
         if ( stylesCache == null )
         {
-            // Creating cache map
-            stylesCache = new LinkedHashMap<String, Map<String, ComponentStyle>> ( StyleManager.getDescriptorsCount () );
+            // Creating indices
+            stylesIndex = new HashMap<String, List<Integer>> ( styles.size () );
+            typeStylesIndex = new HashMap<String, List<Integer>> ( StyleManager.getDescriptorsCount () );
+            nestedTypes = new HashMap<String, Set<String>> ( StyleManager.getDescriptorsCount () );
+            reachableTypes = new HashMap<String, Set<String>> ( StyleManager.getDescriptorsCount () );
+            resolvedStyles = new BitSet ( styles.size () );
+            builtStyles = createBuiltStyles ();
 
-            // Merging style overrides
-            performOverride ( styles, 0 );
+            // Merging styles with the same ID
+            mergeStyles ( styles, 0 );
 
-            // Building styles which extend some other styles
-            // We have to merge these manually once to create complete styles
-            buildStyles ( styles, 0 );
+            // Indexing top-level styles
+            indexStyles ( 0 );
 
-            // Generating skin info cache
-            // Also merging all styles with the same ID
-            gatherStyles ( styles, stylesCache );
+            // Creating cache map
+            stylesCache = new ConcurrentHashMap<String, ComponentStyle> ( StyleManager.getDescriptorsCount () );
         }
     }
 
@@ -528,7 +662,7 @@ public final class SkinInfo implements Serializable
      * @param extension extension to apply
      * @return true if extension was applied successfully, false otherwise
      */
-    public boolean applyExtension ( final SkinExtension extension )
+    public synchronized boolean applyExtension ( final SkinExtension extension )
     {
         // Ensure processed extensions list exists
         if ( processedExtensions == null )
@@ -600,28 +734,27 @@ public final class SkinInfo implements Serializable
         final int startIndex = styles.size ();
 
         // Adding all extension styles into the pool
-        // Those will be used to generate new caches
+        // Those will be resolved on demand just like skin styles
         styles.addAll ( extension.styles );
 
-        // Merging style overrides
-        performOverride ( styles, startIndex );
+        // Merging extension styles with the same ID
+        mergeStyles ( styles, startIndex );
 
-        // Building styles which extend some other styles
-        // We have to merge these manually once to create complete styles
-        buildStyles ( styles, startIndex );
+        // Indexing extension styles
+        indexStyles ( startIndex );
 
-        // Generating skin info cache
-        // Also merging all styles with the same ID
-        gatherStyles ( styles.subList ( startIndex, styles.size () ), stylesCache );
+        // Resetting styles cache since extension styles might override resolved ones
+        builtStyles = createBuiltStyles ();
+        stylesCache.clear ();
     }
 
     /**
-     * Performs style override.
+     * Merges styles with the same type and ID starting from the specified index.
      *
-     * @param styles     styles to override
+     * @param styles     styles to merge
      * @param startIndex start index
      */
-    private void performOverride ( final List<ComponentStyle> styles, final int startIndex )
+    private void mergeStyles ( final List<ComponentStyle> styles, final int startIndex )
     {
         for ( int i = startIndex; i < styles.size (); i++ )
         {
@@ -638,10 +771,214 @@ public final class SkinInfo implements Serializable
                 }
             }
         }
+    }
 
+    /**
+     * Indexes top-level styles starting from the specified index.
+     *
+     * @param startIndex start index
+     */
+    private void indexStyles ( final int startIndex )
+    {
         for ( int i = startIndex; i < styles.size (); i++ )
         {
-            performOverride ( styles, styles, i, i );
+            final ComponentStyle style = styles.get ( i );
+            addIndex ( stylesIndex, style.getType () + ":" + style.getId (), i );
+            addIndex ( typeStylesIndex, style.getType (), i );
+            indexNestedTypes ( style );
+        }
+        reachableTypes.clear ();
+    }
+
+    /**
+     * Adds style index into the specified indices map.
+     *
+     * @param indices indices map
+     * @param key     style key
+     * @param index   style index
+     */
+    private void addIndex ( final Map<String, List<Integer>> indices, final String key, final int index )
+    {
+        List<Integer> keyIndices = indices.get ( key );
+        if ( keyIndices == null )
+        {
+            keyIndices = new ArrayList<Integer> ( 1 );
+            indices.put ( key, keyIndices );
+        }
+        keyIndices.add ( index );
+    }
+
+    /**
+     * Indexes types of styles nested into the specified style and its nested styles.
+     *
+     * @param style style to index nested types for
+     */
+    private void indexNestedTypes ( final ComponentStyle style )
+    {
+        Set<String> types = nestedTypes.get ( style.getType () );
+        if ( types == null )
+        {
+            types = new HashSet<String> ( 1 );
+            nestedTypes.put ( style.getType (), types );
+        }
+        if ( style.getStylesCount () > 0 )
+        {
+            for ( final ComponentStyle nestedStyle : style.getNestedStyles () )
+            {
+                types.add ( nestedStyle.getType () );
+                indexNestedTypes ( nestedStyle );
+            }
+        }
+    }
+
+    /**
+     * Returns types of styles that might end up within resolved styles of the specified type, including type itself.
+     * Styles only inherit nested styles from the styles of the same type, so these are all types reachable through nesting.
+     *
+     * @param type component type
+     * @return types of styles that might end up within resolved styles of the specified type, including type itself
+     */
+    private Set<String> getReachableTypes ( final String type )
+    {
+        Set<String> types = reachableTypes.get ( type );
+        if ( types == null )
+        {
+            types = new HashSet<String> ();
+            final LinkedList<String> queue = new LinkedList<String> ();
+            queue.add ( type );
+            while ( !queue.isEmpty () )
+            {
+                final String current = queue.removeFirst ();
+                if ( types.add ( current ) )
+                {
+                    final Set<String> nested = nestedTypes.get ( current );
+                    if ( nested != null )
+                    {
+                        queue.addAll ( nested );
+                    }
+                }
+            }
+            reachableTypes.put ( type, types );
+        }
+        return types;
+    }
+
+    /**
+     * Returns resolved style for the specified component type and complete style ID or {@code null} if it doesn't exist.
+     * Only top-level styles that might contain requested style are resolved here.
+     * If there are multiple matching styles the last one is used, just like it would be with all styles resolved.
+     *
+     * @param type       component type
+     * @param completeId complete style ID
+     * @return resolved style for the specified component type and complete style ID or {@code null} if it doesn't exist
+     */
+    private ComponentStyle resolveStyle ( final String type, final String completeId )
+    {
+        // Collecting top-level styles which might contain requested style
+        // Those are either top-level styles with requested ID or styles with ID that complete ID starts with
+        final List<Integer> indices = new ArrayList<Integer> ( 1 );
+        addIndices ( indices, stylesIndex.get ( type + ":" + completeId ) );
+        int separator = completeId.indexOf ( StyleId.styleSeparator );
+        while ( separator != -1 )
+        {
+            addIndices ( indices, stylesIndex.get ( completeId.substring ( 0, separator ) ) );
+            separator = completeId.indexOf ( StyleId.styleSeparator, separator + 1 );
+        }
+        Collections.sort ( indices );
+
+        // Resolving those styles and looking for requested style
+        ComponentStyle resolved = null;
+        for ( final Integer index : indices )
+        {
+            resolveStyle ( index );
+            final ComponentStyle style = findResolvedStyle ( type, completeId, styles.get ( index ) );
+            if ( style != null )
+            {
+                resolved = style;
+            }
+        }
+        return resolved;
+    }
+
+    /**
+     * Adds specified style indices into the list.
+     *
+     * @param indices    list to add indices into
+     * @param addIndices indices to add, might be {@code null}
+     */
+    private void addIndices ( final List<Integer> indices, final List<Integer> addIndices )
+    {
+        if ( addIndices != null )
+        {
+            indices.addAll ( addIndices );
+        }
+    }
+
+    /**
+     * Returns last style with the specified type and complete ID found among the specified style and its nested styles.
+     *
+     * @param type       component type
+     * @param completeId complete style ID
+     * @param style      style to look in
+     * @return last style with the specified type and complete ID found among the specified style and its nested styles
+     */
+    private ComponentStyle findResolvedStyle ( final String type, final String completeId, final ComponentStyle style )
+    {
+        ComponentStyle resolved = null;
+        if ( Objects.equals ( style.getType (), type ) && Objects.equals ( style.getCompleteId (), completeId ) )
+        {
+            resolved = style;
+        }
+        if ( style.getStylesCount () > 0 )
+        {
+            for ( final ComponentStyle nestedStyle : style.getNestedStyles () )
+            {
+                final ComponentStyle nestedResolved = findResolvedStyle ( type, completeId, nestedStyle );
+                if ( nestedResolved != null )
+                {
+                    resolved = nestedResolved;
+                }
+            }
+        }
+        return resolved;
+    }
+
+    /**
+     * Resolves top-level style at the specified index.
+     * This will resolve all style dependencies and overrides, as well as all preceding styles it might depend on.
+     *
+     * @param index top-level style index
+     */
+    private void resolveStyle ( final int index )
+    {
+        if ( !resolvedStyles.get ( index ) )
+        {
+            // Resolving preceding styles this style might depend on first
+            // Style can only depend on preceding styles of the types it might contain after resolution
+            for ( final String type : getReachableTypes ( styles.get ( index ).getType () ) )
+            {
+                final List<Integer> indices = typeStylesIndex.get ( type );
+                if ( indices != null )
+                {
+                    for ( final Integer dependency : indices )
+                    {
+                        if ( dependency >= index )
+                        {
+                            break;
+                        }
+                        resolveStyle ( dependency );
+                    }
+                }
+            }
+
+            // Marking style as resolved in advance to avoid resolving it twice in case of any errors
+            resolvedStyles.set ( index );
+
+            // Merging style overrides
+            performOverride ( styles, styles, index, index );
+
+            // Building style which extends some other styles
+            buildStyle ( styles, index, new ArrayList<String> (), builtStyles );
         }
     }
 
@@ -763,59 +1100,18 @@ public final class SkinInfo implements Serializable
     }
 
     /**
-     * Gathers styles into styles cache map.
+     * Returns new built style identifiers map.
      *
-     * @param styles      styles available on this level
-     * @param stylesCache styles cache map
+     * @return new built style identifiers map
      */
-    private void gatherStyles ( final List<ComponentStyle> styles, final Map<String, Map<String, ComponentStyle>> stylesCache )
+    private Map<String, List<String>> createBuiltStyles ()
     {
-        if ( styles != null )
-        {
-            for ( final ComponentStyle style : styles )
-            {
-                // Retrieving styles map for this component type
-                final String type = style.getType ();
-                Map<String, ComponentStyle> componentStyles = stylesCache.get ( type );
-                if ( componentStyles == null )
-                {
-                    componentStyles = new LinkedHashMap<String, ComponentStyle> ( 1 );
-                    stylesCache.put ( type, componentStyles );
-                }
-
-                // Adding this style into cache
-                componentStyles.put ( style.getCompleteId (), style );
-
-                // Adding child styles into cache
-                gatherStyles ( style.getNestedStyles (), stylesCache );
-            }
-        }
-    }
-
-    /**
-     * Builds specified styles.
-     * This will resolve all style dependencies and overrides.
-     *
-     * @param styles     styles to build
-     * @param startIndex start index
-     */
-    private void buildStyles ( final List<ComponentStyle> styles, final int startIndex )
-    {
-        // Creating built style identifiers map
         final Map<String, List<String>> builtStyles = new HashMap<String, List<String>> ();
         for ( final ComponentDescriptor descriptor : StyleManager.getDescriptors () )
         {
             builtStyles.put ( descriptor.getId (), new ArrayList<String> ( 1 ) );
         }
-
-        // Special list that will keep only styles which are being built
-        final List<String> building = new ArrayList<String> ();
-
-        // Building provided styles into a new list
-        for ( int i = startIndex; i < styles.size (); i++ )
-        {
-            buildStyle ( styles, i, building, builtStyles );
-        }
+        return builtStyles;
     }
 
     /**
@@ -17,6 +17,7 @@
 
 package com.alee.managers.style.data;
 
+import com.alee.api.annotations.NotNull;
 import com.alee.api.merge.Merge;
 import com.alee.managers.icon.set.IconSet;
 import com.alee.managers.style.Skin;
@@ -80,6 +81,12 @@ public final class SkinInfoConverter extends ReflectionConverter
      */
     protected static final Map<String, Map<String, String>> resourceMap = new LinkedHashMap<String, Map<String, String>> ();
 
+    /**
+     * Resources read by this converter on the current thread.
+     * Resources are only recorded between {@link #startRecording()} and {@link #stopRecording()} calls.
+     */
+    private static final ThreadLocal<List<Resource>> recordedResources = new ThreadLocal<List<Resource>> ();
+
     /**
      * Constructs SkinInfoConverter with the specified mapper and reflection provider.
      *
@@ -111,6 +118,37 @@ public final class SkinInfoConverter extends ReflectionConverter
         nearClassMap.put ( src, xml );
     }
 
+    /**
+     * Returns whether or not any custom resources were added through {@link #addCustomResource(String, String, String)}.
+     *
+     * @return {@code true} if any custom resources were added, {@code false} otherwise
+     */
+    public static boolean hasCustomResources ()
+    {
+        return !resourceMap.isEmpty ();
+    }
+
+    /**
+     * Starts recording included resources read by this converter on the current thread.
+     */
+    public static void startRecording ()
+    {
+        recordedResources.set ( new ArrayList<Resource> () );
+    }
+
+    /**
+     * Stops recording included resources on the current thread and returns all resources recorded so far.
+     *
+     * @return {@link List} of included resources read by this converter on the current thread
+     */
+    @NotNull
+    public static List<Resource> stopRecording ()
+    {
+        final List<Resource> resources = recordedResources.get ();
+        recordedResources.remove ();
+        return resources != null ? resources : new ArrayList<Resource> ( 0 );
+    }
+
     @Override
     public boolean canConvert ( final Class type )
     {
@@ -338,6 +376,11 @@ public final class SkinInfoConverter extends ReflectionConverter
      */
     private SkinInfo loadSkinInfo ( final SkinInfo skinInfo, final Resource resource )
     {
+        final List<Resource> resources = recordedResources.get ();
+        if ( resources != null )
+        {
+            resources.add ( resource );
+        }
         try
         {
             final XStreamContext context = new XStreamContext ( SKIN_CLASS, skinInfo.getSkinClass () );
@@ -31,10 +31,12 @@ import javax.swing.plaf.ComponentUI;
 import java.awt.*;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.WeakHashMap;
 
 /**
  * This abstract {@link Painter} implementation provides a few basic commonly used features.
@@ -78,6 +80,33 @@ public abstract class AbstractPainter<C extends JComponent, U extends ComponentU
      */
     protected transient boolean ltr;
 
+    /**
+     * Cached painter preferred size.
+     * It is only used when {@link #isPreferredSizeCacheable()} returns {@code true}.
+     * It is reset on any component property change, border update and revalidation.
+     *
+     * @see #getCachedPreferredSize()
+     * @see #resetPreferredSize()
+     */
+    @Nullable
+    protected transient Dimension preferredSize;
+
+    /**
+     * Cached classes declaring painter methods checked by {@link #isDeclaredBy(Class, String, Class)}.
+     * Declaring classes are referenced weakly since painter class itself might declare the method.
+     * Entry: [ painter class -> [ method name -> class declaring the method or {@code null} if there is no such method ] ]
+     */
+    @NotNull
+    private static final Map<Class, Map<String, WeakReference<Class>>> declaringClasses =
+            new WeakHashMap<Class, Map<String, WeakReference<Class>>> ();
+
+    /**
+     * Cached results of component classes checks performed by {@link #isFiringPropertyChanges(JComponent)}.
+     * Entry: [ component class -> whether or not it fires all property change events ]
+     */
+    @NotNull
+    private static final Map<Class, Boolean> firingClasses = new WeakHashMap<Class, Boolean> ();
+
     @Override
     public void install ( @NotNull final C c, @NotNull final U ui )
     {
@@ -87,6 +116,7 @@ public abstract class AbstractPainter<C extends JComponent, U extends ComponentU
         // Saving references
         this.component = c;
         this.ui = ui;
+        this.preferredSize = null;
 
         // Additional actions before installation
         beforeInstall ();
@@ -124,6 +154,7 @@ public abstract class AbstractPainter<C extends JComponent, U extends ComponentU
         // Cleaning up references
         this.component = null;
         this.ui = null;
+        this.preferredSize = null;
     }
 
     /**
@@ -371,7 +402,7 @@ public abstract class AbstractPainter<C extends JComponent, U extends ComponentU
             final Bounds sectionBounds = new Bounds ( componentBounds, section );
 
             // Painting section
-            painter.paint ( g2d, component, ui, sectionBounds );
+            PainterSupport.paintSection ( g2d, component, ui, painter, sectionBounds );
 
             // Restoring old clip
             GraphicsUtils.restoreClip ( g2d, oc );
@@ -389,7 +420,7 @@ public abstract class AbstractPainter<C extends JComponent, U extends ComponentU
             final Bounds sectionBounds = new Bounds ( componentBounds, bounds );
 
             // Painting section
-            painter.paint ( g2d, component, ui, sectionBounds );
+            PainterSupport.paintSection ( g2d, component, ui, painter, sectionBounds );
 
             // Restoring old clip
             GraphicsUtils.restoreClip ( g2d, oc );
@@ -438,6 +469,9 @@ public abstract class AbstractPainter<C extends JComponent, U extends ComponentU
                 // This might happen if painter is replaced from another PropertyChangeListener
                 if ( component != null )
                 {
+                    // Any property might affect preferred size
+                    resetPreferredSize ();
+
                     // Inform about property change event
                     AbstractPainter.this.propertyChanged ( evt.getPropertyName (), evt.getOldValue (), evt.getNewValue () );
                 }
@@ -631,12 +665,159 @@ public abstract class AbstractPainter<C extends JComponent, U extends ComponentU
         return SwingUtils.increase ( new Dimension ( 0, 0 ), getCompleteBorder () );
     }
 
+    /**
+     * Returns painter preferred size cached until the next component property change, border update or revalidation.
+     * Preferred size is only cached if {@link #isPreferredSizeCacheable()} allows it, otherwise it is simply recalculated.
+     * This method is used by {@link PainterSupport#getPreferredSize(JComponent, Dimension, Painter, boolean)}.
+     *
+     * @return painter preferred size
+     */
+    @NotNull
+    public final Dimension getCachedPreferredSize ()
+    {
+        final Dimension ps;
+        if ( component != null && isPreferredSizeCacheable () )
+        {
+            if ( preferredSize == null )
+            {
+                preferredSize = getPreferredSize ();
+            }
+            ps = new Dimension ( preferredSize );
+        }
+        else
+        {
+            ps = getPreferredSize ();
+        }
+        return ps;
+    }
+
+    /**
+     * Resets cached painter preferred size.
+     * Should be called whenever painter preferred size might change outside of property changes and {@link #revalidate()} calls.
+     */
+    protected void resetPreferredSize ()
+    {
+        preferredSize = null;
+    }
+
+    /**
+     * Returns whether or not painter preferred size can be cached.
+     * It can only be cached when it is based solely on data tracked by this painter, which is true by default only if:
+     * - {@link #getPreferredSize()} is not overridden by painter implementation
+     * - component fires all property change events, which is not true for cell renderers for instance
+     *
+     * Painters overriding {@link #getPreferredSize()} are excluded since they often base it on data that is not reflected by any
+     * property change events, like model values, so they have to override this method to enable preferred size caching.
+     *
+     * @return {@code true} if painter preferred size can be cached, {@code false} otherwise
+     */
+    protected boolean isPreferredSizeCacheable ()
+    {
+        return isDeclaredBy ( getClass (), "getPreferredSize", AbstractPainter.class ) && isFiringPropertyChanges ( component );
+    }
+
+    /**
+     * Returns whether or not specified painter class inherits specified method from the specified class.
+     * Class declaring the method is cached per painter class and method name, so checks against any class are cheap.
+     *
+     * @param painterClass   painter class
+     * @param method         name of the method without parameters
+     * @param declaringClass class that must declare the method
+     * @return {@code true} if specified painter class inherits specified method from the specified class, {@code false} otherwise
+     */
+    protected static boolean isDeclaredBy ( @NotNull final Class<? extends Painter> painterClass, @NotNull final String method,
+                                            @NotNull final Class<? extends Painter> declaringClass )
+    {
+        synchronized ( declaringClasses )
+        {
+            Map<String, WeakReference<Class>> methods = declaringClasses.get ( painterClass );
+            if ( methods == null )
+            {
+                methods = new HashMap<String, WeakReference<Class>> ( 2 );
+                declaringClasses.put ( painterClass, methods );
+            }
+            final Class declaredBy;
+            if ( methods.containsKey ( method ) )
+            {
+                final WeakReference<Class> reference = methods.get ( method );
+                declaredBy = reference != null ? reference.get () : null;
+            }
+            else
+            {
+                Class methodClass;
+                try
+                {
+                    methodClass = painterClass.getMethod ( method ).getDeclaringClass ();
+                }
+                catch ( final NoSuchMethodException e )
+                {
+                    methodClass = null;
+                }
+                methods.put ( method, methodClass != null ? new WeakReference<Class> ( methodClass ) : null );
+                declaredBy = methodClass;
+            }
+            return declaredBy != null && declaredBy == declaringClass;
+        }
+    }
+
+    /**
+     * Returns whether or not specified component fires all property change events.
+     * Components that override default {@code firePropertyChange(...)} implementations, like cell renderers, are considered to
+     * skip some of the events for performance reasons.
+     *
+     * @param component component to check
+     * @return {@code true} if specified component fires all property change events, {@code false} otherwise
+     */
+    protected static boolean isFiringPropertyChanges ( @NotNull final JComponent component )
+    {
+        final Class<? extends JComponent> componentClass = component.getClass ();
+        synchronized ( firingClasses )
+        {
+            Boolean firing = firingClasses.get ( componentClass );
+            if ( firing == null )
+            {
+                firing = isDeclaredBySwing ( componentClass, Object.class ) && isDeclaredBySwing ( componentClass, boolean.class ) &&
+                        isDeclaredBySwing ( componentClass, int.class );
+                firingClasses.put ( componentClass, firing );
+            }
+            return firing;
+        }
+    }
+
+    /**
+     * Returns whether or not {@code firePropertyChange(...)} method with the specified value type is inherited by the specified
+     * component class from either {@link Component} or {@link JComponent}.
+     *
+     * @param componentClass component class
+     * @param valueType      property value type
+     * @return {@code true} if {@code firePropertyChange(...)} method is inherited from {@link Component} or {@link JComponent}
+     */
+    private static boolean isDeclaredBySwing ( @NotNull final Class componentClass, @NotNull final Class valueType )
+    {
+        boolean declared = false;
+        for ( Class type = componentClass; type != null; type = type.getSuperclass () )
+        {
+            try
+            {
+                type.getDeclaredMethod ( "firePropertyChange", String.class, valueType, valueType );
+                declared = type == Component.class || type == JComponent.class;
+                break;
+            }
+            catch ( final NoSuchMethodException e )
+            {
+                // Checking superclass
+            }
+        }
+        return declared;
+    }
+
     /**
      * Updates component with complete border.
      * This border takes painter borders and component margin and padding into account.
      */
     protected void updateBorder ()
     {
+        resetPreferredSize ();
         if ( isSettingsUpdateAllowed () )
         {
             final Insets border = getCompleteBorder ();
@@ -690,6 +871,7 @@ public abstract class AbstractPainter<C extends JComponent, U extends ComponentU
      */
     protected void revalidate ()
     {
+        resetPreferredSize ();
         updateBorder ();
         if ( isSettingsUpdateAllowed () )
         {
@@ -27,6 +27,7 @@ import com.alee.managers.style.PainterShapeProvider;
 import com.alee.managers.style.StyleManager;
 import com.alee.managers.style.data.ComponentStyle;
 import com.alee.painter.decoration.AbstractDecorationPainter;
+import com.alee.painter.metrics.PaintMetrics;
 import com.alee.utils.ReflectUtils;
 import com.alee.utils.SwingUtils;
 import com.alee.utils.swing.WeakComponentData;
@@ -564,6 +565,67 @@ public final class PainterSupport
         return behavior;
     }
 
+    /**
+     * Paints {@link JComponent} using the specified {@link Painter}.
+     * Paint timings are recorded by {@link PaintMetrics} when it is enabled.
+     *
+     * @param g2d         graphics context
+     * @param component   painted {@link JComponent}
+     * @param componentUI painted {@link JComponent} UI
+     * @param painter     {@link Painter}
+     * @param bounds      painting bounds
+     */
+    public static void paint ( @NotNull final Graphics2D g2d, @NotNull final JComponent component, @NotNull final ComponentUI componentUI,
+                               @NotNull final Painter painter, @NotNull final Bounds bounds )
+    {
+        paint ( g2d, component, componentUI, painter, bounds, true );
+    }
+
+    /**
+     * Paints {@link JComponent} section using the specified {@link SectionPainter}.
+     * Paint timings are recorded by {@link PaintMetrics} when it is enabled.
+     *
+     * @param g2d         graphics context
+     * @param component   painted {@link JComponent}
+     * @param componentUI painted {@link JComponent} UI
+     * @param painter     {@link SectionPainter}
+     * @param bounds      section painting bounds
+     */
+    public static void paintSection ( @NotNull final Graphics2D g2d, @NotNull final JComponent component,
+                                      @NotNull final ComponentUI componentUI, @NotNull final SectionPainter painter,
+                                      @NotNull final Bounds bounds )
+    {
+        paint ( g2d, component, componentUI, painter, bounds, false );
+    }
+
+    /**
+     * Paints {@link JComponent} using the specified {@link Painter}.
+     *
+     * @param g2d           graphics context
+     * @param component     painted {@link JComponent}
+     * @param componentUI   painted {@link JComponent} UI
+     * @param painter       {@link Painter}
+     * @param bounds        painting bounds
+     * @param recordStyleId whether or not paint timing should also be recorded for {@link JComponent} style identifier
+     */
+    private static void paint ( @NotNull final Graphics2D g2d, @NotNull final JComponent component, @NotNull final ComponentUI componentUI,
+                                @NotNull final Painter painter, @NotNull final Bounds bounds, final boolean recordStyleId )
+    {
+        if ( PaintMetrics.isEnabled () )
+        {
+            final long bytes = PaintMetrics.getAllocatedBytes ();
+            final long start = System.nanoTime ();
+            painter.paint ( g2d, component, componentUI, bounds );
+            final long time = System.nanoTime () - start;
+            final long allocated = PaintMetrics.getAllocatedBytes ( bytes );
+            PaintMetrics.record ( component, getPainter ( painter ), time, allocated, recordStyleId );
+        }
+        else
+        {
+            painter.paint ( g2d, component, componentUI, bounds );
+        }
+    }
+
     /**
      * Returns {@link JComponent} preferred size or {@code null} if there is no preferred size.
      *
@@ -610,7 +672,7 @@ public final class PainterSupport
         WebLookAndFeel.checkEventDispatchThread ();
 
         // Painter's preferred size
-        Dimension ps = SwingUtils.max ( preferred, painter != null ? painter.getPreferredSize () : null );
+        Dimension ps = SwingUtils.max ( preferred, getPreferredSize ( painter ) );
 
         // Layout preferred size
         if ( !ignoreLayoutSize )
@@ -625,6 +687,29 @@ public final class PainterSupport
         return ps;
     }
 
+    /**
+     * Returns {@link Painter} preferred size.
+     * Cached preferred size is used for {@link AbstractPainter}s, see {@link AbstractPainter#getCachedPreferredSize()}.
+     *
+     * @param painter component painter
+     * @return {@link Painter} preferred size or {@code null} if painter is not specified
+     */
+    @Nullable
+    private static Dimension getPreferredSize ( @Nullable final Painter painter )
+    {
+        final Dimension ps;
+        final Painter actual = getPainter ( painter );
+        if ( actual instanceof AbstractPainter )
+        {
+            ps = ( ( AbstractPainter ) actual ).getCachedPreferredSize ();
+        }
+        else
+        {
+            ps = painter != null ? painter.getPreferredSize () : null;
+        }
+        return ps;
+    }
+
     /**
      * Returns whether or not component uses decoratable painter.
      *
@@ -92,9 +92,12 @@ public abstract class AbstractDecorationPainter<C extends JComponent, U extends
      * Runtime variables.
      */
     protected transient List<String> states;
-    protected transient Map<String, D> stateDecorationCache;
-    protected transient Map<String, D> decorationCache;
-    protected transient String current;
+    protected transient DecorationStateSet stateSet;
+    protected transient DecorationStateSet checkedStates;
+    protected transient DecorationStateSet usedStates;
+    protected transient Map<DecorationStateSet, D> stateDecorationCache;
+    protected transient Map<BitSet, D> decorationCache;
+    protected transient DecorationStateSet current;
     protected transient boolean focused;
     protected transient boolean inFocusedParent;
     protected transient boolean hover;
@@ -110,6 +113,7 @@ public abstract class AbstractDecorationPainter<C extends JComponent, U extends
          * Although we still do it before updating border in {@link super#afterInstall()}.
          */
         this.states = collectDecorationStates ();
+        this.stateSet = DecorationStateSet.of ( states );
 
         /**
          * Performing basic actions after installation ends.
@@ -140,6 +144,10 @@ public abstract class AbstractDecorationPainter<C extends JComponent, U extends
          */
         this.stateDecorationCache = null;
         this.decorationCache = null;
+        this.current = null;
+        this.usedStates = null;
+        this.checkedStates = null;
+        this.stateSet = null;
         this.states = null;
 
         /**
@@ -266,6 +274,7 @@ public abstract class AbstractDecorationPainter<C extends JComponent, U extends
      */
     protected void childrenChanged ( @NotNull final ContainerEvent event )
     {
+        resetPreferredSize ();
         updateDecorationState ();
     }
 
@@ -947,7 +956,7 @@ public abstract class AbstractDecorationPainter<C extends JComponent, U extends
     public final boolean usesState ( @NotNull final String state )
     {
         // Checking whether or not this painter uses this decoration state
-        boolean usesState = usesState ( decorations, state );
+        boolean usesState = decorationsUseState ( state );
 
         // Checking whether or not section painters used by this painter use it
         if ( !usesState )
@@ -973,25 +982,48 @@ public abstract class AbstractDecorationPainter<C extends JComponent, U extends
     }
 
     /**
-     * Returns whether specified decorations are associated with specified state.
+     * Returns whether or not any of this painter's {@link #decorations} uses specified decoration state.
+     * Each state is checked against decorations using {@link IDecoration#usesState(String)} only once, result is then cached.
      *
-     * @param decorations decorations
-     * @param state       decoration state
-     * @return {@code true} if specified decorations are associated with specified state, {@code false} otherwise
+     * @param state decoration state
+     * @return {@code true} if any of this painter's {@link #decorations} uses specified decoration state, {@code false} otherwise
      */
-    protected final boolean usesState ( @Nullable final Decorations<C, D> decorations, final String state )
+    private boolean decorationsUseState ( @NotNull final String state )
     {
-        boolean usesState = false;
-        if ( decorations != null && decorations.size () > 0 )
+        final boolean usesState;
+        if ( checkedStates != null && checkedStates.contains ( state ) )
         {
-            for ( final D decoration : decorations )
+            // Using cached result
+            usesState = usedStates.contains ( state );
+        }
+        else
+        {
+            // Asking decorations whether or not they use the state
+            boolean used = false;
+            if ( decorations != null && decorations.size () > 0 )
             {
-                if ( decoration.usesState ( state ) )
+                for ( final D decoration : decorations )
                 {
-                    usesState = true;
-                    break;
+                    if ( decoration.usesState ( state ) )
+                    {
+                        used = true;
+                        break;
+                    }
                 }
             }
+            usesState = used;
+
+            // Caching result
+            final DecorationStateSet stateSet = DecorationStateSet.of ( Collections.singletonList ( state ) );
+            checkedStates = checkedStates != null ? checkedStates.union ( stateSet ) : stateSet;
+            if ( usesState )
+            {
+                usedStates = usedStates != null ? usedStates.union ( stateSet ) : stateSet;
+            }
+            else if ( usedStates == null )
+            {
+                usedStates = DecorationStateSet.EMPTY;
+            }
         }
         return usesState;
     }
@@ -1004,6 +1036,19 @@ public abstract class AbstractDecorationPainter<C extends JComponent, U extends
      */
     @NotNull
     protected final List<D> getDecorations ( @NotNull final List<String> forStates )
+    {
+        return getDecorations ( decorations, forStates );
+    }
+
+    /**
+     * Returns decorations from the specified {@link Decorations} for the specified states.
+     *
+     * @param decorations {@link Decorations} to retrieve decorations from
+     * @param forStates   decoration states to retrieve decoration for
+     * @return decorations from the specified {@link Decorations} for the specified states
+     */
+    @NotNull
+    protected final List<D> getDecorations ( @Nullable final Decorations<C, D> decorations, @NotNull final List<String> forStates )
     {
         final List<D> result = new ArrayList<D> ();
         if ( decorations != null && decorations.size () > 0 )
@@ -1026,103 +1071,41 @@ public abstract class AbstractDecorationPainter<C extends JComponent, U extends
         final D result;
         if ( decorations != null && decorations.size () > 0 )
         {
-            // Decoration key
-            // States are properly sorted, so their order is always the same
-            final String previous = this.current;
-            current = TextUtils.listToString ( states, "," );
+            // Decoration states key
+            // It is only updated along with the states, so no additional objects are created here
+            final DecorationStateSet previous = this.current;
+            current = stateSet;
 
             // Creating decoration caches
             if ( stateDecorationCache == null )
             {
                 // State decorations cache
-                // Entry: [ component state -> built decoration reference ]
+                // Entry: [ component states -> built decoration reference ]
                 // It is used for fastest possible access to component state decorations
-                stateDecorationCache = new HashMap<String, D> ( decorations.size () );
+                stateDecorationCache = new HashMap<DecorationStateSet, D> ( decorations.size () );
 
                 // Decoration combinations cache
                 // Entry: [ decorations combination key -> built decoration reference ]
                 // It is used to avoid excessive memory usage by duplicate decoration combinations for each specific state
-                decorationCache = new HashMap<String, D> ( decorations.size () );
+                decorationCache = new HashMap<BitSet, D> ( decorations.size () );
             }
 
             // Resolving state decoration if it is not yet cached
             if ( !stateDecorationCache.containsKey ( current ) )
             {
-                // Retrieving all decorations fitting current states
-                final List<D> decorations = getDecorations ( states );
-
-                // Retrieving unique key for decorations combination
-                final String decorationsKey = getDecorationsKey ( decorations );
+                // Resolving decoration through either shared or painter-specific means
+                final Decorations<C, D> origin = decorations.getOrigin ();
+                final D decoration = origin != null ? getSharedDecoration ( origin ) : getOwnDecoration ();
 
-                // Retrieving existing decoration or building a new one
-                final D decoration;
-                if ( decorationCache.containsKey ( decorationsKey ) )
-                {
-                    // Retrieving decoration from existing built decorations cache
-                    decoration = decorationCache.get ( decorationsKey );
-                }
-                else
-                {
-                    // Building single decoration from a set
-                    if ( CollectionUtils.isEmpty ( decorations ) )
-                    {
-                        // No decoration for the states available
-                        decoration = null;
-                    }
-                    else if ( decorations.size () == 1 )
-                    {
-                        // Single existing decoration for the states
-                        decoration = Clone.deep ().clone ( decorations.get ( 0 ) );
-                    }
-                    else
-                    {
-                        // Filter out possible decorations of different type
-                        // We always use type of the last one available since it has higher priority
-                        final Class<? extends IDecoration> type = decorations.get ( decorations.size () - 1 ).getClass ();
-                        final Iterator<D> iterator = decorations.iterator ();
-                        while ( iterator.hasNext () )
-                        {
-                            final D d = iterator.next ();
-                            if ( d.getClass () != type )
-                            {
-                                iterator.remove ();
-                            }
-                        }
-
-                        // Merging multiple decorations together
-                        decoration = Merge.deep ().merge ( decorations );
-                    }
-
-                    // Updating built decoration settings
-                    if ( decoration != null )
-                    {
-                        // Updating section mark
-                        // This is done for each cached decoration once as it doesn't change
-                        decoration.setSection ( isSectionPainter () );
-                    }
-
-                    // Caching built decoration
-                    decorationCache.put ( decorationsKey, decoration );
-                }
-
-                // Caching resulting decoration under the state key
+                // Caching resulting decoration under the states key
                 stateDecorationCache.put ( current, decoration );
             }
 
             // Performing decoration activation and deactivation if needed
-            if ( previous == null && current == null )
-            {
-                // Activating initial decoration
-                final D initialDecoration = stateDecorationCache.get ( current );
-                if ( initialDecoration != null )
-                {
-                    initialDecoration.activate ( component );
-                }
-            }
-            else if ( Objects.notEquals ( previous, current ) )
+            if ( Objects.notEquals ( previous, current ) )
             {
                 // Checking that decoration was actually changed
-                final D previousDecoration = stateDecorationCache.get ( previous );
+                final D previousDecoration = previous != null ? stateDecorationCache.get ( previous ) : null;
                 final D currentDecoration = stateDecorationCache.get ( current );
                 if ( previousDecoration != currentDecoration )
                 {
@@ -1151,24 +1134,178 @@ public abstract class AbstractDecorationPainter<C extends JComponent, U extends
     }
 
     /**
-     * Returns unique decorations combination key.
+     * Returns decoration for current states built from decorations provided by the skin style.
+     * Decorations are built only once per skin style and states, see {@link DecorationsCache}, this painter only uses their copies.
      *
-     * @param decorations decorations to retrieve unique combination key for
-     * @return unique decorations combination key
+     * @param origin skin style {@link Decorations} this painter's {@link #decorations} were cloned from
+     * @return decoration for current states built from decorations provided by the skin style
+     */
+    @Nullable
+    private D getSharedDecoration ( @NotNull final Decorations<C, D> origin )
+    {
+        // Retrieving decoration shared between all painters using the same skin style
+        DecorationsCache.CachedDecoration<D> shared = DecorationsCache.get ( origin, current );
+        if ( shared == null )
+        {
+            // Building shared decoration out of skin style decorations fitting current states
+            final BitSet key = getDecorationsKey ( origin, states );
+            final List<D> decorations = getDecorations ( origin, key );
+            final D prototype = decorations.size () == 1 ? decorations.get ( 0 ) : buildDecoration ( decorations );
+            shared = DecorationsCache.put ( origin, current, key, prototype );
+        }
+
+        // Retrieving existing decoration or creating a new copy of the shared one
+        final D decoration;
+        if ( decorationCache.containsKey ( shared.getKey () ) )
+        {
+            // Retrieving decoration from existing built decorations cache
+            decoration = decorationCache.get ( shared.getKey () );
+        }
+        else
+        {
+            // Copying shared decoration, it is never used directly as decorations might contain component-related data
+            final D prototype = shared.getDecoration ();
+            decoration = prototype != null ? Clone.deep ().clone ( prototype ) : null;
+
+            // Updating section mark
+            // This is done for each cached decoration once as it doesn't change
+            if ( decoration != null )
+            {
+                decoration.setSection ( isSectionPainter () );
+            }
+
+            // Caching built decoration
+            decorationCache.put ( shared.getKey (), decoration );
+        }
+        return decoration;
+    }
+
+    /**
+     * Returns decoration for current states built from this painter's {@link #decorations}.
+     * This is used for decorations that were not provided by the skin style, for instance for custom painters.
+     *
+     * @return decoration for current states built from this painter's {@link #decorations}
+     */
+    @Nullable
+    private D getOwnDecoration ()
+    {
+        // Retrieving unique key for decorations combination fitting current states
+        final BitSet decorationsKey = getDecorationsKey ( this.decorations, states );
+
+        // Retrieving existing decoration or building a new one
+        final D decoration;
+        if ( decorationCache.containsKey ( decorationsKey ) )
+        {
+            // Retrieving decoration from existing built decorations cache
+            decoration = decorationCache.get ( decorationsKey );
+        }
+        else
+        {
+            // Building single decoration from a set
+            final List<D> decorations = getDecorations ( this.decorations, decorationsKey );
+            decoration = decorations.size () == 1 ? Clone.deep ().clone ( decorations.get ( 0 ) ) : buildDecoration ( decorations );
+
+            // Updating built decoration settings
+            if ( decoration != null )
+            {
+                // Updating section mark
+                // This is done for each cached decoration once as it doesn't change
+                decoration.setSection ( isSectionPainter () );
+            }
+
+            // Caching built decoration
+            decorationCache.put ( decorationsKey, decoration );
+        }
+        return decoration;
+    }
+
+    /**
+     * Returns new decoration built from the specified decorations.
+     * Specified decorations are not modified in the process, resulting decoration is always a new instance.
+     *
+     * @param decorations decorations to build single decoration from
+     * @return new decoration built from the specified decorations or {@code null} if no decorations specified
+     */
+    @Nullable
+    private D buildDecoration ( @NotNull final List<D> decorations )
+    {
+        final D decoration;
+        if ( CollectionUtils.isEmpty ( decorations ) )
+        {
+            // No decoration for the states available
+            decoration = null;
+        }
+        else if ( decorations.size () == 1 )
+        {
+            // Single existing decoration for the states
+            decoration = Clone.deep ().clone ( decorations.get ( 0 ) );
+        }
+        else
+        {
+            // Filter out possible decorations of different type
+            // We always use type of the last one available since it has higher priority
+            final Class<? extends IDecoration> type = decorations.get ( decorations.size () - 1 ).getClass ();
+            final List<D> merged = new ArrayList<D> ( decorations.size () );
+            for ( final D d : decorations )
+            {
+                if ( d.getClass () == type )
+                {
+                    merged.add ( d );
+                }
+            }
+
+            // Merging multiple decorations together
+            decoration = Merge.deep ().merge ( merged );
+        }
+        return decoration;
+    }
+
+    /**
+     * Returns unique key of the combination of decorations from the specified {@link Decorations} fitting specified states.
+     * Key contains indices of the fitting decorations, so it is the same for any copy of the specified {@link Decorations}.
+     *
+     * @param decorations {@link Decorations} to retrieve unique combination key for
+     * @param forStates   decoration states to retrieve unique combination key for
+     * @return unique key of the combination of decorations from the specified {@link Decorations} fitting specified states
      */
     @NotNull
-    protected final String getDecorationsKey ( @NotNull final List<D> decorations )
+    protected final BitSet getDecorationsKey ( @NotNull final Decorations<C, D> decorations, @NotNull final List<String> forStates )
     {
-        final StringBuilder key = new StringBuilder ( 15 * decorations.size () );
+        final BitSet key = new BitSet ( decorations.size () );
+        int index = 0;
         for ( final D decoration : decorations )
         {
-            if ( key.length () > 0 )
+            if ( decoration.isApplicableTo ( forStates ) )
             {
-                key.append ( ";" );
+                key.set ( index );
             }
-            key.append ( decoration.getId () );
+            index++;
         }
-        return key.toString ();
+        return key;
+    }
+
+    /**
+     * Returns decorations from the specified {@link Decorations} for the specified decorations combination key.
+     *
+     * @param decorations {@link Decorations} to retrieve decorations from
+     * @param key         decorations combination key
+     * @return decorations from the specified {@link Decorations} for the specified decorations combination key
+     * @see #getDecorationsKey(Decorations, List)
+     */
+    @NotNull
+    protected final List<D> getDecorations ( @NotNull final Decorations<C, D> decorations, @NotNull final BitSet key )
+    {
+        final List<D> result = new ArrayList<D> ( key.cardinality () );
+        int index = 0;
+        for ( final D decoration : decorations )
+        {
+            if ( key.get ( index ) )
+            {
+                result.add ( decoration );
+            }
+            index++;
+        }
+        return result;
     }
 
     /**
@@ -1193,6 +1330,7 @@ public abstract class AbstractDecorationPainter<C extends JComponent, U extends
         {
             // Saving new decoration states
             this.states = states;
+            this.stateSet = DecorationStateSet.of ( states );
 
             // Updating section painters decoration states
             // This is required to provide state changes into section painters used within this painter
@@ -1428,4 +1566,10 @@ public abstract class AbstractDecorationPainter<C extends JComponent, U extends
         final D d = getDecoration ();
         return d != null ? SwingUtils.max ( d.getPreferredSize ( component ), ps ) : ps;
     }
+
+    @Override
+    protected boolean isPreferredSizeCacheable ()
+    {
+        return isDeclaredBy ( getClass (), "getPreferredSize", AbstractDecorationPainter.class ) && isFiringPropertyChanges ( component );
+    }
 }
\ No newline at end of file
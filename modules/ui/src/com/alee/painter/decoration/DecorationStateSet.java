@@ -0,0 +1,258 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.painter.decoration;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable set of decoration states.
+ * Decoration state names are interned into small integer identifiers and each set is stored as a bit mask of those identifiers.
+ * That allows using these sets as cache keys and performing state checks without any {@link String} operations or allocations.
+ *
+ * @author Mikle Garin
+ * @see DecorationState
+ * @see AbstractDecorationPainter#getDecoration()
+ */
+public final class DecorationStateSet
+{
+    /**
+     * Empty {@link DecorationStateSet}.
+     */
+    @NotNull
+    public static final DecorationStateSet EMPTY = new DecorationStateSet ( new long[ 0 ] );
+
+    /**
+     * Interned decoration state identifiers.
+     * Entry: [ decoration state -> decoration state identifier ]
+     */
+    @NotNull
+    private static final Map<String, Integer> ids = new ConcurrentHashMap<String, Integer> ( 64 );
+
+    /**
+     * Decoration states in order of their identifiers.
+     */
+    @NotNull
+    private static final List<String> names = new ArrayList<String> ( 64 );
+
+    /**
+     * Bit mask of decoration state identifiers.
+     */
+    @NotNull
+    private final long[] mask;
+
+    /**
+     * Cached hash code.
+     */
+    private final int hashCode;
+
+    /**
+     * Constructs new {@link DecorationStateSet}.
+     *
+     * @param mask bit mask of decoration state identifiers
+     */
+    private DecorationStateSet ( @NotNull final long[] mask )
+    {
+        this.mask = mask;
+        this.hashCode = Arrays.hashCode ( mask );
+    }
+
+    /**
+     * Returns whether or not this set contains specified decoration state.
+     *
+     * @param state decoration state
+     * @return {@code true} if this set contains specified decoration state, {@code false} otherwise
+     */
+    public boolean contains ( @NotNull final String state )
+    {
+        final Integer id = ids.get ( state );
+        return id != null && contains ( id );
+    }
+
+    /**
+     * Returns whether or not this set contains decoration state with specified identifier.
+     *
+     * @param id decoration state identifier
+     * @return {@code true} if this set contains decoration state with specified identifier, {@code false} otherwise
+     */
+    public boolean contains ( final int id )
+    {
+        final int word = id >> 6;
+        return word < mask.length && ( mask[ word ] & 1L << id ) != 0;
+    }
+
+    /**
+     * Returns whether or not this set contains all decoration states from the specified set.
+     *
+     * @param states {@link DecorationStateSet}
+     * @return {@code true} if this set contains all decoration states from the specified set, {@code false} otherwise
+     */
+    public boolean containsAll ( @NotNull final DecorationStateSet states )
+    {
+        boolean containsAll = true;
+        for ( int i = 0; i < states.mask.length; i++ )
+        {
+            final long word = i < mask.length ? mask[ i ] : 0L;
+            if ( ( states.mask[ i ] & ~word ) != 0 )
+            {
+                containsAll = false;
+                break;
+            }
+        }
+        return containsAll;
+    }
+
+    /**
+     * Returns whether or not this set is empty.
+     *
+     * @return {@code true} if this set is empty, {@code false} otherwise
+     */
+    public boolean isEmpty ()
+    {
+        return mask.length == 0;
+    }
+
+    /**
+     * Returns new {@link DecorationStateSet} containing decoration states from both this and specified set.
+     *
+     * @param states {@link DecorationStateSet} to combine with
+     * @return new {@link DecorationStateSet} containing decoration states from both this and specified set
+     */
+    @NotNull
+    public DecorationStateSet union ( @NotNull final DecorationStateSet states )
+    {
+        final DecorationStateSet union;
+        if ( containsAll ( states ) )
+        {
+            union = this;
+        }
+        else if ( states.containsAll ( this ) )
+        {
+            union = states;
+        }
+        else
+        {
+            final long[] mask = Arrays.copyOf ( this.mask, Math.max ( this.mask.length, states.mask.length ) );
+            for ( int i = 0; i < states.mask.length; i++ )
+            {
+                mask[ i ] |= states.mask[ i ];
+            }
+            union = new DecorationStateSet ( mask );
+        }
+        return union;
+    }
+
+    @Override
+    public boolean equals ( @Nullable final Object object )
+    {
+        return object == this || object instanceof DecorationStateSet && Arrays.equals ( mask, ( ( DecorationStateSet ) object ).mask );
+    }
+
+    @Override
+    public int hashCode ()
+    {
+        return hashCode;
+    }
+
+    @NotNull
+    @Override
+    public String toString ()
+    {
+        final StringBuilder text = new StringBuilder ();
+        synchronized ( names )
+        {
+            for ( int id = 0; id < names.size (); id++ )
+            {
+                if ( contains ( id ) )
+                {
+                    if ( text.length () > 0 )
+                    {
+                        text.append ( IDecoration.STATES_SEPARATOR );
+                    }
+                    text.append ( names.get ( id ) );
+                }
+            }
+        }
+        return text.toString ();
+    }
+
+    /**
+     * Returns {@link DecorationStateSet} containing specified decoration states.
+     *
+     * @param states decoration states
+     * @return {@link DecorationStateSet} containing specified decoration states
+     */
+    @NotNull
+    public static DecorationStateSet of ( @Nullable final Collection<String> states )
+    {
+        final DecorationStateSet set;
+        if ( states != null && !states.isEmpty () )
+        {
+            long[] mask = new long[ 1 ];
+            for ( final String state : states )
+            {
+                final int id = getId ( state );
+                final int word = id >> 6;
+                if ( word >= mask.length )
+                {
+                    mask = Arrays.copyOf ( mask, word + 1 );
+                }
+                mask[ word ] |= 1L << id;
+            }
+            set = new DecorationStateSet ( mask );
+        }
+        else
+        {
+            set = EMPTY;
+        }
+        return set;
+    }
+
+    /**
+     * Returns identifier of the specified decoration state.
+     * New identifier is assigned to the decoration state when it is requested for the first time.
+     *
+     * @param state decoration state
+     * @return identifier of the specified decoration state
+     */
+    public static int getId ( @NotNull final String state )
+    {
+        Integer id = ids.get ( state );
+        if ( id == null )
+        {
+            synchronized ( names )
+            {
+                id = ids.get ( state );
+                if ( id == null )
+                {
+                    id = names.size ();
+                    names.add ( state );
+                    ids.put ( state, id );
+                }
+            }
+        }
+        return id;
+    }
+}
@@ -18,7 +18,12 @@
 package com.alee.painter.decoration;
 
 import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
+import com.alee.api.clone.CloneBehavior;
+import com.alee.api.clone.RecursiveClone;
+import com.alee.api.clone.behavior.OmitOnClone;
 import com.alee.api.merge.Overwriting;
+import com.alee.api.merge.behavior.OmitOnMerge;
 import com.alee.utils.collection.EmptyIterator;
 import com.thoughtworks.xstream.annotations.XStreamAlias;
 import com.thoughtworks.xstream.annotations.XStreamAsAttribute;
@@ -39,7 +44,7 @@ import java.util.List;
  */
 @XStreamAlias ( "decorations" )
 public final class Decorations<C extends JComponent, D extends IDecoration<C, D>>
-        implements Iterable<D>, Overwriting, Cloneable, Serializable
+        implements Iterable<D>, Overwriting, CloneBehavior<Decorations<C, D>>, Serializable
 {
     /**
      * Whether or not these decorations should overwrite previous ones when merged.
@@ -53,6 +58,17 @@ public final class Decorations<C extends JComponent, D extends IDecoration<C, D>
     @XStreamImplicit
     private List<D> decorations;
 
+    /**
+     * {@link Decorations} these ones were cloned from.
+     * Painters receive their {@link Decorations} as clones of the ones provided in skin styles, so this reference is used as a shared
+     * identity of the style-provided {@link Decorations} by the {@link DecorationsCache}.
+     * It is not cloned or merged and is only set on the clone itself, so merged {@link Decorations} never reference their sources.
+     */
+    @Nullable
+    @OmitOnClone
+    @OmitOnMerge
+    private transient Decorations<C, D> origin;
+
     /**
      * Returns available decorations amount.
      *
@@ -75,4 +91,24 @@ public final class Decorations<C extends JComponent, D extends IDecoration<C, D>
     {
         return overwrite != null && overwrite;
     }
+
+    /**
+     * Returns {@link Decorations} these ones were cloned from or {@code null} if these are not a clone.
+     *
+     * @return {@link Decorations} these ones were cloned from or {@code null} if these are not a clone
+     */
+    @Nullable
+    public Decorations<C, D> getOrigin ()
+    {
+        return origin;
+    }
+
+    @NotNull
+    @Override
+    public Decorations<C, D> clone ( @NotNull final RecursiveClone clone, final int depth )
+    {
+        final Decorations<C, D> copy = clone.cloneFields ( this, depth );
+        copy.origin = this;
+        return copy;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,180 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.painter.decoration;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
+import com.alee.utils.UtilityException;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Global cache of decorations built for specific decoration states.
+ * It is shared between all {@link AbstractDecorationPainter}s that received their {@link Decorations} from the same skin style.
+ *
+ * Skin styles {@link Decorations} are used as cache keys, see {@link Decorations#getOrigin()}, which makes this cache skin- and
+ * {@link com.alee.managers.style.StyleId}-scoped, since each skin style has its own separate {@link Decorations} instances.
+ * They are referenced weakly, so cached decorations are dropped together with the skin that provided them.
+ *
+ * Cached decorations are merged only once and are never activated or painted directly, they are only used as immutable prototypes.
+ * Each painter still uses its own copy of the decoration since decorations can keep component-related runtime data.
+ *
+ * @author Mikle Garin
+ * @see AbstractDecorationPainter#getDecoration()
+ */
+public final class DecorationsCache
+{
+    /**
+     * Cached decorations.
+     * Entry: [ skin style decorations -> [ decoration states -> built decoration ] ]
+     */
+    @NotNull
+    private static final Map<Decorations, Map<DecorationStateSet, CachedDecoration>> cache =
+            new WeakHashMap<Decorations, Map<DecorationStateSet, CachedDecoration>> ( 100 );
+
+    /**
+     * Private constructor to avoid instantiation.
+     */
+    private DecorationsCache ()
+    {
+        throw new UtilityException ( "Utility classes are not meant to be instantiated" );
+    }
+
+    /**
+     * Returns {@link CachedDecoration} built for the specified states or {@code null} if it wasn't cached yet.
+     *
+     * @param decorations skin style {@link Decorations}
+     * @param states      decoration states
+     * @param <D>         decoration type
+     * @return {@link CachedDecoration} built for the specified states or {@code null} if it wasn't cached yet
+     */
+    @Nullable
+    public static <D extends IDecoration> CachedDecoration<D> get ( @NotNull final Decorations decorations,
+                                                                    @NotNull final DecorationStateSet states )
+    {
+        synchronized ( cache )
+        {
+            final Map<DecorationStateSet, CachedDecoration> stateDecorations = cache.get ( decorations );
+            return stateDecorations != null ? stateDecorations.get ( states ) : null;
+        }
+    }
+
+    /**
+     * Caches decoration built for the specified states and returns its {@link CachedDecoration}.
+     * If decoration for the specified states was already cached by another thread in the meantime - that one is returned instead.
+     *
+     * @param decorations skin style {@link Decorations}
+     * @param states      decoration states
+     * @param key         unique key of the decorations combination used to build decoration
+     * @param decoration  built decoration, might be {@code null} if there are no decorations for the states
+     * @param <D>         decoration type
+     * @return {@link CachedDecoration} for the specified states
+     */
+    @NotNull
+    public static <D extends IDecoration> CachedDecoration<D> put ( @NotNull final Decorations decorations,
+                                                                    @NotNull final DecorationStateSet states,
+                                                                    @NotNull final BitSet key, @Nullable final D decoration )
+    {
+        synchronized ( cache )
+        {
+            Map<DecorationStateSet, CachedDecoration> stateDecorations = cache.get ( decorations );
+            if ( stateDecorations == null )
+            {
+                stateDecorations = new HashMap<DecorationStateSet, CachedDecoration> ( decorations.size () );
+                cache.put ( decorations, stateDecorations );
+            }
+            CachedDecoration<D> cached = stateDecorations.get ( states );
+            if ( cached == null )
+            {
+                cached = new CachedDecoration<D> ( key, decoration );
+                stateDecorations.put ( states, cached );
+            }
+            return cached;
+        }
+    }
+
+    /**
+     * Clears all cached decorations.
+     * This is called by {@link com.alee.managers.style.StyleManager} whenever skin or its extensions change.
+     */
+    public static void clear ()
+    {
+        synchronized ( cache )
+        {
+            cache.clear ();
+        }
+    }
+
+    /**
+     * Decoration built for specific decoration states.
+     *
+     * @param <D> decoration type
+     */
+    public static final class CachedDecoration<D extends IDecoration>
+    {
+        /**
+         * Unique key of the decorations combination used to build decoration.
+         */
+        @NotNull
+        private final BitSet key;
+
+        /**
+         * Built decoration, might be {@code null} if there are no decorations for the states.
+         */
+        @Nullable
+        private final D decoration;
+
+        /**
+         * Constructs new {@link CachedDecoration}.
+         *
+         * @param key        unique key of the decorations combination used to build decoration
+         * @param decoration built decoration, might be {@code null} if there are no decorations for the states
+         */
+        private CachedDecoration ( @NotNull final BitSet key, @Nullable final D decoration )
+        {
+            this.key = key;
+            this.decoration = decoration;
+        }
+
+        /**
+         * Returns unique key of the decorations combination used to build decoration.
+         *
+         * @return unique key of the decorations combination used to build decoration
+         */
+        @NotNull
+        public BitSet getKey ()
+        {
+            return key;
+        }
+
+        /**
+         * Returns built decoration, might be {@code null} if there are no decorations for the states.
+         * Returned decoration must never be modified, activated or painted, it should only be cloned.
+         *
+         * @return built decoration, might be {@code null} if there are no decorations for the states
+         */
+        @Nullable
+        public D getDecoration ()
+        {
+            return decoration;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.painter.decoration;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
+import com.alee.api.jdk.Objects;
+import com.alee.managers.style.ChildStyleId;
+import com.alee.managers.style.StyleId;
+import com.alee.managers.style.StyleManager;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tracker of the renderer states used by cell renderers in incremental mode.
+ * It remembers custom renderer states, enabled state, orientation and {@link StyleId} applied to the renderer for the previous cell
+ * and allows renderer to skip decoration states update whenever they didn't change for the next cell.
+ * It also keeps last {@link StyleId} created for the child style to avoid creating new one for every rendered cell.
+ *
+ * This class is not thread-safe, just like renderers using it, it is only meant to be used from the Event Dispatch Thread.
+ *
+ * @author Mikle Garin
+ * @see DecorationUtils#fireStatesChanged(java.awt.Component)
+ */
+public final class RendererStates
+{
+    /**
+     * Custom renderer states applied for the previous cell.
+     */
+    @NotNull
+    private final List<String> states;
+
+    /**
+     * Whether or not renderer was enabled for the previous cell.
+     */
+    private boolean enabled;
+
+    /**
+     * Whether or not renderer had left-to-right orientation for the previous cell.
+     */
+    private boolean ltr;
+
+    /**
+     * {@link StyleId} applied to the renderer for the previous cell.
+     */
+    @Nullable
+    private StyleId styleId;
+
+    /**
+     * Whether or not previous cell states are known.
+     */
+    private boolean valid;
+
+    /**
+     * Last {@link StyleId} created for the child style.
+     */
+    @Nullable
+    private StyleId childStyleId;
+
+    /**
+     * Constructs new {@link RendererStates}.
+     */
+    public RendererStates ()
+    {
+        this.states = new ArrayList<String> ( 3 );
+        this.valid = false;
+    }
+
+    /**
+     * Returns {@link StyleId} for the specified {@link ChildStyleId} and parent component.
+     * Previously returned {@link StyleId} is reused whenever it was created for the same child style and parent component.
+     *
+     * @param id     {@link ChildStyleId}
+     * @param parent parent component
+     * @return {@link StyleId} for the specified {@link ChildStyleId} and parent component
+     */
+    @NotNull
+    public StyleId at ( @NotNull final ChildStyleId id, @NotNull final JComponent parent )
+    {
+        final StyleId last = childStyleId;
+        final StyleId styleId;
+        if ( last != null && last.getParent () == parent && Objects.equals ( last.getId (), id.getId () ) )
+        {
+            styleId = last;
+        }
+        else
+        {
+            styleId = id.at ( parent );
+            childStyleId = styleId;
+        }
+        return styleId;
+    }
+
+    /**
+     * Saves current renderer states and returns whether or not they have changed since the previous cell.
+     *
+     * @param renderer cell renderer
+     * @param states   custom renderer states
+     * @return {@code true} if renderer states have changed since the previous cell, {@code false} otherwise
+     */
+    public boolean update ( @NotNull final JComponent renderer, @NotNull final List<String> states )
+    {
+        final boolean enabled = renderer.isEnabled ();
+        final boolean ltr = renderer.getComponentOrientation ().isLeftToRight ();
+        final StyleId styleId = StyleManager.getStyleId ( renderer );
+        final boolean changed = !valid || enabled != this.enabled || ltr != this.ltr ||
+                !Objects.equals ( styleId, this.styleId ) || !equal ( states, this.states );
+        if ( changed )
+        {
+            this.states.clear ();
+            this.states.addAll ( states );
+            this.enabled = enabled;
+            this.ltr = ltr;
+            this.styleId = styleId;
+            this.valid = true;
+        }
+        return changed;
+    }
+
+    /**
+     * Resets saved renderer states.
+     * Next {@link #update(JComponent, List)} call will always report changes afterwards.
+     */
+    public void reset ()
+    {
+        states.clear ();
+        styleId = null;
+        childStyleId = null;
+        valid = false;
+    }
+
+    /**
+     * Returns whether or not specified states lists are equal.
+     * Lists are compared by index to avoid creating iterators.
+     *
+     * @param states1 first states list
+     * @param states2 second states list
+     * @return {@code true} if specified states lists are equal, {@code false} otherwise
+     */
+    private static boolean equal ( @NotNull final List<String> states1, @NotNull final List<String> states2 )
+    {
+        boolean equal = states1.size () == states2.size ();
+        if ( equal )
+        {
+            for ( int i = 0; i < states1.size (); i++ )
+            {
+                if ( !Objects.equals ( states1.get ( i ), states2.get ( i ) ) )
+                {
+                    equal = false;
+                    break;
+                }
+            }
+        }
+        return equal;
+    }
+}
@@ -29,6 +29,7 @@ import com.alee.utils.GraphicsUtils;
 import com.alee.utils.SwingUtils;
 import com.alee.utils.TextUtils;
 import com.alee.utils.swing.BasicHTML;
+import com.alee.utils.swing.HTMLViewCache;
 import com.thoughtworks.xstream.annotations.XStreamAsAttribute;
 
 import javax.swing.*;
@@ -391,13 +392,14 @@ public abstract class AbstractTextContent<C extends JComponent, D extends IDecor
         final Color foreground = getColor ( c, d );
 
         // HTML view settings
-        final String settings = text + ";" + font + ";" + foreground;
+        final String settings = text + ";" + font + ";" + foreground + ";" + c.getComponentOrientation ().isLeftToRight ();
 
         // Updating HTML view if needed
+        // Parsed HTML documents are shared between components through HTMLViewCache, but each view is created for this component
         if ( htmlView == null || Objects.notEquals ( htmlSettings, settings ) )
         {
             htmlSettings = settings;
-            htmlView = BasicHTML.createHTMLView ( c, text, font, foreground );
+            htmlView = HTMLViewCache.getView ( c, text, font, foreground );
         }
 
         // Return cached HTML view
@@ -764,7 +766,7 @@ public abstract class AbstractTextContent<C extends JComponent, D extends IDecor
                         alpha = 1.0f;
                     }
                     g2d.setComposite ( AlphaComposite.getInstance ( AlphaComposite.SRC_OVER, alpha ) );
-                    g2d.drawString ( text, i + size, j + size );
+                    GlyphVectorCache.drawString ( g2d, text, i + size, j + size );
                 }
             }
 
@@ -790,7 +792,7 @@ public abstract class AbstractTextContent<C extends JComponent, D extends IDecor
      */
     protected void paintTextString ( final C c, final D d, final Graphics2D g2d, final String text, final int textX, final int textY )
     {
-        g2d.drawString ( text, textX, textY );
+        GlyphVectorCache.drawString ( g2d, text, textX, textY );
     }
 
     /**
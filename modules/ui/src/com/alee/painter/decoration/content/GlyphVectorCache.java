@@ -0,0 +1,388 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.alee.painter.decoration.content;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
+import com.alee.utils.UtilityException;
+
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Global cache of {@link GlyphVector}s used to paint plain text in {@link AbstractTextContent}.
+ * Renderers usually paint the same short strings over and over, so caching their glyphs allows skipping glyph lookup and layout.
+ *
+ * Glyphs are cached by text, {@link Font} and {@link FontRenderContext}.
+ * {@link FontRenderContext} already reflects {@link TextRasterization} hints affecting glyph layout, like antialiasing and fractional
+ * metrics, as well as graphics transform, so resulting glyphs are identical to the ones painted by {@link Graphics2D#drawString}.
+ *
+ * Only text that doesn't require complex layout is cached, that is text without bidirectional, combining or surrogate characters and
+ * painted with font that has no layout attributes. Any other text is painted through {@link Graphics2D#drawString} as usual.
+ *
+ * Cache is bounded and drops least recently used glyphs once its capacity is exceeded.
+ * Cache is disabled by default, it can be enabled by setting its capacity through {@link #setCapacity(int)}.
+ *
+ * @author Mikle Garin
+ * @see AbstractTextContent#paintTextString(javax.swing.JComponent, com.alee.painter.decoration.IDecoration, Graphics2D, String, int, int)
+ */
+public final class GlyphVectorCache
+{
+    /**
+     * Maximum amount of cached glyph vectors.
+     * Glyph vectors are not cached by default.
+     */
+    private static volatile int capacity = 0;
+
+    /**
+     * Approximate amount of memory used by cached glyph vectors, in bytes.
+     */
+    private static long memoryUsage = 0;
+
+    /**
+     * Cached glyph vectors.
+     * Entry: [ glyphs key -> glyph vector ]
+     */
+    @NotNull
+    private static final Map<GlyphsKey, GlyphVector> cache = new LinkedHashMap<GlyphsKey, GlyphVector> ( 256, 0.75f, true )
+    {
+        @Override
+        protected boolean removeEldestEntry ( final Map.Entry<GlyphsKey, GlyphVector> eldest )
+        {
+            final boolean remove = size () > capacity;
+            if ( remove )
+            {
+                memoryUsage -= getMemoryUsage ( eldest.getKey (), eldest.getValue () );
+            }
+            return remove;
+        }
+    };
+
+    /**
+     * Amount of cache hits.
+     */
+    @NotNull
+    private static final AtomicLong hits = new AtomicLong ();
+
+    /**
+     * Amount of cache misses.
+     */
+    @NotNull
+    private static final AtomicLong misses = new AtomicLong ();
+
+    /**
+     * Private constructor to avoid instantiation.
+     */
+    private GlyphVectorCache ()
+    {
+        throw new UtilityException ( "Utility classes are not meant to be instantiated" );
+    }
+
+    /**
+     * Returns maximum amount of cached glyph vectors.
+     *
+     * @return maximum amount of cached glyph vectors
+     */
+    public static int getCapacity ()
+    {
+        return capacity;
+    }
+
+    /**
+     * Sets maximum amount of cached glyph vectors.
+     * Setting it to {@code 0} disables cache and all text is painted through {@link Graphics2D#drawString} instead.
+     *
+     * @param capacity maximum amount of cached glyph vectors
+     */
+    public static void setCapacity ( final int capacity )
+    {
+        GlyphVectorCache.capacity = Math.max ( 0, capacity );
+        synchronized ( cache )
+        {
+            final int excess = cache.size () - GlyphVectorCache.capacity;
+            if ( excess > 0 )
+            {
+                final Iterator<Map.Entry<GlyphsKey, GlyphVector>> iterator = cache.entrySet ().iterator ();
+                for ( int i = 0; i < excess; i++ )
+                {
+                    final Map.Entry<GlyphsKey, GlyphVector> entry = iterator.next ();
+                    memoryUsage -= getMemoryUsage ( entry.getKey (), entry.getValue () );
+                    iterator.remove ();
+                }
+            }
+        }
+    }
+
+    /**
+     * Paints specified text using current {@link Graphics2D} font and settings.
+     * Result is identical to {@link Graphics2D#drawString(String, int, int)} call.
+     *
+     * @param g2d graphics context
+     * @param text text to paint
+     * @param x    text X coordinate
+     * @param y    text Y coordinate
+     */
+    public static void drawString ( @NotNull final Graphics2D g2d, @NotNull final String text, final int x, final int y )
+    {
+        final GlyphVector glyphs = getGlyphVector ( g2d, text );
+        if ( glyphs != null )
+        {
+            g2d.drawGlyphVector ( glyphs, x, y );
+        }
+        else
+        {
+            g2d.drawString ( text, x, y );
+        }
+    }
+
+    /**
+     * Returns cached {@link GlyphVector} for the specified text painted with current {@link Graphics2D} font and settings.
+     * Returns {@code null} if cache is disabled or text requires complex layout and cannot be painted as a plain glyph vector.
+     * Returned {@link GlyphVector} is shared and must not be modified.
+     *
+     * @param g2d  graphics context
+     * @param text text to return {@link GlyphVector} for
+     * @return cached {@link GlyphVector} for the specified text painted with current {@link Graphics2D} font and settings
+     */
+    @Nullable
+    public static GlyphVector getGlyphVector ( @NotNull final Graphics2D g2d, @NotNull final String text )
+    {
+        final GlyphVector glyphs;
+        final Font font = g2d.getFont ();
+        if ( capacity > 0 && font != null && !font.hasLayoutAttributes () && isSimpleText ( text ) )
+        {
+            final FontRenderContext frc = g2d.getFontRenderContext ();
+            final GlyphsKey key = new GlyphsKey ( text, font, frc );
+            final GlyphVector cached;
+            synchronized ( cache )
+            {
+                cached = cache.get ( key );
+            }
+            if ( cached == null )
+            {
+                misses.incrementAndGet ();
+                glyphs = font.createGlyphVector ( frc, text );
+                synchronized ( cache )
+                {
+                    if ( cache.put ( key, glyphs ) == null )
+                    {
+                        memoryUsage += getMemoryUsage ( key, glyphs );
+                    }
+                }
+            }
+            else
+            {
+                hits.incrementAndGet ();
+                glyphs = cached;
+            }
+        }
+        else
+        {
+            glyphs = null;
+        }
+        return glyphs;
+    }
+
+    /**
+     * Returns whether or not specified text can be painted as a plain glyph vector without complex layout.
+     *
+     * @param text text to check
+     * @return {@code true} if specified text can be painted as a plain glyph vector without complex layout, {@code false} otherwise
+     */
+    private static boolean isSimpleText ( @NotNull final String text )
+    {
+        boolean simple = true;
+        for ( int i = 0; i < text.length (); i++ )
+        {
+            final char ch = text.charAt ( i );
+
+            // Characters starting from Hebrew block might require bidirectional or complex layout
+            // Combining diacritical marks require glyphs positioning
+            if ( ch >= '\u0590' || ch >= '\u0300' && ch <= '\u036F' )
+            {
+                simple = false;
+                break;
+            }
+        }
+        return simple;
+    }
+
+    /**
+     * Returns approximate amount of memory used by cached glyph vector, in bytes.
+     *
+     * @param key    glyphs key
+     * @param glyphs glyph vector
+     * @return approximate amount of memory used by cached glyph vector, in bytes
+     */
+    private static long getMemoryUsage ( @NotNull final GlyphsKey key, @NotNull final GlyphVector glyphs )
+    {
+        // Key with text, glyph vector with glyph codes and positions and cache entry itself
+        return 200 + key.text.length () * 2L + glyphs.getNumGlyphs () * 12L;
+    }
+
+    /**
+     * Returns amount of cached glyph vectors.
+     *
+     * @return amount of cached glyph vectors
+     */
+    public static int getSize ()
+    {
+        synchronized ( cache )
+        {
+            return cache.size ();
+        }
+    }
+
+    /**
+     * Returns approximate amount of memory used by cached glyph vectors, in bytes.
+     *
+     * @return approximate amount of memory used by cached glyph vectors, in bytes
+     */
+    public static long getMemoryUsage ()
+    {
+        synchronized ( cache )
+        {
+            return memoryUsage;
+        }
+    }
+
+    /**
+     * Returns amount of cache hits.
+     *
+     * @return amount of cache hits
+     */
+    public static long getHits ()
+    {
+        return hits.get ();
+    }
+
+    /**
+     * Returns amount of cache misses.
+     *
+     * @return amount of cache misses
+     */
+    public static long getMisses ()
+    {
+        return misses.get ();
+    }
+
+    /**
+     * Returns cache hit rate between {@code 0} and {@code 1}.
+     *
+     * @return cache hit rate between {@code 0} and {@code 1}
+     */
+    public static double getHitRate ()
+    {
+        final long h = hits.get ();
+        final long total = h + misses.get ();
+        return total > 0 ? ( double ) h / total : 0;
+    }
+
+    /**
+     * Resets cache hits and misses statistics.
+     */
+    public static void resetStatistics ()
+    {
+        hits.set ( 0 );
+        misses.set ( 0 );
+    }
+
+    /**
+     * Clears all cached glyph vectors.
+     */
+    public static void clear ()
+    {
+        synchronized ( cache )
+        {
+            cache.clear ();
+            memoryUsage = 0;
+        }
+    }
+
+    /**
+     * Immutable key of the cached {@link GlyphVector}.
+     */
+    private static final class GlyphsKey
+    {
+        /**
+         * Painted text.
+         */
+        @NotNull
+        private final String text;
+
+        /**
+         * Text font.
+         */
+        @NotNull
+        private final Font font;
+
+        /**
+         * Font render context.
+         */
+        @NotNull
+        private final FontRenderContext frc;
+
+        /**
+         * Cached hash code.
+         */
+        private final int hashCode;
+
+        /**
+         * Constructs new {@link GlyphsKey}.
+         *
+         * @param text painted text
+         * @param font text font
+         * @param frc  font render context
+         */
+        public GlyphsKey ( @NotNull final String text, @NotNull final Font font, @NotNull final FontRenderContext frc )
+        {
+            this.text = text;
+            this.font = font;
+            this.frc = frc;
+            this.hashCode = 31 * ( 31 * text.hashCode () + font.hashCode () ) + frc.hashCode ();
+        }
+
+        @Override
+        public boolean equals ( @Nullable final Object object )
+        {
+            boolean equals = false;
+            if ( object == this )
+            {
+                equals = true;
+            }
+            else if ( object instanceof GlyphsKey )
+            {
+                final GlyphsKey other = ( GlyphsKey ) object;
+                equals = hashCode == other.hashCode && text.equals ( other.text ) && font.equals ( other.font ) && frc.equals ( other.frc );
+            }
+            return equals;
+        }
+
+        @Override
+        public int hashCode ()
+        {
+            return hashCode;
+        }
+    }
+}
@@ -30,7 +30,6 @@ import java.awt.*;
 import java.awt.geom.GeneralPath;
 import java.awt.image.BufferedImage;
 import java.lang.ref.WeakReference;
-import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -47,16 +46,19 @@ public class ExpandingShadow<C extends JComponent, D extends IDecoration<C, D>,
 {
     /**
      * Shadow images cache.
+     *
+     * @deprecated shadow icons are now cached in {@link ShadowCache}, this map doesn't contain any entries and only clears that cache
      */
+    @Deprecated
     protected static transient final Map<String, WeakReference<NinePatchIcon>> shadowCache =
-            new HashMap<String, WeakReference<NinePatchIcon>> ( 4 );
+            new ShadowCache.LegacyCacheView<NinePatchIcon> ( true );
 
     /**
      * Last shadow image cache key.
      */
     @OmitOnClone
     @OmitOnMerge
-    protected transient String shadowKey;
+    protected transient ShadowKey shadowKey;
 
     /**
      * Currently used shadow image.
@@ -96,23 +98,23 @@ public class ExpandingShadow<C extends JComponent, D extends IDecoration<C, D>,
      */
     protected NinePatchIcon getShadow ( final int width, final float opacity )
     {
-        final String key = getShadowKey ( width, opacity );
+        final ShadowKey key = getShadowKey ( width, opacity );
         if ( shadowImage == null || Objects.notEquals ( shadowKey, key ) )
         {
-            final WeakReference<NinePatchIcon> reference = shadowCache.get ( key );
-            if ( reference == null || reference.get () == null )
+            NinePatchIcon ninePatchIcon = ShadowCache.getIcon ( key );
+            if ( ninePatchIcon == null )
             {
                 // Creating new shadow icon
                 final Rectangle sb = new Rectangle ( width * 6, width * 6 );
-                final NinePatchIcon ninePatchIcon = createShadowIcon ( sb, width, opacity );
+                ninePatchIcon = createShadowIcon ( sb, width, opacity );
 
                 // Caching shadow icon
-                shadowCache.put ( key, new WeakReference<NinePatchIcon> ( ninePatchIcon ) );
+                ShadowCache.putIcon ( key, ninePatchIcon );
             }
 
             // Updating
             shadowKey = key;
-            shadowImage = shadowCache.get ( key ).get ();
+            shadowImage = ninePatchIcon;
         }
         return shadowImage;
     }
@@ -160,8 +162,8 @@ public class ExpandingShadow<C extends JComponent, D extends IDecoration<C, D>,
      * @param opacity shadow opacity
      * @return shadow image cache key
      */
-    protected String getShadowKey ( final int width, final float opacity )
+    protected ShadowKey getShadowKey ( final int width, final float opacity )
     {
-        return width + "," + opacity;
+        return new ShadowKey ( ExpandingShadow.class, ShadowType.outer, 0, 0, width, opacity, null );
     }
 }
\ No newline at end of file
@@ -0,0 +1,603 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.painter.decoration.shadow;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
+import com.alee.api.merge.Merge;
+import com.alee.managers.style.Skin;
+import com.alee.managers.style.XmlSkin;
+import com.alee.managers.style.data.ComponentStyle;
+import com.alee.managers.style.data.PainterStyle;
+import com.alee.managers.style.data.SkinInfo;
+import com.alee.painter.decoration.DecorationState;
+import com.alee.painter.decoration.DecorationUtils;
+import com.alee.painter.decoration.Decorations;
+import com.alee.painter.decoration.IDecoration;
+import com.alee.painter.decoration.WebDecoration;
+import com.alee.painter.decoration.shape.IShape;
+import com.alee.painter.decoration.shape.Round;
+import com.alee.painter.decoration.shape.ShapeType;
+import com.alee.painter.decoration.shape.StretchInfo;
+import com.alee.painter.decoration.shape.WebShape;
+import com.alee.utils.CollectionUtils;
+import com.alee.utils.ImageUtils;
+import com.alee.utils.SystemUtils;
+import com.alee.utils.UtilityException;
+import com.alee.utils.cache.ImageCache;
+import com.alee.utils.cache.LruImageCache;
+import com.alee.utils.ninepatch.NinePatchIcon;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.*;
+import javax.swing.Timer;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.image.BufferedImage;
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.List;
+
+/**
+ * Global cache of generated shadow images and nine-patch icons.
+ * Shadows are cached using {@link ShadowKey}s and are evicted in least recently used order once cache capacity is exceeded.
+ * Shadows that are still displayed are not lost on eviction since each shadow keeps a reference to the image or icon it paints.
+ *
+ * Cache can also optionally pre-bake shadows of the default decorations from the installed skin.
+ * Pre-baking is performed on the Event Dispatch Thread in short slices between other events so that first paint of popups, menus and
+ * dialogs doesn't have to generate them.
+ *
+ * @author Mikle Garin
+ * @see ShadowKey
+ * @see WebShadow
+ * @see ExpandingShadow
+ */
+public final class ShadowCache
+{
+    /**
+     * Shadow nine-patch icons cache.
+     */
+    @NotNull
+    private static volatile ImageCache<ShadowKey, NinePatchIcon> iconsCache =
+            new LruImageCache<ShadowKey, NinePatchIcon> ( 16 * 1024 * 1024 )
+            {
+                @Override
+                protected long getWeight ( @NotNull final NinePatchIcon icon )
+                {
+                    return ImageUtils.getMemorySize ( icon.getRawImage () );
+                }
+            };
+
+    /**
+     * Shadow images cache.
+     */
+    @NotNull
+    private static volatile ImageCache<ShadowKey, BufferedImage> imagesCache =
+            new LruImageCache<ShadowKey, BufferedImage> ( 16 * 1024 * 1024 );
+
+    /**
+     * Whether or not shadows of the default skin decorations should be pre-baked whenever skin is installed.
+     */
+    private static volatile boolean prebakeEnabled = false;
+
+    /**
+     * Types of components which styles are resolved for pre-baking even if they are not used yet.
+     * These are popups, menus, tooltips and windows, which shadows are usually generated on their first appearance.
+     */
+    private static final List<String> PREBAKE_TYPES = Collections.unmodifiableList (
+            CollectionUtils.asList ( "popup", "popupmenu", "tooltip", "rootpane" ) );
+
+    /**
+     * Delay between shadows pre-baking slices in milliseconds.
+     */
+    private static final int PREBAKE_DELAY = 20;
+
+    /**
+     * Maximum duration of a single shadows pre-baking slice in nanoseconds.
+     */
+    private static final long PREBAKE_SLICE = 4000000L;
+
+    /**
+     * Currently running shadows pre-baking task.
+     * It is only accessed from the Event Dispatch Thread.
+     */
+    @Nullable
+    private static PrebakeTask prebakeTask;
+
+    /**
+     * Private constructor to avoid instantiation.
+     */
+    private ShadowCache ()
+    {
+        throw new UtilityException ( "Utility classes are not meant to be instantiated" );
+    }
+
+    /**
+     * Returns {@link ImageCache} used for shadow nine-patch icons.
+     *
+     * @return {@link ImageCache} used for shadow nine-patch icons
+     */
+    @NotNull
+    public static ImageCache<ShadowKey, NinePatchIcon> getIconsCache ()
+    {
+        return iconsCache;
+    }
+
+    /**
+     * Sets {@link ImageCache} used for shadow nine-patch icons.
+     *
+     * @param cache {@link ImageCache} used for shadow nine-patch icons
+     */
+    public static void setIconsCache ( @NotNull final ImageCache<ShadowKey, NinePatchIcon> cache )
+    {
+        iconsCache = cache;
+    }
+
+    /**
+     * Returns {@link ImageCache} used for shadow images.
+     *
+     * @return {@link ImageCache} used for shadow images
+     */
+    @NotNull
+    public static ImageCache<ShadowKey, BufferedImage> getImagesCache ()
+    {
+        return imagesCache;
+    }
+
+    /**
+     * Sets {@link ImageCache} used for shadow images.
+     *
+     * @param cache {@link ImageCache} used for shadow images
+     */
+    public static void setImagesCache ( @NotNull final ImageCache<ShadowKey, BufferedImage> cache )
+    {
+        imagesCache = cache;
+    }
+
+    /**
+     * Returns cached shadow nine-patch icon for the specified key or {@code null} if it is not cached.
+     *
+     * @param key {@link ShadowKey}
+     * @return cached shadow nine-patch icon for the specified key or {@code null} if it is not cached
+     */
+    @Nullable
+    public static NinePatchIcon getIcon ( @NotNull final ShadowKey key )
+    {
+        return iconsCache.get ( key );
+    }
+
+    /**
+     * Caches shadow nine-patch icon under the specified key.
+     *
+     * @param key  {@link ShadowKey}
+     * @param icon shadow nine-patch icon
+     */
+    public static void putIcon ( @NotNull final ShadowKey key, @NotNull final NinePatchIcon icon )
+    {
+        iconsCache.put ( key, icon );
+    }
+
+    /**
+     * Returns cached shadow image for the specified key or {@code null} if it is not cached.
+     *
+     * @param key {@link ShadowKey}
+     * @return cached shadow image for the specified key or {@code null} if it is not cached
+     */
+    @Nullable
+    public static BufferedImage getImage ( @NotNull final ShadowKey key )
+    {
+        return imagesCache.get ( key );
+    }
+
+    /**
+     * Caches shadow image under the specified key.
+     *
+     * @param key   {@link ShadowKey}
+     * @param image shadow image
+     */
+    public static void putImage ( @NotNull final ShadowKey key, @NotNull final BufferedImage image )
+    {
+        imagesCache.put ( key, image );
+    }
+
+    /**
+     * Clears all cached shadows.
+     */
+    public static void clear ()
+    {
+        iconsCache.clear ();
+        imagesCache.clear ();
+    }
+
+    /**
+     * Returns whether or not shadows of the default skin decorations are pre-baked whenever skin is installed.
+     *
+     * @return {@code true} if shadows of the default skin decorations are pre-baked whenever skin is installed, {@code false} otherwise
+     */
+    public static boolean isPrebakeEnabled ()
+    {
+        return prebakeEnabled;
+    }
+
+    /**
+     * Sets whether or not shadows of the default skin decorations should be pre-baked whenever skin is installed.
+     *
+     * @param enabled whether or not shadows of the default skin decorations should be pre-baked whenever skin is installed
+     */
+    public static void setPrebakeEnabled ( final boolean enabled )
+    {
+        prebakeEnabled = enabled;
+    }
+
+    /**
+     * Returns whether or not shadows pre-baking is currently in progress.
+     * This method must be called from the Event Dispatch Thread.
+     *
+     * @return {@code true} if shadows pre-baking is currently in progress, {@code false} otherwise
+     */
+    public static boolean isPrebaking ()
+    {
+        return prebakeTask != null;
+    }
+
+    /**
+     * Cancels shadows pre-baking if it is in progress.
+     * This method must be called from the Event Dispatch Thread.
+     */
+    public static void cancelPrebake ()
+    {
+        if ( prebakeTask != null )
+        {
+            prebakeTask.stop ();
+            prebakeTask = null;
+        }
+    }
+
+    /**
+     * Pre-bakes shadows of the default decorations provided by the specified {@link Skin}.
+     * Styles of popups, menus, tooltips and windows are resolved for that purpose even if they are not used yet, other styles are only
+     * used if they were already resolved by the {@link Skin}, so that pre-baking doesn't force resolution of all skin styles.
+     * Default decorations are built right away, but shadows are generated later on the Event Dispatch Thread in short slices, so
+     * that other events are not delayed by pre-baking. Any pre-baking that is still in progress for a previous skin is cancelled.
+     * Only shadows that can be reused for components of any size are pre-baked, which are stretchable {@link WebShadow}s and
+     * {@link ExpandingShadow}s.
+     *
+     * This method must be called from the Event Dispatch Thread after {@link Skin} is installed and applied to components.
+     *
+     * @param skin {@link Skin} to pre-bake shadows for
+     */
+    public static void prebake ( @NotNull final Skin skin )
+    {
+        if ( skin instanceof XmlSkin )
+        {
+            // Default decoration states of an idle enabled component
+            final List<String> states = CollectionUtils.asList ( SystemUtils.getShortOsName (), DecorationState.enabled,
+                    DecorationState.leftToRight, DecorationState.hasNoChildren );
+            states.addAll ( DecorationUtils.getExtraStates ( skin ) );
+            Collections.sort ( states );
+
+            // Building default decorations with shadows
+            final List<WebDecoration> decorations = new ArrayList<WebDecoration> ();
+            final SkinInfo skinInfo = ( ( XmlSkin ) skin ).getSkinInfo ();
+            skinInfo.resolveStyles ( PREBAKE_TYPES );
+            collectDecorations ( skinInfo.getAlreadyResolvedStyles (), states, decorations );
+
+            // Generating shadows in slices
+            cancelPrebake ();
+            if ( !decorations.isEmpty () )
+            {
+                prebakeTask = new PrebakeTask ( decorations );
+                prebakeTask.start ();
+            }
+        }
+    }
+
+    /**
+     * Collects default decorations with shadows from the specified {@link ComponentStyle}s and their nested styles.
+     *
+     * @param styles      {@link ComponentStyle}s to collect decorations from
+     * @param states      default decoration states
+     * @param decorations list to collect decorations into
+     */
+    private static void collectDecorations ( @NotNull final List<ComponentStyle> styles, @NotNull final List<String> states,
+                                             @NotNull final List<WebDecoration> decorations )
+    {
+        for ( final ComponentStyle style : styles )
+        {
+            final PainterStyle painterStyle = style.getPainterStyle ();
+            if ( painterStyle != null && painterStyle.getProperties () != null )
+            {
+                for ( final Object property : painterStyle.getProperties ().values () )
+                {
+                    if ( property instanceof Decorations )
+                    {
+                        final WebDecoration decoration = buildDecoration ( ( Decorations ) property, states );
+                        if ( decoration != null &&
+                                ( decoration.hasShadow ( ShadowType.outer ) || decoration.hasShadow ( ShadowType.inner ) ) )
+                        {
+                            decorations.add ( decoration );
+                        }
+                    }
+                }
+            }
+            if ( style.getNestedStyles () != null )
+            {
+                collectDecorations ( style.getNestedStyles (), states, decorations );
+            }
+        }
+    }
+
+    /**
+     * Returns {@link WebDecoration} built from the specified {@link Decorations} for specified states.
+     *
+     * @param decorations {@link Decorations}
+     * @param states      decoration states
+     * @return {@link WebDecoration} built from the specified {@link Decorations} for specified states
+     */
+    @Nullable
+    private static WebDecoration buildDecoration ( @NotNull final Decorations<?, ?> decorations, @NotNull final List<String> states )
+    {
+        final List<IDecoration> applicable = new ArrayList<IDecoration> ( decorations.size () );
+        for ( final IDecoration decoration : decorations )
+        {
+            if ( decoration.isApplicableTo ( states ) )
+            {
+                applicable.add ( decoration );
+            }
+        }
+        final WebDecoration decoration;
+        if ( !applicable.isEmpty () && applicable.get ( applicable.size () - 1 ) instanceof WebDecoration )
+        {
+            final Class<? extends IDecoration> type = applicable.get ( applicable.size () - 1 ).getClass ();
+            final List<IDecoration> merged = new ArrayList<IDecoration> ( applicable.size () );
+            for ( final IDecoration d : applicable )
+            {
+                if ( d.getClass () == type )
+                {
+                    merged.add ( d );
+                }
+            }
+            decoration = Merge.deep ().merge ( merged );
+        }
+        else
+        {
+            decoration = null;
+        }
+        return decoration;
+    }
+
+    /**
+     * Generates shadows of the specified decoration.
+     *
+     * @param decoration decoration to generate shadows for
+     * @param component  component used for painting
+     * @param g2d        {@link Graphics2D} used for painting
+     */
+    @SuppressWarnings ( "unchecked" )
+    private static void prebake ( @NotNull final WebDecoration decoration, @NotNull final JComponent component,
+                                  @NotNull final Graphics2D g2d )
+    {
+        try
+        {
+            final IShape shape = decoration.getShape ();
+            final Rectangle bounds = getPrebakeBounds ( decoration, shape );
+            for ( final ShadowType type : ShadowType.values () )
+            {
+                final IShadow shadow = decoration.getShadow ( type );
+                final ShapeType shapeType = type == ShadowType.outer ? ShapeType.outerShadow : ShapeType.innerShadow;
+                if ( shadow instanceof AbstractShadow && shape.isVisible ( shapeType, bounds, component, decoration ) &&
+                        isReusable ( ( AbstractShadow ) shadow, shape, bounds, component, decoration ) )
+                {
+                    final Shape s = shape.getShape ( shapeType, bounds, component, decoration );
+                    ( ( AbstractShadow ) shadow ).paint ( g2d, bounds, component, decoration, s );
+                }
+            }
+        }
+        catch ( final Exception e )
+        {
+            // Some shapes might require specific components, such decorations are simply skipped
+            LoggerFactory.getLogger ( ShadowCache.class ).debug ( "Unable to pre-bake shadow: " + decoration, e );
+        }
+    }
+
+    /**
+     * Returns whether or not specified shadow can be reused for components of any size.
+     *
+     * @param shadow     shadow
+     * @param shape      decoration shape
+     * @param bounds     painting bounds
+     * @param component  component used for painting
+     * @param decoration decoration
+     * @return {@code true} if specified shadow can be reused for components of any size, {@code false} otherwise
+     */
+    @SuppressWarnings ( "unchecked" )
+    private static boolean isReusable ( @NotNull final AbstractShadow shadow, @NotNull final IShape shape, @NotNull final Rectangle bounds,
+                                        @NotNull final JComponent component, @NotNull final WebDecoration decoration )
+    {
+        final boolean reusable;
+        if ( shadow instanceof ExpandingShadow )
+        {
+            reusable = shadow.getType () == ShadowType.outer;
+        }
+        else if ( shadow instanceof WebShadow )
+        {
+            final StretchInfo stretch = shape.getStretchInfo ( bounds, component, decoration );
+            reusable = stretch != null && stretch.getHorizontalStretch () != null && stretch.getVerticalStretch () != null;
+        }
+        else
+        {
+            reusable = false;
+        }
+        return reusable;
+    }
+
+    /**
+     * Returns bounds large enough to contain all decoration corners and shadows.
+     *
+     * @param decoration decoration
+     * @param shape      decoration shape
+     * @return bounds large enough to contain all decoration corners and shadows
+     */
+    @NotNull
+    private static Rectangle getPrebakeBounds ( @NotNull final WebDecoration decoration, @NotNull final IShape shape )
+    {
+        int size = 32 + 4 * ( decoration.getShadowWidth ( ShadowType.outer ) + decoration.getShadowWidth ( ShadowType.inner ) );
+        if ( shape instanceof WebShape )
+        {
+            final Round round = ( ( WebShape ) shape ).getRound ();
+            size += 2 * Math.max ( Math.max ( round.topLeft, round.topRight ), Math.max ( round.bottomRight, round.bottomLeft ) );
+        }
+        return new Rectangle ( 0, 0, size, size );
+    }
+
+    /**
+     * Task generating shadows of the specified decorations on the Event Dispatch Thread.
+     * Each {@link Timer} event generates shadows for as many decorations as possible within {@link #PREBAKE_SLICE}.
+     */
+    private static final class PrebakeTask implements ActionListener
+    {
+        /**
+         * Decorations to generate shadows for.
+         */
+        @NotNull
+        private final List<WebDecoration> decorations;
+
+        /**
+         * {@link Timer} running pre-baking slices.
+         */
+        @NotNull
+        private final Timer timer;
+
+        /**
+         * Index of the next decoration to generate shadows for.
+         */
+        private int index;
+
+        /**
+         * Constructs new {@link PrebakeTask}.
+         *
+         * @param decorations decorations to generate shadows for
+         */
+        public PrebakeTask ( @NotNull final List<WebDecoration> decorations )
+        {
+            this.decorations = decorations;
+            this.timer = new Timer ( PREBAKE_DELAY, this );
+            this.index = 0;
+        }
+
+        /**
+         * Starts generating shadows.
+         */
+        public void start ()
+        {
+            timer.start ();
+        }
+
+        /**
+         * Stops generating shadows.
+         */
+        public void stop ()
+        {
+            timer.stop ();
+        }
+
+        @Override
+        public void actionPerformed ( @NotNull final ActionEvent e )
+        {
+            final JComponent component = new JComponent ()
+            {
+            };
+            final BufferedImage canvas = new BufferedImage ( 1, 1, BufferedImage.TYPE_INT_ARGB );
+            final Graphics2D g2d = canvas.createGraphics ();
+            try
+            {
+                final long deadline = System.nanoTime () + PREBAKE_SLICE;
+                do
+                {
+                    prebake ( decorations.get ( index++ ), component, g2d );
+                }
+                while ( index < decorations.size () && System.nanoTime () < deadline );
+            }
+            finally
+            {
+                g2d.dispose ();
+            }
+            if ( index >= decorations.size () )
+            {
+                stop ();
+                if ( prebakeTask == this )
+                {
+                    prebakeTask = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Map view provided through deprecated shadow cache fields for backward compatibility.
+     * It never contains any entries and ignores new ones since shadows are now cached using {@link ShadowKey}s.
+     * Clearing it clears the corresponding {@link ShadowCache} cache.
+     *
+     * @param <V> cached value type
+     */
+    static final class LegacyCacheView<V> extends AbstractMap<String, WeakReference<V>>
+    {
+        /**
+         * Whether this view represents icons cache or images cache.
+         */
+        private final boolean icons;
+
+        /**
+         * Constructs new {@link LegacyCacheView}.
+         *
+         * @param icons whether this view represents icons cache or images cache
+         */
+        public LegacyCacheView ( final boolean icons )
+        {
+            this.icons = icons;
+        }
+
+        @Nullable
+        @Override
+        public WeakReference<V> put ( @NotNull final String key, @NotNull final WeakReference<V> value )
+        {
+            return null;
+        }
+
+        @Override
+        public void clear ()
+        {
+            if ( icons )
+            {
+                iconsCache.clear ();
+            }
+            else
+            {
+                imagesCache.clear ();
+            }
+        }
+
+        @NotNull
+        @Override
+        public Set<Entry<String, WeakReference<V>>> entrySet ()
+        {
+            return Collections.emptySet ();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.painter.decoration.shadow;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
+import com.alee.api.jdk.Objects;
+
+import java.awt.*;
+import java.util.Arrays;
+
+/**
+ * Immutable key of the shadow image or icon kept in {@link ShadowCache}.
+ * It contains all settings that affect generated shadow, including shape settings provided by
+ * {@link com.alee.painter.decoration.shape.IShape#getShapeSettings}.
+ *
+ * @author Mikle Garin
+ * @see ShadowCache
+ */
+public final class ShadowKey
+{
+    /**
+     * Shadow implementation class.
+     */
+    @NotNull
+    private final Class<? extends IShadow> shadow;
+
+    /**
+     * Shadow type.
+     */
+    @NotNull
+    private final ShadowType type;
+
+    /**
+     * Shadow image width, {@code 0} if shadow is stretchable horizontally.
+     */
+    private final int width;
+
+    /**
+     * Shadow image height, {@code 0} if shadow is stretchable vertically.
+     */
+    private final int height;
+
+    /**
+     * Shadow width.
+     */
+    private final int shadowWidth;
+
+    /**
+     * Shadow opacity.
+     */
+    private final float opacity;
+
+    /**
+     * Shadow color.
+     */
+    @Nullable
+    private final Color color;
+
+    /**
+     * Shape settings.
+     */
+    @Nullable
+    private final Object[] settings;
+
+    /**
+     * Cached hash code.
+     */
+    private final int hashCode;
+
+    /**
+     * Constructs new {@link ShadowKey}.
+     *
+     * @param shadow      shadow implementation class
+     * @param type        shadow type
+     * @param width       shadow image width, {@code 0} if shadow is stretchable horizontally
+     * @param height      shadow image height, {@code 0} if shadow is stretchable vertically
+     * @param shadowWidth shadow width
+     * @param opacity     shadow opacity
+     * @param color       shadow color
+     * @param settings    shape settings
+     */
+    public ShadowKey ( @NotNull final Class<? extends IShadow> shadow, @NotNull final ShadowType type, final int width, final int height,
+                       final int shadowWidth, final float opacity, @Nullable final Color color, @Nullable final Object... settings )
+    {
+        this.shadow = shadow;
+        this.type = type;
+        this.width = width;
+        this.height = height;
+        this.shadowWidth = shadowWidth;
+        this.opacity = opacity;
+        this.color = color;
+        this.settings = settings;
+        this.hashCode = 31 * Objects.hash ( shadow, type, width, height, shadowWidth, opacity, color ) + Arrays.deepHashCode ( settings );
+    }
+
+    @Override
+    public boolean equals ( @Nullable final Object object )
+    {
+        boolean equals = false;
+        if ( object == this )
+        {
+            equals = true;
+        }
+        else if ( object instanceof ShadowKey )
+        {
+            final ShadowKey other = ( ShadowKey ) object;
+            equals = hashCode == other.hashCode && shadow == other.shadow && type == other.type && width == other.width &&
+                    height == other.height && shadowWidth == other.shadowWidth &&
+                    Float.floatToIntBits ( opacity ) == Float.floatToIntBits ( other.opacity ) &&
+                    Objects.equals ( color, other.color ) && Arrays.deepEquals ( settings, other.settings );
+        }
+        return equals;
+    }
+
+    @Override
+    public int hashCode ()
+    {
+        return hashCode;
+    }
+
+    @NotNull
+    @Override
+    public String toString ()
+    {
+        return shadow.getSimpleName () + " [ " + type + "; " + width + "x" + height + "; width: " + shadowWidth +
+                "; opacity: " + opacity + "; color: " + color + "; settings: " + Arrays.deepToString ( settings ) + " ]";
+    }
+}
@@ -26,7 +26,6 @@ import com.alee.painter.decoration.shape.StretchInfo;
 import com.alee.utils.ColorUtils;
 import com.alee.utils.GraphicsUtils;
 import com.alee.utils.ImageUtils;
-import com.alee.utils.TextUtils;
 import com.alee.utils.general.Pair;
 import com.alee.utils.ninepatch.NinePatchIcon;
 import com.thoughtworks.xstream.annotations.XStreamAlias;
@@ -36,13 +35,12 @@ import java.awt.*;
 import java.awt.geom.Area;
 import java.awt.image.BufferedImage;
 import java.lang.ref.WeakReference;
-import java.util.HashMap;
 import java.util.Map;
 
 /**
  * Basic shadow that can be painted on any shape.
  * Shadow is generated through the {@link com.alee.graphics.filters.ShadowFilter} and saved into {@link java.awt.image.BufferedImage}.
- * Generated image with the shadow is usually kept in cache to optimize UI performance.
+ * Generated image with the shadow is kept in {@link ShadowCache} to optimize UI performance.
  *
  * One generated shadow sometimes might be reused by multiple components of different size.
  * That happens only when {@link com.alee.painter.decoration.shape.IShape} implementation this shadow is based on provides stretch areas.
@@ -58,19 +56,28 @@ public class WebShadow<C extends JComponent, D extends WebDecoration<C, D>, I ex
 {
     /**
      * Shadow icons cache.
+     *
+     * @deprecated shadow icons are now cached in {@link ShadowCache}, this map doesn't contain any entries and only clears that cache
      */
+    @Deprecated
     protected static transient final Map<String, WeakReference<NinePatchIcon>> shadowIconsCache =
-            new HashMap<String, WeakReference<NinePatchIcon>> ( 100 );
+            new ShadowCache.LegacyCacheView<NinePatchIcon> ( true );
 
     /**
      * Shadow images cache.
+     *
+     * @deprecated shadow images are now cached in {@link ShadowCache}, this map doesn't contain any entries and only clears that cache
      */
+    @Deprecated
     protected static transient final Map<String, WeakReference<BufferedImage>> shadowImagesCache =
-            new HashMap<String, WeakReference<BufferedImage>> ( 20 );
+            new ShadowCache.LegacyCacheView<BufferedImage> ( false );
 
     /**
      * Cache key data separator.
+     *
+     * @deprecated shadows are now cached using {@link ShadowKey}s, this separator is not used anymore
      */
+    @Deprecated
     protected static final String separator = ",";
 
     /**
@@ -206,12 +213,12 @@ public class WebShadow<C extends JComponent, D extends WebDecoration<C, D>, I ex
         // Width and height is added as key in case there are no horizontal and/or vertical stretchable areas
         final int hor = stretchInfo.getHorizontalStretch () == null ? bounds.width : 0;
         final int ver = stretchInfo.getVerticalStretch () == null ? bounds.height : 0;
-        final String key = TextUtils.getSettingsKey ( ShadowType.outer, hor, ver, width, opacity, color, settings );
-        NinePatchIcon shadow = shadowIconsCache.containsKey ( key ) ? shadowIconsCache.get ( key ).get () : null;
+        final ShadowKey key = new ShadowKey ( WebShadow.class, ShadowType.outer, hor, ver, width, opacity, color, settings );
+        NinePatchIcon shadow = ShadowCache.getIcon ( key );
         if ( shadow == null )
         {
             shadow = createShadowIcon ( stretchInfo, bounds, width, opacity, color, shape );
-            shadowIconsCache.put ( key, new WeakReference<NinePatchIcon> ( shadow ) );
+            ShadowCache.putIcon ( key, shadow );
         }
         return shadow;
     }
@@ -279,12 +286,13 @@ public class WebShadow<C extends JComponent, D extends WebDecoration<C, D>, I ex
     public static BufferedImage getShadowImage ( final Rectangle bounds, final int width, final float opacity, final Color color,
                                                  final Shape shape, final Object... settings )
     {
-        final String key = TextUtils.getSettingsKey ( ShadowType.outer, bounds.width, bounds.height, width, opacity, color, settings );
-        BufferedImage shadow = shadowImagesCache.containsKey ( key ) ? shadowImagesCache.get ( key ).get () : null;
+        final ShadowKey key = new ShadowKey ( WebShadow.class, ShadowType.outer, bounds.width, bounds.height,
+                width, opacity, color, settings );
+        BufferedImage shadow = ShadowCache.getImage ( key );
         if ( shadow == null )
         {
             shadow = createShadowImage ( bounds, width, opacity, color, shape );
-            shadowImagesCache.put ( key, new WeakReference<BufferedImage> ( shadow ) );
+            ShadowCache.putImage ( key, shadow );
         }
         return shadow;
     }
@@ -349,12 +357,12 @@ public class WebShadow<C extends JComponent, D extends WebDecoration<C, D>, I ex
         // Width and height is added as key in case there are no horizontal and/or vertical stretchable areas
         final int hor = stretchInfo.getHorizontalStretch () == null ? bounds.width : 0;
         final int ver = stretchInfo.getVerticalStretch () == null ? bounds.height : 0;
-        final String key = TextUtils.getSettingsKey ( ShadowType.inner, hor, ver, width, opacity, color, settings );
-        NinePatchIcon shadow = shadowIconsCache.containsKey ( key ) ? shadowIconsCache.get ( key ).get () : null;
+        final ShadowKey key = new ShadowKey ( WebShadow.class, ShadowType.inner, hor, ver, width, opacity, color, settings );
+        NinePatchIcon shadow = ShadowCache.getIcon ( key );
         if ( shadow == null )
         {
             shadow = createInnerShadowIcon ( stretchInfo, bounds, width, opacity, color, shape );
-            shadowIconsCache.put ( key, new WeakReference<NinePatchIcon> ( shadow ) );
+            ShadowCache.putIcon ( key, shadow );
         }
         return shadow;
     }
@@ -422,12 +430,13 @@ public class WebShadow<C extends JComponent, D extends WebDecoration<C, D>, I ex
     public static BufferedImage getInnerShadowImage ( final Rectangle bounds, final int width, final float opacity, final Color color,
                                                       final Shape shape, final Object... settings )
     {
-        final String key = TextUtils.getSettingsKey ( ShadowType.inner, bounds.width, bounds.height, width, opacity, color, settings );
-        BufferedImage shadow = shadowImagesCache.containsKey ( key ) ? shadowImagesCache.get ( key ).get () : null;
+        final ShadowKey key = new ShadowKey ( WebShadow.class, ShadowType.inner, bounds.width, bounds.height,
+                width, opacity, color, settings );
+        BufferedImage shadow = ShadowCache.getImage ( key );
         if ( shadow == null )
         {
             shadow = createInnerShadowImage ( bounds, width, opacity, color, shape );
-            shadowImagesCache.put ( key, new WeakReference<BufferedImage> ( shadow ) );
+            ShadowCache.putImage ( key, shadow );
         }
         return shadow;
     }
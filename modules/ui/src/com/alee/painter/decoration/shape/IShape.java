@@ -67,6 +67,7 @@ public interface IShape<C extends JComponent, D extends IDecoration<C, D>, I ext
      * Returns exclusive shape settings used to cache the shape itself.
      * There is no need to return bounds provided while shape is generated or parameters from other decoration parts.
      * This information might be useful outside the shape to implement proper caching of data generated based on this shape.
+     * Returned settings are compared using their {@link Object#equals(Object)} and {@link Object#hashCode()} implementations.
      *
      * @param bounds painting bounds
      * @param c      painted component
@@ -18,8 +18,10 @@
 package com.alee.painter.decoration.shape;
 
 import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
 import com.alee.api.clone.CloneBehavior;
 import com.alee.api.clone.RecursiveClone;
+import com.alee.api.jdk.Objects;
 import com.alee.api.merge.Overwriting;
 import com.thoughtworks.xstream.annotations.XStreamConverter;
 
@@ -96,6 +98,25 @@ public final class Round implements Overwriting, CloneBehavior<Round>, Serializa
         return new Round ( topLeft, topRight, bottomRight, bottomLeft );
     }
 
+    @Override
+    public boolean equals ( @Nullable final Object object )
+    {
+        boolean equals = false;
+        if ( object instanceof Round )
+        {
+            final Round other = ( Round ) object;
+            equals = topLeft == other.topLeft && topRight == other.topRight &&
+                    bottomRight == other.bottomRight && bottomLeft == other.bottomLeft;
+        }
+        return equals;
+    }
+
+    @Override
+    public int hashCode ()
+    {
+        return Objects.hash ( topLeft, topRight, bottomRight, bottomLeft );
+    }
+
     @NotNull
     @Override
     public String toString ()
@@ -18,8 +18,10 @@
 package com.alee.painter.decoration.shape;
 
 import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
 import com.alee.api.clone.CloneBehavior;
 import com.alee.api.clone.RecursiveClone;
+import com.alee.api.jdk.Objects;
 import com.alee.api.merge.Overwriting;
 import com.thoughtworks.xstream.annotations.XStreamConverter;
 
@@ -160,6 +162,24 @@ public final class Sides implements Overwriting, CloneBehavior<Sides>, Serializa
         return new Sides ( top, left, bottom, right );
     }
 
+    @Override
+    public boolean equals ( @Nullable final Object object )
+    {
+        boolean equals = false;
+        if ( object instanceof Sides )
+        {
+            final Sides other = ( Sides ) object;
+            equals = top == other.top && left == other.left && bottom == other.bottom && right == other.right;
+        }
+        return equals;
+    }
+
+    @Override
+    public int hashCode ()
+    {
+        return Objects.hash ( top, left, bottom, right );
+    }
+
     @NotNull
     @Override
     public String toString ()
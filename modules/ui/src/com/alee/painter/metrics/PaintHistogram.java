@@ -0,0 +1,235 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.painter.metrics;
+
+import com.alee.api.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Low-overhead histogram of paint timings.
+ * Timings are counted in logarithmic buckets, each power of two is split into eight linear sub-buckets, so percentiles are reported
+ * with at most 12.5% relative error while recording never allocates and never blocks.
+ *
+ * @author Mikle Garin
+ * @see PaintMetrics
+ * @see PaintStatistics
+ */
+public final class PaintHistogram
+{
+    /**
+     * Amount of bits used for linear sub-buckets.
+     */
+    private static final int SUB_BUCKET_BITS = 3;
+
+    /**
+     * Amount of linear sub-buckets within each power of two.
+     */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Total amount of buckets, enough to fit any positive {@code long} value.
+     */
+    private static final int BUCKETS = ( 64 - SUB_BUCKET_BITS ) * SUB_BUCKETS;
+
+    /**
+     * Histogram name, painter class name or style identifier.
+     */
+    @NotNull
+    private final String name;
+
+    /**
+     * Total recorded time in nanoseconds.
+     */
+    @NotNull
+    private final AtomicLong totalTime;
+
+    /**
+     * Maximum recorded time in nanoseconds.
+     */
+    @NotNull
+    private final AtomicLong maxTime;
+
+    /**
+     * Total estimated amount of bytes allocated while painting.
+     */
+    @NotNull
+    private final AtomicLong allocatedBytes;
+
+    /**
+     * Recorded timings counters.
+     */
+    @NotNull
+    private final AtomicLongArray buckets;
+
+    /**
+     * Constructs new {@link PaintHistogram}.
+     *
+     * @param name histogram name, painter class name or style identifier
+     */
+    public PaintHistogram ( @NotNull final String name )
+    {
+        this.name = name;
+        this.totalTime = new AtomicLong ( 0 );
+        this.maxTime = new AtomicLong ( 0 );
+        this.allocatedBytes = new AtomicLong ( 0 );
+        this.buckets = new AtomicLongArray ( BUCKETS );
+    }
+
+    /**
+     * Returns histogram name, painter class name or style identifier.
+     *
+     * @return histogram name, painter class name or style identifier
+     */
+    @NotNull
+    public String getName ()
+    {
+        return name;
+    }
+
+    /**
+     * Records single paint operation.
+     *
+     * @param time  paint time in nanoseconds
+     * @param bytes estimated amount of bytes allocated while painting, negative if unknown
+     */
+    public void record ( final long time, final long bytes )
+    {
+        final long nanos = Math.max ( 0, time );
+        totalTime.addAndGet ( nanos );
+        buckets.incrementAndGet ( bucket ( nanos ) );
+        long max;
+        while ( nanos > ( max = maxTime.get () ) && !maxTime.compareAndSet ( max, nanos ) )
+        {
+            // Retrying until maximum is updated
+        }
+        if ( bytes > 0 )
+        {
+            allocatedBytes.addAndGet ( bytes );
+        }
+    }
+
+    /**
+     * Returns {@link PaintStatistics} snapshot of this histogram.
+     * Values are collected without stopping recording, so snapshot might be slightly inconsistent if recording happens meanwhile.
+     *
+     * @return {@link PaintStatistics} snapshot of this histogram
+     */
+    @NotNull
+    public PaintStatistics getStatistics ()
+    {
+        final long[] counts = new long[ BUCKETS ];
+        long total = 0;
+        for ( int i = 0; i < BUCKETS; i++ )
+        {
+            counts[ i ] = buckets.get ( i );
+            total += counts[ i ];
+        }
+        final long max = maxTime.get ();
+        return new PaintStatistics ( name, total, totalTime.get (), percentile ( counts, total, 0.5, max ),
+                percentile ( counts, total, 0.99, max ), max, allocatedBytes.get () );
+    }
+
+    /**
+     * Resets all recorded values.
+     */
+    public void reset ()
+    {
+        totalTime.set ( 0 );
+        maxTime.set ( 0 );
+        allocatedBytes.set ( 0 );
+        for ( int i = 0; i < BUCKETS; i++ )
+        {
+            buckets.set ( i, 0 );
+        }
+    }
+
+    /**
+     * Returns approximate value below or at which the specified fraction of recorded values lies.
+     *
+     * @param counts   recorded timings counters
+     * @param total    total amount of recorded values
+     * @param fraction values fraction, from {@code 0} to {@code 1}
+     * @param max      maximum recorded value
+     * @return approximate value below or at which the specified fraction of recorded values lies
+     */
+    private static long percentile ( @NotNull final long[] counts, final long total, final double fraction, final long max )
+    {
+        long value = 0;
+        if ( total > 0 )
+        {
+            final long target = Math.max ( 1, ( long ) Math.ceil ( total * fraction ) );
+            long passed = 0;
+            for ( int i = 0; i < counts.length; i++ )
+            {
+                passed += counts[ i ];
+                if ( passed >= target )
+                {
+                    value = Math.min ( upperBound ( i ), max );
+                    break;
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Returns index of the bucket for the specified value.
+     *
+     * @param value non-negative value
+     * @return index of the bucket for the specified value
+     */
+    private static int bucket ( final long value )
+    {
+        final int index;
+        if ( value < SUB_BUCKETS )
+        {
+            index = ( int ) value;
+        }
+        else
+        {
+            final int exponent = 63 - Long.numberOfLeadingZeros ( value );
+            final int shift = exponent - SUB_BUCKET_BITS;
+            index = ( shift + 1 ) * SUB_BUCKETS + ( int ) ( ( value >>> shift ) & ( SUB_BUCKETS - 1 ) );
+        }
+        return index;
+    }
+
+    /**
+     * Returns largest value that falls into the bucket with the specified index.
+     *
+     * @param index bucket index
+     * @return largest value that falls into the bucket with the specified index
+     */
+    private static long upperBound ( final int index )
+    {
+        final long bound;
+        if ( index < SUB_BUCKETS )
+        {
+            bound = index;
+        }
+        else
+        {
+            final int shift = index / SUB_BUCKETS - 1;
+            final long lower = ( long ) ( SUB_BUCKETS + index % SUB_BUCKETS ) << shift;
+            bound = lower + ( 1L << shift ) - 1;
+        }
+        return bound;
+    }
+}
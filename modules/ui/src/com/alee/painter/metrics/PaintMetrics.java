@@ -0,0 +1,472 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.painter.metrics;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
+import com.alee.laf.WebLookAndFeel;
+import com.alee.managers.style.StyleAdapter;
+import com.alee.managers.style.StyleId;
+import com.alee.managers.style.StyleListener;
+import com.alee.managers.style.StyleManager;
+import com.alee.painter.Painter;
+import com.alee.utils.UtilityException;
+import org.slf4j.LoggerFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.swing.*;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Optional in-process paint timings instrumentation.
+ * When enabled, each component {@link Painter} paint call made through {@link com.alee.painter.PainterSupport} is timed and recorded
+ * into {@link PaintHistogram}s per painter class and per component style identifier, along with an estimate of allocated memory.
+ *
+ * Instrumentation is disabled by default, it can be enabled through {@link #setEnabled(boolean)}, through JMX once
+ * {@link #registerMBean()} is called or with {@link WebLookAndFeel#PROPERTY_PAINT_METRICS} system property set to {@code true}.
+ * Recorded values are available through {@link #getPainterStatistics()} and {@link #getStyleStatistics()} or {@link PaintMetricsMXBean}.
+ *
+ * Note that painter timings include timings of nested section painters, while style timings include complete component painting.
+ *
+ * @author Mikle Garin
+ * @see PaintMetricsMXBean
+ * @see PaintStatistics
+ */
+public final class PaintMetrics
+{
+    /**
+     * Name under which {@link PaintMetricsMXBean} is registered in the platform MBean server.
+     */
+    public static final String OBJECT_NAME = "com.alee.painter:type=PaintMetrics";
+
+    /**
+     * Whether or not paint timings are recorded.
+     */
+    private static volatile boolean enabled = false;
+
+    /**
+     * Whether or not {@link PaintMetricsMXBean} is registered.
+     */
+    private static boolean registered = false;
+
+    /**
+     * Paint timings per painter class.
+     * Entry: [ painter class -> paint timings ]
+     */
+    @NotNull
+    private static final ConcurrentMap<Class, PaintHistogram> painters = new ConcurrentHashMap<Class, PaintHistogram> ( 64 );
+
+    /**
+     * Paint timings per style identifier.
+     * Entry: [ component type and complete style identifier -> paint timings ]
+     */
+    @NotNull
+    private static final ConcurrentMap<String, PaintHistogram> styles = new ConcurrentHashMap<String, PaintHistogram> ( 128 );
+
+    /**
+     * Style keys of painted components.
+     * They are cached to avoid resolving complete style identifier on each recorded paint operation.
+     * Key is set to {@code null} by {@link #STYLE_TRACKER} whenever component {@link StyleId} changes.
+     * Entry: [ component -> component type and complete style identifier ]
+     */
+    @NotNull
+    private static final Map<JComponent, String> styleKeys = new WeakHashMap<JComponent, String> ( 256 );
+
+    /**
+     * {@link StyleListener} resetting cached style keys of components which {@link StyleId} has changed.
+     */
+    @NotNull
+    private static final StyleListener STYLE_TRACKER = new StyleAdapter ()
+    {
+        @Override
+        public void styleChanged ( @NotNull final JComponent component, @Nullable final StyleId oldStyleId,
+                                   @NotNull final StyleId newStyleId )
+        {
+            synchronized ( styleKeys )
+            {
+                styleKeys.put ( component, null );
+            }
+        }
+    };
+
+    /**
+     * {@link AllocationTracker} providing allocated memory estimates, {@code null} if they are not supported.
+     */
+    @Nullable
+    private static volatile AllocationTracker allocationTracker;
+
+    /**
+     * Enabling instrumentation if it was requested through system property.
+     */
+    static
+    {
+        if ( Boolean.getBoolean ( WebLookAndFeel.PROPERTY_PAINT_METRICS ) )
+        {
+            setEnabled ( true );
+        }
+    }
+
+    /**
+     * Private constructor to avoid instantiation.
+     */
+    private PaintMetrics ()
+    {
+        throw new UtilityException ( "Utility classes are not meant to be instantiated" );
+    }
+
+    /**
+     * Returns whether or not paint timings are recorded.
+     *
+     * @return {@code true} if paint timings are recorded, {@code false} otherwise
+     */
+    public static boolean isEnabled ()
+    {
+        return enabled;
+    }
+
+    /**
+     * Sets whether or not paint timings should be recorded.
+     * Enabling instrumentation also registers {@link PaintMetricsMXBean} if it wasn't registered yet.
+     *
+     * @param enabled whether or not paint timings should be recorded
+     */
+    public static synchronized void setEnabled ( final boolean enabled )
+    {
+        if ( enabled )
+        {
+            initializeAllocationTracking ();
+            registerMBean ();
+        }
+        PaintMetrics.enabled = enabled;
+    }
+
+    /**
+     * Registers {@link PaintMetricsMXBean} in the platform MBean server under {@link #OBJECT_NAME} name.
+     * This allows enabling instrumentation and reading recorded values through JMX without any additional code.
+     */
+    public static synchronized void registerMBean ()
+    {
+        if ( !registered )
+        {
+            try
+            {
+                final MBeanServer server = ManagementFactory.getPlatformMBeanServer ();
+                final ObjectName name = new ObjectName ( OBJECT_NAME );
+                if ( !server.isRegistered ( name ) )
+                {
+                    server.registerMBean ( new MXBean (), name );
+                }
+                registered = true;
+            }
+            catch ( final Exception e )
+            {
+                LoggerFactory.getLogger ( PaintMetrics.class ).warn ( "Unable to register paint metrics MBean", e );
+            }
+        }
+    }
+
+    /**
+     * Returns amount of bytes allocated by the current thread so far or {@code -1} if it is unknown.
+     *
+     * @return amount of bytes allocated by the current thread so far or {@code -1} if it is unknown
+     */
+    public static long getAllocatedBytes ()
+    {
+        final AllocationTracker tracker = allocationTracker;
+        return tracker != null ? tracker.getAllocatedBytes () : -1;
+    }
+
+    /**
+     * Returns amount of bytes allocated by the current thread since the specified {@link #getAllocatedBytes()} value.
+     * Memory allocated by allocated memory tracking itself is excluded from the returned value.
+     *
+     * @param since amount of bytes allocated by the current thread at the measurement start, negative if unknown
+     * @return amount of bytes allocated by the current thread since the specified {@link #getAllocatedBytes()} value
+     */
+    public static long getAllocatedBytes ( final long since )
+    {
+        final AllocationTracker tracker = allocationTracker;
+        return tracker != null && since >= 0 ? Math.max ( 0, tracker.getAllocatedBytes () - since - tracker.overhead ) : -1;
+    }
+
+    /**
+     * Records component paint operation.
+     *
+     * @param component     painted {@link JComponent}
+     * @param painter       {@link Painter} used to paint component
+     * @param time          paint time in nanoseconds
+     * @param bytes         estimated amount of bytes allocated while painting, negative if unknown
+     * @param recordStyleId whether or not timing should also be recorded for component style identifier
+     */
+    public static void record ( @NotNull final JComponent component, @NotNull final Painter painter, final long time, final long bytes,
+                                final boolean recordStyleId )
+    {
+        final Class<? extends Painter> painterClass = painter.getClass ();
+        PaintHistogram painterHistogram = painters.get ( painterClass );
+        if ( painterHistogram == null )
+        {
+            final PaintHistogram histogram = new PaintHistogram ( painterClass.getName () );
+            painterHistogram = painters.putIfAbsent ( painterClass, histogram );
+            if ( painterHistogram == null )
+            {
+                painterHistogram = histogram;
+            }
+        }
+        painterHistogram.record ( time, bytes );
+
+        if ( recordStyleId )
+        {
+            getStyleHistogram ( component ).record ( time, bytes );
+        }
+    }
+
+    /**
+     * Returns style identifier {@link PaintHistogram} for the specified {@link JComponent}.
+     * Style key is only resolved when {@link JComponent} is met first time or after its {@link StyleId} changes.
+     *
+     * @param component {@link JComponent} to return style identifier {@link PaintHistogram} for
+     * @return style identifier {@link PaintHistogram} for the specified {@link JComponent}
+     */
+    @NotNull
+    private static PaintHistogram getStyleHistogram ( @NotNull final JComponent component )
+    {
+        String styleKey;
+        synchronized ( styleKeys )
+        {
+            styleKey = styleKeys.get ( component );
+            if ( styleKey == null )
+            {
+                if ( !styleKeys.containsKey ( component ) )
+                {
+                    StyleManager.addStyleListener ( component, STYLE_TRACKER );
+                }
+                styleKey = StyleManager.getDescriptor ( component ).getId () + ":" + StyleId.getCompleteId ( component );
+                styleKeys.put ( component, styleKey );
+            }
+        }
+        PaintHistogram styleHistogram = styles.get ( styleKey );
+        if ( styleHistogram == null )
+        {
+            final PaintHistogram histogram = new PaintHistogram ( styleKey );
+            styleHistogram = styles.putIfAbsent ( styleKey, histogram );
+            if ( styleHistogram == null )
+            {
+                styleHistogram = histogram;
+            }
+        }
+        return styleHistogram;
+    }
+
+    /**
+     * Returns paint statistics for each painter class sorted by total paint time.
+     *
+     * @return paint statistics for each painter class sorted by total paint time
+     */
+    @NotNull
+    public static List<PaintStatistics> getPainterStatistics ()
+    {
+        return getStatistics ( painters.values () );
+    }
+
+    /**
+     * Returns paint statistics for each style identifier sorted by total paint time.
+     * Style identifiers are prefixed with component type, for example {@code "button:hover"}.
+     *
+     * @return paint statistics for each style identifier sorted by total paint time
+     */
+    @NotNull
+    public static List<PaintStatistics> getStyleStatistics ()
+    {
+        return getStatistics ( styles.values () );
+    }
+
+    /**
+     * Resets all recorded paint timings.
+     */
+    public static void reset ()
+    {
+        painters.clear ();
+        styles.clear ();
+    }
+
+    /**
+     * Returns statistics of the specified histograms sorted by total paint time.
+     *
+     * @param histograms {@link PaintHistogram}s
+     * @return statistics of the specified histograms sorted by total paint time
+     */
+    @NotNull
+    private static List<PaintStatistics> getStatistics ( @NotNull final Collection<PaintHistogram> histograms )
+    {
+        final List<PaintStatistics> statistics = new ArrayList<PaintStatistics> ( histograms.size () );
+        for ( final PaintHistogram histogram : histograms )
+        {
+            statistics.add ( histogram.getStatistics () );
+        }
+        Collections.sort ( statistics, new Comparator<PaintStatistics> ()
+        {
+            @Override
+            public int compare ( final PaintStatistics s1, final PaintStatistics s2 )
+            {
+                return s1.getTotalTime () < s2.getTotalTime () ? 1 : s1.getTotalTime () > s2.getTotalTime () ? -1 : 0;
+            }
+        } );
+        return statistics;
+    }
+
+    /**
+     * Initializes allocated memory tracking if it is supported by JVM.
+     * It relies on {@code com.sun.management.ThreadMXBean} which is only available in some JVM implementations.
+     */
+    private static void initializeAllocationTracking ()
+    {
+        if ( allocationTracker == null )
+        {
+            try
+            {
+                final Class<?> type = Class.forName ( "com.sun.management.ThreadMXBean" );
+                if ( type.isInstance ( ManagementFactory.getThreadMXBean () ) )
+                {
+                    allocationTracker = AllocationTracker.create ();
+                }
+            }
+            catch ( final Throwable e )
+            {
+                LoggerFactory.getLogger ( PaintMetrics.class ).debug ( "Allocated memory tracking is not supported", e );
+            }
+        }
+    }
+
+    /**
+     * Allocated memory tracker based on {@code com.sun.management.ThreadMXBean}.
+     * It is kept in a separate class to avoid loading {@code com.sun.management.ThreadMXBean} on JVMs that do not provide it.
+     */
+    private static final class AllocationTracker
+    {
+        /**
+         * {@code com.sun.management.ThreadMXBean} providing allocated memory estimates.
+         */
+        @NotNull
+        private final com.sun.management.ThreadMXBean bean;
+
+        /**
+         * Amount of bytes allocated by a single {@link #getAllocatedBytes()} call within the measured interval.
+         */
+        private final long overhead;
+
+        /**
+         * Constructs new {@link AllocationTracker}.
+         *
+         * @param bean {@code com.sun.management.ThreadMXBean} providing allocated memory estimates
+         */
+        private AllocationTracker ( @NotNull final com.sun.management.ThreadMXBean bean )
+        {
+            this.bean = bean;
+            this.overhead = measureOverhead ();
+        }
+
+        /**
+         * Returns amount of bytes allocated by the current thread so far.
+         *
+         * @return amount of bytes allocated by the current thread so far
+         */
+        public long getAllocatedBytes ()
+        {
+            return bean.getThreadAllocatedBytes ( Thread.currentThread ().getId () );
+        }
+
+        /**
+         * Returns amount of bytes allocated between two consecutive {@link #getAllocatedBytes()} calls.
+         * Smallest of several measurements is used to skip occasional allocations unrelated to the tracking.
+         *
+         * @return amount of bytes allocated between two consecutive {@link #getAllocatedBytes()} calls
+         */
+        private long measureOverhead ()
+        {
+            long overhead = Long.MAX_VALUE;
+            for ( int i = 0; i < 16; i++ )
+            {
+                final long start = getAllocatedBytes ();
+                overhead = Math.min ( overhead, getAllocatedBytes () - start );
+            }
+            return Math.max ( 0, overhead );
+        }
+
+        /**
+         * Returns new {@link AllocationTracker} or {@code null} if allocated memory tracking is not supported.
+         *
+         * @return new {@link AllocationTracker} or {@code null} if allocated memory tracking is not supported
+         */
+        @Nullable
+        public static AllocationTracker create ()
+        {
+            final com.sun.management.ThreadMXBean bean = ( com.sun.management.ThreadMXBean ) ManagementFactory.getThreadMXBean ();
+            final AllocationTracker tracker;
+            if ( bean.isThreadAllocatedMemorySupported () )
+            {
+                bean.setThreadAllocatedMemoryEnabled ( true );
+                tracker = new AllocationTracker ( bean );
+            }
+            else
+            {
+                tracker = null;
+            }
+            return tracker;
+        }
+    }
+
+    /**
+     * {@link PaintMetricsMXBean} implementation delegating to {@link PaintMetrics}.
+     */
+    private static final class MXBean implements PaintMetricsMXBean
+    {
+        @Override
+        public boolean isEnabled ()
+        {
+            return PaintMetrics.isEnabled ();
+        }
+
+        @Override
+        public void setEnabled ( final boolean enabled )
+        {
+            PaintMetrics.setEnabled ( enabled );
+        }
+
+        @Override
+        public List<PaintStatistics> getPainterStatistics ()
+        {
+            return PaintMetrics.getPainterStatistics ();
+        }
+
+        @Override
+        public List<PaintStatistics> getStyleStatistics ()
+        {
+            return PaintMetrics.getStyleStatistics ();
+        }
+
+        @Override
+        public void reset ()
+        {
+            PaintMetrics.reset ();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.painter.metrics;
+
+import java.util.List;
+
+/**
+ * JMX interface of {@link PaintMetrics}.
+ * It is registered under {@link PaintMetrics#OBJECT_NAME} name in the platform MBean server.
+ *
+ * @author Mikle Garin
+ * @see PaintMetrics#registerMBean()
+ */
+public interface PaintMetricsMXBean
+{
+    /**
+     * Returns whether or not paint timings are recorded.
+     *
+     * @return {@code true} if paint timings are recorded, {@code false} otherwise
+     */
+    public boolean isEnabled ();
+
+    /**
+     * Sets whether or not paint timings should be recorded.
+     *
+     * @param enabled whether or not paint timings should be recorded
+     */
+    public void setEnabled ( boolean enabled );
+
+    /**
+     * Returns paint statistics for each painter class sorted by total paint time.
+     *
+     * @return paint statistics for each painter class sorted by total paint time
+     */
+    public List<PaintStatistics> getPainterStatistics ();
+
+    /**
+     * Returns paint statistics for each style identifier sorted by total paint time.
+     *
+     * @return paint statistics for each style identifier sorted by total paint time
+     */
+    public List<PaintStatistics> getStyleStatistics ();
+
+    /**
+     * Resets all recorded paint timings.
+     */
+    public void reset ();
+}
@@ -0,0 +1,192 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.painter.metrics;
+
+import com.alee.api.annotations.NotNull;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * Immutable snapshot of {@link PaintHistogram} values.
+ * All times are provided in nanoseconds, percentiles are approximate.
+ *
+ * @author Mikle Garin
+ * @see PaintHistogram#getStatistics()
+ * @see PaintMetrics
+ */
+public final class PaintStatistics
+{
+    /**
+     * Painter class name or style identifier.
+     */
+    @NotNull
+    private final String name;
+
+    /**
+     * Amount of recorded paint operations.
+     */
+    private final long count;
+
+    /**
+     * Total paint time in nanoseconds.
+     */
+    private final long totalTime;
+
+    /**
+     * Median paint time in nanoseconds.
+     */
+    private final long p50;
+
+    /**
+     * 99th percentile of paint time in nanoseconds.
+     */
+    private final long p99;
+
+    /**
+     * Maximum paint time in nanoseconds.
+     */
+    private final long max;
+
+    /**
+     * Total estimated amount of bytes allocated while painting, {@code 0} if allocations are not tracked.
+     */
+    private final long allocatedBytes;
+
+    /**
+     * Constructs new {@link PaintStatistics}.
+     *
+     * @param name           painter class name or style identifier
+     * @param count          amount of recorded paint operations
+     * @param totalTime      total paint time in nanoseconds
+     * @param p50            median paint time in nanoseconds
+     * @param p99            99th percentile of paint time in nanoseconds
+     * @param max            maximum paint time in nanoseconds
+     * @param allocatedBytes total estimated amount of bytes allocated while painting
+     */
+    @ConstructorProperties ( { "name", "count", "totalTime", "p50", "p99", "max", "allocatedBytes" } )
+    public PaintStatistics ( @NotNull final String name, final long count, final long totalTime, final long p50, final long p99,
+                             final long max, final long allocatedBytes )
+    {
+        this.name = name;
+        this.count = count;
+        this.totalTime = totalTime;
+        this.p50 = p50;
+        this.p99 = p99;
+        this.max = max;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    /**
+     * Returns painter class name or style identifier.
+     *
+     * @return painter class name or style identifier
+     */
+    @NotNull
+    public String getName ()
+    {
+        return name;
+    }
+
+    /**
+     * Returns amount of recorded paint operations.
+     *
+     * @return amount of recorded paint operations
+     */
+    public long getCount ()
+    {
+        return count;
+    }
+
+    /**
+     * Returns total paint time in nanoseconds.
+     *
+     * @return total paint time in nanoseconds
+     */
+    public long getTotalTime ()
+    {
+        return totalTime;
+    }
+
+    /**
+     * Returns average paint time in nanoseconds.
+     *
+     * @return average paint time in nanoseconds
+     */
+    public long getAverageTime ()
+    {
+        return count > 0 ? totalTime / count : 0;
+    }
+
+    /**
+     * Returns median paint time in nanoseconds.
+     *
+     * @return median paint time in nanoseconds
+     */
+    public long getP50 ()
+    {
+        return p50;
+    }
+
+    /**
+     * Returns 99th percentile of paint time in nanoseconds.
+     *
+     * @return 99th percentile of paint time in nanoseconds
+     */
+    public long getP99 ()
+    {
+        return p99;
+    }
+
+    /**
+     * Returns maximum paint time in nanoseconds.
+     *
+     * @return maximum paint time in nanoseconds
+     */
+    public long getMax ()
+    {
+        return max;
+    }
+
+    /**
+     * Returns total estimated amount of bytes allocated while painting, {@code 0} if allocations are not tracked.
+     *
+     * @return total estimated amount of bytes allocated while painting, {@code 0} if allocations are not tracked
+     */
+    public long getAllocatedBytes ()
+    {
+        return allocatedBytes;
+    }
+
+    /**
+     * Returns average estimated amount of bytes allocated by single paint operation.
+     *
+     * @return average estimated amount of bytes allocated by single paint operation
+     */
+    public long getAverageAllocatedBytes ()
+    {
+        return count > 0 ? allocatedBytes / count : 0;
+    }
+
+    @NotNull
+    @Override
+    public String toString ()
+    {
+        return String.format ( "%s [ count: %d; total: %d ns; p50: %d ns; p99: %d ns; max: %d ns; allocated: %d b ]",
+                name, count, totalTime, p50, p99, max, allocatedBytes );
+    }
+}
@@ -17,13 +17,17 @@
 
 package com.alee.utils.ninepatch;
 
+import com.alee.api.jdk.Objects;
 import com.alee.api.merge.Overwriting;
 import com.alee.utils.ImageUtils;
 import com.alee.utils.NinePatchUtils;
+import com.alee.utils.cache.ImageCache;
+import com.alee.utils.cache.LruImageCache;
 import com.thoughtworks.xstream.annotations.XStreamConverter;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
 import java.lang.ref.WeakReference;
 import java.net.URL;
@@ -39,6 +43,12 @@ import java.util.List;
 @XStreamConverter ( NinePatchIconConverter.class )
 public class NinePatchIcon implements Icon, Overwriting
 {
+    /**
+     * Default maximum memory size in bytes of images rendered for specific sizes kept by each icon.
+     * Rendered images are not cached by default.
+     */
+    protected static volatile long defaultRenderCacheCapacity = 0;
+
     /**
      * Raw image without patches.
      */
@@ -87,6 +97,18 @@ public class NinePatchIcon implements Icon, Overwriting
      */
     protected transient WeakReference<JComponent> component;
 
+    /**
+     * Maximum memory size in bytes of images rendered for specific sizes kept by this icon.
+     * Zero means that rendered images are not cached and icon is painted part by part each time.
+     */
+    protected transient long renderCacheCapacity = defaultRenderCacheCapacity;
+
+    /**
+     * Images rendered for specific sizes.
+     * Entry: [ icon size and interpolation -> rendered icon image ]
+     */
+    protected transient ImageCache<RenderKey, BufferedImage> renderCache;
+
     /**
      * Constructs new NinePatchIcon using the nine-patch image from the specified URL.
      *
@@ -447,6 +469,45 @@ public class NinePatchIcon implements Icon, Overwriting
     {
         final int availableWidth = Math.max ( width, getFixedPixelsWidth ( true ) );
         final int availableHeight = Math.max ( height, getFixedPixelsHeight ( true ) );
+        final ImageCache<RenderKey, BufferedImage> cache = getRenderCache ();
+        if ( cache != null && ( g2d.getTransform ().getType () & ~AffineTransform.TYPE_TRANSLATION ) == 0 )
+        {
+            // Painting image rendered for the specified size and interpolation
+            final Object interpolation = g2d.getRenderingHint ( RenderingHints.KEY_INTERPOLATION );
+            final RenderKey key = new RenderKey ( availableWidth, availableHeight, interpolation );
+            BufferedImage image = cache.get ( key );
+            if ( image == null )
+            {
+                image = ImageUtils.createCompatibleImage ( availableWidth, availableHeight, Transparency.TRANSLUCENT );
+                final Graphics2D ig = image.createGraphics ();
+                if ( interpolation != null )
+                {
+                    ig.setRenderingHint ( RenderingHints.KEY_INTERPOLATION, interpolation );
+                }
+                paintParts ( ig, 0, 0, availableWidth, availableHeight );
+                ig.dispose ();
+                cache.put ( key, image );
+            }
+            g2d.drawImage ( image, x, y, null );
+        }
+        else
+        {
+            // Painting icon part by part
+            paintParts ( g2d, x, y, availableWidth, availableHeight );
+        }
+    }
+
+    /**
+     * Paints all icon parts stretched to the specified bounds.
+     *
+     * @param g2d             graphics context
+     * @param x               location X coordinate
+     * @param y               location Y coordinate
+     * @param availableWidth  icon width, must not be less than fixed icon width
+     * @param availableHeight icon height, must not be less than fixed icon height
+     */
+    protected void paintParts ( final Graphics2D g2d, final int x, final int y, final int availableWidth, final int availableHeight )
+    {
         final int fixedPixelsX = getFixedPixelsWidth ( false );
         final int unfixedX = availableWidth - fixedPixelsX;
         final int fixedPixelsY = getFixedPixelsHeight ( false );
@@ -497,6 +558,86 @@ public class NinePatchIcon implements Icon, Overwriting
         }
     }
 
+    /**
+     * Returns maximum memory size in bytes of images rendered for specific sizes kept by this icon.
+     *
+     * @return maximum memory size in bytes of images rendered for specific sizes kept by this icon
+     */
+    public long getRenderCacheCapacity ()
+    {
+        return renderCacheCapacity;
+    }
+
+    /**
+     * Sets maximum memory size in bytes of images rendered for specific sizes kept by this icon.
+     * Caching rendered images allows painting icon with a single image blit whenever it is painted with the same size again.
+     *
+     * @param capacity maximum memory size in bytes of images rendered for specific sizes, zero to disable caching
+     */
+    public synchronized void setRenderCacheCapacity ( final long capacity )
+    {
+        this.renderCacheCapacity = capacity;
+        this.renderCache = null;
+    }
+
+    /**
+     * Returns {@link ImageCache} for images rendered for specific sizes or {@code null} if they should not be cached.
+     *
+     * @return {@link ImageCache} for images rendered for specific sizes or {@code null} if they should not be cached
+     */
+    protected synchronized ImageCache<RenderKey, BufferedImage> getRenderCache ()
+    {
+        if ( renderCache == null && renderCacheCapacity > 0 )
+        {
+            renderCache = new LruImageCache<RenderKey, BufferedImage> ( renderCacheCapacity );
+        }
+        return renderCache;
+    }
+
+    /**
+     * Clears images rendered for specific sizes.
+     */
+    protected void clearRenderCache ()
+    {
+        final ImageCache<RenderKey, BufferedImage> cache = renderCache;
+        if ( cache != null )
+        {
+            cache.clear ();
+        }
+    }
+
+    /**
+     * Clears all data cached for this icon.
+     * This method must be called whenever raw image or any of the stretch intervals are modified in place.
+     * Changes made through other icon methods, like {@link #setHorizontalStretch(List)}, do not require it.
+     */
+    public void invalidate ()
+    {
+        updateCachedWidthData ();
+        updateCachedHeightData ();
+    }
+
+    /**
+     * Returns default maximum memory size in bytes of images rendered for specific sizes kept by each icon.
+     *
+     * @return default maximum memory size in bytes of images rendered for specific sizes kept by each icon
+     */
+    public static long getDefaultRenderCacheCapacity ()
+    {
+        return defaultRenderCacheCapacity;
+    }
+
+    /**
+     * Sets default maximum memory size in bytes of images rendered for specific sizes kept by each icon.
+     * This setting only affects icons created afterwards.
+     *
+     * @param capacity default maximum memory size in bytes of images rendered for specific sizes, zero to disable caching
+     */
+    public static void setDefaultRenderCacheCapacity ( final long capacity )
+    {
+        defaultRenderCacheCapacity = capacity;
+    }
+
     /**
      * Returns cached fixed minimum width for this icon.
      *
@@ -547,10 +688,11 @@ public class NinePatchIcon implements Icon, Overwriting
     }
 
     /**
-     * Clears fixed pixels width caches.
+     * Clears fixed pixels width and rendered images caches.
      */
     protected void updateCachedWidthData ()
     {
+        clearRenderCache ();
         cachedWidth0 = null;
         cachedWidth1 = null;
         getFixedPixelsWidth ( true );
@@ -607,10 +749,11 @@ public class NinePatchIcon implements Icon, Overwriting
     }
 
     /**
-     * Clears fixed pixels height caches.
+     * Clears fixed pixels height and rendered images caches.
      */
     protected void updateCachedHeightData ()
     {
+        clearRenderCache ();
         cachedHeight0 = null;
         cachedHeight1 = null;
         getFixedPixelsHeight ( true );
@@ -670,4 +813,65 @@ public class NinePatchIcon implements Icon, Overwriting
     {
         return new Dimension ( getRawImage ().getWidth (), getRawImage ().getHeight () );
     }
+
+    /**
+     * Key of the image rendered for specific icon size and interpolation.
+     */
+    protected static final class RenderKey
+    {
+        /**
+         * Rendered image width.
+         */
+        private final int width;
+
+        /**
+         * Rendered image height.
+         */
+        private final int height;
+
+        /**
+         * {@link RenderingHints#KEY_INTERPOLATION} value used for rendering, {@code null} if it wasn't specified.
+         */
+        private final Object interpolation;
+
+        /**
+         * Constructs new {@link RenderKey}.
+         *
+         * @param width         rendered image width
+         * @param height        rendered image height
+         * @param interpolation {@link RenderingHints#KEY_INTERPOLATION} value used for rendering, {@code null} if it wasn't specified
+         */
+        public RenderKey ( final int width, final int height, final Object interpolation )
+        {
+            this.width = width;
+            this.height = height;
+            this.interpolation = interpolation;
+        }
+
+        @Override
+        public boolean equals ( final Object object )
+        {
+            final boolean equals;
+            if ( object == this )
+            {
+                equals = true;
+            }
+            else if ( object instanceof RenderKey )
+            {
+                final RenderKey other = ( RenderKey ) object;
+                equals = width == other.width && height == other.height && Objects.equals ( interpolation, other.interpolation );
+            }
+            else
+            {
+                equals = false;
+            }
+            return equals;
+        }
+
+        @Override
+        public int hashCode ()
+        {
+            return 31 * ( 31 * width + height ) + ( interpolation != null ? interpolation.hashCode () : 0 );
+        }
+    }
 }
\ No newline at end of file
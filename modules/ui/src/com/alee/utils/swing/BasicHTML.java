@@ -74,13 +74,42 @@ public final class BasicHTML
      * @return HTML renderer for the given component and string of HTML
      */
     public static View createHTMLView ( final JComponent c, final String html, final Font defaultFont, final Color foreground )
+    {
+        return createHTMLView ( c, createHTMLDocument ( html, defaultFont, foreground, getDocumentBase ( c ) ) );
+    }
+
+    /**
+     * Returns HTML renderer for the given component and already parsed HTML document.
+     * Document is only read by the renderer, so the same document can be used to create renderers for multiple components.
+     *
+     * @param c        component to create HTML View for
+     * @param document HTML document created by {@link #createHTMLDocument(String, Font, Color, URL)}
+     * @return HTML renderer for the given component and already parsed HTML document
+     */
+    public static View createHTMLView ( final JComponent c, final Document document )
+    {
+        final ViewFactory f = getFactory ().getViewFactory ();
+        final View hview = f.create ( document.getDefaultRootElement () );
+        return new Renderer ( c, f, hview );
+    }
+
+    /**
+     * Returns parsed HTML document for the given string of HTML.
+     * This method doesn't read anything from the component, so it can be used outside of the Event Dispatch Thread.
+     *
+     * @param html        HTML content
+     * @param defaultFont text font
+     * @param foreground  text foreground color
+     * @param base        document base or {@code null} if it is not specified
+     * @return parsed HTML document for the given string of HTML
+     */
+    public static Document createHTMLDocument ( final String html, final Font defaultFont, final Color foreground, final URL base )
     {
         final BasicEditorKit kit = getFactory ();
         final Document doc = kit.createDefaultDocument ( defaultFont, foreground );
-        final Object base = c.getClientProperty ( javax.swing.plaf.basic.BasicHTML.documentBaseKey );
-        if ( base instanceof URL )
+        if ( base != null )
         {
-            ( ( HTMLDocument ) doc ).setBase ( ( URL ) base );
+            ( ( HTMLDocument ) doc ).setBase ( base );
         }
         final Reader r = new StringReader ( html );
         try
@@ -91,9 +120,19 @@ public final class BasicHTML
         {
             // Ignored
         }
-        final ViewFactory f = kit.getViewFactory ();
-        final View hview = f.create ( doc.getDefaultRootElement () );
-        return new Renderer ( c, f, hview );
+        return doc;
+    }
+
+    /**
+     * Returns document base specified for the component or {@code null} if it is not specified.
+     *
+     * @param c component to retrieve document base for
+     * @return document base specified for the component or {@code null} if it is not specified
+     */
+    public static URL getDocumentBase ( final JComponent c )
+    {
+        final Object base = c.getClientProperty ( javax.swing.plaf.basic.BasicHTML.documentBaseKey );
+        return base instanceof URL ? ( URL ) base : null;
     }
 
     /**
@@ -221,7 +260,7 @@ public final class BasicHTML
         return hasParagraph ( view.getView ( index ) );
     }
 
-    private static BasicEditorKit getFactory ()
+    private static synchronized BasicEditorKit getFactory ()
     {
         if ( basicHTMLFactory == null )
         {
@@ -0,0 +1,396 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.alee.utils.swing;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
+import com.alee.api.jdk.Objects;
+import com.alee.utils.UtilityException;
+import com.alee.utils.concurrent.DaemonThreadFactory;
+
+import javax.swing.*;
+import javax.swing.text.Document;
+import javax.swing.text.View;
+import java.awt.*;
+import java.net.URL;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Global cache of HTML {@link Document}s parsed by {@link BasicHTML}.
+ * It is shared between all components displaying HTML text, so the same HTML is only parsed once while it stays in cache.
+ * This is especially important for list, tree and table renderers which usually receive new text for every painted cell.
+ *
+ * Documents are cached by HTML text, font, foreground color, component orientation and document base.
+ * Only parsed documents are shared, each requested {@link View} is created separately for the component it is requested for.
+ * Views keep component-specific state like layout size and the component they repaint, so they are never shared.
+ * Cache is bounded and drops least recently used documents once its capacity is exceeded.
+ *
+ * HTML can also be parsed ahead of time on a background thread using {@link #preload(JComponent, String, Font, Color)}.
+ *
+ * @author Mikle Garin
+ * @see BasicHTML
+ * @see com.alee.painter.decoration.content.AbstractTextContent
+ */
+public final class HTMLViewCache
+{
+    /**
+     * Maximum amount of cached documents.
+     */
+    private static volatile int capacity = 500;
+
+    /**
+     * Cached documents.
+     * Entry: [ view key -> document ]
+     */
+    @NotNull
+    private static final Map<ViewKey, Document> cache = new LinkedHashMap<ViewKey, Document> ( 128, 0.75f, true )
+    {
+        @Override
+        protected boolean removeEldestEntry ( final Map.Entry<ViewKey, Document> eldest )
+        {
+            return size () > capacity;
+        }
+    };
+
+    /**
+     * Amount of cache hits.
+     */
+    @NotNull
+    private static final AtomicLong hits = new AtomicLong ();
+
+    /**
+     * Amount of cache misses.
+     */
+    @NotNull
+    private static final AtomicLong misses = new AtomicLong ();
+
+    /**
+     * Executor used to parse HTML ahead of time.
+     * It is only created when it is needed for the first time.
+     */
+    @Nullable
+    private static ExecutorService executor;
+
+    /**
+     * Private constructor to avoid instantiation.
+     */
+    private HTMLViewCache ()
+    {
+        throw new UtilityException ( "Utility classes are not meant to be instantiated" );
+    }
+
+    /**
+     * Returns maximum amount of cached documents.
+     *
+     * @return maximum amount of cached documents
+     */
+    public static int getCapacity ()
+    {
+        return capacity;
+    }
+
+    /**
+     * Sets maximum amount of cached documents.
+     * Setting it to {@code 0} effectively disables cache.
+     *
+     * @param capacity maximum amount of cached documents
+     */
+    public static void setCapacity ( final int capacity )
+    {
+        HTMLViewCache.capacity = Math.max ( 0, capacity );
+        synchronized ( cache )
+        {
+            final int excess = cache.size () - HTMLViewCache.capacity;
+            if ( excess > 0 )
+            {
+                final Iterator<ViewKey> iterator = cache.keySet ().iterator ();
+                for ( int i = 0; i < excess; i++ )
+                {
+                    iterator.next ();
+                    iterator.remove ();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns HTML {@link View} for the specified component and HTML text.
+     * Returned {@link View} is created for the specified component, only the parsed {@link Document} might be shared.
+     *
+     * @param c          component to return HTML {@link View} for
+     * @param html       HTML text
+     * @param font       text font
+     * @param foreground text foreground color
+     * @return HTML {@link View} for the specified component and HTML text
+     */
+    @NotNull
+    public static View getView ( @NotNull final JComponent c, @NotNull final String html, @Nullable final Font font,
+                                 @Nullable final Color foreground )
+    {
+        final View view;
+        if ( capacity > 0 )
+        {
+            final ViewKey key = new ViewKey ( html, font, foreground, c.getComponentOrientation (), BasicHTML.getDocumentBase ( c ) );
+            Document document;
+            synchronized ( cache )
+            {
+                document = cache.get ( key );
+            }
+            if ( document == null )
+            {
+                misses.incrementAndGet ();
+                document = BasicHTML.createHTMLDocument ( html, font, foreground, key.base );
+                synchronized ( cache )
+                {
+                    cache.put ( key, document );
+                }
+            }
+            else
+            {
+                hits.incrementAndGet ();
+            }
+            view = BasicHTML.createHTMLView ( c, document );
+        }
+        else
+        {
+            view = BasicHTML.createHTMLView ( c, html, font, foreground );
+        }
+        return view;
+    }
+
+    /**
+     * Parses HTML text on a background thread and caches resulting {@link Document}.
+     * This can be used to prepare HTML documents for renderers before they are displayed.
+     * Component settings are read on the calling thread, so this method should be called on the Event Dispatch Thread.
+     *
+     * @param c          component HTML {@link View} will be used for
+     * @param html       HTML text
+     * @param font       text font
+     * @param foreground text foreground color
+     */
+    public static void preload ( @NotNull final JComponent c, @NotNull final String html, @Nullable final Font font,
+                                 @Nullable final Color foreground )
+    {
+        if ( capacity > 0 )
+        {
+            final ViewKey key = new ViewKey ( html, font, foreground, c.getComponentOrientation (), BasicHTML.getDocumentBase ( c ) );
+            final boolean cached;
+            synchronized ( cache )
+            {
+                cached = cache.containsKey ( key );
+            }
+            if ( !cached )
+            {
+                getExecutor ().execute ( new Runnable ()
+                {
+                    @Override
+                    public void run ()
+                    {
+                        synchronized ( cache )
+                        {
+                            if ( cache.containsKey ( key ) )
+                            {
+                                return;
+                            }
+                        }
+                        final Document document = BasicHTML.createHTMLDocument ( key.html, key.font, key.foreground, key.base );
+                        synchronized ( cache )
+                        {
+                            if ( !cache.containsKey ( key ) )
+                            {
+                                cache.put ( key, document );
+                            }
+                        }
+                    }
+                } );
+            }
+        }
+    }
+
+    /**
+     * Returns amount of cached documents.
+     *
+     * @return amount of cached documents
+     */
+    public static int getSize ()
+    {
+        synchronized ( cache )
+        {
+            return cache.size ();
+        }
+    }
+
+    /**
+     * Returns amount of cache hits.
+     *
+     * @return amount of cache hits
+     */
+    public static long getHits ()
+    {
+        return hits.get ();
+    }
+
+    /**
+     * Returns amount of cache misses.
+     *
+     * @return amount of cache misses
+     */
+    public static long getMisses ()
+    {
+        return misses.get ();
+    }
+
+    /**
+     * Returns cache hit rate between {@code 0} and {@code 1}.
+     *
+     * @return cache hit rate between {@code 0} and {@code 1}
+     */
+    public static double getHitRate ()
+    {
+        final long h = hits.get ();
+        final long total = h + misses.get ();
+        return total > 0 ? ( double ) h / total : 0;
+    }
+
+    /**
+     * Resets cache hits and misses statistics.
+     */
+    public static void resetStatistics ()
+    {
+        hits.set ( 0 );
+        misses.set ( 0 );
+    }
+
+    /**
+     * Clears all cached documents.
+     */
+    public static void clear ()
+    {
+        synchronized ( cache )
+        {
+            cache.clear ();
+        }
+    }
+
+    /**
+     * Returns executor used to parse HTML ahead of time.
+     *
+     * @return executor used to parse HTML ahead of time
+     */
+    @NotNull
+    private static synchronized ExecutorService getExecutor ()
+    {
+        if ( executor == null )
+        {
+            executor = Executors.newSingleThreadExecutor ( new DaemonThreadFactory ( "HTMLViewCache" ) );
+        }
+        return executor;
+    }
+
+    /**
+     * Immutable key of the cached HTML {@link Document}.
+     */
+    private static final class ViewKey
+    {
+        /**
+         * HTML text.
+         */
+        @NotNull
+        private final String html;
+
+        /**
+         * Text font.
+         */
+        @Nullable
+        private final Font font;
+
+        /**
+         * Text foreground color.
+         */
+        @Nullable
+        private final Color foreground;
+
+        /**
+         * Component orientation.
+         */
+        @NotNull
+        private final ComponentOrientation orientation;
+
+        /**
+         * Document base.
+         */
+        @Nullable
+        private final URL base;
+
+        /**
+         * Cached hash code.
+         */
+        private final int hashCode;
+
+        /**
+         * Constructs new {@link ViewKey}.
+         *
+         * @param html        HTML text
+         * @param font        text font
+         * @param foreground  text foreground color
+         * @param orientation component orientation
+         * @param base        document base
+         */
+        public ViewKey ( @NotNull final String html, @Nullable final Font font, @Nullable final Color foreground,
+                         @NotNull final ComponentOrientation orientation, @Nullable final URL base )
+        {
+            this.html = html;
+            this.font = font;
+            this.foreground = foreground;
+            this.orientation = orientation;
+            this.base = base;
+            this.hashCode = Objects.hash ( html, font, foreground, orientation, base != null ? base.toExternalForm () : null );
+        }
+
+        @Override
+        public boolean equals ( @Nullable final Object object )
+        {
+            boolean equals = false;
+            if ( object == this )
+            {
+                equals = true;
+            }
+            else if ( object instanceof ViewKey )
+            {
+                final ViewKey other = ( ViewKey ) object;
+                equals = hashCode == other.hashCode && html.equals ( other.html ) && Objects.equals ( font, other.font ) &&
+                        Objects.equals ( foreground, other.foreground ) && orientation == other.orientation &&
+                        Objects.equals ( base != null ? base.toExternalForm () : null,
+                                other.base != null ? other.base.toExternalForm () : null );
+            }
+            return equals;
+        }
+
+        @Override
+        public int hashCode ()
+        {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,697 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.swing;
+
+import java.util.Arrays;
+
+/**
+ * {@link RowSizeModel} implementation based on prefix sums tree.
+ *
+ * Row sizes are kept in blocks of limited length and each block keeps its total size.
+ * Blocks lengths and total sizes are indexed by two Fenwick trees, so finding row offset or row at offset only requires
+ * a tree lookup and a short scan within a single block, while inserting or removing rows only updates a single block and the trees.
+ * Trees are only rebuilt when blocks are split or removed, which happens rarely and costs only as much as the amount of blocks.
+ *
+ * This model is not thread-safe, it is meant to be used from the Event Dispatch Thread just like components using it.
+ *
+ * @author Mikle Garin
+ */
+public class PrefixSumRowSizeModel implements RowSizeModel
+{
+    /**
+     * Size of the row that wasn't measured yet.
+     */
+    protected static final int UNMEASURED = -1;
+
+    /**
+     * Preferred amount of rows within single block.
+     * Blocks are split in halves whenever they grow twice larger than this amount.
+     */
+    protected static final int BLOCK_SIZE = 256;
+
+    /**
+     * Size used for rows that weren't measured yet.
+     */
+    protected int estimatedSize;
+
+    /**
+     * Amount of rows.
+     */
+    protected int rowCount;
+
+    /**
+     * Total size of all rows.
+     */
+    protected int totalSize;
+
+    /**
+     * Amount of blocks.
+     */
+    protected int blockCount;
+
+    /**
+     * Row sizes within each block, {@link #UNMEASURED} for rows that weren't measured yet.
+     */
+    protected int[][] blocks;
+
+    /**
+     * Amount of rows within each block.
+     */
+    protected int[] lengths;
+
+    /**
+     * Amount of rows that weren't measured yet within each block.
+     */
+    protected int[] unmeasured;
+
+    /**
+     * Total size of each block.
+     */
+    protected int[] totals;
+
+    /**
+     * Fenwick tree of blocks lengths.
+     */
+    protected int[] lengthsTree;
+
+    /**
+     * Fenwick tree of blocks total sizes.
+     */
+    protected int[] totalsTree;
+
+    /**
+     * Index of the block found by the last lookup.
+     */
+    protected transient int foundBlock;
+
+    /**
+     * Remainder within the block found by the last lookup.
+     */
+    protected transient int foundRemainder;
+
+    /**
+     * Constructs new empty {@link PrefixSumRowSizeModel}.
+     */
+    public PrefixSumRowSizeModel ()
+    {
+        this ( 0, 0 );
+    }
+
+    /**
+     * Constructs new {@link PrefixSumRowSizeModel}.
+     *
+     * @param rowCount      amount of rows
+     * @param estimatedSize size used for rows that weren't measured yet
+     */
+    public PrefixSumRowSizeModel ( final int rowCount, final int estimatedSize )
+    {
+        reset ( rowCount, estimatedSize );
+    }
+
+    @Override
+    public int getRowCount ()
+    {
+        return rowCount;
+    }
+
+    @Override
+    public int getEstimatedSize ()
+    {
+        return estimatedSize;
+    }
+
+    @Override
+    public void setEstimatedSize ( final int size )
+    {
+        final int newSize = Math.max ( 0, size );
+        if ( newSize != estimatedSize )
+        {
+            final int change = newSize - estimatedSize;
+            for ( int block = 0; block < blockCount; block++ )
+            {
+                totals[ block ] += unmeasured[ block ] * change;
+            }
+            estimatedSize = newSize;
+            rebuildTrees ();
+        }
+    }
+
+    @Override
+    public void reset ( final int rowCount, final int estimatedSize )
+    {
+        this.estimatedSize = Math.max ( 0, estimatedSize );
+        this.rowCount = Math.max ( 0, rowCount );
+        this.blockCount = ( this.rowCount + BLOCK_SIZE - 1 ) / BLOCK_SIZE;
+        final int capacity = Math.max ( 16, blockCount );
+        blocks = new int[ capacity ][];
+        lengths = new int[ capacity ];
+        unmeasured = new int[ capacity ];
+        totals = new int[ capacity ];
+        for ( int block = 0; block < blockCount; block++ )
+        {
+            final int length = Math.min ( BLOCK_SIZE, this.rowCount - block * BLOCK_SIZE );
+            blocks[ block ] = createBlock ();
+            Arrays.fill ( blocks[ block ], 0, length, UNMEASURED );
+            lengths[ block ] = length;
+            unmeasured[ block ] = length;
+            totals[ block ] = length * this.estimatedSize;
+        }
+        rebuildTrees ();
+    }
+
+    @Override
+    public void insert ( final int index, final int count )
+    {
+        if ( index < 0 || index > rowCount )
+        {
+            throw new IndexOutOfBoundsException ( "Index: " + index + ", Rows: " + rowCount );
+        }
+        if ( count > 0 )
+        {
+            if ( rowCount == 0 )
+            {
+                reset ( count, estimatedSize );
+            }
+            else if ( count > BLOCK_SIZE )
+            {
+                insertBlocks ( index, count );
+            }
+            else
+            {
+                locateRow ( index );
+                if ( lengths[ foundBlock ] + count > BLOCK_SIZE * 2 )
+                {
+                    splitBlock ( foundBlock, lengths[ foundBlock ] / 2 );
+                    rebuildTrees ();
+                    locateRow ( index );
+                }
+                final int block = foundBlock;
+                final int offset = foundRemainder;
+                final int[] sizes = blocks[ block ];
+                System.arraycopy ( sizes, offset, sizes, offset + count, lengths[ block ] - offset );
+                Arrays.fill ( sizes, offset, offset + count, UNMEASURED );
+                lengths[ block ] += count;
+                unmeasured[ block ] += count;
+                totals[ block ] += count * estimatedSize;
+                rowCount += count;
+                add ( lengthsTree, block, count );
+                add ( totalsTree, block, count * estimatedSize );
+                totalSize += count * estimatedSize;
+            }
+        }
+    }
+
+    @Override
+    public void remove ( final int index, final int count )
+    {
+        if ( index < 0 || count < 0 || index + count > rowCount )
+        {
+            throw new IndexOutOfBoundsException ( "Index: " + index + ", Count: " + count + ", Rows: " + rowCount );
+        }
+        if ( count > 0 )
+        {
+            boolean rebuild = false;
+            locateRow ( index );
+            int block = foundBlock;
+            int offset = foundRemainder;
+            int left = count;
+            while ( left > 0 )
+            {
+                final int[] sizes = blocks[ block ];
+                final int removed = Math.min ( left, lengths[ block ] - offset );
+                int removedSize = 0;
+                int removedUnmeasured = 0;
+                for ( int i = offset; i < offset + removed; i++ )
+                {
+                    if ( sizes[ i ] == UNMEASURED )
+                    {
+                        removedUnmeasured++;
+                        removedSize += estimatedSize;
+                    }
+                    else
+                    {
+                        removedSize += sizes[ i ];
+                    }
+                }
+                System.arraycopy ( sizes, offset + removed, sizes, offset, lengths[ block ] - offset - removed );
+                lengths[ block ] -= removed;
+                unmeasured[ block ] -= removedUnmeasured;
+                totals[ block ] -= removedSize;
+                totalSize -= removedSize;
+                if ( lengths[ block ] == 0 )
+                {
+                    removeBlock ( block );
+                    rebuild = true;
+                }
+                else
+                {
+                    if ( !rebuild )
+                    {
+                        add ( lengthsTree, block, -removed );
+                        add ( totalsTree, block, -removedSize );
+                    }
+                    block++;
+                }
+                left -= removed;
+                offset = 0;
+            }
+            rowCount -= count;
+            if ( blockCount > 4 * ( rowCount / BLOCK_SIZE + 1 ) )
+            {
+                compact ();
+            }
+            else if ( rebuild )
+            {
+                rebuildTrees ();
+            }
+        }
+    }
+
+    @Override
+    public void invalidate ( final int index0, final int index1 )
+    {
+        final int first = Math.max ( 0, Math.min ( index0, index1 ) );
+        final int last = Math.min ( rowCount - 1, Math.max ( index0, index1 ) );
+        if ( first <= last )
+        {
+            locateRow ( first );
+            int block = foundBlock;
+            int offset = foundRemainder;
+            int change = 0;
+            for ( int row = first; row <= last; row++ )
+            {
+                final int size = blocks[ block ][ offset ];
+                if ( size != UNMEASURED )
+                {
+                    blocks[ block ][ offset ] = UNMEASURED;
+                    unmeasured[ block ]++;
+                    change += estimatedSize - size;
+                }
+                offset++;
+                if ( offset == lengths[ block ] || row == last )
+                {
+                    if ( change != 0 )
+                    {
+                        totals[ block ] += change;
+                        totalSize += change;
+                        add ( totalsTree, block, change );
+                        change = 0;
+                    }
+                    block++;
+                    offset = 0;
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean isMeasured ( final int row )
+    {
+        checkRow ( row );
+        locateRow ( row );
+        return blocks[ foundBlock ][ foundRemainder ] != UNMEASURED;
+    }
+
+    @Override
+    public int getSize ( final int row )
+    {
+        checkRow ( row );
+        locateRow ( row );
+        return size ( blocks[ foundBlock ][ foundRemainder ] );
+    }
+
+    @Override
+    public void setSize ( final int row, final int size )
+    {
+        checkRow ( row );
+        locateRow ( row );
+        final int newSize = Math.max ( 0, size );
+        final int block = foundBlock;
+        final int[] sizes = blocks[ block ];
+        final int oldSize = sizes[ foundRemainder ];
+        if ( oldSize != newSize )
+        {
+            if ( oldSize == UNMEASURED )
+            {
+                unmeasured[ block ]--;
+            }
+            sizes[ foundRemainder ] = newSize;
+            final int change = newSize - size ( oldSize );
+            if ( change != 0 )
+            {
+                totals[ block ] += change;
+                totalSize += change;
+                add ( totalsTree, block, change );
+            }
+        }
+    }
+
+    @Override
+    public int getOffset ( final int row )
+    {
+        final int offset;
+        if ( row <= 0 )
+        {
+            offset = 0;
+        }
+        else if ( row >= rowCount )
+        {
+            offset = totalSize;
+        }
+        else
+        {
+            locateRow ( row );
+            int sum = sum ( totalsTree, foundBlock );
+            final int[] sizes = blocks[ foundBlock ];
+            for ( int i = 0; i < foundRemainder; i++ )
+            {
+                sum += size ( sizes[ i ] );
+            }
+            offset = sum;
+        }
+        return offset;
+    }
+
+    @Override
+    public int getTotalSize ()
+    {
+        return totalSize;
+    }
+
+    @Override
+    public int getRowAt ( final int offset )
+    {
+        int row = -1;
+        if ( offset >= 0 && offset < totalSize )
+        {
+            find ( totalsTree, offset );
+            final int block = foundBlock;
+            final int[] sizes = blocks[ block ];
+            final int length = lengths[ block ];
+            int remainder = foundRemainder;
+            for ( int i = 0; i < length; i++ )
+            {
+                final int size = size ( sizes[ i ] );
+                if ( remainder < size )
+                {
+                    row = sum ( lengthsTree, block ) + i;
+                    break;
+                }
+                remainder -= size;
+            }
+        }
+        return row;
+    }
+
+    /**
+     * Returns effective size for the specified stored size.
+     *
+     * @param size stored size
+     * @return effective size for the specified stored size
+     */
+    protected int size ( final int size )
+    {
+        return size == UNMEASURED ? estimatedSize : size;
+    }
+
+    /**
+     * Checks that specified row index is valid.
+     *
+     * @param row row index
+     */
+    protected void checkRow ( final int row )
+    {
+        if ( row < 0 || row >= rowCount )
+        {
+            throw new IndexOutOfBoundsException ( "Row: " + row + ", Rows: " + rowCount );
+        }
+    }
+
+    /**
+     * Finds block containing specified row and saves it into {@link #foundBlock} and {@link #foundRemainder}.
+     * Row index equal to the amount of rows points at the end of the last block.
+     *
+     * @param row row index
+     */
+    protected void locateRow ( final int row )
+    {
+        if ( row < rowCount )
+        {
+            find ( lengthsTree, row );
+        }
+        else
+        {
+            foundBlock = blockCount - 1;
+            foundRemainder = lengths[ foundBlock ];
+        }
+    }
+
+    /**
+     * Finds block containing specified value within the specified Fenwick tree.
+     * Found block and value remainder within it are saved into {@link #foundBlock} and {@link #foundRemainder}.
+     *
+     * @param tree  Fenwick tree
+     * @param value value, must be less than the sum of all tree values
+     */
+    protected void find ( final int[] tree, final int value )
+    {
+        int position = 0;
+        int remainder = value;
+        for ( int step = Integer.highestOneBit ( Math.max ( 1, blockCount ) ); step > 0; step >>= 1 )
+        {
+            final int next = position + step;
+            if ( next <= blockCount && tree[ next ] <= remainder )
+            {
+                position = next;
+                remainder -= tree[ next ];
+            }
+        }
+        foundBlock = position;
+        foundRemainder = remainder;
+    }
+
+    /**
+     * Returns sum of the values of the specified amount of first blocks within the specified Fenwick tree.
+     *
+     * @param tree   Fenwick tree
+     * @param blocks amount of first blocks
+     * @return sum of the values of the specified amount of first blocks within the specified Fenwick tree
+     */
+    protected int sum ( final int[] tree, final int blocks )
+    {
+        int sum = 0;
+        for ( int i = blocks; i > 0; i -= i & -i )
+        {
+            sum += tree[ i ];
+        }
+        return sum;
+    }
+
+    /**
+     * Adds specified value change to the block within the specified Fenwick tree.
+     *
+     * @param tree   Fenwick tree
+     * @param block  block index
+     * @param change value change
+     */
+    protected void add ( final int[] tree, final int block, final int change )
+    {
+        for ( int i = block + 1; i <= blockCount; i += i & -i )
+        {
+            tree[ i ] += change;
+        }
+    }
+
+    /**
+     * Rebuilds Fenwick trees and total size from the blocks data.
+     */
+    protected void rebuildTrees ()
+    {
+        lengthsTree = new int[ blockCount + 1 ];
+        totalsTree = new int[ blockCount + 1 ];
+        totalSize = 0;
+        for ( int i = 1; i <= blockCount; i++ )
+        {
+            lengthsTree[ i ] += lengths[ i - 1 ];
+            totalsTree[ i ] += totals[ i - 1 ];
+            totalSize += totals[ i - 1 ];
+            final int parent = i + ( i & -i );
+            if ( parent <= blockCount )
+            {
+                lengthsTree[ parent ] += lengthsTree[ i ];
+                totalsTree[ parent ] += totalsTree[ i ];
+            }
+        }
+    }
+
+    /**
+     * Returns new empty block.
+     *
+     * @return new empty block
+     */
+    protected int[] createBlock ()
+    {
+        return new int[ BLOCK_SIZE * 2 ];
+    }
+
+    /**
+     * Inserts specified amount of empty blocks at the specified index.
+     * Trees must be rebuilt afterwards.
+     *
+     * @param index index of the first inserted block
+     * @param count amount of inserted blocks
+     */
+    protected void insertBlockSlots ( final int index, final int count )
+    {
+        if ( blockCount + count > blocks.length )
+        {
+            final int capacity = Math.max ( blockCount + count, blocks.length * 3 / 2 );
+            blocks = Arrays.copyOf ( blocks, capacity );
+            lengths = Arrays.copyOf ( lengths, capacity );
+            unmeasured = Arrays.copyOf ( unmeasured, capacity );
+            totals = Arrays.copyOf ( totals, capacity );
+        }
+        final int moved = blockCount - index;
+        System.arraycopy ( blocks, index, blocks, index + count, moved );
+        System.arraycopy ( lengths, index, lengths, index + count, moved );
+        System.arraycopy ( unmeasured, index, unmeasured, index + count, moved );
+        System.arraycopy ( totals, index, totals, index + count, moved );
+        blockCount += count;
+    }
+
+    /**
+     * Removes block at the specified index.
+     * Trees must be rebuilt afterwards.
+     *
+     * @param index block index
+     */
+    protected void removeBlock ( final int index )
+    {
+        final int moved = blockCount - index - 1;
+        System.arraycopy ( blocks, index + 1, blocks, index, moved );
+        System.arraycopy ( lengths, index + 1, lengths, index, moved );
+        System.arraycopy ( unmeasured, index + 1, unmeasured, index, moved );
+        System.arraycopy ( totals, index + 1, totals, index, moved );
+        blockCount--;
+        blocks[ blockCount ] = null;
+    }
+
+    /**
+     * Splits block at the specified index into two blocks.
+     * Trees must be rebuilt afterwards.
+     *
+     * @param index  block index
+     * @param offset offset of the first row moved into the new block
+     */
+    protected void splitBlock ( final int index, final int offset )
+    {
+        insertBlockSlots ( index + 1, 1 );
+        final int[] sizes = blocks[ index ];
+        final int[] newSizes = createBlock ();
+        final int moved = lengths[ index ] - offset;
+        System.arraycopy ( sizes, offset, newSizes, 0, moved );
+        int movedUnmeasured = 0;
+        int movedTotal = 0;
+        for ( int i = 0; i < moved; i++ )
+        {
+            if ( newSizes[ i ] == UNMEASURED )
+            {
+                movedUnmeasured++;
+            }
+            movedTotal += size ( newSizes[ i ] );
+        }
+        blocks[ index + 1 ] = newSizes;
+        lengths[ index + 1 ] = moved;
+        unmeasured[ index + 1 ] = movedUnmeasured;
+        totals[ index + 1 ] = movedTotal;
+        lengths[ index ] -= moved;
+        unmeasured[ index ] -= movedUnmeasured;
+        totals[ index ] -= movedTotal;
+    }
+
+    /**
+     * Inserts large amount of rows that weren't measured yet as separate blocks.
+     *
+     * @param index index of the first inserted row
+     * @param count amount of inserted rows
+     */
+    protected void insertBlocks ( final int index, final int count )
+    {
+        // Finding block index for the inserted rows
+        locateRow ( index );
+        final int position;
+        if ( foundRemainder == 0 )
+        {
+            position = foundBlock;
+        }
+        else if ( foundRemainder == lengths[ foundBlock ] )
+        {
+            position = foundBlock + 1;
+        }
+        else
+        {
+            splitBlock ( foundBlock, foundRemainder );
+            position = foundBlock + 1;
+        }
+
+        // Inserting new blocks
+        final int newBlocks = ( count + BLOCK_SIZE - 1 ) / BLOCK_SIZE;
+        insertBlockSlots ( position, newBlocks );
+        for ( int i = 0; i < newBlocks; i++ )
+        {
+            final int block = position + i;
+            final int length = Math.min ( BLOCK_SIZE, count - i * BLOCK_SIZE );
+            blocks[ block ] = createBlock ();
+            Arrays.fill ( blocks[ block ], 0, length, UNMEASURED );
+            lengths[ block ] = length;
+            unmeasured[ block ] = length;
+            totals[ block ] = length * estimatedSize;
+        }
+        rowCount += count;
+        rebuildTrees ();
+    }
+
+    /**
+     * Redistributes all rows into full blocks.
+     * This is used to avoid keeping lots of small blocks after removing rows.
+     */
+    protected void compact ()
+    {
+        final int[][] oldBlocks = blocks;
+        final int[] oldLengths = lengths;
+        final int oldBlockCount = blockCount;
+        reset ( rowCount, estimatedSize );
+        int row = 0;
+        for ( int oldBlock = 0; oldBlock < oldBlockCount; oldBlock++ )
+        {
+            final int[] sizes = oldBlocks[ oldBlock ];
+            for ( int i = 0; i < oldLengths[ oldBlock ]; i++ )
+            {
+                if ( sizes[ i ] != UNMEASURED )
+                {
+                    final int block = row / BLOCK_SIZE;
+                    blocks[ block ][ row % BLOCK_SIZE ] = sizes[ i ];
+                    unmeasured[ block ]--;
+                    totals[ block ] += sizes[ i ] - estimatedSize;
+                }
+                row++;
+            }
+        }
+        rebuildTrees ();
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.swing;
+
+/**
+ * Model keeping sizes of the rows of a component with variable row sizes, for instance {@link javax.swing.JList}.
+ * Row sizes can be filled in lazily, rows that weren't measured yet use estimated size instead.
+ * Implementations are expected to provide fast row offset and row at offset lookups, as well as fast rows insertion and removal.
+ *
+ * @author Mikle Garin
+ * @see PrefixSumRowSizeModel
+ */
+public interface RowSizeModel
+{
+    /**
+     * Returns amount of rows.
+     *
+     * @return amount of rows
+     */
+    public int getRowCount ();
+
+    /**
+     * Returns size used for rows that weren't measured yet.
+     *
+     * @return size used for rows that weren't measured yet
+     */
+    public int getEstimatedSize ();
+
+    /**
+     * Sets size used for rows that weren't measured yet.
+     *
+     * @param size size used for rows that weren't measured yet
+     */
+    public void setEstimatedSize ( int size );
+
+    /**
+     * Resets this model to the specified amount of rows that weren't measured yet.
+     *
+     * @param rowCount      amount of rows
+     * @param estimatedSize size used for rows that weren't measured yet
+     */
+    public void reset ( int rowCount, int estimatedSize );
+
+    /**
+     * Inserts specified amount of rows that weren't measured yet.
+     *
+     * @param index index of the first inserted row
+     * @param count amount of inserted rows
+     */
+    public void insert ( int index, int count );
+
+    /**
+     * Removes specified amount of rows.
+     *
+     * @param index index of the first removed row
+     * @param count amount of removed rows
+     */
+    public void remove ( int index, int count );
+
+    /**
+     * Marks rows within the specified range as not measured.
+     *
+     * @param index0 first row index, inclusive
+     * @param index1 last row index, inclusive
+     */
+    public void invalidate ( int index0, int index1 );
+
+    /**
+     * Returns whether or not specified row was measured.
+     *
+     * @param row row index
+     * @return {@code true} if specified row was measured, {@code false} otherwise
+     */
+    public boolean isMeasured ( int row );
+
+    /**
+     * Returns size of the specified row or estimated size if it wasn't measured yet.
+     *
+     * @param row row index
+     * @return size of the specified row or estimated size if it wasn't measured yet
+     */
+    public int getSize ( int row );
+
+    /**
+     * Sets measured size of the specified row.
+     *
+     * @param row  row index
+     * @param size measured row size
+     */
+    public void setSize ( int row, int size );
+
+    /**
+     * Returns offset of the specified row, which is the total size of all rows before it.
+     * Row index equal to the amount of rows is allowed, in that case total size of all rows is returned.
+     *
+     * @param row row index
+     * @return offset of the specified row
+     */
+    public int getOffset ( int row );
+
+    /**
+     * Returns total size of all rows.
+     *
+     * @return total size of all rows
+     */
+    public int getTotalSize ();
+
+    /**
+     * Returns index of the row at the specified offset or {@code -1} if there is no row at that offset.
+     *
+     * @param offset offset
+     * @return index of the row at the specified offset or {@code -1} if there is no row at that offset
+     */
+    public int getRowAt ( int offset );
+}
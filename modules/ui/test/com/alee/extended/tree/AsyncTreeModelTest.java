@@ -0,0 +1,490 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.alee.extended.tree;
+
+import com.alee.laf.WebLookAndFeel;
+import com.alee.laf.tree.TreeNodeParameters;
+import com.alee.utils.CoreSwingUtils;
+import org.junit.BeforeClass;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import javax.swing.*;
+import javax.swing.event.TreeModelEvent;
+import javax.swing.event.TreeModelListener;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Set of JUnit tests for {@link AsyncTreeModel} children loading.
+ *
+ * @author Mikle Garin
+ * @see AsyncTreeModel
+ */
+@FixMethodOrder ( MethodSorters.JVM )
+public final class AsyncTreeModelTest
+{
+    /**
+     * Initializes {@link WebLookAndFeel}.
+     */
+    @BeforeClass
+    public static void initialize ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                WebLookAndFeel.install ();
+            }
+        } );
+    }
+
+    /**
+     * Tests that sorted children provided in parts are inserted between already added ones.
+     */
+    @Test
+    public void partialChildren ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                final TestDataProvider dataProvider = new TestDataProvider ();
+                dataProvider.setChildrenComparator ( new Comparator<TestNode> ()
+                {
+                    @Override
+                    public int compare ( final TestNode node1, final TestNode node2 )
+                    {
+                        return node1.getId ().compareTo ( node2.getId () );
+                    }
+                } );
+                dataProvider.setChildren ( "root", Arrays.asList ( "folder" ) );
+                dataProvider.setChildren ( "folder", Arrays.asList ( "f", "b", "d" ), Arrays.asList ( "g", "c", "a", "e" ),
+                        Arrays.asList ( "h" ) );
+                final WebAsyncTree<TestNode> tree = createTree ( dataProvider );
+                final TestNode folder = tree.findNode ( "folder" );
+
+                final List<int[]> inserted = new ArrayList<int[]> ();
+                tree.getModel ().addTreeModelListener ( new TreeModelAdapter ()
+                {
+                    @Override
+                    public void treeNodesInserted ( final TreeModelEvent e )
+                    {
+                        inserted.add ( e.getChildIndices () );
+                    }
+                } );
+                tree.getModel ().getChildCount ( folder );
+
+                assertEquals ( Arrays.asList ( "a", "b", "c", "d", "e", "f", "g", "h" ), getChildIds ( folder ) );
+                assertEquals ( 3, inserted.size () );
+                assertArrayEquals ( new int[]{ 0, 1, 2 }, inserted.get ( 0 ) );
+                assertArrayEquals ( new int[]{ 0, 2, 4, 6 }, inserted.get ( 1 ) );
+                assertArrayEquals ( new int[]{ 7 }, inserted.get ( 2 ) );
+                assertEquals ( AsyncNodeState.loaded, folder.getState () );
+            }
+        } );
+    }
+
+    /**
+     * Tests that reloaded children with the same identifiers are kept and their loaded children are reloaded as well.
+     */
+    @Test
+    public void keptChildren ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                final TestDataProvider dataProvider = new TestDataProvider ();
+                dataProvider.setChildren ( "root", Arrays.asList ( "a", "b", "c" ) );
+                dataProvider.setChildren ( "a", Arrays.asList ( "a1" ) );
+                dataProvider.setChildren ( "a1", Arrays.asList ( "a11" ) );
+                dataProvider.setChildren ( "b", Arrays.asList ( "b1" ) );
+                final WebAsyncTree<TestNode> tree = createTree ( dataProvider );
+                final TestNode a = tree.findNode ( "a" );
+                final TestNode b = tree.findNode ( "b" );
+                tree.expandNode ( a );
+                tree.expandNode ( tree.findNode ( "a1" ) );
+                tree.getModel ().getChildCount ( b );
+                assertEquals ( Arrays.asList ( "b1" ), getChildIds ( b ) );
+
+                dataProvider.setTitle ( "a", "Updated" );
+                dataProvider.setChildren ( "a", Arrays.asList ( "a1", "a2" ) );
+                dataProvider.setChildren ( "a1", Arrays.asList ( "a12" ) );
+                dataProvider.setChildren ( "b", Arrays.asList ( "b2" ) );
+                final List<TreeModelEvent> changes = new ArrayList<TreeModelEvent> ();
+                tree.getModel ().addTreeModelListener ( new TreeModelAdapter ()
+                {
+                    @Override
+                    public void treeNodesChanged ( final TreeModelEvent e )
+                    {
+                        if ( e.getTreePath ().getLastPathComponent () == tree.getRootNode () && e.getChildIndices () != null )
+                        {
+                            changes.add ( e );
+                        }
+                    }
+                } );
+                tree.reloadRootNode ();
+
+                // Same nodes are kept and their data is updated
+                assertSame ( a, tree.findNode ( "a" ) );
+                assertSame ( b, tree.findNode ( "b" ) );
+                assertEquals ( "Updated", a.getUserObject () );
+                assertFalse ( changes.isEmpty () );
+                for ( final TreeModelEvent change : changes )
+                {
+                    assertArrayEquals ( new int[]{ 0 }, change.getChildIndices () );
+                }
+
+                // Expanded children are reloaded and stay expanded
+                assertTrue ( tree.isExpanded ( a ) );
+                assertEquals ( Arrays.asList ( "a1", "a2" ), getChildIds ( a ) );
+                assertTrue ( tree.isExpanded ( tree.findNode ( "a1" ) ) );
+                assertEquals ( Arrays.asList ( "a12" ), getChildIds ( tree.findNode ( "a1" ) ) );
+                assertNull ( tree.findNode ( "a11" ) );
+
+                // Collapsed children load new children when requested
+                assertFalse ( tree.getModel ().areChildrenLoaded ( b ) );
+                assertNull ( tree.findNode ( "b1" ) );
+                tree.getModel ().getChildCount ( b );
+                assertEquals ( Arrays.asList ( "b2" ), getChildIds ( b ) );
+            }
+        } );
+    }
+
+    /**
+     * Tests that added and removed children are reported separately while kept ones stay in place.
+     */
+    @Test
+    public void addedAndRemovedChildren ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                final TestDataProvider dataProvider = new TestDataProvider ();
+                dataProvider.setChildren ( "root", Arrays.asList ( "a", "b", "c" ) );
+                final WebAsyncTree<TestNode> tree = createTree ( dataProvider );
+                final TestNode a = tree.findNode ( "a" );
+                final TestNode c = tree.findNode ( "c" );
+
+                final List<int[]> inserted = new ArrayList<int[]> ();
+                final List<int[]> removed = new ArrayList<int[]> ();
+                final List<TreeModelEvent> structure = new ArrayList<TreeModelEvent> ();
+                tree.getModel ().addTreeModelListener ( new TreeModelAdapter ()
+                {
+                    @Override
+                    public void treeNodesInserted ( final TreeModelEvent e )
+                    {
+                        inserted.add ( e.getChildIndices () );
+                    }
+
+                    @Override
+                    public void treeNodesRemoved ( final TreeModelEvent e )
+                    {
+                        removed.add ( e.getChildIndices () );
+                    }
+
+                    @Override
+                    public void treeStructureChanged ( final TreeModelEvent e )
+                    {
+                        structure.add ( e );
+                    }
+                } );
+                dataProvider.setChildren ( "root", Arrays.asList ( "a", "c", "d" ) );
+                tree.reloadRootNode ();
+
+                assertEquals ( Arrays.asList ( "a", "c", "d" ), getChildIds ( tree.getRootNode () ) );
+                assertSame ( a, tree.findNode ( "a" ) );
+                assertSame ( c, tree.findNode ( "c" ) );
+                assertNull ( tree.findNode ( "b" ) );
+                assertNotNull ( tree.findNode ( "d" ) );
+                assertEquals ( 1, removed.size () );
+                assertArrayEquals ( new int[]{ 1 }, removed.get ( 0 ) );
+                assertEquals ( 1, inserted.size () );
+                assertArrayEquals ( new int[]{ 2 }, inserted.get ( 0 ) );
+                assertTrue ( structure.isEmpty () );
+            }
+        } );
+    }
+
+    /**
+     * Tests that moved children are kept along with their expansion and selection.
+     */
+    @Test
+    public void movedChildren ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                final TestDataProvider dataProvider = new TestDataProvider ();
+                dataProvider.setChildren ( "root", Arrays.asList ( "a", "b", "c" ) );
+                dataProvider.setChildren ( "a", Arrays.asList ( "a1" ) );
+                final WebAsyncTree<TestNode> tree = createTree ( dataProvider );
+                final TestNode a = tree.findNode ( "a" );
+                final TestNode c = tree.findNode ( "c" );
+                tree.expandNode ( a );
+                tree.setSelectedNode ( c );
+
+                dataProvider.setChildren ( "root", Arrays.asList ( "c", "a", "b" ) );
+                tree.reloadRootNode ();
+
+                assertEquals ( Arrays.asList ( "c", "a", "b" ), getChildIds ( tree.getRootNode () ) );
+                assertSame ( a, tree.findNode ( "a" ) );
+                assertSame ( c, tree.findNode ( "c" ) );
+                assertTrue ( tree.isExpanded ( a ) );
+                assertEquals ( Arrays.asList ( "a1" ), getChildIds ( a ) );
+                assertSame ( c, tree.getSelectedNode () );
+            }
+        } );
+    }
+
+    /**
+     * Tests that callbacks not overriding {@link NodesLoadAdapter} methods receive all parts once loading is completed.
+     */
+    @Test
+    public void defaultAdapter ()
+    {
+        final List<TestNode> result = new ArrayList<TestNode> ();
+        final NodesLoadAdapter<TestNode> adapter = new NodesLoadAdapter<TestNode> ()
+        {
+            @Override
+            public void completed ( final List<TestNode> children )
+            {
+                result.addAll ( children );
+            }
+
+            @Override
+            public void failed ( final Throwable cause )
+            {
+                fail ( cause.toString () );
+            }
+        };
+        adapter.partial ( Arrays.asList ( new TestNode ( "a" ), new TestNode ( "b" ) ) );
+        adapter.partial ( Arrays.asList ( new TestNode ( "c" ) ) );
+        assertTrue ( result.isEmpty () );
+        adapter.completed ();
+        assertEquals ( 3, result.size () );
+        assertEquals ( "c", result.get ( 2 ).getId () );
+        assertFalse ( adapter.isCancelled () );
+    }
+
+    /**
+     * Returns new synchronously loading {@link WebAsyncTree} using specified {@link TestDataProvider}.
+     *
+     * @param dataProvider {@link TestDataProvider}
+     * @return new synchronously loading {@link WebAsyncTree} using specified {@link TestDataProvider}
+     */
+    private static WebAsyncTree<TestNode> createTree ( final TestDataProvider dataProvider )
+    {
+        final WebAsyncTree<TestNode> tree = new WebAsyncTree<TestNode> ();
+        tree.setAsyncLoading ( false );
+        tree.setDataProvider ( dataProvider );
+        return tree;
+    }
+
+    /**
+     * Returns identifiers of the specified node children.
+     *
+     * @param node node to return children identifiers for
+     * @return identifiers of the specified node children
+     */
+    private static List<String> getChildIds ( final TestNode node )
+    {
+        final List<String> ids = new ArrayList<String> ( node.getChildCount () );
+        for ( int i = 0; i < node.getChildCount (); i++ )
+        {
+            ids.add ( node.getChildAt ( i ).getId () );
+        }
+        return ids;
+    }
+
+    /**
+     * Simple {@link AsyncUniqueNode} implementation.
+     */
+    public static final class TestNode extends AsyncUniqueNode<TestNode, String>
+    {
+        /**
+         * Constructs new {@link TestNode}.
+         *
+         * @param id node identifier and title
+         */
+        public TestNode ( final String id )
+        {
+            this ( id, id );
+        }
+
+        /**
+         * Constructs new {@link TestNode}.
+         *
+         * @param id    node identifier
+         * @param title node title
+         */
+        public TestNode ( final String id, final String title )
+        {
+            super ( id, title );
+        }
+
+        @Override
+        public Icon getNodeIcon ( final TreeNodeParameters<TestNode, WebAsyncTree<TestNode>> parameters )
+        {
+            return null;
+        }
+    }
+
+    /**
+     * {@link AsyncTreeDataProvider} providing preconfigured children in parts.
+     */
+    public static final class TestDataProvider extends AbstractAsyncTreeDataProvider<TestNode>
+    {
+        /**
+         * Root node.
+         */
+        private final TestNode root;
+
+        /**
+         * Children identifiers provided in parts.
+         * Entry: [ parent identifier -> [ children part identifiers ] ]
+         */
+        private final Map<String, List<List<String>>> children;
+
+        /**
+         * Custom node titles.
+         * Entry: [ node identifier -> node title ]
+         */
+        private final Map<String, String> titles;
+
+        /**
+         * Constructs new {@link TestDataProvider}.
+         */
+        public TestDataProvider ()
+        {
+            this.root = new TestNode ( "root" );
+            this.children = new HashMap<String, List<List<String>>> ();
+            this.titles = new HashMap<String, String> ();
+        }
+
+        /**
+         * Sets children identifiers provided in parts for the specified parent.
+         *
+         * @param parent parent identifier
+         * @param parts  children identifiers provided in parts
+         */
+        public void setChildren ( final String parent, final List<String>... parts )
+        {
+            children.put ( parent, Arrays.asList ( parts ) );
+        }
+
+        /**
+         * Sets title of the nodes with the specified identifier.
+         *
+         * @param id    node identifier
+         * @param title node title
+         */
+        public void setTitle ( final String id, final String title )
+        {
+            titles.put ( id, title );
+        }
+
+        @Override
+        public TestNode getRoot ()
+        {
+            return root;
+        }
+
+        @Override
+        public void loadChildren ( final TestNode parent, final NodesLoadCallback<TestNode> listener )
+        {
+            final List<List<String>> parts = children.get ( parent.getId () );
+            if ( parts != null && parts.size () > 1 )
+            {
+                final NodesLoadAdapter<TestNode> adapter = ( NodesLoadAdapter<TestNode> ) listener;
+                for ( final List<String> part : parts )
+                {
+                    adapter.partial ( createNodes ( part ) );
+                }
+                adapter.completed ();
+            }
+            else
+            {
+                listener.completed ( createNodes ( parts != null ? parts.get ( 0 ) : Collections.<String>emptyList () ) );
+            }
+        }
+
+        /**
+         * Returns new nodes with the specified identifiers.
+         *
+         * @param ids node identifiers
+         * @return new nodes with the specified identifiers
+         */
+        private List<TestNode> createNodes ( final List<String> ids )
+        {
+            final List<TestNode> nodes = new ArrayList<TestNode> ( ids.size () );
+            for ( final String id : ids )
+            {
+                nodes.add ( new TestNode ( id, titles.containsKey ( id ) ? titles.get ( id ) : id ) );
+            }
+            return nodes;
+        }
+
+        @Override
+        public boolean isLeaf ( final TestNode node )
+        {
+            return !children.containsKey ( node.getId () );
+        }
+    }
+
+    /**
+     * {@link TreeModelListener} adapter.
+     */
+    private static class TreeModelAdapter implements TreeModelListener
+    {
+        @Override
+        public void treeNodesChanged ( final TreeModelEvent e )
+        {
+            // Do nothing by default
+        }
+
+        @Override
+        public void treeNodesInserted ( final TreeModelEvent e )
+        {
+            // Do nothing by default
+        }
+
+        @Override
+        public void treeNodesRemoved ( final TreeModelEvent e )
+        {
+            // Do nothing by default
+        }
+
+        @Override
+        public void treeStructureChanged ( final TreeModelEvent e )
+        {
+            // Do nothing by default
+        }
+    }
+}
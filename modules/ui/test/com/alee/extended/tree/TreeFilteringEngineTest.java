@@ -0,0 +1,732 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.alee.extended.tree;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
+import com.alee.laf.tree.UniqueNode;
+import com.alee.utils.CoreSwingUtils;
+import com.alee.utils.compare.Filter;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import javax.swing.tree.DefaultTreeModel;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Set of JUnit tests for {@link TreeFilteringEngine}.
+ *
+ * @author Mikle Garin
+ * @see TreeFilteringEngine
+ * @see TreeFilteringMode
+ */
+@FixMethodOrder ( MethodSorters.JVM )
+public final class TreeFilteringEngineTest
+{
+    /**
+     * Tests that all {@link TreeFilteringMode}s and refinement passes produce the same results.
+     */
+    @Test
+    public void sameResults ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                final String[] requests = { "1", "12", "", "3", "31", "7" };
+                final Map<String, String> expected = new HashMap<String, String> ();
+                for ( final String request : requests )
+                {
+                    final TestSource source = new TestSource ();
+                    final TreeFilteringEngine<TestNode> engine = source.createEngine ( TreeFilteringMode.serial );
+                    source.filter.setText ( request );
+                    engine.filterAndSort ( source.root, null );
+                    expected.put ( request, describe ( source.root ) );
+                }
+                assertEquals ( 6, new HashSet<String> ( expected.values () ).size () );
+
+                for ( final TreeFilteringMode mode : TreeFilteringMode.values () )
+                {
+                    final TestSource source = new TestSource ();
+                    final TreeFilteringEngine<TestNode> engine = source.createEngine ( mode );
+                    String previous = null;
+                    for ( final String request : requests )
+                    {
+                        // Request only narrows results of the previous one if it contains previous text
+                        final boolean refinement = previous != null && request.contains ( previous );
+                        previous = request;
+                        source.filter.setText ( request );
+                        source.rawChildrenRequests.set ( 0 );
+                        final CountDownLatch applied = new CountDownLatch ( 1 );
+                        engine.filterAndSort ( source.root, new Runnable ()
+                        {
+                            @Override
+                            public void run ()
+                            {
+                                applied.countDown ();
+                            }
+                        } );
+                        if ( mode == TreeFilteringMode.async )
+                        {
+                            assertTrue ( engine.isRunning () );
+                            waitFor ( applied );
+                        }
+                        assertEquals ( 0, applied.getCount () );
+                        assertEquals ( mode + " " + request, expected.get ( request ), describe ( source.root ) );
+                        assertEquals ( mode + " " + request, refinement, source.rawChildrenRequests.get () == 0 );
+                    }
+                }
+            }
+        } );
+    }
+
+    /**
+     * Tests that only children of the accepted nodes are captured.
+     */
+    @Test
+    public void acceptedOnly ()
+    {
+        for ( final TreeFilteringMode mode : TreeFilteringMode.values () )
+        {
+            final TestSource source = new TestSource ();
+            final CountDownLatch applied = new CountDownLatch ( 1 );
+            CoreSwingUtils.invokeAndWait ( new Runnable ()
+            {
+                @Override
+                public void run ()
+                {
+                    source.filter.setText ( "r.19" );
+                    source.createEngine ( mode ).filterAndSort ( source.root, new Runnable ()
+                    {
+                        @Override
+                        public void run ()
+                        {
+                            applied.countDown ();
+                        }
+                    } );
+                }
+            } );
+            waitFor ( applied );
+            final int displayed = describe ( source.root ).split ( "[\\[\\],]+" ).length;
+            assertTrue ( displayed > 1 && displayed < 50 );
+            assertEquals ( mode.toString (), displayed, source.rawChildrenRequests.get () );
+        }
+    }
+
+    /**
+     * Tests that any model change disables refinement until next full pass.
+     */
+    @Test
+    public void modelChange ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                final TestSource source = new TestSource ();
+                final TreeFilteringEngine<TestNode> engine = source.createEngine ( TreeFilteringMode.parallel );
+                source.filter.setText ( "1" );
+                engine.filterAndSort ( source.root, null );
+                source.model.nodeChanged ( source.root );
+                source.filter.setText ( "12" );
+                source.rawChildrenRequests.set ( 0 );
+                engine.filterAndSort ( source.root, null );
+                assertTrue ( source.rawChildrenRequests.get () > 0 );
+            }
+        } );
+    }
+
+    /**
+     * Tests that cancelled pass doesn't apply its results and doesn't execute its callbacks.
+     */
+    @Test
+    public void cancellation ()
+    {
+        final TestSource source = new TestSource ();
+        final CountDownLatch blocked = new CountDownLatch ( 1 );
+        final AtomicInteger callbacks = new AtomicInteger ( 0 );
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                final TreeFilteringEngine<TestNode> engine = source.createEngine ( TreeFilteringMode.async );
+                source.filter.setText ( "1" );
+                source.filter.block = blocked;
+                engine.filterAndSort ( source.root, new Runnable ()
+                {
+                    @Override
+                    public void run ()
+                    {
+                        callbacks.incrementAndGet ();
+                    }
+                } );
+                assertTrue ( engine.isRunning () );
+                engine.cancel ();
+                assertFalse ( engine.isRunning () );
+            }
+        } );
+        blocked.countDown ();
+
+        // Waiting until cancelled pass is finished by the pool and checking that nothing was applied
+        final CountDownLatch later = new CountDownLatch ( 1 );
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                source.filter.block = null;
+                final TreeFilteringEngine<TestNode> other = source.createEngine ( TreeFilteringMode.async );
+                other.filterAndSort ( source.root, new Runnable ()
+                {
+                    @Override
+                    public void run ()
+                    {
+                        later.countDown ();
+                    }
+                } );
+            }
+        } );
+        waitFor ( later );
+        flush ();
+        assertEquals ( 0, callbacks.get () );
+        assertEquals ( 1, source.published.get () );
+    }
+
+    /**
+     * Tests that new pass replaces the running one and executes callbacks of both once.
+     */
+    @Test
+    public void replacement ()
+    {
+        final TestSource source = new TestSource ();
+        final CountDownLatch blocked = new CountDownLatch ( 1 );
+        final AtomicInteger callbacks = new AtomicInteger ( 0 );
+        final CountDownLatch applied = new CountDownLatch ( 2 );
+        final String[] result = new String[ 1 ];
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                final TreeFilteringEngine<TestNode> engine = source.createEngine ( TreeFilteringMode.async );
+                final Runnable callback = new Runnable ()
+                {
+                    @Override
+                    public void run ()
+                    {
+                        callbacks.incrementAndGet ();
+                        result[ 0 ] = describe ( source.root );
+                        applied.countDown ();
+                    }
+                };
+                source.filter.setText ( "1" );
+                source.filter.block = blocked;
+                engine.filterAndSort ( source.root, callback );
+                source.filter.setText ( "3" );
+                engine.filterAndSort ( source.root, new Runnable ()
+                {
+                    @Override
+                    public void run ()
+                    {
+                        applied.countDown ();
+                    }
+                } );
+            }
+        } );
+        blocked.countDown ();
+        waitFor ( applied );
+        flush ();
+        assertEquals ( 1, callbacks.get () );
+        assertEquals ( 1, source.published.get () );
+
+        final TestSource expected = new TestSource ();
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                expected.filter.setText ( "3" );
+                expected.createEngine ( TreeFilteringMode.serial ).filterAndSort ( expected.root, null );
+            }
+        } );
+        assertEquals ( describe ( expected.root ), result[ 0 ] );
+    }
+
+    /**
+     * Tests that new pass for a node nested into the running pass root, for its ancestor or for unrelated node covers both nodes.
+     */
+    @Test
+    public void replacementRoots ()
+    {
+        final TestSource expected = new TestSource ();
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                expected.filter.setText ( "3" );
+                expected.createEngine ( TreeFilteringMode.serial ).filterAndSort ( expected.root, null );
+            }
+        } );
+        final String[][] cases = {
+                { "r", "r.0", "r" },
+                { "r.0", "r", "r" },
+                { "r.0", "r.0", "r.0" },
+                { "r.0", "r.10", "r" }
+        };
+        for ( final String[] roots : cases )
+        {
+            final TestSource source = new TestSource ();
+            final CountDownLatch blocked = new CountDownLatch ( 1 );
+            final CountDownLatch applied = new CountDownLatch ( 1 );
+            CoreSwingUtils.invokeAndWait ( new Runnable ()
+            {
+                @Override
+                public void run ()
+                {
+                    final TreeFilteringEngine<TestNode> engine = source.createEngine ( TreeFilteringMode.async );
+                    source.filter.setText ( "1" );
+                    source.filter.block = blocked;
+                    engine.filterAndSort ( source.find ( roots[ 0 ] ), null );
+                    source.filter.setText ( "3" );
+                    engine.filterAndSort ( source.find ( roots[ 1 ] ), new Runnable ()
+                    {
+                        @Override
+                        public void run ()
+                        {
+                            applied.countDown ();
+                        }
+                    } );
+                }
+            } );
+            blocked.countDown ();
+            waitFor ( applied );
+            flush ();
+            assertEquals ( Arrays.toString ( roots ), 1, source.published.get () );
+            assertEquals ( Arrays.toString ( roots ), roots[ 2 ], source.publishedRoot.getId () );
+            if ( roots[ 2 ].equals ( "r" ) )
+            {
+                assertEquals ( Arrays.toString ( roots ), describe ( expected.root ), describe ( source.root ) );
+            }
+        }
+    }
+
+    /**
+     * Waits for the specified {@link CountDownLatch}.
+     *
+     * @param latch {@link CountDownLatch} to wait for
+     */
+    private static void waitFor ( final CountDownLatch latch )
+    {
+        final long end = System.currentTimeMillis () + 10000;
+        while ( latch.getCount () > 0 && System.currentTimeMillis () < end )
+        {
+            if ( CoreSwingUtils.isEventDispatchThread () )
+            {
+                // Processing pending events to let results be applied
+                flushEvents ();
+            }
+            else
+            {
+                try
+                {
+                    latch.await ( 10, TimeUnit.MILLISECONDS );
+                }
+                catch ( final InterruptedException e )
+                {
+                    throw new RuntimeException ( e );
+                }
+            }
+        }
+        assertEquals ( 0, latch.getCount () );
+    }
+
+    /**
+     * Processes all pending events on Event Dispatch Thread.
+     */
+    private static void flush ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                // Nothing to do, just waiting for earlier events
+            }
+        } );
+    }
+
+    /**
+     * Dispatches pending events while already being on Event Dispatch Thread.
+     */
+    private static void flushEvents ()
+    {
+        try
+        {
+            final java.awt.EventQueue queue = java.awt.Toolkit.getDefaultToolkit ().getSystemEventQueue ();
+            final java.awt.AWTEvent event = queue.peekEvent () != null ? queue.getNextEvent () : null;
+            if ( event instanceof java.awt.ActiveEvent )
+            {
+                ( ( java.awt.ActiveEvent ) event ).dispatch ();
+            }
+            else
+            {
+                Thread.sleep ( 1 );
+            }
+        }
+        catch ( final InterruptedException e )
+        {
+            throw new RuntimeException ( e );
+        }
+    }
+
+    /**
+     * Returns description of the displayed structure under the specified node.
+     *
+     * @param node node to describe
+     * @return description of the displayed structure under the specified node
+     */
+    private static String describe ( final TestNode node )
+    {
+        final StringBuilder description = new StringBuilder ( node.getId () );
+        if ( node.getChildCount () > 0 )
+        {
+            description.append ( "[" );
+            for ( int i = 0; i < node.getChildCount (); i++ )
+            {
+                if ( i > 0 )
+                {
+                    description.append ( "," );
+                }
+                description.append ( describe ( node.getChildAt ( i ) ) );
+            }
+            description.append ( "]" );
+        }
+        return description.toString ();
+    }
+
+    /**
+     * Simple {@link UniqueNode} implementation.
+     */
+    public static final class TestNode extends UniqueNode<TestNode, String>
+    {
+        /**
+         * Constructs new {@link TestNode}.
+         *
+         * @param id node identifier
+         */
+        public TestNode ( final String id )
+        {
+            super ( id, id );
+        }
+    }
+
+    /**
+     * {@link RefinableNodesFilter} accepting nodes which identifier or identifier of any raw descendant contains specified text.
+     */
+    public static final class TextFilter implements RefinableNodesFilter<TestNode>
+    {
+        /**
+         * Raw children of the nodes, they are never modified.
+         */
+        private final Map<TestNode, List<TestNode>> rawChildren;
+
+        /**
+         * Searched text.
+         */
+        private volatile String text;
+
+        /**
+         * {@link CountDownLatch} blocking filtering, {@code null} if filtering is not blocked.
+         */
+        private volatile CountDownLatch block;
+
+        /**
+         * Constructs new {@link TextFilter}.
+         *
+         * @param rawChildren raw children of the nodes
+         */
+        public TextFilter ( final Map<TestNode, List<TestNode>> rawChildren )
+        {
+            this.rawChildren = rawChildren;
+            this.text = "";
+        }
+
+        /**
+         * Sets searched text.
+         *
+         * @param text searched text
+         */
+        public void setText ( final String text )
+        {
+            this.text = text;
+        }
+
+        @NotNull
+        @Override
+        public Object getState ()
+        {
+            return text;
+        }
+
+        @Override
+        public boolean isRefinementOf ( @Nullable final Object state )
+        {
+            return state instanceof String && text.contains ( ( String ) state );
+        }
+
+        @Override
+        public void clearCache ()
+        {
+            // No cache
+        }
+
+        @Override
+        public void clearCache ( final TestNode node )
+        {
+            // No cache
+        }
+
+        @Override
+        public boolean accept ( final TestNode node )
+        {
+            final CountDownLatch latch = block;
+            if ( latch != null )
+            {
+                try
+                {
+                    latch.await ();
+                }
+                catch ( final InterruptedException e )
+                {
+                    throw new RuntimeException ( e );
+                }
+            }
+            return accept ( node, text );
+        }
+
+        /**
+         * Returns whether or not specified node or any of its raw descendants contain specified text.
+         *
+         * @param node node to check
+         * @param text searched text
+         * @return {@code true} if specified node or any of its raw descendants contain specified text, {@code false} otherwise
+         */
+        private boolean accept ( final TestNode node, final String text )
+        {
+            boolean accept = node.getId ().contains ( text );
+            final List<TestNode> children = rawChildren.get ( node );
+            for ( int i = 0; !accept && children != null && i < children.size (); i++ )
+            {
+                accept = accept ( children.get ( i ), text );
+            }
+            return accept;
+        }
+    }
+
+    /**
+     * {@link TreeFilteringEngine.Source} for a fixed tree.
+     */
+    public static final class TestSource implements TreeFilteringEngine.Source<TestNode>
+    {
+        /**
+         * Root node.
+         */
+        private final TestNode root;
+
+        /**
+         * Model used to inform engine about changes.
+         */
+        private final DefaultTreeModel model;
+
+        /**
+         * Raw children of the nodes.
+         */
+        private final Map<TestNode, List<TestNode>> rawChildren;
+
+        /**
+         * {@link TextFilter}.
+         */
+        private final TextFilter filter;
+
+        /**
+         * Amount of raw children requests.
+         */
+        private final AtomicInteger rawChildrenRequests;
+
+        /**
+         * Amount of applied pass results.
+         */
+        private final AtomicInteger published;
+
+        /**
+         * Root node of the last applied pass results.
+         */
+        private TestNode publishedRoot;
+
+        /**
+         * Constructs new {@link TestSource}.
+         * Each node has children with identifiers made of its own identifier and child index.
+         */
+        public TestSource ()
+        {
+            this.root = new TestNode ( "r" );
+            this.model = new DefaultTreeModel ( root );
+            this.rawChildren = new HashMap<TestNode, List<TestNode>> ();
+            this.filter = new TextFilter ( rawChildren );
+            this.rawChildrenRequests = new AtomicInteger ( 0 );
+            this.published = new AtomicInteger ( 0 );
+            create ( root, 200, 2 );
+        }
+
+        /**
+         * Creates raw children for the specified node.
+         *
+         * @param node  parent node
+         * @param count amount of children
+         * @param depth amount of children levels
+         */
+        private void create ( final TestNode node, final int count, final int depth )
+        {
+            final List<TestNode> children = new ArrayList<TestNode> ( count );
+            for ( int i = 0; i < count; i++ )
+            {
+                final TestNode child = new TestNode ( node.getId () + "." + i );
+                children.add ( child );
+                node.add ( child );
+                if ( depth > 1 && i % 10 == 0 )
+                {
+                    create ( child, 12, depth - 1 );
+                }
+            }
+            rawChildren.put ( node, children );
+        }
+
+        /**
+         * Returns raw node with the specified identifier.
+         *
+         * @param id node identifier
+         * @return raw node with the specified identifier
+         */
+        public TestNode find ( final String id )
+        {
+            TestNode node = root;
+            while ( !node.getId ().equals ( id ) )
+            {
+                TestNode next = null;
+                for ( final TestNode child : rawChildren.get ( node ) )
+                {
+                    if ( id.equals ( child.getId () ) || id.startsWith ( child.getId () + "." ) )
+                    {
+                        next = child;
+                        break;
+                    }
+                }
+                node = next;
+            }
+            return node;
+        }
+
+        /**
+         * Returns new {@link TreeFilteringEngine} for this source.
+         *
+         * @param mode {@link TreeFilteringMode}
+         * @return new {@link TreeFilteringEngine} for this source
+         */
+        public TreeFilteringEngine<TestNode> createEngine ( final TreeFilteringMode mode )
+        {
+            final TreeFilteringEngine<TestNode> engine = new TreeFilteringEngine<TestNode> ( model, this );
+            engine.setMode ( mode );
+            return engine;
+        }
+
+        @NotNull
+        @Override
+        public TestNode getRoot ()
+        {
+            assertTrue ( CoreSwingUtils.isEventDispatchThread () );
+            return root;
+        }
+
+        @Nullable
+        @Override
+        public List<TestNode> getRawChildren ( @NotNull final TestNode parent )
+        {
+            assertTrue ( CoreSwingUtils.isEventDispatchThread () );
+            rawChildrenRequests.incrementAndGet ();
+            return rawChildren.get ( parent );
+        }
+
+        @NotNull
+        @Override
+        public List<Filter<TestNode>> getFilters ()
+        {
+            assertTrue ( CoreSwingUtils.isEventDispatchThread () );
+            return Arrays.<Filter<TestNode>>asList ( filter );
+        }
+
+        @NotNull
+        @Override
+        public Filter<TestNode>[] getChildrenFilters ( @NotNull final TestNode parent, @NotNull final List<TestNode> children )
+        {
+            assertTrue ( CoreSwingUtils.isEventDispatchThread () );
+            return new Filter[]{ filter };
+        }
+
+        @NotNull
+        @Override
+        public Comparator<TestNode>[] getChildrenComparators ( @NotNull final TestNode parent, @NotNull final List<TestNode> children )
+        {
+            assertTrue ( CoreSwingUtils.isEventDispatchThread () );
+            return new Comparator[]{ new Comparator<TestNode> ()
+            {
+                @Override
+                public int compare ( final TestNode node1, final TestNode node2 )
+                {
+                    return node2.getId ().compareTo ( node1.getId () );
+                }
+            } };
+        }
+
+        @Override
+        public void publish ( @NotNull final TestNode root, @NotNull final Map<TestNode, List<TestNode>> children )
+        {
+            assertTrue ( CoreSwingUtils.isEventDispatchThread () );
+            for ( final Map.Entry<TestNode, List<TestNode>> entry : children.entrySet () )
+            {
+                entry.getKey ().removeAllChildren ();
+                for ( final TestNode child : entry.getValue () )
+                {
+                    entry.getKey ().add ( child );
+                }
+            }
+            publishedRoot = root;
+            published.incrementAndGet ();
+        }
+    }
+}
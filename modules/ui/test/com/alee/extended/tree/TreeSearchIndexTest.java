@@ -0,0 +1,490 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.alee.extended.tree;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.api.annotations.Nullable;
+import com.alee.api.jdk.Function;
+import com.alee.laf.tree.UniqueNode;
+import com.alee.utils.compare.Filter;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import javax.swing.tree.DefaultTreeModel;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Set of JUnit tests for {@link TreeSearchIndex}.
+ *
+ * @author Mikle Garin
+ * @see TreeSearchIndex
+ * @see StructuredTreeNodesFilter
+ */
+@FixMethodOrder ( MethodSorters.JVM )
+public final class TreeSearchIndexTest
+{
+    /**
+     * Nodes text provider.
+     */
+    private static final Function<TestNode, String> TEXT = new Function<TestNode, String> ()
+    {
+        @Override
+        public String apply ( final TestNode node )
+        {
+            return node.getUserObject ();
+        }
+    };
+
+    /**
+     * Tests index building.
+     */
+    @Test
+    public void building ()
+    {
+        final TestModel model = new TestModel ();
+        final TreeSearchIndex<TestNode> index = new TreeSearchIndex<TestNode> ( model, TEXT );
+        assertEquals ( model.count (), index.size () );
+
+        // Matching nodes are accepted along with their ancestors
+        assertEquals ( set ( "root", "a", "a.2", "a.2.1" ), accepted ( model, index, "Gamma", false, false ) );
+        assertEquals ( set ( "root", "a", "a.1", "b", "b.1" ), accepted ( model, index, "alpha", false, false ) );
+        assertEquals ( set ( "root", "a", "a.1" ), accepted ( model, index, "alpha", true, false ) );
+        assertEquals ( set ( "root", "a", "a.2", "a.2.1", "b" ), accepted ( model, index, "ga", false, true ) );
+        assertEquals ( set (), accepted ( model, index, "missing", false, false ) );
+    }
+
+    /**
+     * Tests incremental index updates.
+     */
+    @Test
+    public void updates ()
+    {
+        final TestModel model = new TestModel ();
+        final TreeSearchIndex<TestNode> index = new TreeSearchIndex<TestNode> ( model, TEXT );
+
+        // Inserted nodes
+        final TestNode b = model.findNode ( "b" );
+        final TestNode inserted = new TestNode ( "b.3", "New gamma" );
+        inserted.add ( new TestNode ( "b.3.1", "Nested delta" ) );
+        model.insert ( b, inserted );
+        assertEquals ( model.count (), index.size () );
+        assertEquals ( set ( "root", "a", "a.2", "a.2.1", "b", "b.3" ), accepted ( model, index, "gamma", false, false ) );
+        assertEquals ( set ( "root", "b", "b.3", "b.3.1" ), accepted ( model, index, "delta", false, false ) );
+
+        // Changed nodes
+        final TestNode changed = model.findNode ( "a.2.1" );
+        changed.setUserObject ( "Epsilon" );
+        model.nodeChanged ( changed );
+        assertEquals ( set ( "root", "b", "b.3" ), accepted ( model, index, "gamma", false, false ) );
+        assertEquals ( set ( "root", "a", "a.2", "a.2.1" ), accepted ( model, index, "epsilon", false, false ) );
+
+        // Removed nodes, their children are dropped once they are found
+        model.remove ( inserted );
+        assertEquals ( model.count () + 1, index.size () );
+        assertEquals ( set (), accepted ( model, index, "gamma", false, false ) );
+        assertEquals ( set (), accepted ( model, index, "delta", false, false ) );
+        assertEquals ( model.count (), index.size () );
+
+        // Nodes removed without events are dropped once they are found
+        model.removeSilently ( changed );
+        assertEquals ( set (), accepted ( model, index, "epsilon", false, false ) );
+        assertEquals ( model.count (), index.size () );
+
+        // Disposed index doesn't follow model changes
+        index.dispose ();
+        model.insert ( b, new TestNode ( "b.4", "Zeta" ) );
+        assertEquals ( set (), accepted ( model, index, "zeta", false, false ) );
+    }
+
+    /**
+     * Tests that nodes hidden by other filters are not accepted and don't make their ancestors accepted.
+     */
+    @Test
+    public void otherFilters ()
+    {
+        final TestModel model = new TestModel ();
+        final TreeSearchIndex<TestNode> index = new TreeSearchIndex<TestNode> ( model, TEXT );
+        model.hide ( "a.2" );
+        assertEquals ( set (), accepted ( model, index, "gamma", false, false ) );
+        assertEquals ( set ( "root", "a", "a.1", "b", "b.1" ), accepted ( model, index, "alpha", false, false ) );
+        model.hide ( "b.1" );
+        assertEquals ( set ( "root", "a", "a.1" ), accepted ( model, index, "alpha", false, false ) );
+        model.hide ();
+        assertEquals ( set ( "root", "a", "a.2", "a.2.1" ), accepted ( model, index, "gamma", false, false ) );
+    }
+
+    /**
+     * Tests that {@link StructuredTreeNodesFilter} accepts the same nodes with and without {@link TreeSearchIndex}.
+     */
+    @Test
+    public void filterEquivalence ()
+    {
+        final String[] requests = { "", "a", "al", "alpha", "Alpha", "gam", "ga ph", "a b", "eta", "missing" };
+        for ( final String hidden : new String[]{ null, "a.2", "b.1" } )
+        {
+            final TestModel model = hidden != null ? new TestModel ( hidden ) : new TestModel ();
+            final TreeSearchIndex<TestNode> index = new TreeSearchIndex<TestNode> ( model, TEXT );
+            for ( final String request : requests )
+            {
+                for ( int options = 0; options < 8; options++ )
+                {
+                    final StructuredTreeNodesFilter<TestNode> plain = createFilter ( request, options );
+                    final StructuredTreeNodesFilter<TestNode> indexed = createFilter ( request, options );
+                    indexed.setSearchIndex ( index );
+                    model.setFilter ( indexed );
+                    indexed.getState ();
+                    for ( final TestNode node : model.displayed () )
+                    {
+                        assertEquals ( hidden + " " + request + " " + options + " " + node.getId (),
+                                plain.accept ( node ), indexed.accept ( node ) );
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns new {@link StructuredTreeNodesFilter}.
+     *
+     * @param request search request text
+     * @param options bit mask of match case, space separator and search from start options
+     * @return new {@link StructuredTreeNodesFilter}
+     */
+    private static StructuredTreeNodesFilter<TestNode> createFilter ( final String request, final int options )
+    {
+        final StructuredTreeNodesFilter<TestNode> filter = new StructuredTreeNodesFilter<TestNode> ();
+        filter.setTextProvider ( TEXT );
+        filter.setMatchCase ( ( options & 1 ) != 0 );
+        filter.setUseSpaceAsSeparator ( ( options & 2 ) != 0 );
+        filter.setSearchFromStart ( ( options & 4 ) != 0 );
+        filter.setSearchText ( request );
+        return filter;
+    }
+
+    /**
+     * Returns identifiers of the model nodes accepted by {@link TreeSearchIndex.Matches} for the specified request.
+     *
+     * @param model           {@link TestModel}
+     * @param index           {@link TreeSearchIndex}
+     * @param request         single search request
+     * @param matchCase       whether should match case or not
+     * @param searchFromStart whether should search from node text beginning or not
+     * @return identifiers of the model nodes accepted by {@link TreeSearchIndex.Matches} for the specified request
+     */
+    private static Set<String> accepted ( final TestModel model, final TreeSearchIndex<TestNode> index, final String request,
+                                          final boolean matchCase, final boolean searchFromStart )
+    {
+        final String searchRequest = matchCase ? request : request.toLowerCase ( Locale.ROOT );
+        final TreeSearchIndex.Matches matches = index.search ( Collections.singletonList ( searchRequest ), matchCase,
+                searchFromStart, null );
+        final Set<String> accepted = new HashSet<String> ();
+        for ( final TestNode node : model.raw () )
+        {
+            if ( matches.accept ( node ) )
+            {
+                accepted.add ( node.getId () );
+            }
+        }
+        return accepted;
+    }
+
+    /**
+     * Returns {@link Set} of the specified identifiers.
+     *
+     * @param ids identifiers
+     * @return {@link Set} of the specified identifiers
+     */
+    private static Set<String> set ( final String... ids )
+    {
+        return new HashSet<String> ( Arrays.asList ( ids ) );
+    }
+
+    /**
+     * Simple {@link UniqueNode} implementation.
+     */
+    public static final class TestNode extends UniqueNode<TestNode, String>
+    {
+        /**
+         * Constructs new {@link TestNode}.
+         *
+         * @param id   node identifier
+         * @param text node text
+         */
+        public TestNode ( final String id, final String text )
+        {
+            super ( id, text );
+        }
+    }
+
+    /**
+     * {@link IndexableNodes} model that hides nodes with the specified identifiers.
+     * Hidden nodes are removed from the displayed structure, but stay among raw children.
+     */
+    public static final class TestModel extends DefaultTreeModel implements IndexableNodes<TestNode>
+    {
+        /**
+         * Raw children of the nodes.
+         */
+        private final Map<TestNode, List<TestNode>> rawChildren;
+
+        /**
+         * Identifiers of the hidden nodes.
+         */
+        private final Set<String> hidden;
+
+        /**
+         * {@link Filter} hiding nodes with hidden identifiers.
+         */
+        private final Filter<TestNode> hiddenFilter;
+
+        /**
+         * {@link Filter} installed into the model.
+         */
+        private Filter<TestNode> filter;
+
+        /**
+         * Constructs new {@link TestModel}.
+         *
+         * @param hidden identifiers of the hidden nodes
+         */
+        public TestModel ( final String... hidden )
+        {
+            super ( new TestNode ( "root", "Root" ) );
+            this.rawChildren = new HashMap<TestNode, List<TestNode>> ();
+            this.hidden = new HashSet<String> ( Arrays.asList ( hidden ) );
+            this.hiddenFilter = new Filter<TestNode> ()
+            {
+                @Override
+                public boolean accept ( final TestNode node )
+                {
+                    return !TestModel.this.hidden.contains ( node.getId () );
+                }
+            };
+
+            final TestNode a = new TestNode ( "a", "First" );
+            a.add ( new TestNode ( "a.1", "alpha" ) );
+            final TestNode a2 = new TestNode ( "a.2", "Beta" );
+            a2.add ( new TestNode ( "a.2.1", "Gamma" ) );
+            a.add ( a2 );
+            final TestNode b = new TestNode ( "b", "Garden" );
+            b.add ( new TestNode ( "b.1", "Alpha beta" ) );
+            b.add ( new TestNode ( "b.2", "Theta" ) );
+            getRoot ().add ( a );
+            getRoot ().add ( b );
+            updateRawChildren ( getRoot () );
+            updateDisplayed ( getRoot () );
+        }
+
+        /**
+         * Saves current children of the specified node and all its descendants as raw children.
+         *
+         * @param node node to save raw children for
+         */
+        private void updateRawChildren ( final TestNode node )
+        {
+            final List<TestNode> children = new ArrayList<TestNode> ( node.getChildCount () );
+            for ( int i = 0; i < node.getChildCount (); i++ )
+            {
+                children.add ( node.getChildAt ( i ) );
+                updateRawChildren ( node.getChildAt ( i ) );
+            }
+            rawChildren.put ( node, children );
+        }
+
+        /**
+         * Updates displayed children of the specified node and all its raw descendants.
+         *
+         * @param node node to update displayed children for
+         */
+        private void updateDisplayed ( final TestNode node )
+        {
+            node.removeAllChildren ();
+            for ( final TestNode child : rawChildren.get ( node ) )
+            {
+                if ( hiddenFilter.accept ( child ) )
+                {
+                    node.add ( child );
+                }
+                updateDisplayed ( child );
+            }
+        }
+
+        /**
+         * Hides nodes with the specified identifiers.
+         *
+         * @param ids identifiers of the nodes to hide
+         */
+        public void hide ( final String... ids )
+        {
+            hidden.clear ();
+            hidden.addAll ( Arrays.asList ( ids ) );
+            updateDisplayed ( getRoot () );
+        }
+
+        /**
+         * Sets {@link Filter} installed into the model.
+         *
+         * @param filter {@link Filter} installed into the model
+         */
+        public void setFilter ( final Filter<TestNode> filter )
+        {
+            this.filter = filter;
+        }
+
+        /**
+         * Inserts new raw child into the specified parent.
+         *
+         * @param parent parent node
+         * @param child  new child node
+         */
+        public void insert ( final TestNode parent, final TestNode child )
+        {
+            rawChildren.get ( parent ).add ( child );
+            updateRawChildren ( child );
+            insertNodeInto ( child, parent, parent.getChildCount () );
+        }
+
+        /**
+         * Removes specified raw child.
+         *
+         * @param child child node to remove
+         */
+        public void remove ( final TestNode child )
+        {
+            rawChildren.get ( child.getParent () ).remove ( child );
+            removeNodeFromParent ( child );
+        }
+
+        /**
+         * Removes specified raw child without informing listeners.
+         *
+         * @param child child node to remove
+         */
+        public void removeSilently ( final TestNode child )
+        {
+            rawChildren.get ( child.getParent () ).remove ( child );
+            child.removeFromParent ();
+        }
+
+        /**
+         * Returns all raw nodes.
+         *
+         * @return all raw nodes
+         */
+        public List<TestNode> raw ()
+        {
+            final List<TestNode> nodes = new ArrayList<TestNode> ();
+            collect ( getRoot (), nodes, true );
+            return nodes;
+        }
+
+        /**
+         * Returns all displayed nodes.
+         *
+         * @return all displayed nodes
+         */
+        public List<TestNode> displayed ()
+        {
+            final List<TestNode> nodes = new ArrayList<TestNode> ();
+            collect ( getRoot (), nodes, false );
+            return nodes;
+        }
+
+        /**
+         * Collects specified node and all its descendants.
+         *
+         * @param node  node to collect
+         * @param nodes collected nodes
+         * @param raw   whether should collect raw or displayed descendants
+         */
+        private void collect ( final TestNode node, final List<TestNode> nodes, final boolean raw )
+        {
+            nodes.add ( node );
+            if ( raw )
+            {
+                for ( final TestNode child : rawChildren.get ( node ) )
+                {
+                    collect ( child, nodes, true );
+                }
+            }
+            else
+            {
+                for ( int i = 0; i < node.getChildCount (); i++ )
+                {
+                    collect ( node.getChildAt ( i ), nodes, false );
+                }
+            }
+        }
+
+        /**
+         * Returns amount of raw nodes.
+         *
+         * @return amount of raw nodes
+         */
+        public int count ()
+        {
+            return raw ().size ();
+        }
+
+        @Override
+        public TestNode getRoot ()
+        {
+            return ( TestNode ) super.getRoot ();
+        }
+
+        @Nullable
+        @Override
+        public TestNode findNode ( @NotNull final String nodeId )
+        {
+            TestNode found = null;
+            for ( final TestNode node : raw () )
+            {
+                if ( node.getId ().equals ( nodeId ) )
+                {
+                    found = node;
+                    break;
+                }
+            }
+            return found;
+        }
+
+        @Nullable
+        @Override
+        public List<TestNode> findRawChildren ( @NotNull final TestNode parent )
+        {
+            return rawChildren.get ( parent );
+        }
+
+        @NotNull
+        @Override
+        public Filter<TestNode>[] getRawChildrenFilters ( @NotNull final TestNode parent, @NotNull final List<TestNode> children )
+        {
+            return new Filter[]{ hiddenFilter, filter };
+        }
+
+        @Override
+        public boolean isFiltering ()
+        {
+            return false;
+        }
+    }
+}
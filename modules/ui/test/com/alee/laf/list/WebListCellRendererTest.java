@@ -0,0 +1,170 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.laf.list;
+
+import com.alee.laf.WebLookAndFeel;
+import com.alee.utils.CoreSwingUtils;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import javax.swing.*;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import static org.junit.Assert.*;
+
+/**
+ * Set of JUnit tests for {@link WebListCellRenderer} rendering parameters.
+ *
+ * @author Mikle Garin
+ * @see WebListCellRenderer
+ * @see ListCellParameters
+ */
+@FixMethodOrder ( MethodSorters.JVM )
+public final class WebListCellRendererTest
+{
+    /**
+     * Initializes {@link WebLookAndFeel}.
+     */
+    @BeforeClass
+    public static void initialize ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                WebLookAndFeel.install ();
+            }
+        } );
+    }
+
+    /**
+     * Tests that {@link ListCellParameters} cannot be modified.
+     */
+    @Test
+    public void immutableParameters ()
+    {
+        for ( final Field field : ListCellParameters.class.getDeclaredFields () )
+        {
+            assertTrue ( field.getName (), Modifier.isFinal ( field.getModifiers () ) );
+        }
+        for ( final Method method : ListCellParameters.class.getMethods () )
+        {
+            assertFalse ( method.getName (), method.getName ().equals ( "update" ) );
+        }
+    }
+
+    /**
+     * Tests that separate {@link ListCellParameters} are provided for each cell by default.
+     */
+    @Test
+    public void separateParameters ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                final JList list = new JList ( new String[]{ "first", "second" } );
+                final WebListCellRenderer<String, JList, ListCellParameters<String, JList>> renderer =
+                        new WebListCellRenderer<String, JList, ListCellParameters<String, JList>> ();
+
+                final ListCellParameters<String, JList> first = renderer.getRenderingParameters ( list, "first", 0, true, false );
+                final ListCellParameters<String, JList> second = renderer.getRenderingParameters ( list, "second", 1, false, true );
+                assertNotSame ( first, second );
+                assertEquals ( ListCellParameters.class, first.getClass () );
+                assertParameters ( first, list, "first", 0, true, false );
+                assertParameters ( second, list, "second", 1, false, true );
+            }
+        } );
+    }
+
+    /**
+     * Tests that single {@link ListCellParameters} instance is reused for all cells in incremental mode.
+     */
+    @Test
+    public void incrementalParameters ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                final JList list = new JList ( new String[]{ "first", "second" } );
+                final WebListCellRenderer<String, JList, ListCellParameters<String, JList>> renderer =
+                        new WebListCellRenderer<String, JList, ListCellParameters<String, JList>> ();
+                renderer.setIncremental ( true );
+
+                final ListCellParameters<String, JList> first = renderer.getRenderingParameters ( list, "first", 0, true, false );
+                assertParameters ( first, list, "first", 0, true, false );
+                final ListCellParameters<String, JList> second = renderer.getRenderingParameters ( list, "second", 1, false, true );
+                assertSame ( first, second );
+                assertParameters ( second, list, "second", 1, false, true );
+
+                assertSame ( renderer, renderer.getListCellRendererComponent ( list, "first", 0, false, false ) );
+                assertSame ( renderer, renderer.getListCellRendererComponent ( list, "second", 1, true, false ) );
+
+                renderer.setIncremental ( false );
+                final ListCellParameters<String, JList> separate = renderer.getRenderingParameters ( list, "first", 0, false, false );
+                assertNotSame ( first, separate );
+                assertEquals ( ListCellParameters.class, separate.getClass () );
+            }
+        } );
+    }
+
+    /**
+     * Asserts that {@link ListCellParameters} contain specified values.
+     *
+     * @param parameters {@link ListCellParameters}
+     * @param list       expected {@link JList}
+     * @param value      expected cell value
+     * @param index      expected cell index
+     * @param selected   expected selection state
+     * @param focused    expected focus state
+     */
+    private static void assertParameters ( final ListCellParameters<String, JList> parameters, final JList list, final String value,
+                                           final int index, final boolean selected, final boolean focused )
+    {
+        assertSame ( list, parameters.list () );
+        assertEquals ( value, parameters.value () );
+        assertEquals ( index, parameters.index () );
+        assertEquals ( selected, parameters.isSelected () );
+        assertEquals ( focused, parameters.isFocused () );
+    }
+
+    /**
+     * Destroys {@link WebLookAndFeel}.
+     */
+    @AfterClass
+    public static void destroy ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                WebLookAndFeel.uninstall ();
+            }
+        } );
+    }
+}
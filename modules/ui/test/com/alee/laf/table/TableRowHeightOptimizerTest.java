@@ -0,0 +1,241 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.laf.table;
+
+import com.alee.laf.WebLookAndFeel;
+import com.alee.utils.CoreSwingUtils;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableCellRenderer;
+import javax.swing.table.TableColumn;
+import java.awt.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Set of JUnit tests for {@link TableRowHeightOptimizer}.
+ *
+ * @author Mikle Garin
+ * @see TableRowHeightOptimizer
+ */
+@FixMethodOrder ( MethodSorters.JVM )
+public final class TableRowHeightOptimizerTest
+{
+    /**
+     * Initializes {@link WebLookAndFeel}.
+     */
+    @BeforeClass
+    public static void initialize ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                WebLookAndFeel.install ();
+            }
+        } );
+    }
+
+    /**
+     * Tests that rows are measured across all columns, including the ones that are not visible.
+     */
+    @Test
+    public void allColumns ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                final JTable table = createTable ();
+                final TableRowHeightOptimizer optimizer = install ( table );
+
+                assertEquals ( 40, optimizer.getCachedRowHeight ( 0 ) );
+                assertEquals ( 40, table.getRowHeight () );
+
+                optimizer.uninstall ();
+                assertEquals ( 10, table.getRowHeight () );
+            }
+        } );
+    }
+
+    /**
+     * Tests that cached heights are kept when columns are moved and reset when columns are added or removed.
+     */
+    @Test
+    public void columnChanges ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                final JTable table = createTable ();
+                final TableRowHeightOptimizer optimizer = install ( table );
+
+                table.moveColumn ( 1, 0 );
+                assertEquals ( 40, optimizer.getCachedRowHeight ( 0 ) );
+
+                final TableColumn column = table.getColumnModel ().getColumn ( 0 );
+                table.removeColumn ( column );
+                assertEquals ( -1, optimizer.getCachedRowHeight ( 0 ) );
+                optimizer.optimizeRowHeight ();
+                assertEquals ( 20, optimizer.getCachedRowHeight ( 0 ) );
+                assertEquals ( 20, table.getRowHeight () );
+
+                table.addColumn ( column );
+                assertEquals ( -1, optimizer.getCachedRowHeight ( 0 ) );
+                optimizer.optimizeRowHeight ();
+                assertEquals ( 40, optimizer.getCachedRowHeight ( 0 ) );
+                assertEquals ( 40, table.getRowHeight () );
+
+                optimizer.uninstall ();
+            }
+        } );
+    }
+
+    /**
+     * Tests that cached heights are reset when column renderer, column model or font is changed.
+     */
+    @Test
+    public void rendererChanges ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                final JTable table = createTable ();
+                final TableRowHeightOptimizer optimizer = install ( table );
+
+                table.getColumnModel ().getColumn ( 1 ).setCellRenderer ( new HeightRenderer ( 2 ) );
+                assertEquals ( -1, optimizer.getCachedRowHeight ( 0 ) );
+                optimizer.optimizeRowHeight ();
+                assertEquals ( 80, optimizer.getCachedRowHeight ( 0 ) );
+
+                table.setFont ( table.getFont ().deriveFont ( 20f ) );
+                assertEquals ( -1, optimizer.getCachedRowHeight ( 0 ) );
+                optimizer.optimizeRowHeight ();
+                assertEquals ( 80, optimizer.getCachedRowHeight ( 0 ) );
+
+                table.setColumnModel ( new JTable ( table.getModel () ).getColumnModel () );
+                assertEquals ( -1, optimizer.getCachedRowHeight ( 0 ) );
+                optimizer.optimizeRowHeight ();
+                assertEquals ( 40, optimizer.getCachedRowHeight ( 0 ) );
+
+                table.getColumnModel ().getColumn ( 0 ).setCellRenderer ( new HeightRenderer ( 3 ) );
+                assertEquals ( -1, optimizer.getCachedRowHeight ( 0 ) );
+                optimizer.optimizeRowHeight ();
+                assertEquals ( 60, optimizer.getCachedRowHeight ( 0 ) );
+
+                optimizer.invalidateRowHeights ();
+                assertEquals ( -1, optimizer.getCachedRowHeight ( 0 ) );
+
+                optimizer.uninstall ();
+            }
+        } );
+    }
+
+    /**
+     * Returns new {@link JTable} with two columns where only the first one is visible.
+     * Cells of the first column are 20px high and cells of the second column are 40px high.
+     *
+     * @return new {@link JTable} with two columns where only the first one is visible
+     */
+    private static JTable createTable ()
+    {
+        final JTable table = new JTable ( new DefaultTableModel ( new Object[][]{ { 20, 40 }, { 20, 40 } }, new Object[]{ "a", "b" } ) );
+        table.setDefaultRenderer ( Object.class, new HeightRenderer ( 1 ) );
+        table.setAutoResizeMode ( JTable.AUTO_RESIZE_OFF );
+        table.getColumnModel ().getColumn ( 0 ).setPreferredWidth ( 100 );
+        table.getColumnModel ().getColumn ( 1 ).setPreferredWidth ( 100 );
+        table.setRowHeight ( 10 );
+        table.setSize ( 200, 100 );
+
+        final JViewport viewport = new JViewport ();
+        viewport.setView ( table );
+        viewport.setBounds ( 0, 0, 50, 100 );
+        return table;
+    }
+
+    /**
+     * Returns {@link TableRowHeightOptimizer} installed into the specified {@link JTable}.
+     *
+     * @param table {@link JTable}
+     * @return {@link TableRowHeightOptimizer} installed into the specified {@link JTable}
+     */
+    private static TableRowHeightOptimizer install ( final JTable table )
+    {
+        assertEquals ( 50, table.getVisibleRect ().width );
+        final TableRowHeightOptimizer optimizer = new TableRowHeightOptimizer ( table );
+        optimizer.install ();
+        return optimizer;
+    }
+
+    /**
+     * Destroys {@link WebLookAndFeel}.
+     */
+    @AfterClass
+    public static void destroy ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                WebLookAndFeel.uninstall ();
+            }
+        } );
+    }
+
+    /**
+     * {@link TableCellRenderer} with preferred height equal to cell value multiplied by the specified factor.
+     */
+    private static final class HeightRenderer extends JComponent implements TableCellRenderer
+    {
+        /**
+         * Cell value multiplier.
+         */
+        private final int factor;
+
+        /**
+         * Constructs new {@link HeightRenderer}.
+         *
+         * @param factor cell value multiplier
+         */
+        public HeightRenderer ( final int factor )
+        {
+            this.factor = factor;
+        }
+
+        @Override
+        public Component getTableCellRendererComponent ( final JTable table, final Object value, final boolean isSelected,
+                                                         final boolean hasFocus, final int row, final int column )
+        {
+            setPreferredSize ( new Dimension ( 10, ( Integer ) value * factor ) );
+            return this;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.laf.table.renderers;
+
+import com.alee.laf.WebLookAndFeel;
+import com.alee.laf.table.TableCellParameters;
+import com.alee.utils.CoreSwingUtils;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import javax.swing.*;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import static org.junit.Assert.*;
+
+/**
+ * Set of JUnit tests for {@link WebTableCellRenderer} rendering parameters.
+ *
+ * @author Mikle Garin
+ * @see WebTableCellRenderer
+ * @see TableCellParameters
+ */
+@FixMethodOrder ( MethodSorters.JVM )
+public final class WebTableCellRendererTest
+{
+    /**
+     * Initializes {@link WebLookAndFeel}.
+     */
+    @BeforeClass
+    public static void initialize ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                WebLookAndFeel.install ();
+            }
+        } );
+    }
+
+    /**
+     * Tests that {@link TableCellParameters} cannot be modified.
+     */
+    @Test
+    public void immutableParameters ()
+    {
+        for ( final Field field : TableCellParameters.class.getDeclaredFields () )
+        {
+            assertTrue ( field.getName (), Modifier.isFinal ( field.getModifiers () ) );
+        }
+        for ( final Method method : TableCellParameters.class.getMethods () )
+        {
+            assertFalse ( method.getName (), method.getName ().equals ( "update" ) );
+        }
+    }
+
+    /**
+     * Tests that separate {@link TableCellParameters} are provided for each cell by default.
+     */
+    @Test
+    public void separateParameters ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                final JTable table = new JTable ( new String[][]{ { "first", "second" } }, new String[]{ "a", "b" } );
+                final WebTableCellRenderer<String, JTable, TableCellParameters<String, JTable>> renderer =
+                        new WebTableCellRenderer<String, JTable, TableCellParameters<String, JTable>> ();
+
+                final TableCellParameters<String, JTable> first = renderer.getRenderingParameters ( table, "first", true, false, 0, 0 );
+                final TableCellParameters<String, JTable> second = renderer.getRenderingParameters ( table, "second", false, true, 0, 1 );
+                assertNotSame ( first, second );
+                assertEquals ( TableCellParameters.class, first.getClass () );
+                assertParameters ( first, table, "first", 0, 0, true, false );
+                assertParameters ( second, table, "second", 0, 1, false, true );
+            }
+        } );
+    }
+
+    /**
+     * Tests that single {@link TableCellParameters} instance is reused for all cells in incremental mode.
+     */
+    @Test
+    public void incrementalParameters ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                final JTable table = new JTable ( new String[][]{ { "first", "second" } }, new String[]{ "a", "b" } );
+                final WebTableCellRenderer<String, JTable, TableCellParameters<String, JTable>> renderer =
+                        new WebTableCellRenderer<String, JTable, TableCellParameters<String, JTable>> ();
+                renderer.setIncremental ( true );
+
+                final TableCellParameters<String, JTable> first = renderer.getRenderingParameters ( table, "first", true, false, 0, 0 );
+                assertParameters ( first, table, "first", 0, 0, true, false );
+                final TableCellParameters<String, JTable> second = renderer.getRenderingParameters ( table, "second", false, true, 0, 1 );
+                assertSame ( first, second );
+                assertParameters ( second, table, "second", 0, 1, false, true );
+
+                assertSame ( renderer, renderer.getTableCellRendererComponent ( table, "first", false, false, 0, 0 ) );
+                assertSame ( renderer, renderer.getTableCellRendererComponent ( table, "second", true, false, 0, 1 ) );
+
+                renderer.setIncremental ( false );
+                final TableCellParameters<String, JTable> separate = renderer.getRenderingParameters ( table, "first", false, false, 0, 0 );
+                assertNotSame ( first, separate );
+                assertEquals ( TableCellParameters.class, separate.getClass () );
+            }
+        } );
+    }
+
+    /**
+     * Asserts that {@link TableCellParameters} contain specified values.
+     *
+     * @param parameters {@link TableCellParameters}
+     * @param table      expected {@link JTable}
+     * @param value      expected cell value
+     * @param row        expected cell row number
+     * @param column     expected cell column number
+     * @param selected   expected selection state
+     * @param focused    expected focus state
+     */
+    private static void assertParameters ( final TableCellParameters<String, JTable> parameters, final JTable table,
+                                           final String value, final int row, final int column,
+                                           final boolean selected, final boolean focused )
+    {
+        assertSame ( table, parameters.table () );
+        assertEquals ( value, parameters.value () );
+        assertEquals ( row, parameters.row () );
+        assertEquals ( column, parameters.column () );
+        assertEquals ( selected, parameters.isSelected () );
+        assertEquals ( focused, parameters.isFocused () );
+    }
+
+    /**
+     * Destroys {@link WebLookAndFeel}.
+     */
+    @AfterClass
+    public static void destroy ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                WebLookAndFeel.uninstall ();
+            }
+        } );
+    }
+}
@@ -0,0 +1,306 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.alee.managers.style;
+
+import com.alee.laf.WebLookAndFeel;
+import com.alee.managers.style.data.ComponentStyle;
+import com.alee.managers.style.data.SkinInfo;
+import com.alee.painter.decoration.Decorations;
+import com.alee.utils.CoreSwingUtils;
+import com.alee.utils.FileUtils;
+import org.junit.*;
+import org.junit.runners.MethodSorters;
+
+import java.awt.Insets;
+import java.io.*;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+import static org.junit.Assert.*;
+
+/**
+ * Set of JUnit tests for {@link CompiledSkinCache}.
+ *
+ * @author Mikle Garin
+ * @see CompiledSkinCache
+ */
+@FixMethodOrder ( MethodSorters.JVM )
+public final class CompiledSkinCacheTest
+{
+    /**
+     * Test skin XML location.
+     */
+    private static final String SKIN = "resources/cache-skin.xml";
+
+    /**
+     * Test skin styles XML location.
+     */
+    private static final String STYLES = "resources/cache-styles.xml";
+
+    /**
+     * Modification time set for compiled skin files to track whether or not they were rewritten.
+     */
+    private static final long MARKER = 1000000000000L;
+
+    /**
+     * Whether or not {@link TrapComparator} was used during deserialization.
+     */
+    private static volatile boolean trapped = false;
+
+    /**
+     * Directory compiled skins are stored in during the tests.
+     */
+    private static File directory;
+
+    /**
+     * Initializes {@link WebLookAndFeel} and {@link CompiledSkinCache}.
+     *
+     * @throws IOException if temporary directory cannot be created
+     */
+    @BeforeClass
+    public static void initialize () throws IOException
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                WebLookAndFeel.setForceSingleEventsThread ( true );
+                WebLookAndFeel.install ();
+            }
+        } );
+        directory = File.createTempFile ( "weblaf-skins", "" );
+        if ( !directory.delete () || !directory.mkdirs () )
+        {
+            throw new IOException ( "Unable to create directory: " + directory );
+        }
+        CompiledSkinCache.setDirectory ( directory );
+        CompiledSkinCache.setEnabled ( true );
+    }
+
+    /**
+     * Tests that compiled skin is written and then loaded instead of parsing skin XML.
+     */
+    @Test
+    public void roundTrip ()
+    {
+        CompiledSkinCache.clear ();
+        final SkinInfo parsed = CompiledSkinCache.load ( CompiledSkinCacheTest.class, SKIN );
+        final File file = getFile ();
+        assertTrue ( file.setLastModified ( MARKER ) );
+
+        final SkinInfo loaded = CompiledSkinCache.load ( CompiledSkinCacheTest.class, SKIN );
+        assertNotSame ( parsed, loaded );
+        assertEquals ( MARKER, file.lastModified () );
+        assertEquivalent ( parsed, loaded );
+        assertEquals ( "1,2,3,4", getPadding ( loaded ) );
+    }
+
+    /**
+     * Tests that compiled skin is ignored and rewritten when any of the skin XML files change.
+     *
+     * @throws IOException if skin XML cannot be modified
+     */
+    @Test
+    public void xmlChange () throws IOException
+    {
+        CompiledSkinCache.clear ();
+        CompiledSkinCache.load ( CompiledSkinCacheTest.class, SKIN );
+        final File file = getFile ();
+        assertTrue ( file.setLastModified ( MARKER ) );
+
+        final File styles = new File ( CompiledSkinCacheTest.class.getResource ( STYLES ).getFile () );
+        final String original = FileUtils.readToString ( styles );
+        try
+        {
+            FileUtils.writeStringToFile ( original.replace ( "padding=\"1,2,3,4\"", "padding=\"5,6,7,8\"" ), styles );
+            final SkinInfo changed = CompiledSkinCache.load ( CompiledSkinCacheTest.class, SKIN );
+            assertEquals ( "5,6,7,8", getPadding ( changed ) );
+            assertTrue ( file.lastModified () != MARKER );
+
+            assertTrue ( file.setLastModified ( MARKER ) );
+            final SkinInfo loaded = CompiledSkinCache.load ( CompiledSkinCacheTest.class, SKIN );
+            assertEquals ( MARKER, file.lastModified () );
+            assertEquals ( "5,6,7,8", getPadding ( loaded ) );
+        }
+        finally
+        {
+            FileUtils.writeStringToFile ( original, styles );
+        }
+    }
+
+    /**
+     * Tests that compiled skin containing classes that are not allowed is rejected before they are deserialized.
+     *
+     * @throws Exception if compiled skin cannot be tampered
+     */
+    @Test
+    public void tamperedFile () throws Exception
+    {
+        CompiledSkinCache.clear ();
+        final SkinInfo parsed = CompiledSkinCache.load ( CompiledSkinCacheTest.class, SKIN );
+        final File file = getFile ();
+
+        // Replacing skin with a different object while keeping valid header
+        final ByteArrayOutputStream tampered = new ByteArrayOutputStream ();
+        final ObjectInputStream ois = new ObjectInputStream ( new BufferedInputStream ( new FileInputStream ( file ) ) );
+        final ObjectOutputStream oos = new ObjectOutputStream ( tampered );
+        try
+        {
+            oos.writeInt ( ois.readInt () );
+            oos.writeUTF ( ois.readUTF () );
+            final int count = ois.readInt ();
+            oos.writeInt ( count );
+            for ( int i = 0; i < count; i++ )
+            {
+                oos.writeUTF ( ois.readUTF () );
+                final boolean hasClassName = ois.readBoolean ();
+                oos.writeBoolean ( hasClassName );
+                if ( hasClassName )
+                {
+                    oos.writeUTF ( ois.readUTF () );
+                }
+                oos.writeUTF ( ois.readUTF () );
+            }
+            oos.writeLong ( ois.readLong () );
+            final PriorityQueue<String> queue = new PriorityQueue<String> ( 2, new TrapComparator () );
+            queue.add ( "first" );
+            queue.add ( "second" );
+            trapped = false;
+            oos.writeObject ( queue );
+        }
+        finally
+        {
+            oos.close ();
+            ois.close ();
+        }
+        final OutputStream os = new FileOutputStream ( file );
+        try
+        {
+            os.write ( tampered.toByteArray () );
+        }
+        finally
+        {
+            os.close ();
+        }
+        assertTrue ( file.setLastModified ( MARKER ) );
+
+        // Tampered file must be rejected and rewritten
+        final SkinInfo loaded = CompiledSkinCache.load ( CompiledSkinCacheTest.class, SKIN );
+        assertFalse ( trapped );
+        assertEquivalent ( parsed, loaded );
+        assertTrue ( file.lastModified () != MARKER );
+    }
+
+    /**
+     * Asserts that specified {@link SkinInfo}s contain equal information.
+     *
+     * @param expected expected {@link SkinInfo}
+     * @param actual   actual {@link SkinInfo}
+     */
+    private static void assertEquivalent ( final SkinInfo expected, final SkinInfo actual )
+    {
+        assertEquals ( expected.getId (), actual.getId () );
+        assertEquals ( expected.getTitle (), actual.getTitle () );
+        assertEquals ( expected.getSkinClass (), actual.getSkinClass () );
+        assertEquals ( expected.getStyles ().size (), actual.getStyles ().size () );
+        for ( int i = 0; i < expected.getStyles ().size (); i++ )
+        {
+            final ComponentStyle e = expected.getStyles ().get ( i );
+            final ComponentStyle a = actual.getStyles ().get ( i );
+            assertEquals ( e.getCompleteId (), a.getCompleteId () );
+            assertEquals ( e.getType (), a.getType () );
+            assertEquals ( e.getComponentProperties (), a.getComponentProperties () );
+            assertEquals ( e.getUIProperties (), a.getUIProperties () );
+            assertEquals ( e.getPainterStyle ().getProperties ().keySet (), a.getPainterStyle ().getProperties ().keySet () );
+            final Object decorations = a.getPainterStyle ().getProperties ().get ( "decorations" );
+            assertTrue ( decorations instanceof Decorations );
+            assertEquals ( 1, ( ( Decorations ) decorations ).size () );
+        }
+    }
+
+    /**
+     * Returns padding of the test style in the specified {@link SkinInfo}.
+     *
+     * @param skinInfo {@link SkinInfo}
+     * @return padding of the test style in the specified {@link SkinInfo}
+     */
+    private static String getPadding ( final SkinInfo skinInfo )
+    {
+        final Object padding = skinInfo.getStyles ().get ( 0 ).getUIProperties ().get ( "padding" );
+        return padding instanceof Insets ? insets ( ( Insets ) padding ) : String.valueOf ( padding );
+    }
+
+    /**
+     * Returns text representation of the specified insets.
+     *
+     * @param insets insets
+     * @return text representation of the specified insets
+     */
+    private static String insets ( final Insets insets )
+    {
+        return insets.top + "," + insets.left + "," + insets.bottom + "," + insets.right;
+    }
+
+    /**
+     * Returns the only compiled skin file.
+     *
+     * @return the only compiled skin file
+     */
+    private static File getFile ()
+    {
+        final File[] files = directory.listFiles ();
+        assertNotNull ( files );
+        assertEquals ( 1, files.length );
+        return files[ 0 ];
+    }
+
+    /**
+     * Disables {@link CompiledSkinCache} and destroys {@link WebLookAndFeel}.
+     */
+    @AfterClass
+    public static void destroy ()
+    {
+        CompiledSkinCache.clear ();
+        CompiledSkinCache.setEnabled ( false );
+        CompiledSkinCache.setDirectory ( null );
+        FileUtils.deleteFile ( directory );
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                WebLookAndFeel.uninstall ();
+            }
+        } );
+    }
+
+    /**
+     * {@link Comparator} tracking whether or not it was used.
+     */
+    private static final class TrapComparator implements Comparator<String>, Serializable
+    {
+        @Override
+        public int compare ( final String first, final String second )
+        {
+            trapped = true;
+            return first.compareTo ( second );
+        }
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.managers.style.data;
+
+import com.alee.laf.WebLookAndFeel;
+import com.alee.skin.web.WebSkin;
+import com.alee.utils.CoreSwingUtils;
+import com.alee.utils.XmlUtils;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.lang.reflect.Method;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Set of JUnit tests for {@link SkinInfo} styles resolution.
+ *
+ * @author Mikle Garin
+ * @see SkinInfo
+ */
+@FixMethodOrder ( MethodSorters.JVM )
+public final class SkinInfoTest
+{
+    /**
+     * Initializes {@link WebLookAndFeel}.
+     */
+    @BeforeClass
+    public static void initialize ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                WebLookAndFeel.setForceSingleEventsThread ( true );
+                WebLookAndFeel.install ();
+            }
+        } );
+    }
+
+    /**
+     * Tests that styles resolved on demand are equal to styles resolved all at once.
+     * Styles are requested in reverse order to ensure that their dependencies are resolved on demand as well.
+     * That also includes styles nested into top-level styles of other types which can only be found by complete ID prefix.
+     *
+     * @throws Exception if styles cannot be resolved
+     */
+    @Test
+    public void lazyResolution () throws Exception
+    {
+        final Map<String, ComponentStyle> expected = new LinkedHashMap<String, ComponentStyle> ();
+        gatherStyles ( load ().getResolvedStyles (), expected );
+
+        final SkinInfo lazy = load ();
+        final List<String> keys = new ArrayList<String> ( expected.keySet () );
+        Collections.reverse ( keys );
+        int crossTypeNested = 0;
+        for ( final String key : keys )
+        {
+            final ComponentStyle style = expected.get ( key );
+            final ComponentStyle resolved = getResolvedStyle ( lazy, style.getType (), style.getCompleteId () );
+            assertNotNull ( key, resolved );
+            assertEquivalent ( key, style, resolved );
+            if ( !getRoot ( style ).getType ().equals ( style.getType () ) )
+            {
+                crossTypeNested++;
+            }
+        }
+        assertTrue ( crossTypeNested > 0 );
+        assertNull ( getResolvedStyle ( lazy, "button", "undefined" ) );
+    }
+
+    /**
+     * Tests that only styles required for the requested style are resolved.
+     *
+     * @throws Exception if styles cannot be resolved
+     */
+    @Test
+    public void alreadyResolvedStyles () throws Exception
+    {
+        final SkinInfo skinInfo = load ();
+        assertTrue ( skinInfo.getAlreadyResolvedStyles ().isEmpty () );
+
+        assertNotNull ( getResolvedStyle ( skinInfo, "button", "button" ) );
+        final List<ComponentStyle> resolved = skinInfo.getAlreadyResolvedStyles ();
+        assertFalse ( resolved.isEmpty () );
+        assertTrue ( resolved.size () < skinInfo.getStyles ().size () );
+
+        assertEquals ( skinInfo.getStyles ().size (), skinInfo.getResolvedStyles ().size () );
+        assertEquals ( skinInfo.getStyles (), skinInfo.getAlreadyResolvedStyles () );
+    }
+
+    /**
+     * Tests that only top-level styles that might contain styles of the specified types are resolved by type.
+     */
+    @Test
+    public void resolvedTypes () throws Exception
+    {
+        final SkinInfo skinInfo = load ();
+        skinInfo.resolveStyles ( Arrays.asList ( "popupmenu", "tooltip" ) );
+        final List<ComponentStyle> resolved = skinInfo.getAlreadyResolvedStyles ();
+        assertTrue ( resolved.size () < skinInfo.getStyles ().size () );
+
+        // All styles of the requested types are already resolved
+        final Map<String, ComponentStyle> styles = new LinkedHashMap<String, ComponentStyle> ();
+        gatherStyles ( resolved, styles );
+        final Map<String, ComponentStyle> expected = new LinkedHashMap<String, ComponentStyle> ();
+        gatherStyles ( load ().getResolvedStyles (), expected );
+        int count = 0;
+        for ( final Map.Entry<String, ComponentStyle> entry : expected.entrySet () )
+        {
+            final String type = entry.getValue ().getType ();
+            if ( type.equals ( "popupmenu" ) || type.equals ( "tooltip" ) )
+            {
+                assertTrue ( entry.getKey (), styles.containsKey ( entry.getKey () ) );
+                assertEquivalent ( entry.getKey (), entry.getValue (), styles.get ( entry.getKey () ) );
+                count++;
+            }
+        }
+        assertTrue ( count > 1 );
+    }
+
+    /**
+     * Asserts that specified styles and their nested styles contain equal information.
+     *
+     * @param key      style key
+     * @param expected expected style
+     * @param actual   actual style
+     */
+    private static void assertEquivalent ( final String key, final ComponentStyle expected, final ComponentStyle actual )
+    {
+        assertEquals ( key, expected.getType (), actual.getType () );
+        assertEquals ( key, expected.getCompleteId (), actual.getCompleteId () );
+        assertEquivalent ( key, expected.getComponentProperties (), actual.getComponentProperties () );
+        assertEquivalent ( key, expected.getUIProperties (), actual.getUIProperties () );
+        final PainterStyle expectedPainter = expected.getPainterStyle ();
+        final PainterStyle actualPainter = actual.getPainterStyle ();
+        if ( expectedPainter != null && actualPainter != null )
+        {
+            assertEquals ( key, expectedPainter.getPainterClass (), actualPainter.getPainterClass () );
+            assertEquivalent ( key, expectedPainter.getProperties (), actualPainter.getProperties () );
+        }
+        else
+        {
+            assertSame ( key, expectedPainter, actualPainter );
+        }
+        assertEquals ( key, expected.getStylesCount (), actual.getStylesCount () );
+        for ( int i = 0; i < expected.getStylesCount (); i++ )
+        {
+            assertEquivalent ( key, expected.getNestedStyles ().get ( i ), actual.getNestedStyles ().get ( i ) );
+        }
+    }
+
+    /**
+     * Asserts that specified style properties contain equal information.
+     * Values that are not comparable, like layouts, are expected to have the same type and XML representation.
+     *
+     * @param key      style key
+     * @param expected expected properties
+     * @param actual   actual properties
+     */
+    private static void assertEquivalent ( final String key, final Map<String, Object> expected, final Map<String, Object> actual )
+    {
+        assertEquals ( key, expected.keySet (), actual.keySet () );
+        for ( final Map.Entry<String, Object> entry : expected.entrySet () )
+        {
+            final Object expectedValue = entry.getValue ();
+            final Object actualValue = actual.get ( entry.getKey () );
+            if ( expectedValue == null || !expectedValue.equals ( actualValue ) )
+            {
+                assertNotNull ( key, expectedValue );
+                assertNotNull ( key, actualValue );
+                assertEquals ( key, expectedValue.getClass (), actualValue.getClass () );
+                assertEquals ( key, XmlUtils.toXML ( expectedValue ), XmlUtils.toXML ( actualValue ) );
+            }
+        }
+    }
+
+    /**
+     * Returns new {@link SkinInfo} of the {@link WebSkin}.
+     *
+     * @return new {@link SkinInfo} of the {@link WebSkin}
+     */
+    private static SkinInfo load ()
+    {
+        return XmlUtils.fromXML ( WebSkin.class.getResource ( "resources/skin.xml" ) );
+    }
+
+    /**
+     * Collects all specified styles and their nested styles the same way they were cached when all styles were resolved at once.
+     *
+     * @param styles styles to collect
+     * @param cache  map to collect styles into
+     */
+    private static void gatherStyles ( final List<ComponentStyle> styles, final Map<String, ComponentStyle> cache )
+    {
+        for ( final ComponentStyle style : styles )
+        {
+            cache.put ( style.getType () + ":" + style.getCompleteId (), style );
+            if ( style.getStylesCount () > 0 )
+            {
+                gatherStyles ( style.getNestedStyles (), cache );
+            }
+        }
+    }
+
+    /**
+     * Returns top-level style the specified style is nested into or the style itself if it is a top-level one.
+     *
+     * @param style style
+     * @return top-level style the specified style is nested into or the style itself if it is a top-level one
+     */
+    private static ComponentStyle getRoot ( final ComponentStyle style )
+    {
+        ComponentStyle root = style;
+        while ( root.getParent () != null )
+        {
+            root = root.getParent ();
+        }
+        return root;
+    }
+
+    /**
+     * Returns style resolved on demand by the specified {@link SkinInfo}.
+     *
+     * @param skinInfo   {@link SkinInfo}
+     * @param type       component type
+     * @param completeId complete style ID
+     * @return style resolved on demand by the specified {@link SkinInfo}
+     * @throws Exception if style cannot be resolved
+     */
+    private static ComponentStyle getResolvedStyle ( final SkinInfo skinInfo, final String type, final String completeId )
+            throws Exception
+    {
+        final Method method = SkinInfo.class.getDeclaredMethod ( "getResolvedStyle", String.class, String.class );
+        method.setAccessible ( true );
+        return ( ComponentStyle ) method.invoke ( skinInfo, type, completeId );
+    }
+
+    /**
+     * Destroys {@link WebLookAndFeel}.
+     */
+    @AfterClass
+    public static void destroy ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                WebLookAndFeel.uninstall ();
+            }
+        } );
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.alee.painter;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.managers.style.Bounds;
+import com.alee.utils.CoreSwingUtils;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import javax.swing.*;
+import javax.swing.plaf.ComponentUI;
+import java.awt.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Set of JUnit tests for {@link AbstractPainter} preferred size caching checks.
+ *
+ * @author Mikle Garin
+ * @see AbstractPainter
+ */
+@FixMethodOrder ( MethodSorters.JVM )
+public final class AbstractPainterTest
+{
+    /**
+     * Tests that declaring class checks are performed separately for each method.
+     */
+    @Test
+    public void declaredByMethod ()
+    {
+        assertTrue ( AbstractPainter.isDeclaredBy ( SizedPainter.class, "isOpaque", AbstractPainter.class ) );
+        assertFalse ( AbstractPainter.isDeclaredBy ( SizedPainter.class, "getPreferredSize", AbstractPainter.class ) );
+        assertTrue ( AbstractPainter.isDeclaredBy ( SizedPainter.class, "isOpaque", AbstractPainter.class ) );
+        assertTrue ( AbstractPainter.isDeclaredBy ( SizedPainter.class, "getPreferredSize", SizedPainter.class ) );
+        assertFalse ( AbstractPainter.isDeclaredBy ( SizedPainter.class, "undefinedMethod", AbstractPainter.class ) );
+    }
+
+    /**
+     * Tests that declaring class checks are performed separately for each declaring class.
+     */
+    @Test
+    public void declaredByClass ()
+    {
+        assertTrue ( AbstractPainter.isDeclaredBy ( SimplePainter.class, "getPreferredSize", AbstractPainter.class ) );
+        assertFalse ( AbstractPainter.isDeclaredBy ( SimplePainter.class, "getPreferredSize", SimplePainter.class ) );
+        assertTrue ( AbstractPainter.isDeclaredBy ( SimplePainter.class, "getPreferredSize", AbstractPainter.class ) );
+    }
+
+    /**
+     * Tests that component classes checks are independent from painter classes checks.
+     */
+    @Test
+    public void firingPropertyChanges ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                assertTrue ( AbstractPainter.isFiringPropertyChanges ( new JLabel () ) );
+                assertFalse ( AbstractPainter.isFiringPropertyChanges ( new DefaultListCellRenderer () ) );
+                assertTrue ( AbstractPainter.isDeclaredBy ( SimplePainter.class, "getPreferredSize", AbstractPainter.class ) );
+                assertTrue ( AbstractPainter.isFiringPropertyChanges ( new JLabel () ) );
+                assertFalse ( AbstractPainter.isFiringPropertyChanges ( new DefaultListCellRenderer () ) );
+            }
+        } );
+    }
+
+    /**
+     * Painter that inherits {@link AbstractPainter#getPreferredSize()}.
+     */
+    public static class SimplePainter extends AbstractPainter<JComponent, ComponentUI>
+    {
+        @Override
+        public void paint ( @NotNull final Graphics2D g2d, @NotNull final JComponent c, @NotNull final ComponentUI ui,
+                            @NotNull final Bounds bounds )
+        {
+            // Nothing to paint
+        }
+    }
+
+    /**
+     * Painter that overrides {@link AbstractPainter#getPreferredSize()}.
+     */
+    public static final class SizedPainter extends SimplePainter
+    {
+        @NotNull
+        @Override
+        public Dimension getPreferredSize ()
+        {
+            return new Dimension ( 10, 10 );
+        }
+    }
+}
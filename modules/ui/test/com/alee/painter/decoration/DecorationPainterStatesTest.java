@@ -0,0 +1,146 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.alee.painter.decoration;
+
+import com.alee.laf.panel.PanelPainter;
+import com.alee.laf.panel.WPanelUI;
+import com.alee.utils.CollectionUtils;
+import com.alee.utils.ReflectUtils;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import javax.swing.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Set of JUnit tests ensuring that {@link AbstractDecorationPainter#usesState(String)} respects {@link IDecoration#usesState(String)}.
+ *
+ * @author Mikle Garin
+ * @see AbstractDecorationPainter
+ */
+@FixMethodOrder ( MethodSorters.JVM )
+public final class DecorationPainterStatesTest
+{
+    /**
+     * Custom decoration state that is not listed in decoration states.
+     */
+    private static final String CUSTOM_STATE = "customTestState";
+
+    /**
+     * Checks states listed in decorations.
+     *
+     * @throws Exception if decorations cannot be created
+     */
+    @Test
+    public void listedStates () throws Exception
+    {
+        final PanelPainter<JPanel, WPanelUI<JPanel>, TestDecoration> painter = createPainter (
+                new TestDecoration ( DecorationState.hover ),
+                new TestDecoration ( DecorationState.disabled )
+        );
+        assertTrue ( painter.usesState ( DecorationState.hover ) );
+        assertTrue ( painter.usesState ( DecorationState.disabled ) );
+        assertFalse ( painter.usesState ( DecorationState.focused ) );
+        assertFalse ( painter.usesState ( CUSTOM_STATE ) );
+
+        // Cached results must stay the same
+        assertTrue ( painter.usesState ( DecorationState.hover ) );
+        assertFalse ( painter.usesState ( DecorationState.focused ) );
+    }
+
+    /**
+     * Checks states reported only by overridden {@link IDecoration#usesState(String)}.
+     *
+     * @throws Exception if decorations cannot be created
+     */
+    @Test
+    public void overriddenStates () throws Exception
+    {
+        final PanelPainter<JPanel, WPanelUI<JPanel>, TestDecoration> painter = createPainter (
+                new TestDecoration ( DecorationState.hover ),
+                new CustomStateDecoration ()
+        );
+        assertFalse ( painter.usesState ( DecorationState.focused ) );
+        assertTrue ( painter.usesState ( CUSTOM_STATE ) );
+        assertTrue ( painter.usesState ( DecorationState.hover ) );
+        assertTrue ( painter.usesState ( CUSTOM_STATE ) );
+        assertFalse ( painter.usesState ( DecorationState.focused ) );
+    }
+
+    /**
+     * Checks painter without decorations.
+     */
+    @Test
+    public void noDecorations ()
+    {
+        final PanelPainter<JPanel, WPanelUI<JPanel>, TestDecoration> painter =
+                new PanelPainter<JPanel, WPanelUI<JPanel>, TestDecoration> ();
+        assertFalse ( painter.usesState ( DecorationState.hover ) );
+        assertFalse ( painter.usesState ( CUSTOM_STATE ) );
+    }
+
+    /**
+     * Returns new {@link PanelPainter} using specified decorations.
+     *
+     * @param decorations decorations
+     * @return new {@link PanelPainter} using specified decorations
+     * @throws Exception if decorations cannot be created
+     */
+    private PanelPainter<JPanel, WPanelUI<JPanel>, TestDecoration> createPainter ( final TestDecoration... decorations )
+            throws Exception
+    {
+        final Decorations<JPanel, TestDecoration> list = new Decorations<JPanel, TestDecoration> ();
+        ReflectUtils.setFieldValue ( list, "decorations", CollectionUtils.asList ( decorations ) );
+        final PanelPainter<JPanel, WPanelUI<JPanel>, TestDecoration> painter =
+                new PanelPainter<JPanel, WPanelUI<JPanel>, TestDecoration> ();
+        painter.decorations = list;
+        return painter;
+    }
+
+    /**
+     * Decoration with specified states.
+     */
+    private static class TestDecoration extends WebDecoration<JPanel, TestDecoration>
+    {
+        /**
+         * Constructs new {@link TestDecoration}.
+         *
+         * @param states decoration states
+         */
+        public TestDecoration ( final String... states )
+        {
+            super ();
+            this.states = CollectionUtils.asList ( states );
+        }
+    }
+
+    /**
+     * Decoration reporting {@link #CUSTOM_STATE} usage without listing it in its states.
+     */
+    private static final class CustomStateDecoration extends TestDecoration
+    {
+        @Override
+        public boolean usesState ( final String state )
+        {
+            return CUSTOM_STATE.equals ( state ) || super.usesState ( state );
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.painter.decoration.content;
+
+import com.alee.api.annotations.NotNull;
+import org.junit.After;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.awt.*;
+import java.awt.font.GlyphVector;
+import java.awt.font.TextAttribute;
+import java.awt.image.BufferedImage;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+/**
+ * Set of JUnit tests for {@link GlyphVectorCache}.
+ *
+ * @author Mikle Garin
+ * @see GlyphVectorCache
+ */
+@FixMethodOrder ( MethodSorters.JVM )
+public final class GlyphVectorCacheTest
+{
+    /**
+     * Disables and clears cache after each test.
+     */
+    @After
+    public void cleanup ()
+    {
+        GlyphVectorCache.setCapacity ( 0 );
+        GlyphVectorCache.clear ();
+        GlyphVectorCache.resetStatistics ();
+    }
+
+    /**
+     * Tests that cache is disabled by default.
+     */
+    @Test
+    public void disabledByDefault ()
+    {
+        assertEquals ( 0, GlyphVectorCache.getCapacity () );
+
+        final Graphics2D g2d = createGraphics ();
+        assertNull ( GlyphVectorCache.getGlyphVector ( g2d, "text" ) );
+        GlyphVectorCache.drawString ( g2d, "text", 0, 10 );
+        assertEquals ( 0, GlyphVectorCache.getSize () );
+        assertEquals ( 0, GlyphVectorCache.getMemoryUsage () );
+        g2d.dispose ();
+    }
+
+    /**
+     * Tests that only text without complex layout is cached.
+     */
+    @Test
+    public void simpleText ()
+    {
+        GlyphVectorCache.setCapacity ( 10 );
+        final Graphics2D g2d = createGraphics ();
+
+        final GlyphVector glyphs = GlyphVectorCache.getGlyphVector ( g2d, "Simple text" );
+        assertNotNull ( glyphs );
+        assertSame ( glyphs, GlyphVectorCache.getGlyphVector ( g2d, "Simple text" ) );
+        assertNotNull ( GlyphVectorCache.getGlyphVector ( g2d, "" ) );
+        assertEquals ( 1, GlyphVectorCache.getHits () );
+        assertEquals ( 2, GlyphVectorCache.getMisses () );
+
+        assertNull ( GlyphVectorCache.getGlyphVector ( g2d, "\u05E9\u05DC\u05D5\u05DD" ) );
+        assertNull ( GlyphVectorCache.getGlyphVector ( g2d, "e\u0301" ) );
+        assertNull ( GlyphVectorCache.getGlyphVector ( g2d, "\uD83D\uDE00" ) );
+        assertNull ( GlyphVectorCache.getGlyphVector ( g2d, "text \u4E2D\u6587" ) );
+
+        g2d.setFont ( g2d.getFont ().deriveFont ( Collections.singletonMap ( TextAttribute.KERNING, TextAttribute.KERNING_ON ) ) );
+        assertNull ( GlyphVectorCache.getGlyphVector ( g2d, "Simple text" ) );
+
+        assertEquals ( 2, GlyphVectorCache.getSize () );
+        g2d.dispose ();
+    }
+
+    /**
+     * Tests that least recently used glyph vectors are evicted once capacity is exceeded.
+     */
+    @Test
+    public void eviction ()
+    {
+        GlyphVectorCache.setCapacity ( 3 );
+        final Graphics2D g2d = createGraphics ();
+
+        final GlyphVector a = GlyphVectorCache.getGlyphVector ( g2d, "a" );
+        final GlyphVector b = GlyphVectorCache.getGlyphVector ( g2d, "b" );
+        final GlyphVector c = GlyphVectorCache.getGlyphVector ( g2d, "c" );
+        assertSame ( a, GlyphVectorCache.getGlyphVector ( g2d, "a" ) );
+        final GlyphVector d = GlyphVectorCache.getGlyphVector ( g2d, "d" );
+        assertEquals ( 3, GlyphVectorCache.getSize () );
+
+        assertSame ( a, GlyphVectorCache.getGlyphVector ( g2d, "a" ) );
+        assertSame ( c, GlyphVectorCache.getGlyphVector ( g2d, "c" ) );
+        assertSame ( d, GlyphVectorCache.getGlyphVector ( g2d, "d" ) );
+        assertNotSame ( b, GlyphVectorCache.getGlyphVector ( g2d, "b" ) );
+        assertEquals ( 3, GlyphVectorCache.getSize () );
+
+        GlyphVectorCache.setCapacity ( 1 );
+        assertEquals ( 1, GlyphVectorCache.getSize () );
+        final GlyphVector last = GlyphVectorCache.getGlyphVector ( g2d, "b" );
+        assertSame ( last, GlyphVectorCache.getGlyphVector ( g2d, "b" ) );
+        assertEquals ( 1, GlyphVectorCache.getSize () );
+
+        GlyphVectorCache.setCapacity ( 0 );
+        assertEquals ( 0, GlyphVectorCache.getSize () );
+        assertNull ( GlyphVectorCache.getGlyphVector ( g2d, "b" ) );
+        g2d.dispose ();
+    }
+
+    /**
+     * Tests that memory usage follows cached glyph vectors through caching, eviction and clearing.
+     */
+    @Test
+    public void memoryAccounting ()
+    {
+        GlyphVectorCache.setCapacity ( 2 );
+        final Graphics2D g2d = createGraphics ();
+        assertEquals ( 0, GlyphVectorCache.getMemoryUsage () );
+
+        final long first = getMemoryUsage ( g2d, "first" );
+        GlyphVectorCache.getGlyphVector ( g2d, "first" );
+        assertEquals ( first, GlyphVectorCache.getMemoryUsage () );
+        GlyphVectorCache.getGlyphVector ( g2d, "first" );
+        assertEquals ( first, GlyphVectorCache.getMemoryUsage () );
+
+        final long second = getMemoryUsage ( g2d, "second text" );
+        GlyphVectorCache.getGlyphVector ( g2d, "second text" );
+        assertEquals ( first + second, GlyphVectorCache.getMemoryUsage () );
+
+        final long third = getMemoryUsage ( g2d, "3" );
+        GlyphVectorCache.getGlyphVector ( g2d, "3" );
+        assertEquals ( second + third, GlyphVectorCache.getMemoryUsage () );
+
+        GlyphVectorCache.setCapacity ( 1 );
+        assertEquals ( third, GlyphVectorCache.getMemoryUsage () );
+
+        GlyphVectorCache.clear ();
+        assertEquals ( 0, GlyphVectorCache.getSize () );
+        assertEquals ( 0, GlyphVectorCache.getMemoryUsage () );
+        g2d.dispose ();
+    }
+
+    /**
+     * Returns expected memory usage of the cached glyph vector for the specified text.
+     *
+     * @param g2d  graphics context
+     * @param text cached text
+     * @return expected memory usage of the cached glyph vector for the specified text
+     */
+    private static long getMemoryUsage ( @NotNull final Graphics2D g2d, @NotNull final String text )
+    {
+        final int glyphs = g2d.getFont ().createGlyphVector ( g2d.getFontRenderContext (), text ).getNumGlyphs ();
+        return 200 + text.length () * 2L + glyphs * 12L;
+    }
+
+    /**
+     * Returns new graphics context with default font.
+     *
+     * @return new graphics context with default font
+     */
+    @NotNull
+    private static Graphics2D createGraphics ()
+    {
+        final Graphics2D g2d = new BufferedImage ( 10, 10, BufferedImage.TYPE_INT_ARGB ).createGraphics ();
+        g2d.setFont ( new Font ( Font.DIALOG, Font.PLAIN, 12 ) );
+        return g2d;
+    }
+}
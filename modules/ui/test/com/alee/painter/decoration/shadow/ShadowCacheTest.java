@@ -0,0 +1,198 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.alee.painter.decoration.shadow;
+
+import com.alee.laf.WebLookAndFeel;
+import com.alee.laf.button.WebButton;
+import com.alee.managers.style.StyleManager;
+import com.alee.managers.style.XmlSkin;
+import com.alee.managers.style.data.ComponentStyle;
+import com.alee.managers.style.data.SkinInfo;
+import com.alee.painter.decoration.shape.Round;
+import com.alee.utils.CoreSwingUtils;
+import com.alee.utils.SystemUtils;
+import com.alee.utils.ninepatch.NinePatchIcon;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Map;
+import java.lang.ref.WeakReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * Set of JUnit tests for {@link ShadowCache} and shadows cached in it.
+ *
+ * @author Mikle Garin
+ * @see ShadowCache
+ * @see ShadowKey
+ */
+@FixMethodOrder ( MethodSorters.JVM )
+public final class ShadowCacheTest
+{
+    /**
+     * Initializes {@link WebLookAndFeel}.
+     */
+    @BeforeClass
+    public static void initialize ()
+    {
+        if ( !SystemUtils.isHeadlessEnvironment () )
+        {
+            CoreSwingUtils.invokeAndWait ( new Runnable ()
+            {
+                @Override
+                public void run ()
+                {
+                    WebLookAndFeel.install ();
+                }
+            } );
+        }
+    }
+
+    /**
+     * Tests {@link ShadowKey} equality.
+     */
+    @Test
+    public void keys ()
+    {
+        final ShadowKey key = new ShadowKey ( WebShadow.class, ShadowType.outer, 0, 0, 5, 0.5f, Color.BLACK, new Round ( 3, 3, 3, 3 ) );
+        final ShadowKey same = new ShadowKey ( WebShadow.class, ShadowType.outer, 0, 0, 5, 0.5f, Color.BLACK, new Round ( 3, 3, 3, 3 ) );
+        assertEquals ( key, same );
+        assertEquals ( key.hashCode (), same.hashCode () );
+        assertNotEquals ( key, new ShadowKey ( WebShadow.class, ShadowType.inner, 0, 0, 5, 0.5f, Color.BLACK, new Round ( 3, 3, 3, 3 ) ) );
+        assertNotEquals ( key, new ShadowKey ( WebShadow.class, ShadowType.outer, 0, 0, 5, 0.6f, Color.BLACK, new Round ( 3, 3, 3, 3 ) ) );
+        assertNotEquals ( key, new ShadowKey ( WebShadow.class, ShadowType.outer, 0, 0, 5, 0.5f, Color.BLACK, new Round ( 4, 4, 4, 4 ) ) );
+        assertNotEquals ( key, new ShadowKey ( ExpandingShadow.class, ShadowType.outer, 0, 0, 5, 0.5f, Color.BLACK, new Round ( 3, 3, 3, 3 ) ) );
+    }
+
+    /**
+     * Tests shadow images caching.
+     */
+    @Test
+    public void images ()
+    {
+        ShadowCache.clear ();
+        final Rectangle bounds = new Rectangle ( 0, 0, 40, 30 );
+        final Shape shape = new Rectangle ( 5, 5, 30, 20 );
+        final BufferedImage image = WebShadow.getShadowImage ( bounds, 5, 0.5f, Color.BLACK, shape, 1 );
+        assertSame ( image, WebShadow.getShadowImage ( bounds, 5, 0.5f, Color.BLACK, shape, 1 ) );
+        assertNotSame ( image, WebShadow.getShadowImage ( bounds, 5, 0.5f, Color.BLACK, shape, 2 ) );
+        assertNotSame ( image, WebShadow.getInnerShadowImage ( bounds, 5, 0.5f, Color.BLACK, shape, 1 ) );
+        assertEquals ( 3, ShadowCache.getImagesCache ().getStatistics ().getSize () );
+
+        ShadowCache.clear ();
+        assertNotSame ( image, WebShadow.getShadowImage ( bounds, 5, 0.5f, Color.BLACK, shape, 1 ) );
+    }
+
+    /**
+     * Tests deprecated shadow cache fields.
+     */
+    @Test
+    @SuppressWarnings ( "deprecation" )
+    public void legacyCaches ()
+    {
+        final Rectangle bounds = new Rectangle ( 0, 0, 40, 30 );
+        final Shape shape = new Rectangle ( 5, 5, 30, 20 );
+        WebShadow.getShadowImage ( bounds, 5, 0.5f, Color.BLACK, shape, 1 );
+        assertTrue ( ShadowCache.getImagesCache ().getStatistics ().getSize () > 0 );
+
+        final Map<String, WeakReference<BufferedImage>> legacy = WebShadow.shadowImagesCache;
+        assertTrue ( legacy.isEmpty () );
+        legacy.put ( "key", new WeakReference<BufferedImage> ( new BufferedImage ( 1, 1, BufferedImage.TYPE_INT_ARGB ) ) );
+        assertTrue ( legacy.isEmpty () );
+        legacy.clear ();
+        assertEquals ( 0, ShadowCache.getImagesCache ().getStatistics ().getSize () );
+
+        final Map<String, WeakReference<NinePatchIcon>> legacyIcons = WebShadow.shadowIconsCache;
+        assertTrue ( legacyIcons.isEmpty () );
+        legacyIcons.clear ();
+        assertEquals ( 0, ShadowCache.getIconsCache ().getStatistics ().getSize () );
+    }
+
+    /**
+     * Tests that shadows of the skin styles used by components and of the popup styles are pre-baked on the Event Dispatch Thread.
+     */
+    @Test
+    public void prebake ()
+    {
+        if ( !SystemUtils.isHeadlessEnvironment () )
+        {
+            ShadowCache.clear ();
+            CoreSwingUtils.invokeAndWait ( new Runnable ()
+            {
+                @Override
+                public void run ()
+                {
+                    new WebButton ();
+                    ShadowCache.prebake ( StyleManager.getSkin () );
+                    assertTrue ( ShadowCache.isPrebaking () );
+
+                    // Popup menu styles are resolved for pre-baking even though there are no popup menus yet
+                    boolean popupmenu = false;
+                    final SkinInfo skinInfo = ( ( XmlSkin ) StyleManager.getSkin () ).getSkinInfo ();
+                    for ( final ComponentStyle style : skinInfo.getAlreadyResolvedStyles () )
+                    {
+                        popupmenu |= style.getType ().equals ( "popupmenu" );
+                    }
+                    assertTrue ( popupmenu );
+                }
+            } );
+            final long deadline = System.currentTimeMillis () + 30000;
+            final boolean[] prebaking = { true };
+            while ( prebaking[ 0 ] && System.currentTimeMillis () < deadline )
+            {
+                CoreSwingUtils.invokeAndWait ( new Runnable ()
+                {
+                    @Override
+                    public void run ()
+                    {
+                        prebaking[ 0 ] = ShadowCache.isPrebaking ();
+                    }
+                } );
+            }
+            assertFalse ( prebaking[ 0 ] );
+            assertTrue ( ShadowCache.getIconsCache ().getStatistics ().getSize () > 0 );
+        }
+    }
+
+    /**
+     * Destroys {@link WebLookAndFeel}.
+     */
+    @AfterClass
+    public static void destroy ()
+    {
+        if ( !SystemUtils.isHeadlessEnvironment () )
+        {
+            CoreSwingUtils.invokeAndWait ( new Runnable ()
+            {
+                @Override
+                public void run ()
+                {
+                    ShadowCache.cancelPrebake ();
+                    WebLookAndFeel.uninstall ();
+                }
+            } );
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.painter.metrics;
+
+import com.alee.api.annotations.NotNull;
+import com.alee.laf.WebLookAndFeel;
+import com.alee.laf.label.WebLabel;
+import com.alee.managers.style.StyleId;
+import com.alee.painter.AbstractPainterTest;
+import com.alee.painter.Painter;
+import com.alee.utils.CoreSwingUtils;
+import org.junit.BeforeClass;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Set of JUnit tests for {@link PaintMetrics}.
+ *
+ * @author Mikle Garin
+ * @see PaintMetrics
+ */
+@FixMethodOrder ( MethodSorters.JVM )
+public final class PaintMetricsTest
+{
+    /**
+     * Initializes {@link WebLookAndFeel}.
+     */
+    @BeforeClass
+    public static void initialize ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                WebLookAndFeel.setForceSingleEventsThread ( true );
+                WebLookAndFeel.install ();
+            }
+        } );
+    }
+
+    /**
+     * Tests paint timings recorded per painter class.
+     */
+    @Test
+    public void painterStatistics ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                PaintMetrics.reset ();
+                final WebLabel label = new WebLabel ();
+                final Painter painter = new AbstractPainterTest.SimplePainter ();
+                PaintMetrics.record ( label, painter, 1000, 10, false );
+                PaintMetrics.record ( label, painter, 2000, 20, false );
+
+                final List<PaintStatistics> statistics = PaintMetrics.getPainterStatistics ();
+                assertEquals ( 1, statistics.size () );
+                assertEquals ( AbstractPainterTest.SimplePainter.class.getName (), statistics.get ( 0 ).getName () );
+                assertEquals ( 2, statistics.get ( 0 ).getCount () );
+                assertEquals ( 3000, statistics.get ( 0 ).getTotalTime () );
+                assertEquals ( 30, statistics.get ( 0 ).getAllocatedBytes () );
+                assertTrue ( PaintMetrics.getStyleStatistics ().isEmpty () );
+
+                PaintMetrics.reset ();
+                assertTrue ( PaintMetrics.getPainterStatistics ().isEmpty () );
+            }
+        } );
+    }
+
+    /**
+     * Tests paint timings recorded per style identifier, including style identifier changes.
+     */
+    @Test
+    public void styleStatistics ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                PaintMetrics.reset ();
+                final WebLabel label = new WebLabel ();
+                final WebLabel other = new WebLabel ();
+                final Painter painter = new AbstractPainterTest.SimplePainter ();
+                PaintMetrics.record ( label, painter, 1000, -1, true );
+                PaintMetrics.record ( other, painter, 1000, -1, true );
+                assertStyle ( "label:label", 2, 2000 );
+
+                label.setStyleId ( StyleId.labelShadow );
+                PaintMetrics.record ( label, painter, 3000, -1, true );
+                assertStyle ( "label:shadow", 1, 3000 );
+                assertStyle ( "label:label", 2, 2000 );
+
+                PaintMetrics.reset ();
+                PaintMetrics.record ( label, painter, 1000, -1, true );
+                assertStyle ( "label:shadow", 1, 1000 );
+                PaintMetrics.reset ();
+            }
+        } );
+    }
+
+    /**
+     * Tests that allocated memory tracking and repeated recording do not allocate memory within measured interval.
+     */
+    @Test
+    public void allocationOverhead ()
+    {
+        CoreSwingUtils.invokeAndWait ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                final boolean enabled = PaintMetrics.isEnabled ();
+                PaintMetrics.setEnabled ( true );
+                try
+                {
+                    PaintMetrics.reset ();
+                    if ( PaintMetrics.getAllocatedBytes () >= 0 )
+                    {
+                        assertEquals ( 0, PaintMetrics.getAllocatedBytes ( PaintMetrics.getAllocatedBytes () ) );
+
+                        final WebLabel label = new WebLabel ();
+                        final Painter painter = new AbstractPainterTest.SimplePainter ();
+                        PaintMetrics.record ( label, painter, 1000, 0, true );
+                        final long bytes = PaintMetrics.getAllocatedBytes ();
+                        PaintMetrics.record ( label, painter, 1000, 0, true );
+                        assertEquals ( 0, PaintMetrics.getAllocatedBytes ( bytes ) );
+                    }
+                    else
+                    {
+                        assertEquals ( -1, PaintMetrics.getAllocatedBytes ( PaintMetrics.getAllocatedBytes () ) );
+                    }
+                    assertEquals ( -1, PaintMetrics.getAllocatedBytes ( -1 ) );
+                }
+                finally
+                {
+                    PaintMetrics.setEnabled ( enabled );
+                    PaintMetrics.reset ();
+                }
+            }
+        } );
+    }
+
+    /**
+     * Asserts that statistics are recorded for the specified style identifier.
+     *
+     * @param name      expected statistics name
+     * @param count     expected paint operations count
+     * @param totalTime expected total paint time
+     */
+    private static void assertStyle ( @NotNull final String name, final long count, final long totalTime )
+    {
+        PaintStatistics found = null;
+        for ( final PaintStatistics statistics : PaintMetrics.getStyleStatistics () )
+        {
+            if ( statistics.getName ().equals ( name ) )
+            {
+                found = statistics;
+            }
+        }
+        assertNotNull ( "Missing style statistics: " + name, found );
+        assertEquals ( count, found.getCount () );
+        assertEquals ( totalTime, found.getTotalTime () );
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.alee.utils.ninepatch;
+
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+import static org.junit.Assert.*;
+
+/**
+ * Set of JUnit tests for {@link NinePatchIcon} rendered images cache.
+ *
+ * @author Mikle Garin
+ * @see NinePatchIcon
+ */
+@FixMethodOrder ( MethodSorters.JVM )
+public final class NinePatchIconTest
+{
+    /**
+     * Tests that rendered images are cached separately for different interpolation hints.
+     */
+    @Test
+    public void interpolation ()
+    {
+        final NinePatchIcon icon = createIcon ( Color.RED );
+        icon.setRenderCacheCapacity ( 1024 * 1024 );
+
+        paint ( icon, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR );
+        paint ( icon, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR );
+        assertEquals ( 1, icon.getRenderCache ().getStatistics ().getSize () );
+
+        paint ( icon, RenderingHints.VALUE_INTERPOLATION_BILINEAR );
+        assertEquals ( 2, icon.getRenderCache ().getStatistics ().getSize () );
+
+        paint ( icon, null );
+        assertEquals ( 3, icon.getRenderCache ().getStatistics ().getSize () );
+    }
+
+    /**
+     * Tests that rendered images are updated after raw image is modified in place and icon is invalidated.
+     */
+    @Test
+    public void invalidate ()
+    {
+        final NinePatchIcon icon = createIcon ( Color.RED );
+        icon.setRenderCacheCapacity ( 1024 * 1024 );
+        assertEquals ( Color.RED.getRGB (), paint ( icon, null ).getRGB ( 10, 10 ) );
+
+        final BufferedImage raw = icon.getRawImage ();
+        for ( int x = 0; x < raw.getWidth (); x++ )
+        {
+            for ( int y = 0; y < raw.getHeight (); y++ )
+            {
+                raw.setRGB ( x, y, Color.BLUE.getRGB () );
+            }
+        }
+        icon.invalidate ();
+        assertEquals ( 0, icon.getRenderCache ().getStatistics ().getSize () );
+        assertEquals ( Color.BLUE.getRGB (), paint ( icon, null ).getRGB ( 10, 10 ) );
+    }
+
+    /**
+     * Tests that rendered images are dropped when stretch intervals change.
+     */
+    @Test
+    public void stretchChange ()
+    {
+        final NinePatchIcon icon = createIcon ( Color.RED );
+        icon.setRenderCacheCapacity ( 1024 * 1024 );
+        paint ( icon, null );
+        assertEquals ( 1, icon.getRenderCache ().getStatistics ().getSize () );
+
+        icon.addHorizontalStretch ( 1, 1, false );
+        assertEquals ( 0, icon.getRenderCache ().getStatistics ().getSize () );
+    }
+
+    /**
+     * Returns new {@link NinePatchIcon} filled with the specified color and stretchable in the middle.
+     *
+     * @param color icon color
+     * @return new {@link NinePatchIcon} filled with the specified color and stretchable in the middle
+     */
+    private NinePatchIcon createIcon ( final Color color )
+    {
+        final BufferedImage image = new BufferedImage ( 7, 7, BufferedImage.TYPE_INT_ARGB );
+        for ( int x = 1; x < 6; x++ )
+        {
+            for ( int y = 1; y < 6; y++ )
+            {
+                image.setRGB ( x, y, color.getRGB () );
+            }
+        }
+        image.setRGB ( 3, 0, Color.BLACK.getRGB () );
+        image.setRGB ( 0, 3, Color.BLACK.getRGB () );
+        return new NinePatchIcon ( image );
+    }
+
+    /**
+     * Paints specified {@link NinePatchIcon} into a new image and returns it.
+     *
+     * @param icon          {@link NinePatchIcon} to paint
+     * @param interpolation interpolation hint value or {@code null} to leave it unspecified
+     * @return image with painted {@link NinePatchIcon}
+     */
+    private BufferedImage paint ( final NinePatchIcon icon, final Object interpolation )
+    {
+        final BufferedImage image = new BufferedImage ( 20, 20, BufferedImage.TYPE_INT_ARGB );
+        final Graphics2D g2d = image.createGraphics ();
+        if ( interpolation != null )
+        {
+            g2d.setRenderingHint ( RenderingHints.KEY_INTERPOLATION, interpolation );
+        }
+        icon.paintIcon ( g2d, 0, 0, 20, 20 );
+        g2d.dispose ();
+        return image;
+    }
+}
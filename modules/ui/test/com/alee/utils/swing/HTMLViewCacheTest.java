@@ -0,0 +1,150 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.alee.utils.swing;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import javax.swing.*;
+import javax.swing.text.View;
+import java.awt.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Set of JUnit tests for {@link HTMLViewCache}.
+ *
+ * @author Mikle Garin
+ * @see HTMLViewCache
+ */
+@FixMethodOrder ( MethodSorters.JVM )
+public final class HTMLViewCacheTest
+{
+    /**
+     * Tested HTML text.
+     */
+    private static final String HTML = "<html>Some <b>bold</b> text that can be wrapped</html>";
+
+    /**
+     * Clears {@link HTMLViewCache} before each test.
+     */
+    @Before
+    public void before ()
+    {
+        HTMLViewCache.clear ();
+        HTMLViewCache.resetStatistics ();
+    }
+
+    /**
+     * Clears {@link HTMLViewCache} after each test.
+     */
+    @After
+    public void after ()
+    {
+        HTMLViewCache.clear ();
+        HTMLViewCache.resetStatistics ();
+    }
+
+    /**
+     * Returns new component without UI, so it can be created outside of the Event Dispatch Thread.
+     *
+     * @return new component without UI
+     */
+    private static JComponent createComponent ()
+    {
+        return new JComponent ()
+        {
+        };
+    }
+
+    /**
+     * Tests that parsed documents are shared while views are created separately for each component.
+     */
+    @Test
+    public void separateViews ()
+    {
+        final JComponent first = createComponent ();
+        final JComponent second = createComponent ();
+        final Font font = new Font ( Font.DIALOG, Font.PLAIN, 12 );
+
+        final View firstView = HTMLViewCache.getView ( first, HTML, font, Color.BLACK );
+        final View secondView = HTMLViewCache.getView ( second, HTML, font, Color.BLACK );
+
+        assertNotSame ( firstView, secondView );
+        assertSame ( first, firstView.getContainer () );
+        assertSame ( second, secondView.getContainer () );
+        assertSame ( firstView.getDocument (), secondView.getDocument () );
+        assertEquals ( 1, HTMLViewCache.getSize () );
+        assertEquals ( 1, HTMLViewCache.getMisses () );
+        assertEquals ( 1, HTMLViewCache.getHits () );
+    }
+
+    /**
+     * Tests that views created from the same cached document are laid out independently.
+     */
+    @Test
+    public void independentLayout ()
+    {
+        final Font font = new Font ( Font.DIALOG, Font.PLAIN, 12 );
+        final View wide = HTMLViewCache.getView ( createComponent (), HTML, font, Color.BLACK );
+        final View narrow = HTMLViewCache.getView ( createComponent (), HTML, font, Color.BLACK );
+
+        wide.setSize ( 1000, 100 );
+        final float wideHeight = wide.getPreferredSpan ( View.Y_AXIS );
+        narrow.setSize ( 40, 100 );
+        final float narrowHeight = narrow.getPreferredSpan ( View.Y_AXIS );
+
+        assertTrue ( narrowHeight > wideHeight );
+        assertEquals ( wideHeight, wide.getPreferredSpan ( View.Y_AXIS ), 0 );
+    }
+
+    /**
+     * Tests that different settings are cached separately and that capacity is respected.
+     */
+    @Test
+    public void capacity ()
+    {
+        final int capacity = HTMLViewCache.getCapacity ();
+        try
+        {
+            final JComponent label = createComponent ();
+            final Font font = new Font ( Font.DIALOG, Font.PLAIN, 12 );
+            HTMLViewCache.getView ( label, HTML, font, Color.BLACK );
+            HTMLViewCache.getView ( label, HTML, font, Color.RED );
+            HTMLViewCache.getView ( label, HTML, font.deriveFont ( Font.BOLD ), Color.BLACK );
+            assertEquals ( 3, HTMLViewCache.getSize () );
+            assertEquals ( 0, HTMLViewCache.getHits () );
+
+            HTMLViewCache.setCapacity ( 2 );
+            assertEquals ( 2, HTMLViewCache.getSize () );
+
+            HTMLViewCache.setCapacity ( 0 );
+            assertEquals ( 0, HTMLViewCache.getSize () );
+            assertNotNull ( HTMLViewCache.getView ( label, HTML, font, Color.BLACK ) );
+            assertEquals ( 0, HTMLViewCache.getSize () );
+        }
+        finally
+        {
+            HTMLViewCache.setCapacity ( capacity );
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.swing;
+
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Set of JUnit tests ensuring that {@link PrefixSumRowSizeModel} is consistent with plain list of row sizes.
+ *
+ * @author Mikle Garin
+ * @see PrefixSumRowSizeModel
+ */
+@FixMethodOrder ( MethodSorters.JVM )
+public final class PrefixSumRowSizeModelTest
+{
+    /**
+     * Size used for rows that weren't measured yet.
+     */
+    private static final int ESTIMATED = 7;
+
+    /**
+     * Basic lookups test.
+     */
+    @Test
+    public void lookups ()
+    {
+        final PrefixSumRowSizeModel model = new PrefixSumRowSizeModel ( 3, 10 );
+        model.setSize ( 1, 5 );
+        assertEquals ( 25, model.getTotalSize () );
+        assertEquals ( 15, model.getOffset ( 2 ) );
+        assertEquals ( 25, model.getOffset ( 3 ) );
+        assertEquals ( 0, model.getRowAt ( 9 ) );
+        assertEquals ( 1, model.getRowAt ( 10 ) );
+        assertEquals ( 2, model.getRowAt ( 15 ) );
+        assertEquals ( -1, model.getRowAt ( 25 ) );
+        assertEquals ( -1, model.getRowAt ( -1 ) );
+        assertTrue ( model.isMeasured ( 1 ) );
+        assertFalse ( model.isMeasured ( 2 ) );
+    }
+
+    /**
+     * Random modifications test.
+     */
+    @Test
+    public void randomModifications ()
+    {
+        final Random random = new Random ( 42 );
+        final PrefixSumRowSizeModel model = new PrefixSumRowSizeModel ( 1000, ESTIMATED );
+        final List<Integer> sizes = new ArrayList<Integer> ();
+        for ( int i = 0; i < 1000; i++ )
+        {
+            sizes.add ( null );
+        }
+        for ( int step = 0; step < 3000; step++ )
+        {
+            final int action = random.nextInt ( 5 );
+            if ( action == 0 )
+            {
+                final int index = random.nextInt ( sizes.size () + 1 );
+                final int count = random.nextInt ( 10 ) == 0 ? 1 + random.nextInt ( 1500 ) : 1 + random.nextInt ( 20 );
+                model.insert ( index, count );
+                for ( int i = 0; i < count; i++ )
+                {
+                    sizes.add ( index, null );
+                }
+            }
+            else if ( action == 1 && !sizes.isEmpty () )
+            {
+                final int index = random.nextInt ( sizes.size () );
+                final int count = Math.min ( sizes.size () - index, 1 + random.nextInt ( random.nextInt ( 10 ) == 0 ? 2000 : 30 ) );
+                model.remove ( index, count );
+                sizes.subList ( index, index + count ).clear ();
+            }
+            else if ( action == 2 && !sizes.isEmpty () )
+            {
+                final int index0 = random.nextInt ( sizes.size () );
+                final int index1 = Math.min ( sizes.size () - 1, index0 + random.nextInt ( 600 ) );
+                model.invalidate ( index0, index1 );
+                for ( int i = index0; i <= index1; i++ )
+                {
+                    sizes.set ( i, null );
+                }
+            }
+            else if ( !sizes.isEmpty () )
+            {
+                for ( int i = 0; i < 20; i++ )
+                {
+                    final int row = random.nextInt ( sizes.size () );
+                    final int size = random.nextInt ( 30 );
+                    model.setSize ( row, size );
+                    sizes.set ( row, size );
+                }
+            }
+            if ( step % 100 == 0 || sizes.size () < 50 )
+            {
+                assertConsistent ( model, sizes );
+            }
+        }
+        assertConsistent ( model, sizes );
+    }
+
+    /**
+     * Estimated size change test.
+     */
+    @Test
+    public void estimatedSizeChange ()
+    {
+        final PrefixSumRowSizeModel model = new PrefixSumRowSizeModel ( 2000, 10 );
+        model.setSize ( 0, 1 );
+        model.setEstimatedSize ( 20 );
+        assertEquals ( 1 + 1999 * 20, model.getTotalSize () );
+        assertEquals ( 1 + 999 * 20, model.getOffset ( 1000 ) );
+        assertEquals ( 1000, model.getRowAt ( 1 + 999 * 20 ) );
+    }
+
+    /**
+     * Asserts that model is consistent with the specified list of row sizes.
+     *
+     * @param model {@link PrefixSumRowSizeModel}
+     * @param sizes list of row sizes, {@code null} for rows that weren't measured yet
+     */
+    private void assertConsistent ( final PrefixSumRowSizeModel model, final List<Integer> sizes )
+    {
+        assertEquals ( sizes.size (), model.getRowCount () );
+        int offset = 0;
+        for ( int row = 0; row < sizes.size (); row++ )
+        {
+            final Integer size = sizes.get ( row );
+            final int expected = size != null ? size : ESTIMATED;
+            assertEquals ( size != null, model.isMeasured ( row ) );
+            assertEquals ( expected, model.getSize ( row ) );
+            assertEquals ( offset, model.getOffset ( row ) );
+            if ( expected > 0 )
+            {
+                assertEquals ( row, model.getRowAt ( offset ) );
+                assertEquals ( row, model.getRowAt ( offset + expected - 1 ) );
+            }
+            offset += expected;
+        }
+        assertEquals ( offset, model.getTotalSize () );
+        assertEquals ( -1, model.getRowAt ( offset ) );
+    }
+}